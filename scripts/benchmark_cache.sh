@@ -74,6 +74,9 @@ bench_endpoint "REST: get post by id (1)" \
 bench_endpoint "REST: get post by slug (getting-started-with-spring-boot)" \
   "GET" "/api/posts/slug/getting-started-with-spring-boot"
 
+bench_endpoint "REST: get post by unknown slug (404)" \
+  "GET" "/api/posts/slug/no-such-post"
+
 # 3. Tags and users (TagService/UserService caches)
 bench_endpoint "REST: list tags (page 0 size 10)" \
   "GET" "/api/tags?page=0&size=10"
@@ -81,6 +84,9 @@ bench_endpoint "REST: list tags (page 0 size 10)" \
 bench_endpoint "REST: list users (page 0 size 10)" \
   "GET" "/api/users?page=0&size=10"
 
+bench_endpoint "REST: get tag by unknown slug (404)" \
+  "GET" "/api/tags/slug/no-such-tag"
+
 # 4. GraphQL posts query (uses same service methods under GraphQL)
 GRAPHQL_POSTS_BODY='{"query":"{ posts(page: 0, size: 10, publishedOnly: true) { id title slug status } }"}'
 bench_endpoint "GraphQL: posts list (publishedOnly)" \
@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+
+set -euo pipefail
+
+# Export throughput: streams GET /api/export/<kind> to a file and records time to first byte,
+# total time, size and line count.
+# Usage:
+#   KIND=comments UPDATED_SINCE=2026-01-01T00:00:00Z ./scripts/benchmark_export.sh [label]
+#
+# Needs a running app against PostgreSQL, e.g.:
+#   mvn spring-boot:run -Dspring-boot.run.profiles=dev
+# ./scripts/benchmark_ingest.sh fills the comments table first. Try
+# -Dblog.export.fetch-size=5000 to compare fetch sizes.
+
+LABEL="${1:-run}"
+KIND="${KIND:-comments}"
+UPDATED_SINCE="${UPDATED_SINCE:-}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+REPORT_DIR="$ROOT_DIR/metrics"
+mkdir -p "$REPORT_DIR"
+TIMESTAMP="$(date +%Y%m%d_%H%M%S)"
+REPORT_FILE="$REPORT_DIR/export_benchmark_${LABEL}_${TIMESTAMP}.txt"
+DATA_FILE="$(mktemp -t export-${KIND}.XXXXXX.ndjson)"
+trap 'rm -f "$DATA_FILE"' EXIT
+
+URL="$BASE_URL/api/export/$KIND"
+if [[ -n "$UPDATED_SINCE" ]]; then
+  URL="$URL?updatedSince=$UPDATED_SINCE"
+fi
+
+echo "Benchmark label : $LABEL" | tee "$REPORT_FILE"
+echo "URL             : $URL" | tee -a "$REPORT_FILE"
+echo "Started at      : $(date -Iseconds)" | tee -a "$REPORT_FILE"
+curl -s -o "$DATA_FILE" "$URL" \
+  -w "HTTP %{http_code}, first byte after %{time_starttransfer}s, done in %{time_total}s\n" \
+  | tee -a "$REPORT_FILE"
+echo "Bytes           : $(wc -c < "$DATA_FILE")" | tee -a "$REPORT_FILE"
+echo "Lines           : $(wc -l < "$DATA_FILE")" | tee -a "$REPORT_FILE"
+
+echo ""
+echo "Report written to $REPORT_FILE"
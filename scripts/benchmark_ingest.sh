@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+
+set -euo pipefail
+
+# Bulk ingest throughput: generates ROWS comments as NDJSON, spread over the seeded posts and
+# users, and streams them to POST /api/ingest/comments. The report carries rowsPerSecond.
+# Usage:
+#   ROWS=1000000 POST_IDS=1,2,3 USER_IDS=1,2,3 ./scripts/benchmark_ingest.sh [label]
+#
+# Needs a running app against PostgreSQL, e.g.:
+#   mvn spring-boot:run -Dspring-boot.run.profiles=dev
+# Try -Dblog.ingest.batch-size=5000 to compare batch sizes.
+
+LABEL="${1:-run}"
+ROWS="${ROWS:-1000000}"
+POST_IDS="${POST_IDS:-1,2,3}"
+USER_IDS="${USER_IDS:-1,2,3}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+REPORT_DIR="$ROOT_DIR/metrics"
+mkdir -p "$REPORT_DIR"
+TIMESTAMP="$(date +%Y%m%d_%H%M%S)"
+REPORT_FILE="$REPORT_DIR/ingest_benchmark_${LABEL}_${TIMESTAMP}.txt"
+DATA_FILE="$(mktemp -t ingest-comments.XXXXXX.ndjson)"
+trap 'rm -f "$DATA_FILE"' EXIT
+
+echo "Generating $ROWS comments..."
+awk -v rows="$ROWS" -v posts="$POST_IDS" -v users="$USER_IDS" 'BEGIN {
+  np = split(posts, p, ","); nu = split(users, u, ",");
+  for (i = 0; i < rows; i++) {
+    printf "{\"postId\":%s,\"userId\":%s,\"content\":\"Bulk comment %d\"}\n",
+      p[i % np + 1], u[i % nu + 1], i;
+  }
+}' > "$DATA_FILE"
+
+echo "Benchmark label : $LABEL" | tee "$REPORT_FILE"
+echo "Rows            : $ROWS" | tee -a "$REPORT_FILE"
+echo "Started at      : $(date -Iseconds)" | tee -a "$REPORT_FILE"
+curl -s -X POST "$BASE_URL/api/ingest/comments" \
+  -H "Content-Type: application/x-ndjson" \
+  --data-binary "@$DATA_FILE" \
+  -w "\nHTTP %{http_code} in %{time_total}s\n" | tee -a "$REPORT_FILE"
+
+echo ""
+echo "Report written to $REPORT_FILE"
@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+
+set -euo pipefail
+
+# JMH throughput of the legacy synchronized LinkedHashMap LRU, ClockCache (with and without TinyLFU
+# admission) and Caffeine, at 1 to 64 threads.
+# Usage:
+#   THREADS="1 4 16 64" ./scripts/benchmark_l1_cache.sh [label] [extra JMH args]
+
+LABEL="${1:-run}"
+shift || true
+THREADS="${THREADS:-1 2 4 8 16 32 64}"
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+REPORT_DIR="$ROOT_DIR/metrics"
+mkdir -p "$REPORT_DIR"
+TIMESTAMP="$(date +%Y%m%d_%H%M%S)"
+REPORT_FILE="$REPORT_DIR/l1_cache_benchmark_${LABEL}_${TIMESTAMP}.txt"
+
+cd "$ROOT_DIR"
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test \
+  -Dmdep.outputFile=target/benchmark-classpath.txt
+
+CLASSPATH="target/test-classes:target/classes:$(cat target/benchmark-classpath.txt)"
+for threads in $THREADS; do
+  echo "=== $threads thread(s) ===" | tee -a "$REPORT_FILE"
+  java -cp "$CLASSPATH" org.openjdk.jmh.Main ClockCacheBenchmark -t "$threads" "$@" \
+    | grep -E "^(Benchmark|ClockCacheBenchmark)" | tee -a "$REPORT_FILE"
+done
+
+echo ""
+echo "Report written to $REPORT_FILE"
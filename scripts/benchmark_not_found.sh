@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+
+set -euo pipefail
+
+# JMH throughput of lookups for unknown slugs (the 404 path): the old query + stack-trace
+# exception against stackless exceptions and the negative lookup cache.
+# Usage:
+#   ./scripts/benchmark_not_found.sh [label] [extra JMH args, e.g. -p queryCpuTokens=20000]
+#
+# For the end-to-end view, benchmark_cache.sh also requests unknown slugs; compare a run with
+# -Dblog.cache.negative.enabled=false against one with the default.
+
+LABEL="${1:-run}"
+shift || true
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+REPORT_DIR="$ROOT_DIR/metrics"
+mkdir -p "$REPORT_DIR"
+TIMESTAMP="$(date +%Y%m%d_%H%M%S)"
+REPORT_FILE="$REPORT_DIR/not_found_benchmark_${LABEL}_${TIMESTAMP}.txt"
+
+cd "$ROOT_DIR"
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test \
+  -Dmdep.outputFile=target/benchmark-classpath.txt
+
+CLASSPATH="target/test-classes:target/classes:$(cat target/benchmark-classpath.txt)"
+java -cp "$CLASSPATH" org.openjdk.jmh.Main NotFoundBenchmark "$@" | tee "$REPORT_FILE"
+
+echo ""
+echo "Report written to $REPORT_FILE"
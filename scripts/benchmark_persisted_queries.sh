@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+
+set -euo pipefail
+
+# JMH comparison of parsing and validating a nested GraphQL operation on every request with
+# taking it from PersistedQueryDocumentProvider by client hash or by hash of the query text.
+# Usage:
+#   ./scripts/benchmark_persisted_queries.sh [label] [extra JMH args, e.g. -f 2 -wi 5]
+
+LABEL="${1:-run}"
+shift || true
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+REPORT_DIR="$ROOT_DIR/metrics"
+mkdir -p "$REPORT_DIR"
+TIMESTAMP="$(date +%Y%m%d_%H%M%S)"
+REPORT_FILE="$REPORT_DIR/persisted_query_benchmark_${LABEL}_${TIMESTAMP}.txt"
+
+cd "$ROOT_DIR"
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test \
+  -Dmdep.outputFile=target/benchmark-classpath.txt
+
+CLASSPATH="target/test-classes:target/classes:$(cat target/benchmark-classpath.txt)"
+java -cp "$CLASSPATH" org.openjdk.jmh.Main PersistedQueryBenchmark "$@" | tee "$REPORT_FILE"
+
+echo ""
+echo "Report written to $REPORT_FILE"
@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+
+set -euo pipefail
+
+# JMH latency and allocation of the hot reads (post by id, published post page, comments of a
+# post) through JPA entities against the JdbcClient read model (blog.read-model=jdbc), on H2.
+# Usage:
+#   ./scripts/benchmark_read_model.sh [label] [extra JMH args, e.g. -p postCount=5000]
+#
+# Allocation is reported per call as gc.alloc.rate.norm (bytes/op) by JMH's GC profiler.
+
+LABEL="${1:-run}"
+shift || true
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+REPORT_DIR="$ROOT_DIR/metrics"
+mkdir -p "$REPORT_DIR"
+TIMESTAMP="$(date +%Y%m%d_%H%M%S)"
+REPORT_FILE="$REPORT_DIR/read_model_benchmark_${LABEL}_${TIMESTAMP}.txt"
+
+cd "$ROOT_DIR"
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test \
+  -Dmdep.outputFile=target/benchmark-classpath.txt
+
+CLASSPATH="target/test-classes:target/classes:$(cat target/benchmark-classpath.txt)"
+java -cp "$CLASSPATH" org.openjdk.jmh.Main ReadModelBenchmark -prof gc "$@" | tee "$REPORT_FILE"
+
+echo ""
+echo "Report written to $REPORT_FILE"
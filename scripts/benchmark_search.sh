@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+
+set -euo pipefail
+
+# Compares the legacy LIKE '%term%' scan with the tsvector/GIN full-text search on a large
+# synthetic dataset.
+# Usage:
+#   ROWS=200000 ./scripts/benchmark_search.sh [label]
+#
+# Needs psql and the DB_* variables from .env. The HTTP part needs a running app started with
+# caching disabled so every request reaches the database:
+#   mvn spring-boot:run -Dspring-boot.run.profiles=dev -Dspring.cache.type=none
+
+LABEL="${1:-run}"
+ROWS="${ROWS:-200000}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+ITERATIONS="${ITERATIONS:-50}"
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+REPORT_DIR="$ROOT_DIR/metrics"
+mkdir -p "$REPORT_DIR"
+TIMESTAMP="$(date +%Y%m%d_%H%M%S)"
+REPORT_FILE="$REPORT_DIR/search_benchmark_${LABEL}_${TIMESTAMP}.txt"
+
+export PGPASSWORD="${DB_PASSWORD:-}"
+PSQL=(psql -X -q -v ON_ERROR_STOP=1 -h "${DB_HOST:-localhost}" -p "${DB_PORT:-5432}"
+  -U "${DB_USER:-postgres}" -d "${DB_NAME:-postgres}")
+
+echo "Benchmark label : $LABEL" | tee "$REPORT_FILE"
+echo "Seeded rows     : $ROWS" | tee -a "$REPORT_FILE"
+echo "Iterations/ep   : $ITERATIONS" | tee -a "$REPORT_FILE"
+echo "Started at      : $(date -Iseconds)" | tee -a "$REPORT_FILE"
+echo "" | tee -a "$REPORT_FILE"
+
+echo "Seeding $ROWS posts..." | tee -a "$REPORT_FILE"
+"${PSQL[@]}" -v rows="$ROWS" -f "$ROOT_DIR/scripts/seed_search_benchmark.sql"
+
+explain() {
+  local name="$1"
+  local sql="$2"
+  echo "=== $name ===" | tee -a "$REPORT_FILE"
+  "${PSQL[@]}" -c "EXPLAIN (ANALYZE, BUFFERS) $sql" | tee -a "$REPORT_FILE"
+  echo "" | tee -a "$REPORT_FILE"
+}
+
+explain "LIKE scan (previous PostRepository.search)" \
+  "SELECT p.id FROM posts p
+   WHERE LOWER(p.title) LIKE '%kubernetes%' OR LOWER(p.content) LIKE '%kubernetes%'
+   ORDER BY p.id DESC LIMIT 10"
+
+explain "Full-text search (PostRepository.fullTextSearch)" \
+  "SELECT p.id FROM posts p
+   WHERE p.search_vector @@ to_tsquery('english', 'kubernetes')
+   ORDER BY ts_rank(p.search_vector, to_tsquery('english', 'kubernetes')) DESC, p.id DESC
+   LIMIT 10"
+
+explain "Full-text prefix search" \
+  "SELECT p.id FROM posts p
+   WHERE p.search_vector @@ to_tsquery('english', 'kube:*')
+   ORDER BY ts_rank(p.search_vector, to_tsquery('english', 'kube:*')) DESC, p.id DESC
+   LIMIT 10"
+
+bench_endpoint() {
+  local name="$1"
+  local url="$2"
+
+  echo "Running benchmark: $name (GET $url)" | tee -a "$REPORT_FILE"
+  local start_ms end_ms
+  start_ms=$(date +%s%3N)
+  for i in $(seq 1 "$ITERATIONS"); do
+    curl -s -o /dev/null "$BASE_URL$url"
+  done
+  end_ms=$(date +%s%3N)
+  printf "  Total time : %d ms for %d requests\n" "$((end_ms - start_ms))" "$ITERATIONS" \
+    | tee -a "$REPORT_FILE"
+  printf "  Avg/req    : %d ms\n\n" "$(((end_ms - start_ms) / ITERATIONS))" | tee -a "$REPORT_FILE"
+}
+
+if curl -s -o /dev/null "$BASE_URL/actuator/health"; then
+  bench_endpoint "REST: search=kubernetes" "/api/posts?page=1&size=10&search=kubernetes"
+  bench_endpoint "REST: search=kube* (prefix)" "/api/posts?page=1&size=10&search=kube*"
+else
+  echo "App not reachable at $BASE_URL; skipped HTTP benchmarks." | tee -a "$REPORT_FILE"
+fi
+
+echo "Finished at      : $(date -Iseconds)" | tee -a "$REPORT_FILE"
+echo "Report written to: $REPORT_FILE"
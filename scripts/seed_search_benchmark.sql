@@ -0,0 +1,30 @@
+-- Bulk seed for the full-text search benchmark (scripts/benchmark_search.sh).
+-- Inserts :rows synthetic posts for a dedicated benchmark author. Safe to re-run: existing
+-- benchmark posts are removed first. Development databases only.
+
+BEGIN;
+
+INSERT INTO users (username, email, display_name)
+VALUES ('search-bench', 'search-bench@example.com', 'Search Benchmark')
+ON CONFLICT (username) DO NOTHING;
+
+DELETE FROM posts
+WHERE author_id = (SELECT id FROM users WHERE username = 'search-bench');
+
+INSERT INTO posts (author_id, title, content, slug, status, created_at, updated_at, published_at)
+SELECT u.id,
+       'Post ' || g || ' about ' || (ARRAY['spring', 'postgres', 'graphql', 'kotlin', 'docker'])[1 + g % 5],
+       repeat('Lorem ipsum dolor sit amet, consectetur adipiscing elit. ', 40)
+           || (ARRAY['indexes', 'caching', 'transactions', 'resolvers', 'containers'])[1 + g % 5]
+           || CASE WHEN g % 1000 = 0 THEN ' kubernetes' ELSE '' END,
+       'search-bench-' || g,
+       CASE WHEN g % 4 = 0 THEN 'DRAFT' ELSE 'PUBLISHED' END,
+       NOW() - (g || ' minutes')::interval,
+       NOW() - (g || ' minutes')::interval,
+       CASE WHEN g % 4 = 0 THEN NULL ELSE NOW() - (g || ' minutes')::interval END
+FROM generate_series(1, :rows) AS g
+CROSS JOIN (SELECT id FROM users WHERE username = 'search-bench') AS u;
+
+COMMIT;
+
+ANALYZE posts;
@@ -8,6 +8,7 @@ import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.example.blog_spring.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -56,6 +57,12 @@ public class LoggingAspect {
 
     @AfterThrowing(pointcut = "serviceOrControllerLayer()", throwing = "ex")
     public void logException(JoinPoint joinPoint, Throwable ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            // An unknown id or slug is a 404, not a failure, and carries no stack trace.
+            log.debug("Not found in {}: {}", joinPoint.getSignature().toShortString(),
+                    ex.getMessage());
+            return;
+        }
         log.error("Exception in {} with args={} message={}",
                 joinPoint.getSignature().toShortString(), Arrays.toString(joinPoint.getArgs()),
                 ex.getMessage(), ex);
@@ -0,0 +1,80 @@
+package org.example.blog_spring.cache;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.example.blog_spring.dto.CommentThreadDto;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.TagDto;
+import org.example.blog_spring.dto.TagSummaryDto;
+import org.example.blog_spring.dto.UserDto;
+import org.springframework.data.domain.Page;
+
+/**
+ * Estimates the retained heap of a cache entry in bytes, so caches can be bounded by memory
+ * ({@code maximumWeight}) instead of entry count. A post with a 200 KB body then weighs what it
+ * costs rather than the same as a tag.
+ *
+ * <p>Estimates assume a 64-bit JVM with compressed oops and Latin-1 compact strings; they are meant
+ * to be within a small factor of the real size, not exact. Unknown types get a flat
+ * {@link #UNKNOWN_WEIGHT}.
+ */
+public final class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    static final int OBJECT_HEADER = 16;
+    static final int REFERENCE = 4;
+    static final int STRING_OVERHEAD = 40;
+    static final int INSTANT = 24;
+    static final int BOXED_LONG = 16;
+    static final int COLLECTION_ENTRY = 32;
+    static final int PAGE_OVERHEAD = 96;
+    static final int UNKNOWN_WEIGHT = 256;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = estimate(key) + estimate(value);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    static long estimate(Object value) {
+        return switch (value) {
+            case null -> 0;
+            case String s -> STRING_OVERHEAD + s.length();
+            case Long ignored -> BOXED_LONG;
+            case Integer ignored -> BOXED_LONG;
+            case Instant ignored -> INSTANT;
+            case Enum<?> ignored -> 0;
+            case PostDto post -> OBJECT_HEADER + 11 * REFERENCE + BOXED_LONG * 2
+                    + estimate(post.title()) + estimate(post.content()) + estimate(post.slug())
+                    + estimate(post.createdAt()) + estimate(post.updatedAt())
+                    + estimate(post.publishedAt()) + estimate(post.tags());
+            case TagSummaryDto tag -> OBJECT_HEADER + 3 * REFERENCE + BOXED_LONG
+                    + estimate(tag.name()) + estimate(tag.slug());
+            case TagDto tag -> OBJECT_HEADER + 5 * REFERENCE + BOXED_LONG
+                    + estimate(tag.name()) + estimate(tag.slug()) + estimate(tag.description())
+                    + estimate(tag.createdAt());
+            case UserDto user -> OBJECT_HEADER + 6 * REFERENCE + BOXED_LONG
+                    + estimate(user.username()) + estimate(user.email())
+                    + estimate(user.fullName()) + estimate(user.createdAt())
+                    + estimate(user.updatedAt());
+            case CommentThreadDto comment -> OBJECT_HEADER + 9 * REFERENCE + BOXED_LONG * 3
+                    + estimate(comment.parentId()) + estimate(comment.content())
+                    + estimate(comment.createdAt()) + estimate(comment.updatedAt())
+                    + estimate(comment.replies());
+            case Page<?> page -> PAGE_OVERHEAD + estimate(page.getContent());
+            case Collection<?> items -> {
+                long total = OBJECT_HEADER + REFERENCE;
+                for (Object item : items) {
+                    total += COLLECTION_ENTRY + estimate(item);
+                }
+                yield total;
+            }
+            case PostListCacheKey key -> OBJECT_HEADER + 8 * REFERENCE + BOXED_LONG
+                    + estimate(key.tagSlug()) + estimate(key.search());
+            case PageCacheKey ignored -> OBJECT_HEADER + 4 * REFERENCE;
+            case CommentTreeKey ignored -> OBJECT_HEADER + 4 * REFERENCE + BOXED_LONG * 2;
+            default -> UNKNOWN_WEIGHT;
+        };
+    }
+}
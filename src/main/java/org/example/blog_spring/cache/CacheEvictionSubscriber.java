@@ -0,0 +1,114 @@
+package org.example.blog_spring.cache;
+
+import org.example.blog_spring.cache.NegativeLookupCache.Lookup;
+import org.example.blog_spring.outbox.ChangeEvent;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeSubscriber;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the entries a committed write leaves stale, on every node. Post and tag slugs are matched
+ * with a full clear of the slug cache on updates and deletions, as the event carries only the
+ * current slug. Comment trees are evicted by the post a comment belongs to, tag listings by
+ * {@link PostListCacheInvalidator#tagChanged}, and missing ids and slugs are forgotten in the
+ * {@link NegativeLookupCache} once a post or tag with them exists.
+ *
+ * <p>A post write evicts the listings it can affect only on the node that made it, where the
+ * service still has the state before the change. The event does not carry that state, so the
+ * other nodes clear {@code postLists} instead.
+ *
+ * <p>The writing node has already applied most of these evictions after its commit. Evictions
+ * are idempotent, so applying them again, like a redelivered event, is harmless.
+ */
+@Component
+public class CacheEvictionSubscriber implements ChangeSubscriber {
+
+    private final CacheManager cacheManager;
+    private final PostListCacheInvalidator postListCacheInvalidator;
+    private final CommentTreeCacheInvalidator commentTreeCacheInvalidator;
+    private final NegativeLookupCache negativeLookups;
+
+    public CacheEvictionSubscriber(CacheManager cacheManager,
+            PostListCacheInvalidator postListCacheInvalidator,
+            CommentTreeCacheInvalidator commentTreeCacheInvalidator,
+            NegativeLookupCache negativeLookups) {
+        this.cacheManager = cacheManager;
+        this.postListCacheInvalidator = postListCacheInvalidator;
+        this.commentTreeCacheInvalidator = commentTreeCacheInvalidator;
+        this.negativeLookups = negativeLookups;
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        var id = event.entityId();
+        switch (event.entity()) {
+            case POST -> {
+                evict("posts", id);
+                if (event.action() == Action.CREATED) {
+                    evict("postsBySlug", event.slug());
+                } else {
+                    clear("postsBySlug");
+                }
+                if (!event.local()) {
+                    clear(PostListCacheInvalidator.CACHE_NAME);
+                }
+                if (event.action() == Action.DELETED) {
+                    commentTreeCacheInvalidator.postChanged(id);
+                } else {
+                    negativeLookups.invalidate(Lookup.POST_ID, id);
+                    negativeLookups.invalidate(Lookup.POST_SLUG, event.slug());
+                }
+            }
+            case TAG -> {
+                if (event.action() == Action.CREATED) {
+                    clear("tags");
+                    negativeLookups.invalidate(Lookup.TAG_ID, id);
+                } else {
+                    evict("tags", id);
+                    clear("tagLists");
+                    // A deleted tag's slug is gone; its listings still hold its posts.
+                    if (event.slug() != null) {
+                        postListCacheInvalidator.tagChanged(id, event.slug());
+                    } else {
+                        postListCacheInvalidator.tagChanged(id);
+                    }
+                }
+                if (event.action() != Action.DELETED) {
+                    negativeLookups.invalidate(Lookup.TAG_SLUG, event.slug());
+                }
+                clear("tagsBySlug");
+            }
+            case USER -> {
+                if (event.action() == Action.CREATED) {
+                    clear("users");
+                } else {
+                    evict("users", id);
+                    clear("userLists");
+                }
+                if (event.action() == Action.DELETED) {
+                    clear(CommentTreeCacheInvalidator.CACHE_NAME);
+                }
+            }
+            case COMMENT -> commentTreeCacheInvalidator.postChanged(event.postId());
+            case REVIEW -> {
+                // Reviews are not cached.
+            }
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -5,93 +5,57 @@ import org.example.blog_spring.domain.PostStatus;
 import org.example.blog_spring.domain.Tag;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Legacy custom cache manager using LRU (Least Recently Used) eviction policy.
- * Kept for diagnostics via CacheController; Spring Cache is used for runtime caching.
+ * Legacy custom cache manager, kept for diagnostics; Spring Cache is used for runtime caching.
+ *
+ * <p>Each map is a {@link ClockCache}: lock-free reads, per-segment write locks and CLOCK
+ * (approximate LRU) eviction. The post-list map also uses TinyLFU admission, so a burst of
+ * one-off searches cannot push out the listings that are actually requested. Slug maps are kept
+ * in step with an id&rarr;slug index instead of being scanned on removal.
  */
 @Component("legacyCacheManager")
 public class CacheManager {
 
-    // LRU cache for posts - using LinkedHashMap with access order
-    private final Map<Long, Post> postCache;
-    private final int maxPostCacheSize;
+    private static final int MAX_POST_CACHE_SIZE = 100;
+    private static final int MAX_TAG_CACHE_SIZE = 50;
+    private static final int MAX_POST_LIST_CACHE_SIZE = 20;
 
-    // Cache for posts by slug
-    private final Map<String, Post> postSlugCache;
-    private final int maxPostSlugCacheSize;
+    private final ClockCache<Long, Post> postCache;
+    private final ClockCache<String, Post> postSlugCache;
+    private final Map<Long, String> postSlugsById = new ConcurrentHashMap<>();
 
-    // Cache for tags - smaller and frequently accessed
-    private final Map<Long, Tag> tagCache;
-    private final Map<String, Tag> tagSlugCache;
-    private final int maxTagCacheSize;
+    private final ClockCache<Long, Tag> tagCache;
+    private final ClockCache<String, Tag> tagSlugCache;
+    private final Map<Long, String> tagSlugsById = new ConcurrentHashMap<>();
 
     // Cache for post lists (search results with pagination)
-    private final Map<String, PageCacheEntry> postListCache;
-    private final int maxPostListCacheSize;
+    private final ClockCache<String, PageCacheEntry> postListCache;
 
     // Statistics
-    private long postCacheHits = 0;
-    private long postCacheMisses = 0;
+    private final LongAdder postCacheHits = new LongAdder();
+    private final LongAdder postCacheMisses = new LongAdder();
 
     public CacheManager() {
-        this.maxPostCacheSize = 100;
-        this.maxPostSlugCacheSize = 100;
-        this.maxTagCacheSize = 50;
-        this.maxPostListCacheSize = 20;
-
-        this.postCache = Collections.synchronizedMap(
-                new LinkedHashMap<Long, Post>(maxPostCacheSize, 0.75f, true) {
-                    @Override
-                    protected boolean removeEldestEntry(Map.Entry<Long, Post> eldest) {
-                        return size() > maxPostCacheSize;
-                    }
-                }
-        );
-
-        this.postSlugCache = Collections.synchronizedMap(
-                new LinkedHashMap<String, Post>(maxPostSlugCacheSize, 0.75f, true) {
-                    @Override
-                    protected boolean removeEldestEntry(Map.Entry<String, Post> eldest) {
-                        return size() > maxPostSlugCacheSize;
-                    }
-                }
-        );
-
-        this.tagCache = Collections.synchronizedMap(
-                new LinkedHashMap<Long, Tag>(maxTagCacheSize, 0.75f, true) {
-                    @Override
-                    protected boolean removeEldestEntry(Map.Entry<Long, Tag> eldest) {
-                        return size() > maxTagCacheSize;
-                    }
-                }
-        );
-
-        this.tagSlugCache = Collections.synchronizedMap(
-                new LinkedHashMap<String, Tag>(maxTagCacheSize, 0.75f, true) {
-                    @Override
-                    protected boolean removeEldestEntry(Map.Entry<String, Tag> eldest) {
-                        return size() > maxTagCacheSize;
-                    }
-                }
-        );
-
-        this.postListCache = new ConcurrentHashMap<>();
+        this.postCache = new ClockCache<>(MAX_POST_CACHE_SIZE);
+        this.postSlugCache = new ClockCache<>(MAX_POST_CACHE_SIZE, false,
+                (slug, post) -> postSlugsById.remove(post.getId(), slug));
+        this.tagCache = new ClockCache<>(MAX_TAG_CACHE_SIZE);
+        this.tagSlugCache = new ClockCache<>(MAX_TAG_CACHE_SIZE, false,
+                (slug, tag) -> tagSlugsById.remove(tag.getId(), slug));
+        this.postListCache = new ClockCache<>(MAX_POST_LIST_CACHE_SIZE, true, (key, entry) -> {
+        });
     }
 
     /**
      * Gets a post from cache by id.
      */
     public Post getPost(Long postId) {
-        Post post = postCache.get(postId);
-        if (post != null) {
-            postCacheHits++;
-        } else {
-            postCacheMisses++;
-        }
-        return post;
+        return record(postCache.get(postId));
     }
 
     /**
@@ -101,6 +65,10 @@ public class CacheManager {
         if (post != null && post.getId() != null) {
             postCache.put(post.getId(), post);
             if (post.getSlug() != null) {
+                var previousSlug = postSlugsById.put(post.getId(), post.getSlug());
+                if (previousSlug != null && !previousSlug.equals(post.getSlug())) {
+                    postSlugCache.remove(previousSlug);
+                }
                 postSlugCache.put(post.getSlug(), post);
             }
         }
@@ -110,19 +78,11 @@ public class CacheManager {
      * Removes a post from cache.
      */
     public void removePost(Long postId) {
-        Post removed = postCache.remove(postId);
-        if (removed != null && removed.getSlug() != null) {
-            postSlugCache.remove(removed.getSlug());
-        } else if (postId != null) {
-            String slugToRemove = null;
-            for (var e : postSlugCache.entrySet()) {
-                if (postId.equals(e.getValue().getId())) {
-                    slugToRemove = e.getKey();
-                    break;
-                }
-            }
-            if (slugToRemove != null) {
-                postSlugCache.remove(slugToRemove);
+        if (postId != null) {
+            postCache.remove(postId);
+            var slug = postSlugsById.remove(postId);
+            if (slug != null) {
+                postSlugCache.remove(slug);
             }
         }
         invalidatePostListCache();
@@ -132,13 +92,7 @@ public class CacheManager {
      * Gets a post from cache by slug.
      */
     public Post getPostBySlug(String slug) {
-        Post post = postSlugCache.get(slug);
-        if (post != null) {
-            postCacheHits++;
-        } else {
-            postCacheMisses++;
-        }
-        return post;
+        return record(postSlugCache.get(slug));
     }
 
     /**
@@ -162,6 +116,10 @@ public class CacheManager {
         if (tag != null && tag.getId() != null) {
             tagCache.put(tag.getId(), tag);
             if (tag.getSlug() != null) {
+                var previousSlug = tagSlugsById.put(tag.getId(), tag.getSlug());
+                if (previousSlug != null && !previousSlug.equals(tag.getSlug())) {
+                    tagSlugCache.remove(previousSlug);
+                }
                 tagSlugCache.put(tag.getSlug(), tag);
             }
         }
@@ -171,19 +129,11 @@ public class CacheManager {
      * Removes a tag from cache.
      */
     public void removeTag(Long tagId) {
-        Tag removed = tagCache.remove(tagId);
-        if (removed != null && removed.getSlug() != null) {
-            tagSlugCache.remove(removed.getSlug());
-        } else if (tagId != null) {
-            String slugToRemove = null;
-            for (var e : tagSlugCache.entrySet()) {
-                if (tagId.equals(e.getValue().getId())) {
-                    slugToRemove = e.getKey();
-                    break;
-                }
-            }
-            if (slugToRemove != null) {
-                tagSlugCache.remove(slugToRemove);
+        if (tagId != null) {
+            tagCache.remove(tagId);
+            var slug = tagSlugsById.remove(tagId);
+            if (slug != null) {
+                tagSlugCache.remove(slug);
             }
         }
         invalidatePostListCache();
@@ -201,9 +151,6 @@ public class CacheManager {
      */
     public void putPostList(String key, PageCacheEntry entry) {
         if (entry != null) {
-            if (postListCache.size() >= maxPostListCacheSize) {
-                postListCache.keySet().stream().findFirst().ifPresent(postListCache::remove);
-            }
             postListCache.put(key, entry);
         }
     }
@@ -226,6 +173,7 @@ public class CacheManager {
     public void clearPostCache() {
         postCache.clear();
         postSlugCache.clear();
+        postSlugsById.clear();
         invalidatePostListCache();
     }
 
@@ -235,6 +183,7 @@ public class CacheManager {
     public void clearTagCache() {
         tagCache.clear();
         tagSlugCache.clear();
+        tagSlugsById.clear();
     }
 
     /**
@@ -261,11 +210,20 @@ public class CacheManager {
                 postSlugCache.size(),
                 tagCache.size(),
                 postListCache.size(),
-                postCacheHits,
-                postCacheMisses
+                postCacheHits.sum(),
+                postCacheMisses.sum()
         );
     }
 
+    private Post record(Post post) {
+        if (post != null) {
+            postCacheHits.increment();
+        } else {
+            postCacheMisses.increment();
+        }
+        return post;
+    }
+
     /**
      * Holder for a cached page of posts.
      */
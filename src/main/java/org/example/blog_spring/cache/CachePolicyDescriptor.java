@@ -0,0 +1,35 @@
+package org.example.blog_spring.cache;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+
+/**
+ * Current Caffeine policy and memory use of one cache. Byte figures come from
+ * {@link CacheEntryWeigher}, so they are estimates; they are {@code null} for caches bounded by
+ * entry count rather than weight.
+ */
+public record CachePolicyDescriptor(
+        String name,
+        long entries,
+        Long estimatedBytes,
+        Long maximumBytes,
+        Duration expireAfterAccess,
+        Duration expireAfterWrite
+) {
+
+    public static CachePolicyDescriptor of(String name, Cache<?, ?> cache) {
+        var policy = cache.policy();
+        var eviction = policy.eviction().filter(Policy.Eviction::isWeighted);
+        return new CachePolicyDescriptor(
+                name,
+                cache.estimatedSize(),
+                eviction.map(e -> e.weightedSize().orElse(0L)).orElse(null),
+                eviction.map(Policy.Eviction::getMaximum).orElse(null),
+                policy.expireAfterAccess().map(Policy.FixedExpiration::getExpiresAfter)
+                        .orElse(null),
+                policy.expireAfterWrite().map(Policy.FixedExpiration::getExpiresAfter)
+                        .orElse(null));
+    }
+}
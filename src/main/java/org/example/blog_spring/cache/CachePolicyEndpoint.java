@@ -0,0 +1,90 @@
+package org.example.blog_spring.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Actuator endpoint ({@code /actuator/cachepolicy}) to inspect and resize the Caffeine caches at
+ * runtime.
+ *
+ * <pre>
+ * POST /actuator/cachepolicy/postLists
+ * {"maximumWeight": "128MB", "expireAfterWrite": "2m"}
+ * </pre>
+ *
+ * Changes apply to the running instance only; a restart goes back to {@code blog.cache.*}. An
+ * expiry can only be changed on a cache that was configured with one.
+ */
+@Component
+@Endpoint(id = "cachepolicy")
+public class CachePolicyEndpoint {
+
+    private final CacheManager cacheManager;
+
+    public CachePolicyEndpoint(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @ReadOperation
+    public Map<String, CachePolicyDescriptor> policies() {
+        var policies = new LinkedHashMap<String, CachePolicyDescriptor>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(cacheName) instanceof CaffeineCache cache) {
+                policies.put(cacheName,
+                        CachePolicyDescriptor.of(cacheName, cache.getNativeCache()));
+            }
+        }
+        return policies;
+    }
+
+    @ReadOperation
+    public @Nullable CachePolicyDescriptor policy(@Selector String name) {
+        return cacheManager.getCache(name) instanceof CaffeineCache cache
+                ? CachePolicyDescriptor.of(name, cache.getNativeCache())
+                : null;
+    }
+
+    @WriteOperation
+    public CachePolicyDescriptor resize(@Selector String name, @Nullable DataSize maximumWeight,
+            @Nullable Duration expireAfterAccess, @Nullable Duration expireAfterWrite) {
+        if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) {
+            throw new InvalidEndpointRequestException("Unknown cache: " + name, "unknown cache");
+        }
+        var policy = cache.getNativeCache().policy();
+        if (maximumWeight != null) {
+            policy.eviction()
+                    .filter(Policy.Eviction::isWeighted)
+                    .orElseThrow(() -> notConfigured(name, "maximum-weight"))
+                    .setMaximum(maximumWeight.toBytes());
+        }
+        if (expireAfterAccess != null) {
+            policy.expireAfterAccess()
+                    .orElseThrow(() -> notConfigured(name, "expire-after-access"))
+                    .setExpiresAfter(expireAfterAccess);
+        }
+        if (expireAfterWrite != null) {
+            policy.expireAfterWrite()
+                    .orElseThrow(() -> notConfigured(name, "expire-after-write"))
+                    .setExpiresAfter(expireAfterWrite);
+        }
+        return CachePolicyDescriptor.of(name, cache.getNativeCache());
+    }
+
+    private static InvalidEndpointRequestException notConfigured(String name, String setting) {
+        return new InvalidEndpointRequestException(
+                "Cache " + name + " was not configured with " + setting, "policy not configured");
+    }
+}
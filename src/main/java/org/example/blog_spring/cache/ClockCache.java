@@ -0,0 +1,254 @@
+package org.example.blog_spring.cache;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded in-memory cache with lock-free reads, split into independently locked segments.
+ *
+ * <p>Each segment is a {@link ConcurrentHashMap} plus a CLOCK ring. A read is a map lookup that
+ * sets the entry's reference bit; it takes no lock. Writes lock only their segment. When a segment
+ * is full, the clock hand clears reference bits until it finds an entry that was not read since
+ * the last pass, which approximates LRU without reordering a list on every read.
+ *
+ * <p>With admission enabled, a {@link FrequencySketch} records every read and a new key only
+ * replaces the victim if it has been requested more often recently (TinyLFU), so one-off keys do
+ * not flush popular ones.
+ *
+ * <p>Hit, miss, eviction and rejection counts are {@link LongAdder}s, so they stay correct under
+ * contention.
+ */
+public final class ClockCache<K, V> {
+
+    private static final int MIN_SEGMENT_CAPACITY = 8;
+    private static final int MAX_SEGMENTS = 64;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final FrequencySketch sketch;
+    private final BiConsumer<K, V> evictionListener;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public ClockCache(int maximumSize) {
+        this(maximumSize, false, (key, value) -> {
+        });
+    }
+
+    /**
+     * @param maximumSize      entries held across all segments
+     * @param admission        whether new keys must out-rank the victim (TinyLFU) to be stored
+     * @param evictionListener called, under the segment lock, for each entry evicted for size
+     */
+    @SuppressWarnings("unchecked")
+    public ClockCache(int maximumSize, boolean admission, BiConsumer<K, V> evictionListener) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        int segmentCount = Integer.highestOneBit(
+                Math.clamp(maximumSize / MIN_SEGMENT_CAPACITY, 1, MAX_SEGMENTS));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(capacity);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.sketch = admission ? new FrequencySketch(maximumSize) : null;
+        this.evictionListener = evictionListener;
+    }
+
+    public V get(K key) {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        var node = segmentFor(key).map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    /**
+     * Stores the value, evicting if the segment is full.
+     *
+     * @return {@code false} if the admission policy turned the new key away
+     */
+    public boolean put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        var segment = segmentFor(key);
+        segment.lock();
+        try {
+            var existing = segment.map.get(key);
+            if (existing != null) {
+                existing.value = value;
+                existing.referenced = true;
+                return true;
+            }
+            if (segment.map.size() >= segment.capacity) {
+                var victim = segment.nextVictim();
+                if (sketch != null && sketch.frequency(key) <= sketch.frequency(victim.key)) {
+                    segment.clock.addFirst(victim);
+                    rejections.increment();
+                    return false;
+                }
+                segment.unlink(victim, false);
+                evictions.increment();
+                evictionListener.accept(victim.key, victim.value);
+            }
+            var node = new Node<>(key, value);
+            segment.map.put(key, node);
+            segment.clock.addLast(node);
+            return true;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    public V remove(K key) {
+        var segment = segmentFor(key);
+        segment.lock();
+        try {
+            var node = segment.map.get(key);
+            if (node == null) {
+                return null;
+            }
+            segment.unlink(node, true);
+            return node.value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry only if it currently maps to {@code value}.
+     */
+    public boolean remove(K key, V value) {
+        var segment = segmentFor(key);
+        segment.lock();
+        try {
+            var node = segment.map.get(key);
+            if (node == null || !node.value.equals(value)) {
+                return false;
+            }
+            segment.unlink(node, true);
+            return true;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    public void clear() {
+        for (var segment : segments) {
+            segment.lock();
+            try {
+                segment.map.values().forEach(node -> node.alive = false);
+                segment.map.clear();
+                segment.clock.clear();
+                segment.deadNodes = 0;
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (var segment : segments) {
+            size += segment.map.size();
+        }
+        return size;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[(h * 0x9E3779B9 >>> 16) & segmentMask];
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile boolean referenced;
+        boolean alive = true;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class Segment<K, V> extends ReentrantLock {
+        final ConcurrentHashMap<K, Node<K, V>> map;
+        // Clock ring in insertion order; may hold removed nodes until the hand or a compaction
+        // passes them. Guarded by the segment lock.
+        final ArrayDeque<Node<K, V>> clock;
+        final int capacity;
+        int deadNodes;
+
+        Segment(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.map = new ConcurrentHashMap<>(this.capacity * 4 / 3 + 1);
+            this.clock = new ArrayDeque<>(this.capacity);
+        }
+
+        /**
+         * Advances the hand to the first live, unreferenced node and takes it off the ring. Called
+         * only when the segment is full, so the ring holds at least one live node.
+         */
+        Node<K, V> nextVictim() {
+            while (true) {
+                var node = clock.pollFirst();
+                if (!node.alive) {
+                    deadNodes--;
+                    continue;
+                }
+                if (node.referenced) {
+                    node.referenced = false;
+                    clock.addLast(node);
+                    continue;
+                }
+                return node;
+            }
+        }
+
+        /**
+         * Removes the node from the map. A node still on the ring stays there, marked dead, until
+         * the hand passes it or enough dead nodes pile up to compact the ring.
+         */
+        void unlink(Node<K, V> node, boolean onRing) {
+            map.remove(node.key, node);
+            node.alive = false;
+            if (onRing && ++deadNodes > capacity) {
+                clock.removeIf(n -> !n.alive);
+                deadNodes = 0;
+            }
+        }
+    }
+}
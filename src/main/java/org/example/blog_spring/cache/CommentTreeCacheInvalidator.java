@@ -0,0 +1,64 @@
+package org.example.blog_spring.cache;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts the {@code commentTrees} entries of a post, whatever roots and depth they were loaded
+ * with, after the surrounding transaction commits.
+ */
+@Component
+public class CommentTreeCacheInvalidator {
+
+    public static final String CACHE_NAME = "commentTrees";
+
+    private final CacheManager cacheManager;
+
+    public CommentTreeCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * A comment of {@code postId} was created, edited or deleted.
+     */
+    public void postChanged(Long postId) {
+        postsChanged(Set.of(postId));
+    }
+
+    /**
+     * Comments of {@code postIds} were created, edited or deleted, as by a bulk ingest.
+     */
+    public void postsChanged(Collection<Long> postIds) {
+        Runnable eviction = () -> {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache == null) {
+                return;
+            }
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                // Cannot enumerate entries of other providers; fall back to a full clear.
+                cache.clear();
+                return;
+            }
+            caffeineCache.getNativeCache().asMap().keySet().removeIf(key ->
+                    !(key instanceof CommentTreeKey treeKey) || postIds.contains(treeKey.postId()));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            eviction.run();
+                        }
+                    });
+        } else {
+            eviction.run();
+        }
+    }
+}
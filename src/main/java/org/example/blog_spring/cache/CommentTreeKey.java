@@ -0,0 +1,13 @@
+package org.example.blog_spring.cache;
+
+/**
+ * Key of a {@code commentTrees} entry: the post, the single thread asked for ({@code null} for
+ * the post's first {@code roots} threads) and the depth loaded.
+ */
+public record CommentTreeKey(Long postId, Long rootId, int roots, int depth) {
+
+    public static CommentTreeKey of(Long postId, Long rootId, int roots, int depth) {
+        // A single thread is one root whatever was asked for.
+        return new CommentTreeKey(postId, rootId, rootId != null ? 1 : roots, depth);
+    }
+}
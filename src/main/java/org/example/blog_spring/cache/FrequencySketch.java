@@ -0,0 +1,112 @@
+package org.example.blog_spring.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-Min sketch of 4-bit counters estimating how often a key was seen recently, used as the
+ * TinyLFU admission filter of {@link ClockCache}.
+ *
+ * <p>Each key maps to one counter in each of four rows; its frequency is the smallest of the four.
+ * Counters saturate at 15, and once {@code 10 × width} increments have been recorded every counter
+ * is halved, so old popularity fades. Sixteen counters are packed per {@code long} and updated with
+ * CAS, so recording never blocks.
+ */
+final class FrequencySketch {
+
+    private static final int ROWS = 4;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+
+    private final AtomicLongArray table;
+    private final int widthMask;
+    private final int widthBits;
+    private final long sampleSize;
+    private final LongAdder additions = new LongAdder();
+
+    /**
+     * @param expectedSize number of entries the cache holds; sizes the sketch
+     */
+    FrequencySketch(int expectedSize) {
+        // Four counters per row for each entry the cache holds, rounded up to a power of two;
+        // at least 64 so that small caches do not see constant collisions.
+        int width = Integer.highestOneBit(Math.max(16, expectedSize) * 4 - 1) << 1;
+        this.widthMask = width - 1;
+        this.widthBits = Integer.numberOfTrailingZeros(width);
+        // Each row has `width` counters; sixteen counters per long.
+        this.table = new AtomicLongArray(Math.max(1, (width * ROWS) / 16));
+        this.sampleSize = 10L * width;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < ROWS; row++) {
+            added |= incrementAt(counterIndex(hash, row));
+        }
+        if (added) {
+            additions.increment();
+            // Summing the adder on every call would dominate the cost under contention.
+            if (ThreadLocalRandom.current().nextInt(32) == 0 && additions.sum() >= sampleSize) {
+                reset();
+            }
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int row = 0; row < ROWS; row++) {
+            frequency = Math.min(frequency, counterAt(counterIndex(hash, row)));
+        }
+        return frequency;
+    }
+
+    private int counterIndex(int hash, int row) {
+        // The high bits of a 64-bit multiply mix every bit of the hash.
+        int column = (int) ((hash * SEEDS[row]) >>> (64 - widthBits));
+        return row * (widthMask + 1) + column;
+    }
+
+    private int counterAt(int counter) {
+        long word = table.get(counter >>> 4);
+        return (int) ((word >>> ((counter & 15) << 2)) & 0xfL);
+    }
+
+    private boolean incrementAt(int counter) {
+        int slot = counter >>> 4;
+        int shift = (counter & 15) << 2;
+        while (true) {
+            long word = table.get(slot);
+            if (((word >>> shift) & 0xfL) == 0xfL) {
+                return false;
+            }
+            if (table.compareAndSet(slot, word, word + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    private synchronized void reset() {
+        if (additions.sum() < sampleSize) {
+            return;
+        }
+        for (int i = 0; i < table.length(); i++) {
+            while (true) {
+                long word = table.get(i);
+                if (table.compareAndSet(i, word, (word >>> 1) & RESET_MASK)) {
+                    break;
+                }
+            }
+        }
+        additions.reset();
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
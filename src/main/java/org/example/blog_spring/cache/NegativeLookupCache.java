@@ -0,0 +1,115 @@
+package org.example.blog_spring.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.blog_spring.config.CacheProperties;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded cache of post and tag lookups that found nothing, so crawlers and broken links probing
+ * the same unknown id or slug do not reach the database each time. The Spring caches cannot hold
+ * these, since they do not store nulls.
+ *
+ * <p>An entry is dropped after {@code blog.cache.negative.expire-after-write}, or when
+ * {@link #invalidate} is called for it because a post or tag with that id or slug was created or
+ * renamed. Invalidation runs after the writing transaction commits. A lookup that ran concurrently
+ * with an invalidation does not record its miss, so it cannot hide the new row.
+ */
+public class NegativeLookupCache {
+
+    public enum Lookup {
+        POST_ID, POST_SLUG, TAG_ID, TAG_SLUG
+    }
+
+    private record Entry(Lookup lookup, Object key) {
+    }
+
+    private final Cache<Entry, Boolean> misses;
+    private final AtomicLong generation = new AtomicLong();
+
+    public NegativeLookupCache(CacheProperties.Negative settings) {
+        this.misses = settings.enabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(settings.maximumSize())
+                        .expireAfterWrite(settings.expireAfterWrite())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Runs {@code query} unless {@code key} is known to be missing, and remembers it as missing if
+     * the query comes back empty.
+     */
+    public <T> Optional<T> find(Lookup lookup, Object key, Supplier<Optional<T>> query) {
+        if (misses == null) {
+            return query.get();
+        }
+        var entry = new Entry(lookup, key);
+        if (misses.getIfPresent(entry) != null) {
+            return Optional.empty();
+        }
+        long seen = generation.get();
+        var result = query.get();
+        if (result.isEmpty()) {
+            misses.put(entry, Boolean.TRUE);
+            // An invalidation bumps the generation before removing, so one that raced with the
+            // query either removes this entry itself or is seen here.
+            if (generation.get() != seen) {
+                misses.asMap().remove(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A post or tag with this id or slug now exists; forget that it was missing once the current
+     * transaction commits.
+     */
+    public void invalidate(Lookup lookup, Object key) {
+        if (misses == null || key == null) {
+            return;
+        }
+        var entry = new Entry(lookup, key);
+        Runnable invalidation = () -> {
+            generation.incrementAndGet();
+            misses.invalidate(entry);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            invalidation.run();
+                        }
+                    });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    public void clear() {
+        if (misses != null) {
+            generation.incrementAndGet();
+            misses.invalidateAll();
+        }
+    }
+
+    public Statistics getStatistics() {
+        if (misses == null) {
+            return new Statistics(false, 0, 0);
+        }
+        return new Statistics(true, misses.estimatedSize(), misses.stats().hitCount());
+    }
+
+    /**
+     * {@code hits} counts lookups answered from this cache without querying the database.
+     */
+    public record Statistics(boolean enabled, long size, long hits) {
+    }
+}
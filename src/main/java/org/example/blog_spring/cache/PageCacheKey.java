@@ -0,0 +1,75 @@
+package org.example.blog_spring.cache;
+
+import org.example.blog_spring.pagination.CountMode;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Key of an unfiltered paginated listing ({@code tagLists}, {@code userLists}): page, size, sort
+ * and count mode, with the hash computed once.
+ */
+public final class PageCacheKey {
+
+    private final int page;
+    private final int size;
+    private final Sort sort;
+    private final CountMode count;
+    private final int hash;
+
+    private PageCacheKey(int page, int size, Sort sort, CountMode count) {
+        this.page = page;
+        this.size = size;
+        this.sort = sort;
+        this.count = count;
+        this.hash = 31 * (31 * (31 * page + size) + sort.hashCode()) + count.hashCode();
+    }
+
+    public static PageCacheKey of(Pageable pageable) {
+        return of(pageable, CountMode.EXACT);
+    }
+
+    public static PageCacheKey of(Pageable pageable, CountMode count) {
+        return new PageCacheKey(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort(), count != null ? count : CountMode.EXACT);
+    }
+
+    public int page() {
+        return page;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    public CountMode count() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof PageCacheKey other
+                && hash == other.hash
+                && page == other.page
+                && size == other.size
+                && sort.equals(other.sort)
+                && count == other.count;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "PageCacheKey[page=" + page + ", size=" + size + ", sort=" + sort + ", count="
+                + count + "]";
+    }
+}
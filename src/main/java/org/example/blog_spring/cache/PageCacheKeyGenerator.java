@@ -0,0 +1,41 @@
+package org.example.blog_spring.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.example.blog_spring.pagination.CountMode;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds a {@link PageCacheKey} for a paginated list method whose parameters are a
+ * {@link Pageable}, optionally followed by a {@link CountMode}. Used as
+ * {@code @Cacheable(keyGenerator = PageCacheKeyGenerator.BEAN_NAME)}; the count mode is part of
+ * the key because it decides whether the cached total is exact.
+ *
+ * <p>A method with any other parameter types is rejected instead of being keyed by its page
+ * alone.
+ */
+@Component(PageCacheKeyGenerator.BEAN_NAME)
+public class PageCacheKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "pageCacheKeyGenerator";
+
+    private static final Class<?>[] PAGE = {Pageable.class};
+    private static final Class<?>[] PAGE_AND_COUNT = {Pageable.class, CountMode.class};
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        var parameterTypes = method.getParameterTypes();
+        if (Arrays.equals(parameterTypes, PAGE)) {
+            return PageCacheKey.of((Pageable) params[0]);
+        }
+        if (Arrays.equals(parameterTypes, PAGE_AND_COUNT)) {
+            return PageCacheKey.of((Pageable) params[0], (CountMode) params[1]);
+        }
+        throw new IllegalStateException("No page cache key for "
+                + method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + Arrays.toString(parameterTypes));
+    }
+}
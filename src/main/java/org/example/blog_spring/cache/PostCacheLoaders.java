@@ -0,0 +1,68 @@
+package org.example.blog_spring.cache;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.example.blog_spring.datasource.CacheFillRouting;
+import org.example.blog_spring.service.PostService;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loaders for the post caches, backed by {@link PostService#getPost}, {@link
+ * PostService#getPostBySlug} and {@link PostService#getPosts}.
+ *
+ * <p>They call the service implementation behind its proxy: going through the proxy would hit
+ * {@code @Cacheable} again and re-enter the cache that is loading. The read-only transaction the
+ * proxy would have opened is opened here instead, and routed to the primary as the proxy would
+ * have routed it. The service is looked up lazily because it depends on the cache manager these
+ * loaders are part of.
+ */
+@Component
+public class PostCacheLoaders {
+
+    private final ObjectProvider<PostService> postServiceProvider;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile PostService target;
+
+    public PostCacheLoaders(ObjectProvider<PostService> postServiceProvider,
+            PlatformTransactionManager transactionManager) {
+        this.postServiceProvider = postServiceProvider;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Map<String, Function<Object, Object>> byCacheName() {
+        return Map.of(
+                "posts", key -> read(service -> service.getPost((Long) key)),
+                "postsBySlug", key -> read(service -> service.getPostBySlug((String) key)),
+                "postLists", key -> read(service -> {
+                    var listKey = (PostListCacheKey) key;
+                    return service.getPosts(listKey.authorId(), listKey.tagSlug(),
+                            listKey.search(), listKey.publishedOnly(),
+                            PageRequest.of(listKey.page(), listKey.size(), listKey.sort()),
+                            listKey.count());
+                }));
+    }
+
+    private Object read(Function<PostService, Object> call) {
+        var service = target();
+        return CacheFillRouting.onPrimary(
+                () -> readOnlyTransaction.execute(status -> call.apply(service)));
+    }
+
+    private PostService target() {
+        var service = target;
+        if (service == null) {
+            var proxy = postServiceProvider.getObject();
+            var unwrapped = AopProxyUtils.getSingletonTarget(proxy);
+            service = unwrapped instanceof PostService raw ? raw : proxy;
+            target = service;
+        }
+        return service;
+    }
+}
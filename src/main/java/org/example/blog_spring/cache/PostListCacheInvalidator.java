@@ -0,0 +1,142 @@
+package org.example.blog_spring.cache;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.domain.Tag;
+import org.example.blog_spring.dto.PostDto;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts only the {@code postLists} entries a write can affect, instead of
+ * {@code allEntries = true}.
+ *
+ * <p>Each entry's {@link PostListCacheKey} records the author, tag slug, published-only flag and
+ * search term it was built for. A post write evicts the entries whose filters match the post
+ * before or after the change; every page of such a listing goes, since offsets may shift. Entries
+ * with a search term are matched on their other filters only, because stemming makes the text
+ * match impossible to predict here. A tag write evicts entries filtered by the tag's slug or
+ * showing a post that carries the tag.
+ *
+ * <p>Evictions run after the surrounding transaction commits, so a concurrent reader cannot
+ * re-cache the pre-commit state.
+ */
+@Component
+public class PostListCacheInvalidator {
+
+    public static final String CACHE_NAME = "postLists";
+
+    private final CacheManager cacheManager;
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder retained = new LongAdder();
+
+    public PostListCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * The listing-relevant state of a post at one point in time.
+     */
+    public record PostSnapshot(Long authorId, PostStatus status, Set<String> tagSlugs) {
+
+        public static PostSnapshot of(Post post) {
+            Set<String> slugs = post.getTags() == null ? Set.of()
+                    : post.getTags().stream().map(Tag::getSlug)
+                            .collect(Collectors.toUnmodifiableSet());
+            return new PostSnapshot(post.getAuthorId(), post.getStatus(), slugs);
+        }
+
+        boolean appearsIn(PostListCacheKey key) {
+            return (key.authorId() == null || key.authorId().equals(authorId))
+                    && (key.tagSlug() == null || tagSlugs.contains(key.tagSlug()))
+                    && (!key.publishedOnly() || status == PostStatus.PUBLISHED);
+        }
+    }
+
+    /**
+     * A post was created ({@code before == null}), updated, or deleted ({@code after == null}).
+     */
+    public void postChanged(PostSnapshot before, PostSnapshot after) {
+        evictMatching(key -> (before != null && before.appearsIn(key))
+                || (after != null && after.appearsIn(key)), page -> false);
+    }
+
+    /**
+     * Posts were created in bulk, each as {@code postChanged(null, snapshot)} would record it, with
+     * one pass over the cache.
+     */
+    public void postsCreated(Collection<PostSnapshot> snapshots) {
+        evictMatching(key -> snapshots.stream().anyMatch(after -> after.appearsIn(key)),
+                page -> false);
+    }
+
+    /**
+     * A tag was renamed or deleted; {@code slugs} are its old and new slugs.
+     */
+    public void tagChanged(Long tagId, String... slugs) {
+        var affectedSlugs = Set.of(slugs);
+        evictMatching(key -> key.tagSlug() != null && affectedSlugs.contains(key.tagSlug()),
+                page -> page.getContent().stream().anyMatch(item -> item instanceof PostDto post
+                        && post.tags().stream().anyMatch(tag -> tagId.equals(tag.id()))));
+    }
+
+    public InvalidationStatistics getStatistics() {
+        return new InvalidationStatistics(evicted.sum(), retained.sum());
+    }
+
+    /**
+     * Totals since startup: entries evicted by targeted invalidation, and entries that a write
+     * inspected but left in place (each would have been dropped by an {@code allEntries} evict).
+     */
+    public record InvalidationStatistics(long evicted, long retained) {
+    }
+
+    private void evictMatching(Predicate<PostListCacheKey> keyMatches,
+            Predicate<Page<?>> valueMatches) {
+        Runnable eviction = () -> {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache == null) {
+                return;
+            }
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                // Cannot enumerate entries of other providers; fall back to a full clear.
+                cache.clear();
+                return;
+            }
+            var entries = caffeineCache.getNativeCache().asMap();
+            for (var entry : entries.entrySet()) {
+                boolean affected = !(entry.getKey() instanceof PostListCacheKey key)
+                        || keyMatches.test(key)
+                        || (entry.getValue() instanceof Page<?> page && valueMatches.test(page));
+                if (affected) {
+                    entries.remove(entry.getKey());
+                    evicted.increment();
+                } else {
+                    retained.increment();
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            eviction.run();
+                        }
+                    });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.blog_spring.cache;
+
+import java.util.Objects;
+
+import org.example.blog_spring.pagination.CountMode;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Key of a {@code postLists} cache entry. Keeps the filters, page and sort a listing depends on, so
+ * {@link PostListCacheInvalidator} can decide per entry whether a write affects it. The hash is
+ * computed once, since Caffeine hashes the key on every lookup.
+ */
+public final class PostListCacheKey {
+
+    private final Long authorId;
+    private final String tagSlug;
+    private final String search;
+    private final boolean publishedOnly;
+    private final int page;
+    private final int size;
+    private final Sort sort;
+    private final CountMode count;
+    private final int hash;
+
+    private PostListCacheKey(Long authorId, String tagSlug, String search, boolean publishedOnly,
+            int page, int size, Sort sort, CountMode count) {
+        this.authorId = authorId;
+        this.tagSlug = tagSlug;
+        this.search = search;
+        this.publishedOnly = publishedOnly;
+        this.page = page;
+        this.size = size;
+        this.sort = sort;
+        this.count = count;
+        this.hash = Objects.hash(authorId, tagSlug, search, publishedOnly, page, size, sort,
+                count);
+    }
+
+    public static PostListCacheKey of(Long authorId, String tagSlug, String search,
+            Boolean publishedOnly, int page, int size, Sort sort) {
+        return of(authorId, tagSlug, search, publishedOnly, page, size, sort, CountMode.EXACT);
+    }
+
+    public static PostListCacheKey of(Long authorId, String tagSlug, String search,
+            Boolean publishedOnly, int page, int size, Sort sort, CountMode count) {
+        return new PostListCacheKey(authorId, tagSlug,
+                search != null && !search.isBlank() ? search : null,
+                Boolean.TRUE.equals(publishedOnly), page, size,
+                sort != null ? sort : Sort.unsorted(), count != null ? count : CountMode.EXACT);
+    }
+
+    public Long authorId() {
+        return authorId;
+    }
+
+    public String tagSlug() {
+        return tagSlug;
+    }
+
+    public String search() {
+        return search;
+    }
+
+    public boolean publishedOnly() {
+        return publishedOnly;
+    }
+
+    public int page() {
+        return page;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    public CountMode count() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof PostListCacheKey other
+                && hash == other.hash
+                && page == other.page
+                && size == other.size
+                && publishedOnly == other.publishedOnly
+                && Objects.equals(authorId, other.authorId)
+                && Objects.equals(tagSlug, other.tagSlug)
+                && Objects.equals(search, other.search)
+                && sort.equals(other.sort)
+                && count == other.count;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "PostListCacheKey[authorId=" + authorId + ", tagSlug=" + tagSlug + ", search="
+                + search + ", publishedOnly=" + publishedOnly + ", page=" + page + ", size=" + size
+                + ", sort=" + sort + ", count=" + count + "]";
+    }
+}
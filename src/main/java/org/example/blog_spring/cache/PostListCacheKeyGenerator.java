@@ -0,0 +1,42 @@
+package org.example.blog_spring.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.example.blog_spring.pagination.CountMode;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds a {@link PostListCacheKey} for
+ * {@code getPosts(authorId, tagSlug, search, publishedOnly, pageable, count)}, so REST and
+ * GraphQL requests for the same listing share one entry. Used as
+ * {@code @Cacheable(keyGenerator = PostListCacheKeyGenerator.BEAN_NAME)}; the count mode is part
+ * of the key because it decides whether the cached total is exact.
+ *
+ * <p>The arguments are read by position, so a method with any other parameter types is rejected
+ * instead of being keyed by the wrong arguments.
+ */
+@Component(PostListCacheKeyGenerator.BEAN_NAME)
+public class PostListCacheKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "postListCacheKeyGenerator";
+
+    private static final Class<?>[] PARAMETER_TYPES = {
+            Long.class, String.class, String.class, Boolean.class, Pageable.class,
+            CountMode.class};
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        if (!Arrays.equals(method.getParameterTypes(), PARAMETER_TYPES)) {
+            throw new IllegalStateException("No post list cache key for "
+                    + method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                    + Arrays.toString(method.getParameterTypes()));
+        }
+        var pageable = (Pageable) params[4];
+        return PostListCacheKey.of((Long) params[0], (String) params[1], (String) params[2],
+                (Boolean) params[3], pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort(), (CountMode) params[5]);
+    }
+}
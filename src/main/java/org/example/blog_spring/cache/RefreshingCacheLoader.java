@@ -0,0 +1,79 @@
+package org.example.blog_spring.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.exception.PostNotFoundException;
+
+/**
+ * Caffeine loader behind a {@code refreshAfterWrite} cache. Misses load on the caller's thread as
+ * before; once an entry is older than the refresh interval, the next read still gets the cached
+ * value while the entry is reloaded on the cache's executor.
+ *
+ * <p>A reload that finds the post gone removes the entry. Any other failure keeps the stale value,
+ * and the next read after the interval tries again. When the executor is full, the stale value is
+ * kept for another interval instead of queueing more work.
+ *
+ * <p>Counts {@code blog.cache.refresh} by {@code cache} and {@code result} (success, removed,
+ * failure, rejected).
+ */
+public class RefreshingCacheLoader implements CacheLoader<Object, Object> {
+
+    private final Function<Object, Object> loader;
+    private final Counter succeeded;
+    private final Counter removed;
+    private final Counter failed;
+    private final Counter rejected;
+
+    public RefreshingCacheLoader(String cacheName, Function<Object, Object> loader,
+            MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.succeeded = counter(meterRegistry, cacheName, "success");
+        this.removed = counter(meterRegistry, cacheName, "removed");
+        this.failed = counter(meterRegistry, cacheName, "failure");
+        this.rejected = counter(meterRegistry, cacheName, "rejected");
+    }
+
+    @Override
+    public Object load(Object key) {
+        return loader.apply(key);
+    }
+
+    @Override
+    public Object reload(Object key, Object oldValue) {
+        try {
+            var value = loader.apply(key);
+            succeeded.increment();
+            return value;
+        } catch (PostNotFoundException e) {
+            removed.increment();
+            return null;
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(() -> reload(key, oldValue), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.completedFuture(oldValue);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String cacheName, String result) {
+        return Counter.builder("blog.cache.refresh")
+                .description("Background refreshes of cache entries")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.blog_spring.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Spring {@link Cache} that puts a small {@link ClockCache} (L1) in front of another cache (L2,
+ * typically Caffeine). Reads try L1 first and promote L2 hits; writes and evictions go to both.
+ * Loads ({@code @Cacheable(sync = true)}) are delegated to L2, so they keep its single-flight
+ * behaviour.
+ *
+ * <p>L1 has no expiry of its own, so it should only front caches whose entries are evicted
+ * explicitly on writes. Null values are not cached in L1. A value read from L2 is not left in
+ * L1 if an eviction ran while it was being read, so a promotion cannot bring back an entry
+ * that was just evicted.
+ *
+ * <pre>
+ * cacheManager.registerCustomCache(...) // L2
+ * new TieredCache(new ClockCache&lt;&gt;(256), cacheManager.getCache("posts"))
+ * </pre>
+ */
+public class TieredCache implements Cache {
+
+    private final ClockCache<Object, Object> l1;
+    private final Cache l2;
+    private final AtomicLong generation = new AtomicLong();
+
+    public TieredCache(ClockCache<Object, Object> l1, Cache l2) {
+        this.l1 = l1;
+        this.l2 = l2;
+    }
+
+    @Override
+    public String getName() {
+        return l2.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var value = l1.get(key);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        long seen = generation.get();
+        var wrapper = l2.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            promote(key, wrapper.get(), seen);
+        }
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        var wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        var value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return type != null ? type.cast(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var value = l1.get(key);
+        if (value != null) {
+            return (T) value;
+        }
+        long seen = generation.get();
+        T loaded = l2.get(key, valueLoader);
+        if (loaded != null) {
+            promote(key, loaded, seen);
+        }
+        return loaded;
+    }
+
+    private void promote(Object key, Object value, long seen) {
+        l1.put(key, value);
+        // An eviction bumps the generation before removing, so one that raced with the L2 read
+        // either removes this entry itself or is seen here.
+        if (generation.get() != seen) {
+            l1.remove(key, value);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        if (value != null) {
+            l1.put(key, value);
+        } else {
+            l1.remove(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        l2.evict(key);
+        l1.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        l2.clear();
+        l1.clear();
+    }
+}
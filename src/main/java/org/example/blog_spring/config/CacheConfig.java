@@ -1,39 +1,114 @@
 package org.example.blog_spring.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.cache.CacheEntryWeigher;
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.PostCacheLoaders;
+import org.example.blog_spring.cache.RefreshingCacheLoader;
+import org.example.blog_spring.pagination.PageCounter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
-import java.time.Duration;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
 
 @Configuration
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
-    @Bean
-    public Caffeine<Object, Object> caffeine() {
-        return Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterAccess(Duration.ofMinutes(10))
-                .recordStats();
+    public static final List<String> CACHE_NAMES = List.of(
+            "posts",
+            "postsBySlug",
+            "postLists",
+            "tags",
+            "tagsBySlug",
+            "tagLists",
+            "users",
+            "userLists",
+            "commentTrees"
+    );
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor cacheRefreshExecutor(CacheProperties cacheProperties) {
+        var refresh = cacheProperties.refresh();
+        return new ThreadPoolExecutor(refresh.threads(), refresh.threads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(refresh.queueCapacity()),
+                new CustomizableThreadFactory("cache-refresh-"));
     }
 
     @Bean
-    public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
-        var cacheManager = new CaffeineCacheManager(
-                "posts",
-                "postsBySlug",
-                "postLists",
-                "tags",
-                "tagsBySlug",
-                "tagLists",
-                "users",
-                "userLists"
-        );
-        cacheManager.setCaffeine(caffeine);
+    public CacheManager cacheManager(CacheProperties cacheProperties,
+            PostCacheLoaders postCacheLoaders, ThreadPoolExecutor cacheRefreshExecutor,
+            MeterRegistry meterRegistry) {
+        Map<String, Function<Object, Object>> loaders = postCacheLoaders.byCacheName();
+
+        var cacheManager = new CaffeineCacheManager();
         cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(caffeine(cacheProperties.defaults()));
+        // Fixes the set of caches, then replaces each with one built from its own policy.
+        cacheManager.setCacheNames(CACHE_NAMES);
+        for (String cacheName : CACHE_NAMES) {
+            var policy = cacheProperties.policyFor(cacheName);
+            var builder = caffeine(policy);
+            if (policy.refreshAfterWrite() == null) {
+                cacheManager.registerCustomCache(cacheName, builder.build());
+                continue;
+            }
+            var loader = loaders.get(cacheName);
+            if (loader == null) {
+                throw new IllegalStateException(
+                        "refresh-after-write is set for cache " + cacheName
+                                + ", which has no loader");
+            }
+            builder.refreshAfterWrite(policy.refreshAfterWrite()).executor(cacheRefreshExecutor);
+            cacheManager.registerCustomCache(cacheName,
+                    builder.build(new RefreshingCacheLoader(cacheName, loader, meterRegistry)));
+        }
         return cacheManager;
     }
-}
 
+    @Bean
+    public NegativeLookupCache negativeLookupCache(CacheProperties cacheProperties) {
+        return new NegativeLookupCache(cacheProperties.negative());
+    }
+
+    @Bean
+    public PageCounter pageCounter(CacheProperties cacheProperties, JdbcClient jdbcClient,
+            DataSource dataSource, MeterRegistry meterRegistry) throws MetaDataAccessException {
+        // Row estimates read PostgreSQL's catalog and planner; on other databases, such as H2 in
+        // tests, ?count=estimated counts exactly.
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource,
+                DatabaseMetaData::getDatabaseProductName);
+        return new PageCounter(cacheProperties.counts(), jdbcClient,
+                "PostgreSQL".equals(database), meterRegistry);
+    }
+
+    static Caffeine<Object, Object> caffeine(CacheProperties.Policy policy) {
+        var builder = Caffeine.newBuilder()
+                .maximumWeight(policy.maximumWeight().toBytes())
+                .weigher(new CacheEntryWeigher())
+                .recordStats();
+        if (policy.expireAfterAccess() != null) {
+            builder.expireAfterAccess(policy.expireAfterAccess());
+        }
+        if (policy.expireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.expireAfterWrite());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.blog_spring.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Per-cache Caffeine policies, bound from {@code blog.cache.*}.
+ *
+ * <pre>
+ * blog.cache.defaults.maximum-weight=16MB
+ * blog.cache.defaults.expire-after-access=10m
+ * blog.cache.caches[postLists].maximum-weight=64MB
+ * blog.cache.caches[postLists].expire-after-write=5m
+ * blog.cache.caches[posts].refresh-after-write=1m
+ * blog.cache.refresh.threads=2
+ * blog.cache.negative.maximum-size=10000
+ * blog.cache.counts.expire-after-write=10m
+ * </pre>
+ *
+ * A setting missing on a cache falls back to {@code defaults}, and a setting missing there to
+ * 16MB / 10 minutes after access.
+ */
+@ConfigurationProperties("blog.cache")
+public record CacheProperties(
+        Policy defaults,
+        Map<String, Policy> caches,
+        Refresh refresh,
+        Negative negative,
+        Counts counts
+) {
+
+    private static final Policy BUILT_IN_DEFAULTS =
+            new Policy(DataSize.ofMegabytes(16), Duration.ofMinutes(10), null, null);
+
+    public CacheProperties {
+        defaults = defaults != null ? BUILT_IN_DEFAULTS.overriddenBy(defaults) : BUILT_IN_DEFAULTS;
+        caches = caches != null ? Map.copyOf(caches) : Map.of();
+        refresh = refresh != null ? refresh : new Refresh(0, 0);
+        negative = negative != null ? negative : new Negative(null, 0, null);
+        counts = counts != null ? counts : new Counts(0, null);
+    }
+
+    /**
+     * {@code maximumWeight} is the heap budget for the cache as estimated by
+     * {@link org.example.blog_spring.cache.CacheEntryWeigher}; either expiry may be left unset.
+     * {@code refreshAfterWrite} reloads an entry in the background once it is that old, serving the
+     * old value meanwhile; it needs a loader for the cache (see {@code CacheConfig}).
+     */
+    public record Policy(
+            DataSize maximumWeight,
+            Duration expireAfterAccess,
+            Duration expireAfterWrite,
+            Duration refreshAfterWrite
+    ) {
+
+        Policy overriddenBy(Policy override) {
+            return new Policy(
+                    override.maximumWeight() != null ? override.maximumWeight() : maximumWeight,
+                    override.expireAfterAccess() != null ? override.expireAfterAccess()
+                            : expireAfterAccess,
+                    override.expireAfterWrite() != null ? override.expireAfterWrite()
+                            : expireAfterWrite,
+                    override.refreshAfterWrite() != null ? override.refreshAfterWrite()
+                            : refreshAfterWrite);
+        }
+    }
+
+    /**
+     * Bounded executor for background refreshes. Refreshes that find it full are dropped and the
+     * stale value is kept until the next read retries.
+     */
+    public record Refresh(int threads, int queueCapacity) {
+
+        public Refresh {
+            threads = threads > 0 ? threads : 2;
+            queueCapacity = queueCapacity > 0 ? queueCapacity : 256;
+        }
+    }
+
+    /**
+     * Remembers post and tag ids and slugs that were looked up and not found, so repeated probes
+     * for them skip the database. Entries go when a matching post or tag is created or renamed,
+     * and otherwise after {@code expireAfterWrite}.
+     */
+    public record Negative(Boolean enabled, long maximumSize, Duration expireAfterWrite) {
+
+        public Negative {
+            enabled = enabled == null || enabled;
+            maximumSize = maximumSize > 0 ? maximumSize : 10_000;
+            expireAfterWrite = expireAfterWrite != null ? expireAfterWrite : Duration.ofMinutes(1);
+        }
+    }
+
+    /**
+     * Totals of paginated listings kept for {@code ?count=cached}. Writes drop the totals they
+     * change; {@code expireAfterWrite} bounds how stale a total can get through writes that bypass
+     * the services.
+     */
+    public record Counts(long maximumSize, Duration expireAfterWrite) {
+
+        public Counts {
+            maximumSize = maximumSize > 0 ? maximumSize : 10_000;
+            expireAfterWrite = expireAfterWrite != null ? expireAfterWrite : Duration.ofMinutes(10);
+        }
+    }
+
+    public Policy policyFor(String cacheName) {
+        var override = caches.get(cacheName);
+        return override != null ? defaults.overriddenBy(override) : defaults;
+    }
+}
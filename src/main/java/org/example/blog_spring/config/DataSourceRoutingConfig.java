@@ -0,0 +1,87 @@
+package org.example.blog_spring.config;
+
+import java.time.Clock;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.datasource.CacheFillRouting;
+import org.example.blog_spring.datasource.ReadWriteRoutingDataSource;
+import org.example.blog_spring.datasource.ReadYourWritesFilter;
+import org.example.blog_spring.scheduling.ReplicaLagMonitor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the single auto-configured pool with a primary and a replica pool behind a
+ * {@link ReadWriteRoutingDataSource}, when {@code blog.datasource.routing.enabled=true}.
+ *
+ * <p>The pools are named {@code primary} and {@code replica}, so the {@code hikaricp.*} metrics
+ * Spring Boot registers for each are tagged per route. JPA, {@code JdbcClient} and schema init use
+ * the routing {@code dataSource} bean.
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        var dataSource =
+                properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("blog.datasource.routing.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceRoutingProperties properties) {
+        var replica = properties.replica();
+        if (replica.url() == null) {
+            throw new IllegalStateException(
+                    "blog.datasource.routing.replica.url is required when routing is enabled");
+        }
+        var builder = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(replica.url())
+                .username(replica.username())
+                .password(replica.password());
+        if (replica.driverClassName() != null) {
+            builder.driverClassName(replica.driverClassName());
+        }
+        var dataSource = builder.build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor,
+            MeterRegistry meterRegistry) {
+        var routing = new ReadWriteRoutingDataSource(primary, replica,
+                lagMonitor::isReplicaUsable, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public CacheFillRouting cacheFillRouting() {
+        return new CacheFillRouting();
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWritesWindow(), Clock.systemUTC());
+    }
+}
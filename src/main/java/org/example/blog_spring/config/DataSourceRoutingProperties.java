@@ -0,0 +1,63 @@
+package org.example.blog_spring.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read/write datasource routing, bound from {@code blog.datasource.routing.*}.
+ *
+ * <pre>
+ * blog.datasource.routing.enabled=true
+ * blog.datasource.routing.replica.url=jdbc:postgresql://replica:5432/blog
+ * blog.datasource.routing.replica.username=blog
+ * blog.datasource.routing.replica.password=secret
+ * blog.datasource.routing.replica.hikari.maximum-pool-size=20
+ * blog.datasource.routing.max-lag=5s
+ * blog.datasource.routing.read-your-writes-window=5s
+ * </pre>
+ *
+ * The primary is the regular {@code spring.datasource.*} one. {@code lagQuery} must return the
+ * replica's lag in seconds; the default works on a PostgreSQL streaming replica and reports 0 on
+ * a server that is not in recovery. {@code readYourWritesWindow} defaults to {@code maxLag}, the
+ * longest a write can take to show up on a replica that is still used.
+ */
+@ConfigurationProperties("blog.datasource.routing")
+public record DataSourceRoutingProperties(
+        boolean enabled,
+        Replica replica,
+        Duration maxLag,
+        String lagQuery,
+        Duration readYourWritesWindow
+) {
+
+    /**
+     * Zero while the replica has replayed everything it received, so an idle primary does not
+     * look like lag; otherwise the age of the last replayed transaction.
+     */
+    static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            END""";
+
+    public DataSourceRoutingProperties {
+        replica = replica != null ? replica : new Replica(null, null, null, null);
+        maxLag = maxLag != null ? maxLag : Duration.ofSeconds(5);
+        lagQuery = lagQuery != null ? lagQuery : POSTGRES_LAG_QUERY;
+        readYourWritesWindow = readYourWritesWindow != null ? readYourWritesWindow : maxLag;
+    }
+
+    /**
+     * Connection settings of the replica; its pool is configured under
+     * {@code blog.datasource.routing.replica.hikari.*}.
+     */
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            String driverClassName
+    ) {
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.blog_spring.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.service.CommentService;
+import org.example.blog_spring.service.ReviewService;
+import org.example.blog_spring.web.graphql.PersistedQueryDocumentProvider;
+import org.example.blog_spring.web.graphql.QueryCostInstrumentation;
+import org.example.blog_spring.web.graphql.SubscriptionFeed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.graphql.autoconfigure.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+/**
+ * Limits on GraphQL operations, the cache of parsed documents and the feed of subscriptions.
+ * Spring Boot adds every {@code Instrumentation} bean to the GraphQL engine, in front of
+ * {@code BlogGraphQlController}.
+ */
+@Configuration
+@EnableConfigurationProperties({GraphQlCostProperties.class,
+        GraphQlPersistedQueryProperties.class, GraphQlSubscriptionProperties.class})
+public class GraphQlConfig {
+
+    @Bean
+    public QueryCostInstrumentation queryCostInstrumentation(GraphQlCostProperties properties,
+            PersistedQueryDocumentProvider documentProvider, MeterRegistry meterRegistry) {
+        return new QueryCostInstrumentation(properties, documentProvider.operationNames(),
+                meterRegistry);
+    }
+
+    @Bean
+    public PersistedQueryDocumentProvider persistedQueryDocumentProvider(
+            GraphQlPersistedQueryProperties properties, ResourcePatternResolver resolver,
+            MeterRegistry meterRegistry) throws IOException {
+        Map<String, String> allowList = new LinkedHashMap<>();
+        for (var resource : resolver.getResources(properties.allowList())) {
+            var query = resource.getContentAsString(StandardCharsets.UTF_8).stripTrailing();
+            allowList.put(PersistedQueryDocumentProvider.sha256(query), query);
+        }
+        if (properties.allowListOnly() && allowList.isEmpty()) {
+            throw new IllegalStateException("blog.graphql.persisted-queries.allow-list-only is set"
+                    + " but no queries were found at " + properties.allowList());
+        }
+        return new PersistedQueryDocumentProvider(allowList, properties.allowListOnly(),
+                properties.cacheSize(), meterRegistry);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer persistedQueries(
+            PersistedQueryDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(
+                graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+
+    @Bean
+    public SubscriptionFeed subscriptionFeed(GraphQlSubscriptionProperties properties,
+            ObjectProvider<CommentService> commentService,
+            ObjectProvider<ReviewService> reviewService, MeterRegistry meterRegistry) {
+        return new SubscriptionFeed(commentService, reviewService, properties.bufferSize(),
+                meterRegistry);
+    }
+}
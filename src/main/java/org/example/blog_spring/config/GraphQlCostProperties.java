@@ -0,0 +1,37 @@
+package org.example.blog_spring.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Budgets for GraphQL operations, bound from {@code blog.graphql.*}.
+ *
+ * <pre>
+ * blog.graphql.max-depth=10
+ * blog.graphql.max-cost=10000
+ * blog.graphql.default-list-size=5
+ * blog.graphql.field-weights[Post.comments]=2
+ * </pre>
+ *
+ * A field costs its weight (by default 1 for a field with a selection, 0 for a scalar) plus the
+ * cost of its selection, times the number of items it returns if it is a list: the value of its
+ * {@code size}, {@code first} or {@code roots} argument, else {@code defaultListSize}.
+ * Operations deeper than {@code maxDepth} or costlier than {@code maxCost} are rejected before
+ * they run.
+ */
+@ConfigurationProperties("blog.graphql")
+public record GraphQlCostProperties(
+        Integer maxDepth,
+        Integer maxCost,
+        Integer defaultListSize,
+        Map<String, Integer> fieldWeights
+) {
+
+    public GraphQlCostProperties {
+        maxDepth = maxDepth != null ? maxDepth : 10;
+        maxCost = maxCost != null ? maxCost : 10_000;
+        defaultListSize = defaultListSize != null ? defaultListSize : 5;
+        fieldWeights = fieldWeights != null ? Map.copyOf(fieldWeights) : Map.of();
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.blog_spring.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Persisted queries, bound from {@code blog.graphql.persisted-queries.*}.
+ *
+ * <pre>
+ * blog.graphql.persisted-queries.cache-size=1000
+ * blog.graphql.persisted-queries.allow-list=classpath*:graphql/persisted/*.graphql
+ * blog.graphql.persisted-queries.allow-list-only=false
+ * </pre>
+ *
+ * {@code cacheSize} bounds the parsed documents kept. {@code allowList} is a resource pattern;
+ * each file holds one document, registered under the SHA-256 of its text without trailing
+ * whitespace. With {@code allowListOnly} no other query is executed.
+ */
+@ConfigurationProperties("blog.graphql.persisted-queries")
+public record GraphQlPersistedQueryProperties(
+        Integer cacheSize,
+        String allowList,
+        boolean allowListOnly
+) {
+
+    public GraphQlPersistedQueryProperties {
+        cacheSize = cacheSize != null ? cacheSize : 1000;
+        allowList = allowList != null ? allowList : "classpath*:graphql/persisted/*.graphql";
+    }
+}
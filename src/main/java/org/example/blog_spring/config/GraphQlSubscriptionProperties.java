@@ -0,0 +1,23 @@
+package org.example.blog_spring.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * GraphQL subscriptions, bound from {@code blog.graphql.subscriptions.*}.
+ *
+ * <pre>
+ * blog.graphql.subscriptions.buffer-size=256
+ * </pre>
+ *
+ * {@code bufferSize} is the number of events held for one subscriber that has not taken them
+ * yet; events beyond it are dropped for that subscriber only.
+ */
+@ConfigurationProperties("blog.graphql.subscriptions")
+public record GraphQlSubscriptionProperties(
+        Integer bufferSize
+) {
+
+    public GraphQlSubscriptionProperties {
+        bufferSize = bufferSize != null ? bufferSize : 256;
+    }
+}
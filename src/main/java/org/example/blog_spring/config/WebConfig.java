@@ -2,13 +2,17 @@ package org.example.blog_spring.config;
 
 import java.util.List;
 
+import org.example.blog_spring.pagination.CountMode;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.format.FormatterRegistry;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
- * Configures pagination to use 1-based page numbers: page=1 means the first page.
+ * Configures pagination to use 1-based page numbers: page=1 means the first page. The
+ * {@code count} parameter ({@link CountMode}) is accepted in any case.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -19,4 +23,10 @@ public class WebConfig implements WebMvcConfigurer {
         pageableResolver.setOneIndexedParameters(true);
         resolvers.add(pageableResolver);
     }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, CountMode.class,
+                (Converter<String, CountMode>) CountMode::fromParameter);
+    }
 }
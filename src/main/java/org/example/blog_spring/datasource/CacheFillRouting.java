@@ -0,0 +1,58 @@
+package org.example.blog_spring.datasource;
+
+import java.util.function.Supplier;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Sends the loads that fill a cache to the primary: the body of every {@code @Cacheable} method,
+ * and whatever runs in {@link #onPrimary}.
+ *
+ * <p>A cached value outlives the request that loaded it. Loaded from a replica still replaying
+ * the write behind the eviction, the stale value would go back into the cache until the next
+ * write to it; a miss read there would be remembered by the negative lookup cache. Routing the
+ * load to the primary costs one primary query per cache miss. Cache hits run no query, so they
+ * are unaffected.
+ *
+ * <p>The route is chosen when a transaction first uses its connection, so this only reroutes
+ * loads whose transaction has not queried anything yet, as is the case for a service call.
+ */
+@Aspect
+public class CacheFillRouting {
+
+    private static final ThreadLocal<Boolean> FILLING = new ThreadLocal<>();
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object routeToPrimary(ProceedingJoinPoint pjp) throws Throwable {
+        if (isFilling()) {
+            return pjp.proceed();
+        }
+        FILLING.set(Boolean.TRUE);
+        try {
+            return pjp.proceed();
+        } finally {
+            FILLING.remove();
+        }
+    }
+
+    /**
+     * Runs a cache load that does not go through a {@code @Cacheable} proxy, such as a refresh.
+     */
+    public static <T> T onPrimary(Supplier<T> load) {
+        if (isFilling()) {
+            return load.get();
+        }
+        FILLING.set(Boolean.TRUE);
+        try {
+            return load.get();
+        } finally {
+            FILLING.remove();
+        }
+    }
+
+    static boolean isFilling() {
+        return FILLING.get() != null;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.blog_spring.datasource;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica and
+ * everything else to the primary.
+ *
+ * <p>A read-only transaction still goes to the primary when the replica is lagging or unreachable
+ * ({@code replicaUsable} is false), when the request is pinned by {@link ReadYourWritesFilter}, or
+ * when it loads a value into a cache ({@link CacheFillRouting}).
+ * Work outside a transaction (schema init, startup scans without one) goes to the primary and is
+ * counted apart from read-write transactions.
+ *
+ * <p>The route is chosen when a connection is first used, so this must sit behind a
+ * {@link LazyConnectionDataSourceProxy}: the transaction manager asks for a connection before it
+ * marks the transaction read-only, and the proxy defers the real one to the first statement.
+ * Routing decisions are counted in {@code blog.datasource.route}, tagged by {@code route} and
+ * {@code reason}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final BooleanSupplier replicaUsable;
+    private final Counter writes;
+    private final Counter nonTransactional;
+    private final Counter readsOnReplica;
+    private final Counter readsPinned;
+    private final Counter readsCacheFill;
+    private final Counter readsReplicaLagging;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+            BooleanSupplier replicaUsable, MeterRegistry meterRegistry) {
+        this.replicaUsable = replicaUsable;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.writes = counter(meterRegistry, Route.PRIMARY, "read_write");
+        this.nonTransactional = counter(meterRegistry, Route.PRIMARY, "no_transaction");
+        this.readsOnReplica = counter(meterRegistry, Route.REPLICA, "read_only");
+        this.readsPinned = counter(meterRegistry, Route.PRIMARY, "read_your_writes");
+        this.readsCacheFill = counter(meterRegistry, Route.PRIMARY, "cache_fill");
+        this.readsReplicaLagging = counter(meterRegistry, Route.PRIMARY, "replica_lagging");
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            nonTransactional.increment();
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return Route.PRIMARY;
+        }
+        if (ReadYourWrites.isPinned()) {
+            readsPinned.increment();
+            return Route.PRIMARY;
+        }
+        if (CacheFillRouting.isFilling()) {
+            readsCacheFill.increment();
+            return Route.PRIMARY;
+        }
+        if (!replicaUsable.getAsBoolean()) {
+            readsReplicaLagging.increment();
+            return Route.PRIMARY;
+        }
+        readsOnReplica.increment();
+        return Route.REPLICA;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Route route, String reason) {
+        return Counter.builder("blog.datasource.route")
+                .description("Connections routed to the primary or the replica, by reason")
+                .tag("route", route.name().toLowerCase(Locale.ROOT))
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.blog_spring.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-request read-your-writes state, bound to the request thread by {@link ReadYourWritesFilter}.
+ *
+ * <p>A request is pinned to the primary when the client wrote within the window (as its cookie
+ * says) or once a write of its own commits; {@link ReadWriteRoutingDataSource} then routes its
+ * read-only transactions to the primary too. Outside a request nothing is pinned.
+ *
+ * <p>A transaction counts as a write when it calls {@link #recordWrite()}, which the outbox does
+ * for every change event, not merely because it is read-write: a read-write transaction that
+ * only reads leaves the request unpinned.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Request> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * @param onFirstWrite called once, on the request thread, when the request's first write
+     *        transaction commits
+     */
+    static void begin(boolean pinned, Runnable onFirstWrite) {
+        CURRENT.set(new Request(pinned, onFirstWrite));
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static boolean isPinned() {
+        var request = CURRENT.get();
+        return request != null && request.pinned;
+    }
+
+    /**
+     * The current transaction writes; pins the request once it commits. Does nothing outside a
+     * request or a transaction.
+     */
+    public static void recordWrite() {
+        if (!isActive() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(PinAfterCommit.class::isInstance);
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new PinAfterCommit());
+        }
+    }
+
+    static void writeCommitted() {
+        var request = CURRENT.get();
+        if (request == null || request.written) {
+            return;
+        }
+        request.written = true;
+        request.pinned = true;
+        request.onFirstWrite.run();
+    }
+
+    private static final class Request {
+
+        private final Runnable onFirstWrite;
+        private boolean pinned;
+        private boolean written;
+
+        private Request(boolean pinned, Runnable onFirstWrite) {
+            this.pinned = pinned;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+
+    private static final class PinAfterCommit implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            writeCommitted();
+        }
+    }
+}
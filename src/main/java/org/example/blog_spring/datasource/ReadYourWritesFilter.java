@@ -0,0 +1,75 @@
+package org.example.blog_spring.datasource;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a client's reads on the primary for {@code window} after it wrote, so it does not read a
+ * replica that has not replayed its write yet.
+ *
+ * <p>When a request's first write commits, the response gets a {@value #COOKIE} cookie holding
+ * the time the window ends; requests carrying an unexpired one are pinned to the primary. Clients
+ * that drop cookies only get read-your-writes within the request that wrote. Pinning follows the
+ * request thread, so work a request hands to other threads is routed as if it were not pinned.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "blog_primary_until";
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        ReadYourWrites.begin(pinnedUntil(request) > clock.millis(), () -> pin(response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+
+    private void pin(HttpServletResponse response) {
+        // Services commit before the body is written, so the header can normally still be set.
+        if (response.isCommitted()) {
+            return;
+        }
+        var cookie = new Cookie(COOKIE, Long.toString(clock.millis() + window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.plusMillis(999).toSeconds()));
+        response.addCookie(cookie);
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        var cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (var cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
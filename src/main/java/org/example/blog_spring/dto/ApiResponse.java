@@ -1,8 +1,25 @@
 package org.example.blog_spring.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.blog_spring.pagination.CountedPage;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 
-public record ApiResponse<T>(int status, String message, T data) {
+/**
+ * Envelope of every REST response. {@code totalExact} is present when {@code data} is a page and
+ * says whether its total was counted for this response, or taken from a cache or an estimate
+ * ({@code ?count=cached|estimated}).
+ */
+public record ApiResponse<T>(
+        int status,
+        String message,
+        T data,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Boolean totalExact
+) {
+
+    public ApiResponse(int status, String message, T data) {
+        this(status, message, data, totalExact(data));
+    }
 
     public static <T> ApiResponse<T> success(HttpStatus status, String message, T data) {
         return new ApiResponse<>(status.value(), message, data);
@@ -11,5 +28,11 @@ public record ApiResponse<T>(int status, String message, T data) {
     public static <T> ApiResponse<T> error(HttpStatus status, String message, T data) {
         return new ApiResponse<>(status.value(), message, data);
     }
-}
 
+    private static Boolean totalExact(Object data) {
+        if (data instanceof CountedPage<?> page) {
+            return page.isTotalExact();
+        }
+        return data instanceof Page<?> ? Boolean.TRUE : null;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.blog_spring.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A comment with its replies nested under it, oldest first. {@code moreReplies} is set on a
+ * comment at the requested depth that has replies which were not loaded.
+ */
+public record CommentThreadDto(
+        Long id,
+        Long postId,
+        Long userId,
+        Long parentId,
+        String content,
+        Instant createdAt,
+        Instant updatedAt,
+        boolean moreReplies,
+        List<CommentThreadDto> replies
+) {
+}
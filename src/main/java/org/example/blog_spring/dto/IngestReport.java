@@ -0,0 +1,25 @@
+package org.example.blog_spring.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one bulk ingest. {@code lines} counts the non-blank lines read; each was either
+ * inserted or rejected. {@code errors} lists the first rejections, up to
+ * {@code blog.ingest.max-reported-errors}.
+ */
+public record IngestReport(
+        String kind,
+        long lines,
+        long inserted,
+        long rejected,
+        long elapsedMillis,
+        long rowsPerSecond,
+        List<LineError> errors
+) {
+
+    /**
+     * Why the line with 1-based number {@code line} was not inserted.
+     */
+    public record LineError(long line, String message) {
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.blog_spring.dto;
+
+/**
+ * Aggregate of a post's reviews. {@code averageRating} is {@code null} when there are none.
+ */
+public record ReviewSummaryDto(
+        Long postId,
+        Long count,
+        Double averageRating
+) {
+}
@@ -0,0 +1,28 @@
+package org.example.blog_spring.dto;
+
+import java.time.Instant;
+
+/**
+ * One entry of the delta-sync feed: which row changed, how, and the version it now has (or had
+ * when it was deleted). Clients fetch the row itself only if their copy is older.
+ */
+public record SyncChange(
+        Type type,
+        Long id,
+        long version,
+        Operation operation,
+        Instant changedAt
+) {
+
+    public enum Type {
+        POST, COMMENT, REVIEW
+    }
+
+    /**
+     * {@code CREATED} when the row was created after the client's token, so the client cannot
+     * have it yet; {@code UPDATED} otherwise.
+     */
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+}
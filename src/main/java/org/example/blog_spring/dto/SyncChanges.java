@@ -0,0 +1,14 @@
+package org.example.blog_spring.dto;
+
+import java.util.List;
+
+/**
+ * One batch of the delta-sync feed. Pass {@code nextToken} as {@code since} to continue; when
+ * {@code hasMore} is false the client is up to date as of the token.
+ */
+public record SyncChanges(
+        List<SyncChange> changes,
+        String nextToken,
+        boolean hasMore
+) {
+}
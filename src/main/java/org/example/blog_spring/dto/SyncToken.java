@@ -0,0 +1,69 @@
+package org.example.blog_spring.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the delta-sync feed, which merges several sources ordered by change time. The
+ * feed is ordered by {@code (changedAt, source, key)}; a token is that triple for the last
+ * change a client has seen. Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+public record SyncToken(Instant changedAt, Source source, long key) {
+
+    /**
+     * Where changes come from, in feed order for equal change times. The key is the row id, or
+     * the tombstone id for deletions.
+     */
+    public enum Source {
+        POSTS, COMMENTS, REVIEWS, TOMBSTONES
+    }
+
+    /**
+     * Before every change.
+     */
+    public static final SyncToken START = new SyncToken(Instant.EPOCH, Source.POSTS, 0);
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Everything changed before {@code changedAt} has been seen.
+     */
+    public static SyncToken before(Instant changedAt) {
+        return new SyncToken(changedAt, Source.POSTS, 0);
+    }
+
+    /**
+     * The key of {@code source} after which its rows changed at {@link #changedAt} are new, so
+     * that {@code (changedAt, key) > (this.changedAt, afterKey(source))} selects the rest of the
+     * feed for that source.
+     */
+    public long afterKey(Source source) {
+        int order = source.compareTo(this.source);
+        if (order < 0) {
+            return Long.MAX_VALUE;
+        }
+        return order == 0 ? key : 0;
+    }
+
+    public String encode() {
+        var raw = changedAt.toString() + SEPARATOR + source + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected three parts");
+            }
+            return new SyncToken(Instant.parse(parts[0]), Source.valueOf(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid sync token", ex);
+        }
+    }
+}
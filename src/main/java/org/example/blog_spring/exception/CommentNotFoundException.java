@@ -1,6 +1,6 @@
 package org.example.blog_spring.exception;
 
-public class CommentNotFoundException extends RuntimeException {
+public class CommentNotFoundException extends ResourceNotFoundException {
 
     public CommentNotFoundException(Long id) {
         super("Comment with id %d not found".formatted(id));
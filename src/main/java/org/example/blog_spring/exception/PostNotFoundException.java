@@ -1,6 +1,6 @@
 package org.example.blog_spring.exception;
 
-public class PostNotFoundException extends RuntimeException {
+public class PostNotFoundException extends ResourceNotFoundException {
 
     public PostNotFoundException(Long id) {
         super("Post with id %d not found".formatted(id));
@@ -0,0 +1,13 @@
+package org.example.blog_spring.exception;
+
+/**
+ * Base of the exceptions that end in a 404. Unknown ids and slugs are an expected outcome, often
+ * from crawlers or stale links, so these exceptions skip capturing a stack trace. Capturing it is
+ * most of the cost of throwing one, and the trace never reaches the client or the logs.
+ */
+public abstract class ResourceNotFoundException extends RuntimeException {
+
+    protected ResourceNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,6 @@
 package org.example.blog_spring.exception;
 
-public class ReviewNotFoundException extends RuntimeException {
+public class ReviewNotFoundException extends ResourceNotFoundException {
 
     public ReviewNotFoundException(Long id) {
         super("Review with id %d not found".formatted(id));
@@ -1,6 +1,6 @@
 package org.example.blog_spring.exception;
 
-public class TagNotFoundException extends RuntimeException {
+public class TagNotFoundException extends ResourceNotFoundException {
 
     public TagNotFoundException(Long id) {
         super("Tag with id %d not found".formatted(id));
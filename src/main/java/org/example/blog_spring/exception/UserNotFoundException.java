@@ -1,6 +1,6 @@
 package org.example.blog_spring.exception;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends ResourceNotFoundException {
 
     public UserNotFoundException(Long id) {
         super("User with id %d not found".formatted(id));
@@ -1,9 +1,16 @@
 package org.example.blog_spring.mapper;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.example.blog_spring.domain.Comment;
 import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.CommentThreadDto;
 import org.example.blog_spring.dto.CreateCommentRequest;
 import org.example.blog_spring.dto.UpdateCommentRequest;
+import org.example.blog_spring.repository.jdbc.CommentTreeRow;
 
 public final class CommentMapper {
 
@@ -22,4 +29,36 @@ public final class CommentMapper {
         return new CommentDto(comment.getId(), comment.getPostId(), comment.getUserId(),
                 comment.getParentId(), comment.getContent(), comment.getCreatedAt(), comment.getUpdatedAt());
     }
+
+    /**
+     * Nests the rows of {@code CommentTreeRepository} under their parents in one pass over them.
+     * Rows of depth 1 are the roots; the order of the rows is kept among siblings.
+     */
+    public static List<CommentThreadDto> toThreads(List<CommentTreeRow> rows) {
+        Map<Long, List<CommentTreeRow>> repliesByParent = new HashMap<>();
+        var roots = new ArrayList<CommentTreeRow>();
+        for (var row : rows) {
+            if (row.depth() == 1) {
+                roots.add(row);
+            } else {
+                repliesByParent.computeIfAbsent(row.comment().parentId(), id -> new ArrayList<>())
+                        .add(row);
+            }
+        }
+        return toThreads(roots, repliesByParent);
+    }
+
+    // Recursion is bounded by the depth the rows were loaded to.
+    private static List<CommentThreadDto> toThreads(List<CommentTreeRow> rows,
+            Map<Long, List<CommentTreeRow>> repliesByParent) {
+        var threads = new ArrayList<CommentThreadDto>(rows.size());
+        for (var row : rows) {
+            var comment = row.comment();
+            var replies = repliesByParent.getOrDefault(comment.id(), List.of());
+            threads.add(new CommentThreadDto(comment.id(), comment.postId(), comment.userId(),
+                    comment.parentId(), comment.content(), comment.createdAt(),
+                    comment.updatedAt(), row.moreReplies(), toThreads(replies, repliesByParent)));
+        }
+        return List.copyOf(threads);
+    }
 }
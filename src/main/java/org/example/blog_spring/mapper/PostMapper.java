@@ -40,6 +40,13 @@ public final class PostMapper {
                 : post.getTags().stream()
                         .map(tag -> new TagSummaryDto(tag.getId(), tag.getName(), tag.getSlug()))
                         .collect(Collectors.toUnmodifiableSet());
+        return toDto(post, tagDtos);
+    }
+
+    /**
+     * Maps a post using tags that were loaded separately, without touching {@code post.getTags()}.
+     */
+    public static PostDto toDto(Post post, Set<TagSummaryDto> tagDtos) {
         return new PostDto(post.getId(), post.getAuthorId(), post.getTitle(), post.getContent(),
                 post.getSlug(), post.getStatus(), post.getCreatedAt(), post.getUpdatedAt(),
                 post.getPublishedAt(), post.getCommentCount(), tagDtos);
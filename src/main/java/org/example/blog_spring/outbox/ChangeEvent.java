@@ -0,0 +1,33 @@
+package org.example.blog_spring.outbox;
+
+import java.time.Instant;
+
+/**
+ * A committed write to one entity, as read back from the outbox.
+ *
+ * @param id the outbox row id, the same on every node that receives the event
+ * @param postId the post a comment or review belongs to, so that subscribers can act on that
+ *        post even once the comment or review is gone; {@code null} for other entities
+ * @param slug the post's or tag's slug after the change, where there is one; {@code null} for
+ *        other entities and for deletions
+ * @param local whether the change was committed on this node
+ */
+public record ChangeEvent(
+        long id,
+        Entity entity,
+        Long entityId,
+        Long postId,
+        Action action,
+        String slug,
+        Instant occurredAt,
+        boolean local
+) {
+
+    public enum Entity {
+        POST, TAG, USER, COMMENT, REVIEW
+    }
+
+    public enum Action {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.blog_spring.outbox;
+
+/**
+ * Reacts to committed writes. Every {@code ChangeSubscriber} bean, on every node, receives every
+ * event the {@link OutboxDispatcher} delivers.
+ *
+ * <p>Delivery is at least once: the node that committed a write delivers its events right away
+ * and again from the outbox, and a subscriber that throws gets the event again on the next
+ * dispatch. Subscribers must therefore be idempotent.
+ */
+public interface ChangeSubscriber {
+
+    void onChange(ChangeEvent event);
+}
@@ -0,0 +1,102 @@
+package org.example.blog_spring.outbox;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.blog_spring.datasource.ReadYourWrites;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.repository.jdbc.OutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records change events in the transaction of the change, so that an event exists exactly when
+ * its change commits.
+ *
+ * <p>Once a transaction that appended events commits, they are handed to the subscribers of this
+ * node right away, before the service call returns; a caller reading after its write therefore
+ * no longer sees entries that subscribers evict. Every node, this one included, also reads them
+ * from the outbox with its next poll.
+ */
+@Component
+public class Outbox {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxDispatcher dispatcher;
+
+    public Outbox(OutboxRepository outboxRepository, OutboxDispatcher dispatcher) {
+        this.outboxRepository = outboxRepository;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Appends an event to the outbox. Every write appends one, so this is also where the request
+     * learns that it wrote and should read its own writes from the primary.
+     *
+     * @throws IllegalStateException outside a transaction, where the event could be recorded
+     *         for a change that is never committed
+     */
+    public void append(Entity entity, Long entityId, Action action, String slug) {
+        append(entity, entityId, null, action, slug);
+    }
+
+    /**
+     * Appends an event for a comment or review, recording the post it belongs to.
+     *
+     * @throws IllegalStateException outside a transaction
+     */
+    public void append(Entity entity, Long entityId, Long postId, Action action, String slug) {
+        requireTransaction();
+        deliverAfterCommit(List.of(outboxRepository.append(entity, entityId, postId, action,
+                slug, Instant.now())));
+    }
+
+    /**
+     * Appends one event per entity, as a bulk write does in one go.
+     *
+     * @param postIds the post of each of {@code entityIds}, in the same order, or {@code null}
+     *        where the entities belong to none
+     * @param slugs the slug of each of {@code entityIds}, in the same order, or {@code null}
+     *        where the entities have none
+     * @throws IllegalStateException outside a transaction
+     */
+    public void appendAll(Entity entity, Action action, List<Long> entityIds,
+            List<Long> postIds, List<String> slugs) {
+        requireTransaction();
+        deliverAfterCommit(outboxRepository.appendAll(entity, action, entityIds, postIds,
+                slugs, Instant.now()));
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Change events must be appended in a transaction");
+        }
+    }
+
+    private void deliverAfterCommit(List<ChangeEvent> events) {
+        ReadYourWrites.recordWrite();
+        var committed = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(DeliverAfterCommit.class::isInstance)
+                .map(DeliverAfterCommit.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    var synchronization = new DeliverAfterCommit();
+                    TransactionSynchronizationManager.registerSynchronization(synchronization);
+                    return synchronization;
+                });
+        committed.events.addAll(events);
+    }
+
+    private final class DeliverAfterCommit implements TransactionSynchronization {
+
+        private final List<ChangeEvent> events = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            dispatcher.deliverCommitted(events);
+        }
+    }
+}
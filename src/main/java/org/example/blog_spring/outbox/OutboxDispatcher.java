@@ -0,0 +1,221 @@
+package org.example.blog_spring.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.blog_spring.repository.jdbc.OutboxRepository;
+import org.example.blog_spring.repository.jdbc.OutboxRepository.Backlog;
+import org.example.blog_spring.repository.jdbc.OutboxRepository.EventRow;
+import org.example.blog_spring.repository.jdbc.OutboxRepository.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers outbox events to every {@link ChangeSubscriber} on this node.
+ *
+ * <p>Every node reads every event: subscribers such as the cache evictions act on state of their
+ * own node, which an event consumed by another node would leave stale. Each subscriber has its
+ * own position in the outbox, kept in memory and starting with the transactions still running
+ * when this node started. A dispatch reads up to {@code blog.outbox.batch-size} events after the
+ * slowest subscriber and hands each subscriber those after its own position, in outbox order.
+ * When a subscriber throws, that subscriber alone stops at the event and tries it again on the
+ * next dispatch; after {@code blog.outbox.max-attempts} failures it skips the event. The others
+ * carry on. Events are purged by age, not on delivery.
+ *
+ * <p>Exports the {@code blog.outbox.lag} timer (from the change to its delivery) and the
+ * {@code blog.outbox.events} counter by {@code result=delivered|retried|skipped}, both tagged by
+ * {@code subscriber}, and the {@code blog.outbox.pending} and {@code blog.outbox.oldest.age}
+ * gauges for the slowest subscriber as of the last {@link #drain()}.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxRepository outboxRepository;
+    private final List<Delivery> deliveries;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Position start;
+    private volatile Backlog backlog = new Backlog(0, null);
+
+    public OutboxDispatcher(OutboxRepository outboxRepository, List<ChangeSubscriber> subscribers,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${blog.outbox.batch-size:100}") int batchSize,
+            @Value("${blog.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        // Also runs after the commit of a service transaction, which must not be joined.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        // Caches start empty and subscriptions start now, so earlier events are of no use here.
+        this.start = Position.startingAt(
+                transactionTemplate.execute(status -> outboxRepository.horizon()));
+        this.deliveries = subscribers.stream()
+                .map(subscriber -> new Delivery(subscriber, meterRegistry))
+                .toList();
+        Gauge.builder("blog.outbox.pending", this, dispatcher -> dispatcher.backlog.pending())
+                .description("Change events not yet delivered to every subscriber")
+                .register(meterRegistry);
+        Gauge.builder("blog.outbox.oldest.age", this, OutboxDispatcher::oldestAgeSeconds)
+                .description("Age of the oldest change event not yet delivered")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers one batch. Never throws; failures are logged and left for a later dispatch.
+     *
+     * @return the number of events read, or 0 when no subscriber got past the slowest one
+     */
+    public synchronized int dispatch() {
+        try {
+            Integer count = transactionTemplate.execute(status -> deliverBatch());
+            return count != null ? count : 0;
+        } catch (RuntimeException ex) {
+            log.warn("Dispatching change events failed", ex);
+            return 0;
+        }
+    }
+
+    /**
+     * Dispatches until no full batch remains, then refreshes the backlog gauges.
+     */
+    public synchronized void drain() {
+        while (dispatch() == batchSize) {
+            // Keep going while whole batches are delivered.
+        }
+        try {
+            backlog = outboxRepository.backlog(slowest());
+        } catch (RuntimeException ex) {
+            log.warn("Reading the outbox backlog failed", ex);
+        }
+    }
+
+    /**
+     * Hands the events of a transaction that just committed on this node to its subscribers
+     * right away, ahead of the next dispatch, which delivers them again. Failures are only
+     * logged.
+     */
+    public void deliverCommitted(List<ChangeEvent> events) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (var delivery : deliveries) {
+                    delivery.deliverNow(events);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Delivering committed change events failed", ex);
+        }
+    }
+
+    private int deliverBatch() {
+        var from = slowest();
+        var rows = outboxRepository.findAfter(from, outboxRepository.horizon(), batchSize);
+        for (var delivery : deliveries) {
+            delivery.deliver(rows);
+        }
+        // A subscriber stuck at a failing event holds the next read where it is.
+        return slowest().equals(from) ? 0 : rows.size();
+    }
+
+    private Position slowest() {
+        return deliveries.stream()
+                .map(delivery -> delivery.position)
+                .min(Comparator.naturalOrder())
+                .orElse(start);
+    }
+
+    private double oldestAgeSeconds() {
+        var oldest = backlog.oldest();
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+
+    /**
+     * One subscriber's progress through the outbox. Only moved by {@link #dispatch()}, which is
+     * synchronized.
+     */
+    private final class Delivery {
+
+        private final ChangeSubscriber subscriber;
+        private final Timer lag;
+        private final Counter delivered;
+        private final Counter retried;
+        private final Counter skipped;
+        private Position position = start;
+        private int attempts;
+
+        Delivery(ChangeSubscriber subscriber, MeterRegistry meterRegistry) {
+            this.subscriber = subscriber;
+            var name = AopUtils.getTargetClass(subscriber).getSimpleName();
+            this.lag = Timer.builder("blog.outbox.lag")
+                    .description("Time from a change to the delivery of its event")
+                    .tag("subscriber", name)
+                    .register(meterRegistry);
+            this.delivered = events(meterRegistry, name, "delivered");
+            this.retried = events(meterRegistry, name, "retried");
+            this.skipped = events(meterRegistry, name, "skipped");
+        }
+
+        void deliver(List<EventRow> rows) {
+            for (var row : rows) {
+                if (row.position().compareTo(position) <= 0) {
+                    continue;
+                }
+                var event = row.event();
+                try {
+                    subscriber.onChange(event);
+                    delivered.increment();
+                    lag.record(Duration.between(event.occurredAt(), Instant.now()));
+                } catch (RuntimeException ex) {
+                    if (++attempts < maxAttempts) {
+                        retried.increment();
+                        log.warn("Delivering change event {} to {} failed, will retry", event,
+                                subscriber, ex);
+                        return;
+                    }
+                    skipped.increment();
+                    log.error("Skipping change event {} for {} after {} failed deliveries",
+                            event, subscriber, maxAttempts, ex);
+                }
+                position = row.position();
+                attempts = 0;
+            }
+        }
+
+        void deliverNow(List<ChangeEvent> events) {
+            for (var event : events) {
+                try {
+                    subscriber.onChange(event);
+                } catch (RuntimeException ex) {
+                    log.warn("Delivering committed change event {} to {} failed, "
+                            + "leaving it to the next dispatch", event, subscriber, ex);
+                }
+            }
+        }
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String subscriber,
+            String result) {
+        return Counter.builder("blog.outbox.events")
+                .description("Change event deliveries by result")
+                .tag("subscriber", subscriber)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.blog_spring.pagination;
+
+import java.util.Locale;
+
+/**
+ * How the total of a paginated listing is computed, chosen per request with
+ * {@code ?count=exact|cached|estimated}. Whatever the mode, a page that is known to be the last
+ * one gets its exact total from its own size without a count query.
+ */
+public enum CountMode {
+
+    /**
+     * {@code COUNT(*)} on every request.
+     */
+    EXACT,
+
+    /**
+     * A total counted earlier for the same filters, kept until a write to the listing's rows
+     * invalidates it; counted exactly on a miss.
+     */
+    CACHED,
+
+    /**
+     * PostgreSQL's row estimate: {@code pg_class.reltuples} for an unfiltered table, the planner's
+     * estimate for a filtered listing. Falls back to an exact count elsewhere.
+     */
+    ESTIMATED;
+
+    /**
+     * Parses a request parameter, ignoring case.
+     *
+     * @throws IllegalArgumentException for an unknown mode
+     */
+    public static CountMode fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(
+                    "count must be one of exact, cached, estimated but was '%s'".formatted(value));
+        }
+    }
+}
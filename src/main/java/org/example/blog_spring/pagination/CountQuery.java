@@ -0,0 +1,50 @@
+package org.example.blog_spring.pagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The ways {@link PageCounter} can learn the total of one listing.
+ *
+ * @param scope     the rows the listing reads; writes to them invalidate its cached totals
+ * @param filter    the listing's filter values within the scope, part of the cache key
+ * @param exact     runs the exact {@code COUNT(*)}
+ * @param table     for an unfiltered listing, the table whose {@code reltuples} estimates it
+ * @param estimateSql for a filtered listing, SQL selecting its rows for the planner to estimate;
+ *        native, with {@code :name} parameters from {@code params}
+ */
+public record CountQuery(
+        PageCounter.Scope scope,
+        List<?> filter,
+        LongSupplier exact,
+        @Nullable String table,
+        @Nullable String estimateSql,
+        Map<String, ?> params
+) {
+
+    public CountQuery {
+        // Filter values may be null ("any"), which List.copyOf rejects.
+        filter = Collections.unmodifiableList(new ArrayList<>(filter));
+        params = Map.copyOf(params);
+    }
+
+    /**
+     * Every row of {@code table}.
+     */
+    public static CountQuery table(PageCounter.Scope scope, String table, LongSupplier exact) {
+        return new CountQuery(scope, List.of(), exact, table, null, Map.of());
+    }
+
+    /**
+     * The rows {@code estimateSql} selects; {@code params} holds the values it references.
+     */
+    public static CountQuery filtered(PageCounter.Scope scope, List<?> filter,
+            String estimateSql, Map<String, ?> params, LongSupplier exact) {
+        return new CountQuery(scope, filter, exact, null, estimateSql, params);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.blog_spring.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A {@link Page} whose total may come from a cache or an estimate rather than a count taken with
+ * the page. {@link org.example.blog_spring.dto.ApiResponse} reports the flag as
+ * {@code totalExact}.
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    /**
+     * Whether {@link #getTotalElements()} was counted, or derived from this page, in the request
+     * that produced it.
+     */
+    @JsonIgnore
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    @Override
+    public <U> Page<U> map(Function<? super T, ? extends U> converter) {
+        return new CountedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(),
+                totalExact);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CountedPage<?> other && totalExact == other.totalExact
+                && super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Boolean.hashCode(totalExact);
+    }
+}
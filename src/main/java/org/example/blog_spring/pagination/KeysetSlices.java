@@ -0,0 +1,45 @@
+package org.example.blog_spring.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.example.blog_spring.dto.CursorPage;
+import org.example.blog_spring.dto.KeysetCursor;
+
+/**
+ * Shared steps of the keyset listings: checking the requested size, decoding the client's
+ * cursor, and turning the {@code size + 1} rows read into a {@link CursorPage}. The extra row only
+ * tells whether another slice exists, so no count query runs.
+ */
+public final class KeysetSlices {
+
+    public static final int MAX_SIZE = 100;
+
+    private KeysetSlices() {
+    }
+
+    public static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and %d".formatted(MAX_SIZE));
+        }
+    }
+
+    /**
+     * The position to continue after, or {@code null} for the first slice.
+     */
+    public static KeysetCursor after(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+    }
+
+    /**
+     * @param rows up to {@code size + 1} rows in listing order
+     * @param position the keyset position of a row
+     */
+    public static <E, D> CursorPage<D> page(List<E> rows, int size,
+            Function<E, KeysetCursor> position, Function<List<E>, List<D>> toDtos) {
+        boolean hasNext = rows.size() > size;
+        var content = hasNext ? rows.subList(0, size) : rows;
+        var nextCursor = hasNext ? position.apply(content.getLast()).encode() : null;
+        return new CursorPage<>(toDtos.apply(content), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.blog_spring.pagination;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.config.CacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Turns a {@link Slice} into a {@link Page} by finding its total in the requested
+ * {@link CountMode}, so listings fetched as slices only pay for a {@code COUNT(*)} when the client
+ * asked for an exact total.
+ *
+ * <p>A slice with no next page that is not past the end carries its own exact total, and no count
+ * runs in any mode. Otherwise:
+ * <ul>
+ *   <li>{@code EXACT} runs the count;</li>
+ *   <li>{@code CACHED} answers from totals counted earlier for the same scope and filter, which
+ *       are dropped after {@code blog.cache.counts.expire-after-write} or when {@link #invalidate}
+ *       is called for them after a write commits;</li>
+ *   <li>{@code ESTIMATED} asks PostgreSQL for its row estimate, and counts exactly when the
+ *       database is not PostgreSQL or has no statistics yet.</li>
+ * </ul>
+ * A cached or estimated total is raised to the rows the slice proves exist, so page links never
+ * end before the page being shown.
+ */
+public class PageCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(PageCounter.class);
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\\brows=(\\d+)");
+
+    /**
+     * The rows a listing reads, which is what a write invalidates.
+     */
+    public enum Scope {
+        POSTS, COMMENTS, REVIEWS, USERS
+    }
+
+    private record Key(Scope scope, List<?> filter) {
+    }
+
+    private final Cache<Key, Long> totals;
+    private final Map<Scope, AtomicLong> generations = new EnumMap<>(Scope.class);
+    private final JdbcClient jdbcClient;
+    private final boolean estimatesSupported;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param estimatesSupported whether the database is PostgreSQL, whose catalog and planner the
+     *        estimates read
+     */
+    public PageCounter(CacheProperties.Counts settings, JdbcClient jdbcClient,
+            boolean estimatesSupported, MeterRegistry meterRegistry) {
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(settings.maximumSize())
+                .expireAfterWrite(settings.expireAfterWrite())
+                .build();
+        for (Scope scope : Scope.values()) {
+            generations.put(scope, new AtomicLong());
+        }
+        this.jdbcClient = jdbcClient;
+        this.estimatesSupported = estimatesSupported;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The page of {@code slice}, with its total found as {@code mode} asks.
+     */
+    public <T> Page<T> page(Slice<T> slice, CountMode mode, CountQuery query) {
+        var pageable = slice.getPageable();
+        var content = slice.getContent();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        if (!slice.hasNext() && (!content.isEmpty() || offset == 0)) {
+            record(mode, "derived");
+            return new CountedPage<>(content, pageable, offset + content.size(), true);
+        }
+        // At least this many rows exist: the ones before and on this page, plus one if there is
+        // a next page.
+        long floor = offset + content.size() + (slice.hasNext() ? 1 : 0);
+        switch (mode) {
+            case CACHED -> {
+                Long cached = totals.getIfPresent(new Key(query.scope(), query.filter()));
+                if (cached != null && cached >= floor) {
+                    record(mode, "cache");
+                    return new CountedPage<>(content, pageable, cached, false);
+                }
+            }
+            case ESTIMATED -> {
+                var estimate = estimatesSupported ? estimate(query) : OptionalLong.empty();
+                if (estimate.isPresent()) {
+                    record(mode, "estimate");
+                    return new CountedPage<>(content, pageable,
+                            Math.max(estimate.getAsLong(), floor), false);
+                }
+            }
+            case EXACT -> {
+            }
+        }
+        record(mode, "query");
+        return new CountedPage<>(content, pageable, count(query), true);
+    }
+
+    /**
+     * Forgets every cached total in {@code scope} once the current transaction commits.
+     */
+    public void invalidate(Scope scope) {
+        afterCommit(scope, () -> totals.asMap().keySet().removeIf(key -> key.scope() == scope));
+    }
+
+    /**
+     * Forgets the cached total of the listing in {@code scope} filtered by {@code filter} alone,
+     * such as the comments of one post, once the current transaction commits.
+     */
+    public void invalidate(Scope scope, Object filter) {
+        var key = new Key(scope, List.of(filter));
+        afterCommit(scope, () -> totals.invalidate(key));
+    }
+
+    private long count(CountQuery query) {
+        var key = new Key(query.scope(), query.filter());
+        var generation = generations.get(query.scope());
+        long seen = generation.get();
+        long total = query.exact().getAsLong();
+        totals.put(key, total);
+        // An invalidation bumps the generation before removing, so one that raced with the count
+        // either removes this entry itself or is seen here.
+        if (generation.get() != seen) {
+            totals.asMap().remove(key);
+        }
+        return total;
+    }
+
+    private OptionalLong estimate(CountQuery query) {
+        try {
+            if (query.table() != null) {
+                // reltuples is -1 for a table that was never vacuumed or analyzed.
+                long rows = jdbcClient.sql("""
+                                SELECT CAST(reltuples AS BIGINT) FROM pg_class
+                                WHERE oid = CAST(:table AS regclass)
+                                """)
+                        .param("table", query.table())
+                        .query(Long.class)
+                        .single();
+                return rows >= 0 ? OptionalLong.of(rows) : OptionalLong.empty();
+            }
+            if (query.estimateSql() != null) {
+                var plan = jdbcClient.sql("EXPLAIN " + query.estimateSql())
+                        .params(query.params())
+                        .query(String.class)
+                        .list();
+                return plan.isEmpty() ? OptionalLong.empty() : planRows(plan.getFirst());
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Row estimate for {} failed, counting instead: {}", query.scope(),
+                    ex.getMessage());
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * The planner's row estimate from the top line of a text {@code EXPLAIN}, such as
+     * {@code Seq Scan on comments  (cost=0.00..35.50 rows=2550 width=4)}.
+     */
+    static OptionalLong planRows(String planLine) {
+        var matcher = PLAN_ROWS.matcher(planLine);
+        return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1)))
+                : OptionalLong.empty();
+    }
+
+    private void afterCommit(Scope scope, Runnable removal) {
+        Runnable invalidation = () -> {
+            generations.get(scope).incrementAndGet();
+            removal.run();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            invalidation.run();
+                        }
+                    });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    private void record(CountMode mode, String source) {
+        meterRegistry.counter("blog.page.count", "mode", mode.name().toLowerCase(Locale.ROOT),
+                "source", source).increment();
+    }
+}
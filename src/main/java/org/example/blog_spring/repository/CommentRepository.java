@@ -1,16 +1,111 @@
 package org.example.blog_spring.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
 import org.example.blog_spring.domain.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     Page<Comment> findByPostId(Long postId, Pageable pageable);
 
+    /**
+     * Like {@link #findByPostId} without the count query; see {@code PageCounter}.
+     */
+    Slice<Comment> findSliceByPostId(Long postId, Pageable pageable);
+
+    /**
+     * First slice of the keyset listing of a post's comments, replies included, oldest first on
+     * {@code (created_at, id)}; matches {@code idx_comments_post_keyset}. Later slices come from
+     * {@link #findNextSliceByPostId}.
+     */
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId ORDER BY c.createdAt, c.id")
+    List<Comment> findFirstSliceByPostId(@Param("postId") Long postId, Limit limit);
+
+    /**
+     * Keyset listing of a post's comments starting strictly after the given position. The
+     * row-value comparison is a range condition on {@code idx_comments_post_keyset}, so the scan
+     * starts at the cursor.
+     */
+    @Query(value = NEXT_SLICE_BY_POST_ID, nativeQuery = true)
+    List<Comment> findNextSliceByPostId(@Param("postId") Long postId,
+            @Param("afterCreatedAt") Instant afterCreatedAt, @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    String NEXT_SLICE_BY_POST_ID = """
+            SELECT c.* FROM comments c
+            WHERE c.post_id = :postId
+              AND (c.created_at, c.id) > (:afterCreatedAt, :afterId)
+            ORDER BY c.created_at, c.id
+            LIMIT :limit
+            """;
+
     Page<Comment> findByUserId(Long userId, Pageable pageable);
 
+    /**
+     * Up to {@code limit} top-level comments of each of several posts, oldest first. The window
+     * numbers every post's comments on its own, so the limit holds per post and a busy post does
+     * not crowd out the others.
+     */
+    @Query(value = """
+            SELECT c.* FROM comments c
+            WHERE c.id IN (
+                SELECT ranked.id FROM (
+                    SELECT t.id, ROW_NUMBER() OVER (
+                               PARTITION BY t.post_id ORDER BY t.created_at, t.id) AS rn
+                    FROM comments t
+                    WHERE t.post_id IN (:postIds) AND t.parent_id IS NULL
+                ) ranked
+                WHERE ranked.rn <= :limit)
+            ORDER BY c.created_at, c.id
+            """, nativeQuery = true)
+    List<Comment> findTopLevelPerPost(@Param("postIds") Collection<Long> postIds,
+            @Param("limit") int limit);
+
+    /**
+     * Up to {@code limit} direct replies to each of several comments, oldest first; the limit
+     * holds per parent, as in {@link #findTopLevelPerPost}.
+     */
+    @Query(value = """
+            SELECT c.* FROM comments c
+            WHERE c.id IN (
+                SELECT ranked.id FROM (
+                    SELECT t.id, ROW_NUMBER() OVER (
+                               PARTITION BY t.parent_id ORDER BY t.created_at, t.id) AS rn
+                    FROM comments t
+                    WHERE t.parent_id IN (:parentIds)
+                ) ranked
+                WHERE ranked.rn <= :limit)
+            ORDER BY c.created_at, c.id
+            """, nativeQuery = true)
+    List<Comment> findRepliesPerParent(@Param("parentIds") Collection<Long> parentIds,
+            @Param("limit") int limit);
+
     long countByPostId(Long postId);
+
+    /**
+     * Deletes a comment together with all of its replies, at any depth.
+     *
+     * @return number of comments removed
+     */
+    @Modifying
+    @Query(value = """
+            WITH RECURSIVE subtree AS (
+                SELECT id FROM comments WHERE id = :id
+                UNION ALL
+                SELECT c.id FROM comments c JOIN subtree s ON c.parent_id = s.id
+            )
+            DELETE FROM comments WHERE id IN (SELECT id FROM subtree)
+            """, nativeQuery = true)
+    int deleteWithReplies(@Param("id") Long id);
 }
 
@@ -0,0 +1,68 @@
+package org.example.blog_spring.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.pagination.CountQuery;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+
+/**
+ * {@link CountQuery}s for the listings that accept {@code ?count=}. The estimate SQL is the
+ * listing's own predicate in native SQL, with only the filters given, so the planner estimates
+ * the rows the listing reads.
+ */
+public final class CountQueries {
+
+    private CountQueries() {
+    }
+
+    /**
+     * {@link PostRepository#findSliceMatching}; an unfiltered listing is estimated from the
+     * table statistics.
+     */
+    public static CountQuery posts(PostRepository posts, PostStatus status, Long authorId,
+            String tagSlug) {
+        if (status == null && authorId == null && tagSlug == null) {
+            return CountQuery.table(Scope.POSTS, "posts", posts::count);
+        }
+        var where = new StringJoiner(" AND ");
+        Map<String, Object> params = new HashMap<>();
+        if (status != null) {
+            where.add("p.status = :status");
+            params.put("status", status.name());
+        }
+        if (authorId != null) {
+            where.add("p.author_id = :authorId");
+            params.put("authorId", authorId);
+        }
+        if (tagSlug != null) {
+            where.add("""
+                    EXISTS (SELECT 1 FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+                            WHERE pt.post_id = p.id AND t.slug = :tagSlug)""");
+            params.put("tagSlug", tagSlug);
+        }
+        return CountQuery.filtered(Scope.POSTS, Arrays.asList(status, authorId, tagSlug),
+                "SELECT 1 FROM posts p WHERE " + where, params,
+                () -> posts.countMatching(status, authorId, tagSlug));
+    }
+
+    public static CountQuery commentsOfPost(CommentRepository comments, Long postId) {
+        return CountQuery.filtered(Scope.COMMENTS, List.of(postId),
+                "SELECT 1 FROM comments WHERE post_id = :postId", Map.of("postId", postId),
+                () -> comments.countByPostId(postId));
+    }
+
+    public static CountQuery reviewsOfPost(ReviewRepository reviews, Long postId) {
+        return CountQuery.filtered(Scope.REVIEWS, List.of(postId),
+                "SELECT 1 FROM reviews WHERE post_id = :postId", Map.of("postId", postId),
+                () -> reviews.countByPostId(postId));
+    }
+
+    public static CountQuery users(UserRepository users) {
+        return CountQuery.table(Scope.USERS, "users", users::count);
+    }
+}
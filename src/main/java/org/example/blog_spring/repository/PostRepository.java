@@ -1,19 +1,40 @@
 package org.example.blog_spring.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.example.blog_spring.domain.Post;
 import org.example.blog_spring.domain.PostStatus;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
 
   Optional<Post> findBySlug(String slug);
 
+  boolean existsBySlug(String slug);
+
+  /**
+   * Every post slug, streamed in fetch-size batches; needs an open transaction.
+   */
+  @Query("SELECT p.slug FROM Post p")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  Stream<String> streamAllSlugs();
+
   Page<Post> findByStatus(PostStatus status, Pageable pageable);
 
   Page<Post> findByAuthorId(Long authorId, Pageable pageable);
@@ -25,19 +46,214 @@ public interface PostRepository extends JpaRepository<Post, Long> {
       """)
   Page<Post> findByTagSlug(@Param("tagSlug") String tagSlug, Pageable pageable);
 
+  /**
+   * Combined status/author/tag filter, for the combinations the single-filter finders do not
+   * cover. Search terms go to {@link #fullTextSearch} instead.
+   */
   @Query("""
       SELECT DISTINCT p FROM Post p
       LEFT JOIN p.tags t
       WHERE (:status IS NULL OR p.status = :status)
         AND (:authorId IS NULL OR p.author.id = :authorId)
         AND (:tagSlug IS NULL OR t.slug = :tagSlug)
+      """)
+  Page<Post> search(@Param("status") PostStatus status, @Param("authorId") Long authorId,
+      @Param("tagSlug") String tagSlug, Pageable pageable);
+
+  /**
+   * Combined status/author/tag filter as a {@link Slice}, which reads one row past the page
+   * instead of counting. The tag filter is an {@code EXISTS}, so no {@code DISTINCT} is needed.
+   * Used when the client does not ask for an exact total; see {@code PageCounter}.
+   */
+  @Query("""
+      SELECT p FROM Post p
+      WHERE (:status IS NULL OR p.status = :status)
+        AND (:authorId IS NULL OR p.authorId = :authorId)
+        AND (:tagSlug IS NULL OR EXISTS (SELECT 1 FROM p.tags t WHERE t.slug = :tagSlug))
+      """)
+  Slice<Post> findSliceMatching(@Param("status") PostStatus status,
+      @Param("authorId") Long authorId, @Param("tagSlug") String tagSlug, Pageable pageable);
+
+  /**
+   * Exact total of {@link #findSliceMatching}.
+   */
+  @Query("""
+      SELECT COUNT(p) FROM Post p
+      WHERE (:status IS NULL OR p.status = :status)
+        AND (:authorId IS NULL OR p.authorId = :authorId)
+        AND (:tagSlug IS NULL OR EXISTS (SELECT 1 FROM p.tags t WHERE t.slug = :tagSlug))
+      """)
+  long countMatching(@Param("status") PostStatus status, @Param("authorId") Long authorId,
+      @Param("tagSlug") String tagSlug);
+
+  /**
+   * First slice of the keyset listing, newest first on {@code (created_at, id)}. Runs no count
+   * query; later slices come from {@link #findNextSliceByCreatedAt}.
+   */
+  @Query("""
+      SELECT p FROM Post p
+      WHERE (:authorId IS NULL OR p.authorId = :authorId)
+        AND (:tagSlug IS NULL OR EXISTS (SELECT 1 FROM p.tags t WHERE t.slug = :tagSlug))
+      ORDER BY p.createdAt DESC, p.id DESC
+      """)
+  List<Post> findFirstSliceByCreatedAt(@Param("authorId") Long authorId,
+      @Param("tagSlug") String tagSlug, Limit limit);
+
+  /**
+   * Keyset listing, newest first on {@code (created_at, id)}, starting strictly after the given
+   * position. The row-value comparison is a range condition on {@code idx_posts_created_keyset}
+   * (or {@code idx_posts_author_created_keyset}), so the scan starts at the cursor instead of
+   * reading past every newer row.
+   */
+  @Query(value = NEXT_SLICE_BY_CREATED_AT, nativeQuery = true)
+  List<Post> findNextSliceByCreatedAt(@Param("authorId") Long authorId,
+      @Param("tagSlug") String tagSlug, @Param("afterCreatedAt") Instant afterCreatedAt,
+      @Param("afterId") long afterId, @Param("limit") int limit);
+
+  String NEXT_SLICE_BY_CREATED_AT = """
+      SELECT p.* FROM posts p
+      WHERE (CAST(:authorId AS BIGINT) IS NULL OR p.author_id = CAST(:authorId AS BIGINT))
+        AND (CAST(:tagSlug AS VARCHAR) IS NULL OR EXISTS (
+              SELECT 1 FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+              WHERE pt.post_id = p.id AND t.slug = CAST(:tagSlug AS VARCHAR)))
+        AND (p.created_at, p.id) < (:afterCreatedAt, :afterId)
+      ORDER BY p.created_at DESC, p.id DESC
+      LIMIT :limit
+      """;
+
+  /**
+   * First slice of the keyset listing of published posts, newest first on
+   * {@code (COALESCE(published_at, created_at), id)}; matches {@code idx_posts_published_keyset}.
+   */
+  @Query("""
+      SELECT p FROM Post p
+      WHERE p.status = org.example.blog_spring.domain.PostStatus.PUBLISHED
+        AND (:authorId IS NULL OR p.authorId = :authorId)
+        AND (:tagSlug IS NULL OR EXISTS (SELECT 1 FROM p.tags t WHERE t.slug = :tagSlug))
+      ORDER BY COALESCE(p.publishedAt, p.createdAt) DESC, p.id DESC
+      """)
+  List<Post> findFirstPublishedSliceByPublishedAt(@Param("authorId") Long authorId,
+      @Param("tagSlug") String tagSlug, Limit limit);
+
+  /**
+   * Keyset listing of published posts after the given position, seeking on
+   * {@code idx_posts_published_keyset} as {@link #findNextSliceByCreatedAt} does on its index.
+   */
+  @Query(value = NEXT_PUBLISHED_SLICE_BY_PUBLISHED_AT, nativeQuery = true)
+  List<Post> findNextPublishedSliceByPublishedAt(@Param("authorId") Long authorId,
+      @Param("tagSlug") String tagSlug, @Param("afterPublishedAt") Instant afterPublishedAt,
+      @Param("afterId") long afterId, @Param("limit") int limit);
+
+  String NEXT_PUBLISHED_SLICE_BY_PUBLISHED_AT = """
+      SELECT p.* FROM posts p
+      WHERE p.status = 'PUBLISHED'
+        AND (CAST(:authorId AS BIGINT) IS NULL OR p.author_id = CAST(:authorId AS BIGINT))
+        AND (CAST(:tagSlug AS VARCHAR) IS NULL OR EXISTS (
+              SELECT 1 FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+              WHERE pt.post_id = p.id AND t.slug = CAST(:tagSlug AS VARCHAR)))
+        AND (COALESCE(p.published_at, p.created_at), p.id) < (:afterPublishedAt, :afterId)
+      ORDER BY COALESCE(p.published_at, p.created_at) DESC, p.id DESC
+      LIMIT :limit
+      """;
+
+  /**
+   * Ranked full-text search over the GIN-indexed {@code search_vector} column (title weighted
+   * above content). {@code tsQuery} comes from {@link PostSearchQuery#toTsQuery}; the pageable
+   * must be unsorted because results are ordered by {@code ts_rank}.
+   */
+  @Query(value = """
+      SELECT p.* FROM posts p
+      WHERE p.search_vector @@ to_tsquery('english', :tsQuery)
+        AND (CAST(:status AS VARCHAR) IS NULL OR p.status = CAST(:status AS VARCHAR))
+        AND (CAST(:authorId AS BIGINT) IS NULL OR p.author_id = CAST(:authorId AS BIGINT))
+        AND (CAST(:tagSlug AS VARCHAR) IS NULL OR EXISTS (
+              SELECT 1 FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+              WHERE pt.post_id = p.id AND t.slug = CAST(:tagSlug AS VARCHAR)))
+      ORDER BY ts_rank(p.search_vector, to_tsquery('english', :tsQuery)) DESC, p.id DESC
+      """, countQuery = """
+      SELECT COUNT(*) FROM posts p
+      WHERE p.search_vector @@ to_tsquery('english', :tsQuery)
+        AND (CAST(:status AS VARCHAR) IS NULL OR p.status = CAST(:status AS VARCHAR))
+        AND (CAST(:authorId AS BIGINT) IS NULL OR p.author_id = CAST(:authorId AS BIGINT))
+        AND (CAST(:tagSlug AS VARCHAR) IS NULL OR EXISTS (
+              SELECT 1 FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+              WHERE pt.post_id = p.id AND t.slug = CAST(:tagSlug AS VARCHAR)))
+      """, nativeQuery = true)
+  Page<Post> fullTextSearch(@Param("tsQuery") String tsQuery, @Param("status") String status,
+      @Param("authorId") Long authorId, @Param("tagSlug") String tagSlug, Pageable pageable);
+
+  /**
+   * Keyset slice of full-text matches, using the same ordering as
+   * {@link #findNextSliceByCreatedAt} or, when {@code publishedOnly}, as
+   * {@link #findNextPublishedSliceByPublishedAt}. The GIN index narrows the candidates; the keyset
+   * predicate and top-N sort then run over the matches only.
+   */
+  @Query(value = """
+      SELECT p.* FROM posts p
+      WHERE p.search_vector @@ to_tsquery('english', :tsQuery)
+        AND (NOT CAST(:publishedOnly AS BOOLEAN) OR p.status = 'PUBLISHED')
+        AND (CAST(:authorId AS BIGINT) IS NULL OR p.author_id = CAST(:authorId AS BIGINT))
+        AND (CAST(:tagSlug AS VARCHAR) IS NULL OR EXISTS (
+              SELECT 1 FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+              WHERE pt.post_id = p.id AND t.slug = CAST(:tagSlug AS VARCHAR)))
         AND (
-              :search IS NULL
-           OR LOWER(CAST(p.title AS string)) LIKE LOWER(CONCAT('%', :search, '%'))
-           OR LOWER(CAST(p.content AS string)) LIKE LOWER(CONCAT('%', :search, '%'))
+              CAST(:afterId AS BIGINT) IS NULL
+           OR (CASE WHEN CAST(:publishedOnly AS BOOLEAN)
+                    THEN COALESCE(p.published_at, p.created_at) ELSE p.created_at END, p.id)
+              < (CAST(:afterKey AS TIMESTAMPTZ), CAST(:afterId AS BIGINT))
         )
+      ORDER BY CASE WHEN CAST(:publishedOnly AS BOOLEAN)
+                    THEN COALESCE(p.published_at, p.created_at) ELSE p.created_at END DESC,
+               p.id DESC
+      LIMIT :limit
+      """, nativeQuery = true)
+  List<Post> fullTextSearchSlice(@Param("tsQuery") String tsQuery,
+      @Param("publishedOnly") boolean publishedOnly, @Param("authorId") Long authorId,
+      @Param("tagSlug") String tagSlug, @Param("afterKey") Instant afterKey,
+      @Param("afterId") Long afterId, @Param("limit") int limit);
+
+  /**
+   * Loads the tags of all given posts in one query, so list endpoints do not initialize the lazy
+   * {@code tags} collection once per post.
+   */
+  @Query("""
+      SELECT new org.example.blog_spring.repository.PostTagSummary(p.id, t.id, t.name, t.slug)
+      FROM Post p
+      JOIN p.tags t
+      WHERE p.id IN :postIds
       """)
-  Page<Post> search(@Param("status") PostStatus status, @Param("authorId") Long authorId,
-      @Param("tagSlug") String tagSlug, @Param("search") String search, Pageable pageable);
-}
+  List<PostTagSummary> findTagSummariesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+  /**
+   * Atomically shifts the denormalized comment count. A bulk update, so it neither loads the post
+   * nor bumps {@code Post.version}, and concurrent comment writes cannot conflict on it.
+   */
+  @Modifying
+  @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+  int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
 
+  /**
+   * Recomputes {@code comment_count} from the comments table for posts with
+   * {@code afterId < id <= upToId}, touching only rows that have drifted.
+   *
+   * @return number of posts repaired
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      UPDATE posts p
+      SET comment_count = c.actual
+      FROM (
+          SELECT p2.id, COUNT(cm.id) AS actual
+          FROM posts p2
+          LEFT JOIN comments cm ON cm.post_id = p2.id
+          WHERE p2.id > :afterId AND p2.id <= :upToId
+          GROUP BY p2.id
+      ) c
+      WHERE p.id = c.id AND p.comment_count <> c.actual
+      """, nativeQuery = true)
+  int reconcileCommentCounts(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+  @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+  long findMaxId();
+}
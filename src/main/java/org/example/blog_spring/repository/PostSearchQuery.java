@@ -0,0 +1,38 @@
+package org.example.blog_spring.repository;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a user-supplied search string into a PostgreSQL {@code tsquery} for the
+ * {@code posts.search_vector} column.
+ *
+ * <p>Words are AND-ed together. A word ending in {@code *} is prefix-matched ({@code spri*}
+ * matches "spring"), which is what search-as-you-type clients send. Everything except letters,
+ * digits and the trailing {@code *} is dropped, so the result is always valid tsquery syntax.
+ */
+public final class PostSearchQuery {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}*]+");
+
+    private PostSearchQuery() {}
+
+    /**
+     * Returns the tsquery text, or {@code null} if the input has no searchable words.
+     */
+    public static String toTsQuery(String search) {
+        if (search == null) {
+            return null;
+        }
+        var joiner = new StringJoiner(" & ");
+        for (String token : SEPARATORS.split(search.trim())) {
+            boolean prefix = token.endsWith("*");
+            var word = token.replace("*", "").toLowerCase(Locale.ROOT);
+            if (!word.isEmpty()) {
+                joiner.add(prefix ? word + ":*" : word);
+            }
+        }
+        return joiner.length() == 0 ? null : joiner.toString();
+    }
+}
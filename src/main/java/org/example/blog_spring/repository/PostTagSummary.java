@@ -0,0 +1,7 @@
+package org.example.blog_spring.repository;
+
+/**
+ * Flat projection of a post/tag pair, used to load the tags of a whole page of posts at once.
+ */
+public record PostTagSummary(Long postId, Long tagId, String name, String slug) {
+}
@@ -1,11 +1,19 @@
 package org.example.blog_spring.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.example.blog_spring.domain.Review;
+import org.example.blog_spring.dto.ReviewSummaryDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
@@ -13,6 +21,73 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     Page<Review> findByPostId(Long postId, Pageable pageable);
 
+    /**
+     * Like {@link #findByPostId} without the count query; see {@code PageCounter}.
+     */
+    Slice<Review> findSliceByPostId(Long postId, Pageable pageable);
+
+    /**
+     * First slice of the keyset listing of a post's reviews, newest first on
+     * {@code (created_at, id)}; matches {@code idx_reviews_post_keyset}. Later slices come from
+     * {@link #findNextSliceByPostId}.
+     */
+    @Query("""
+            SELECT r FROM Review r
+            WHERE r.postId = :postId
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<Review> findFirstSliceByPostId(@Param("postId") Long postId, Limit limit);
+
+    /**
+     * Keyset listing of a post's reviews starting strictly after the given position, seeking on
+     * {@code idx_reviews_post_keyset} with a row-value comparison.
+     */
+    @Query(value = NEXT_SLICE_BY_POST_ID, nativeQuery = true)
+    List<Review> findNextSliceByPostId(@Param("postId") Long postId,
+            @Param("afterCreatedAt") Instant afterCreatedAt, @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    String NEXT_SLICE_BY_POST_ID = """
+            SELECT r.* FROM reviews r
+            WHERE r.post_id = :postId
+              AND (r.created_at, r.id) < (:afterCreatedAt, :afterId)
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT :limit
+            """;
+
+    long countByPostId(Long postId);
+
     Page<Review> findByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Up to {@code limit} reviews of each of several posts, oldest first. The window numbers
+     * every post's reviews on its own, so the limit holds per post.
+     */
+    @Query(value = """
+            SELECT r.* FROM reviews r
+            WHERE r.id IN (
+                SELECT ranked.id FROM (
+                    SELECT t.id, ROW_NUMBER() OVER (
+                               PARTITION BY t.post_id ORDER BY t.created_at, t.id) AS rn
+                    FROM reviews t
+                    WHERE t.post_id IN (:postIds)
+                ) ranked
+                WHERE ranked.rn <= :limit)
+            ORDER BY r.created_at, r.id
+            """, nativeQuery = true)
+    List<Review> findPerPost(@Param("postIds") Collection<Long> postIds,
+            @Param("limit") int limit);
+
+    /**
+     * Review count and average rating per post, for those of {@code postIds} that have reviews.
+     */
+    @Query("""
+            SELECT new org.example.blog_spring.dto.ReviewSummaryDto(
+                r.postId, COUNT(r), AVG(r.rating))
+            FROM Review r
+            WHERE r.postId IN :postIds
+            GROUP BY r.postId
+            """)
+    List<ReviewSummaryDto> summarizeByPostIds(@Param("postIds") Collection<Long> postIds);
 }
 
@@ -1,13 +1,22 @@
 package org.example.blog_spring.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.example.blog_spring.domain.Tag;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
 
@@ -17,9 +26,44 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     boolean existsBySlug(String slug);
 
+    /**
+     * Every tag name, streamed in fetch-size batches; needs an open transaction.
+     */
+    @Query("SELECT t.name FROM Tag t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllNames();
+
+    /**
+     * Every tag slug, streamed in fetch-size batches; needs an open transaction.
+     */
+    @Query("SELECT t.slug FROM Tag t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllSlugs();
+
     @Override
     Page<Tag> findAll(Pageable pageable);
 
     List<Tag> findByIdIn(Set<Long> ids);
-}
 
+    /**
+     * First slice of the keyset listing, newest first on {@code (created_at, id)}; matches
+     * {@code idx_tags_created_keyset}. Later slices come from {@link #findNextSliceByCreatedAt}.
+     */
+    @Query("SELECT t FROM Tag t ORDER BY t.createdAt DESC, t.id DESC")
+    List<Tag> findFirstSliceByCreatedAt(Limit limit);
+
+    /**
+     * Keyset listing starting strictly after the given position, seeking on
+     * {@code idx_tags_created_keyset} with a row-value comparison.
+     */
+    @Query(value = NEXT_SLICE_BY_CREATED_AT, nativeQuery = true)
+    List<Tag> findNextSliceByCreatedAt(@Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") long afterId, @Param("limit") int limit);
+
+    String NEXT_SLICE_BY_CREATED_AT = """
+            SELECT t.* FROM tags t
+            WHERE (t.created_at, t.id) < (:afterCreatedAt, :afterId)
+            ORDER BY t.created_at DESC, t.id DESC
+            LIMIT :limit
+            """;
+}
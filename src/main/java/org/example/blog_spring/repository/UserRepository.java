@@ -1,11 +1,22 @@
 package org.example.blog_spring.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.example.blog_spring.domain.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -15,7 +26,48 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Every email, streamed in fetch-size batches; needs an open transaction.
+     */
+    @Query("SELECT u.email FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Every username, streamed in fetch-size batches; needs an open transaction.
+     */
+    @Query("SELECT u.username FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllUsernames();
+
     @Override
     Page<User> findAll(Pageable pageable);
-}
 
+    /**
+     * Like {@link #findAll(Pageable)} without the count query; see {@code PageCounter}.
+     */
+    @Query("SELECT u FROM User u")
+    Slice<User> findSlice(Pageable pageable);
+
+    /**
+     * First slice of the keyset listing, newest first on {@code (created_at, id)}; matches
+     * {@code idx_users_created_keyset}. Later slices come from {@link #findNextSliceByCreatedAt}.
+     */
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findFirstSliceByCreatedAt(Limit limit);
+
+    /**
+     * Keyset listing starting strictly after the given position, seeking on
+     * {@code idx_users_created_keyset} with a row-value comparison.
+     */
+    @Query(value = NEXT_SLICE_BY_CREATED_AT, nativeQuery = true)
+    List<User> findNextSliceByCreatedAt(@Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") long afterId, @Param("limit") int limit);
+
+    String NEXT_SLICE_BY_CREATED_AT = """
+            SELECT u.* FROM users u
+            WHERE (u.created_at, u.id) < (:afterCreatedAt, :afterId)
+            ORDER BY u.created_at DESC, u.id DESC
+            LIMIT :limit
+            """;
+}
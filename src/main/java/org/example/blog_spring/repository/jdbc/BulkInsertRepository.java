@@ -0,0 +1,285 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.CreateCommentRequest;
+import org.example.blog_spring.dto.CreatePostRequest;
+import org.example.blog_spring.dto.CreateReviewRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-wise lookups and JDBC batch inserts for the bulk ingest. Every lookup takes a whole chunk
+ * of keys in one query, and every insert is sent as one batch, which the PostgreSQL driver folds
+ * into multi-row {@code INSERT}s ({@code reWriteBatchedInserts=true}).
+ *
+ * <p>The batches need no generated keys back, so the identity columns that keep Hibernate from
+ * batching do not get in the way here. Post ids are read back by slug for {@code post_tags};
+ * comment and review ids are drawn from their sequences before the insert, so that the ingest
+ * can record a change event for each row.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    /**
+     * Tables whose ids the ingest checks references against.
+     */
+    public enum Table {
+        USERS("users"), POSTS("posts");
+
+        private final String name;
+
+        Table(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * A user's review of a post; there is at most one.
+     */
+    public record Reviewer(Long postId, Long userId) {
+    }
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+
+    public BulkInsertRepository(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Those of {@code ids} that exist in {@code table}.
+     */
+    public Set<Long> existingIds(Table table, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcClient.sql("SELECT id FROM " + table.name + " WHERE id IN (:ids)")
+                .param("ids", ids)
+                .query(Long.class)
+                .list());
+    }
+
+    /**
+     * The slug of each of {@code tagIds} that exists.
+     */
+    public Map<Long, String> tagSlugs(Collection<Long> tagIds) {
+        Map<Long, String> slugs = new HashMap<>();
+        if (tagIds.isEmpty()) {
+            return slugs;
+        }
+        jdbcClient.sql("SELECT id, slug FROM tags WHERE id IN (:ids)")
+                .param("ids", tagIds)
+                .query(rs -> {
+                    slugs.put(rs.getLong("id"), rs.getString("slug"));
+                });
+        return slugs;
+    }
+
+    /**
+     * Those of {@code slugs} already used by a post.
+     */
+    public Set<String> existingPostSlugs(Collection<String> slugs) {
+        if (slugs.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcClient.sql("SELECT slug FROM posts WHERE slug IN (:slugs)")
+                .param("slugs", slugs)
+                .query(String.class)
+                .list());
+    }
+
+    /**
+     * The post of each of {@code commentIds} that exists.
+     */
+    public Map<Long, Long> commentPostIds(Collection<Long> commentIds) {
+        Map<Long, Long> postIds = new HashMap<>();
+        if (commentIds.isEmpty()) {
+            return postIds;
+        }
+        jdbcClient.sql("SELECT id, post_id FROM comments WHERE id IN (:ids)")
+                .param("ids", commentIds)
+                .query(rs -> {
+                    postIds.put(rs.getLong("id"), rs.getLong("post_id"));
+                });
+        return postIds;
+    }
+
+    /**
+     * The reviews that already exist among the posts and users given.
+     */
+    public Set<Reviewer> existingReviewers(Collection<Long> postIds, Collection<Long> userIds) {
+        if (postIds.isEmpty() || userIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcClient.sql("""
+                        SELECT post_id, user_id FROM reviews
+                        WHERE post_id IN (:postIds) AND user_id IN (:userIds)
+                        """)
+                .param("postIds", postIds)
+                .param("userIds", userIds)
+                .query((rs, rowNum) -> new Reviewer(rs.getLong("post_id"), rs.getLong("user_id")))
+                .list());
+    }
+
+    /**
+     * Inserts the posts as drafts, as {@code PostService.createPost} would, without their tags.
+     */
+    public void insertPosts(List<CreatePostRequest> posts, Instant now) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        var timestamp = Timestamp.from(now);
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO posts (author_id, title, content, slug, status, created_at,
+                                           updated_at, comment_count, version)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0)
+                        """, posts, posts.size(), (ps, post) -> {
+                    ps.setLong(1, post.authorId());
+                    ps.setString(2, post.title());
+                    ps.setString(3, post.content());
+                    ps.setString(4, post.slug());
+                    ps.setString(5, PostStatus.DRAFT.name());
+                    ps.setTimestamp(6, timestamp);
+                    ps.setTimestamp(7, timestamp);
+                });
+    }
+
+    /**
+     * The ids of the posts with {@code slugs}, by slug.
+     */
+    public Map<String, Long> postIdsBySlug(Collection<String> slugs) {
+        Map<String, Long> ids = new HashMap<>();
+        if (slugs.isEmpty()) {
+            return ids;
+        }
+        jdbcClient.sql("SELECT id, slug FROM posts WHERE slug IN (:slugs)")
+                .param("slugs", slugs)
+                .query(rs -> {
+                    ids.put(rs.getString("slug"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    /**
+     * Inserts {@code post_tags} rows, each a {@code {postId, tagId}} pair.
+     */
+    public void insertPostTags(List<long[]> postTags) {
+        if (postTags.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO post_tags (post_id, tag_id) VALUES (?, ?)",
+                postTags, postTags.size(), (ps, pair) -> {
+                    ps.setLong(1, pair[0]);
+                    ps.setLong(2, pair[1]);
+                });
+    }
+
+    /**
+     * Inserts the comments.
+     *
+     * @return their ids, in the order of {@code comments}
+     */
+    public List<Long> insertComments(List<CreateCommentRequest> comments, Instant now) {
+        if (comments.isEmpty()) {
+            return List.of();
+        }
+        var ids = nextIds("comments", comments.size());
+        var timestamp = Timestamp.from(now);
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO comments (id, post_id, user_id, parent_id, content,
+                                              created_at, updated_at, version)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, 0)
+                        """, indexes(comments.size()), comments.size(), (ps, i) -> {
+                    var comment = comments.get(i);
+                    ps.setLong(1, ids.get(i));
+                    ps.setLong(2, comment.postId());
+                    ps.setLong(3, comment.userId());
+                    if (comment.parentId() != null) {
+                        ps.setLong(4, comment.parentId());
+                    } else {
+                        ps.setNull(4, Types.BIGINT);
+                    }
+                    ps.setString(5, comment.content());
+                    ps.setTimestamp(6, timestamp);
+                    ps.setTimestamp(7, timestamp);
+                });
+        return ids;
+    }
+
+    /**
+     * Shifts {@code posts.comment_count} by the comments added to each post, one batched update
+     * per post as {@code PostRepository.adjustCommentCount} does for a single comment.
+     */
+    public void adjustCommentCounts(Map<Long, Long> deltasByPostId) {
+        if (deltasByPostId.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE posts SET comment_count = comment_count + ? WHERE id = ?",
+                List.copyOf(deltasByPostId.entrySet()), deltasByPostId.size(), (ps, delta) -> {
+                    ps.setLong(1, delta.getValue());
+                    ps.setLong(2, delta.getKey());
+                });
+    }
+
+    /**
+     * Inserts the reviews.
+     *
+     * @return their ids, in the order of {@code reviews}
+     */
+    public List<Long> insertReviews(List<CreateReviewRequest> reviews, Instant now) {
+        if (reviews.isEmpty()) {
+            return List.of();
+        }
+        var ids = nextIds("reviews", reviews.size());
+        var timestamp = Timestamp.from(now);
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO reviews (id, post_id, user_id, rating, title, content,
+                                             is_verified, created_at, updated_at, version)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+                        """, indexes(reviews.size()), reviews.size(), (ps, i) -> {
+                    var review = reviews.get(i);
+                    ps.setLong(1, ids.get(i));
+                    ps.setLong(2, review.postId());
+                    ps.setLong(3, review.userId());
+                    ps.setShort(4, review.rating());
+                    ps.setString(5, review.title());
+                    ps.setString(6, review.content());
+                    ps.setBoolean(7, Boolean.TRUE.equals(review.verified()));
+                    ps.setTimestamp(8, timestamp);
+                    ps.setTimestamp(9, timestamp);
+                });
+        return ids;
+    }
+
+    /**
+     * {@code count} ids from the sequence behind {@code table}'s {@code id}, in one round trip.
+     */
+    private List<Long> nextIds(String table, int count) {
+        return jdbcClient.sql("""
+                        SELECT nextval(pg_get_serial_sequence(:table, 'id'))
+                        FROM generate_series(1, :count)
+                        """)
+                .param("table", table)
+                .param("count", count)
+                .query(Long.class)
+                .list();
+    }
+
+    private static List<Integer> indexes(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+}
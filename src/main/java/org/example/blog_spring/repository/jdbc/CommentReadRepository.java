@@ -0,0 +1,81 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+
+import org.example.blog_spring.dto.CommentDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads comments straight into {@link CommentDto}s with {@link JdbcClient}. Active when
+ * {@code blog.read-model=jdbc}.
+ */
+@Repository
+@ConditionalOnProperty(name = "blog.read-model", havingValue = "jdbc")
+public class CommentReadRepository {
+
+    static final String SELECT = """
+            SELECT c.id, c.post_id, c.user_id, c.parent_id, c.content, c.created_at, c.updated_at
+            FROM comments c
+            """;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "c.id",
+            "postId", "c.post_id",
+            "userId", "c.user_id",
+            "createdAt", "c.created_at",
+            "updatedAt", "c.updated_at");
+
+    private final JdbcClient jdbcClient;
+
+    public CommentReadRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<CommentDto> findById(Long id) {
+        return jdbcClient.sql(SELECT + "WHERE c.id = :id")
+                .param("id", id)
+                .query(CommentReadRepository::mapRow)
+                .optional();
+    }
+
+    public Page<CommentDto> findByPostId(Long postId, Pageable pageable) {
+        return findPage("c.post_id", postId, pageable);
+    }
+
+    public Page<CommentDto> findByUserId(Long userId, Pageable pageable) {
+        return findPage("c.user_id", userId, pageable);
+    }
+
+    private Page<CommentDto> findPage(String column, Long value, Pageable pageable) {
+        var where = "WHERE " + column + " = :value ";
+        var content = jdbcClient
+                .sql(SELECT + where + SqlPaging.orderByAndLimit(pageable, SORT_COLUMNS, "c.id"))
+                .param("value", value)
+                .query(CommentReadRepository::mapRow)
+                .list();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbcClient.sql("SELECT COUNT(*) FROM comments c " + where)
+                        .param("value", value)
+                        .query(Long.class)
+                        .single());
+    }
+
+    static CommentDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new CommentDto(
+                rs.getLong("id"),
+                rs.getLong("post_id"),
+                rs.getLong("user_id"),
+                SqlPaging.nullableLong(rs, "parent_id"),
+                rs.getString("content"),
+                SqlPaging.instant(rs, "created_at"),
+                SqlPaging.instant(rs, "updated_at"));
+    }
+}
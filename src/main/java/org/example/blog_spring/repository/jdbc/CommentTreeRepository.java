@@ -0,0 +1,95 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.example.blog_spring.dto.CommentDto;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads comment threads with one recursive query: the chosen roots, then their replies level by
+ * level down to {@code maxDepth}. Rows come back flat, oldest first, for {@code CommentMapper}
+ * to nest.
+ *
+ * <p>Unlike the other repositories in this package it is always active; there is no JPA
+ * equivalent to fall back to.
+ */
+@Repository
+public class CommentTreeRepository {
+
+    private static final String THREADS = """
+            WITH RECURSIVE thread (id, post_id, user_id, parent_id, content, created_at,
+                                   updated_at, depth) AS (
+                SELECT c.id, c.post_id, c.user_id, c.parent_id, c.content, c.created_at,
+                       c.updated_at, 1
+                FROM comments c
+                WHERE %s
+                UNION ALL
+                SELECT c.id, c.post_id, c.user_id, c.parent_id, c.content, c.created_at,
+                       c.updated_at, t.depth + 1
+                FROM comments c
+                JOIN thread t ON c.parent_id = t.id
+                WHERE t.depth < :maxDepth
+            )
+            SELECT t.*,
+                   t.depth = :maxDepth
+                       AND EXISTS (SELECT 1 FROM comments r WHERE r.parent_id = t.id)
+                       AS more_replies
+            FROM thread t
+            ORDER BY t.created_at, t.id
+            """;
+
+    private static final String ROOTS_OF_POST = THREADS.formatted("""
+            c.id IN (
+                    SELECT id FROM comments
+                    WHERE post_id = :postId AND parent_id IS NULL
+                    ORDER BY created_at, id
+                    LIMIT :roots)""");
+
+    private static final String ONE_THREAD =
+            THREADS.formatted("c.post_id = :postId AND c.id = :rootId");
+
+    private final JdbcClient jdbcClient;
+
+    public CommentTreeRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * The oldest {@code roots} top-level comments of a post with their replies.
+     */
+    public List<CommentTreeRow> findThreads(Long postId, int roots, int maxDepth) {
+        return jdbcClient.sql(ROOTS_OF_POST)
+                .param("postId", postId)
+                .param("roots", roots)
+                .param("maxDepth", maxDepth)
+                .query(CommentTreeRepository::mapRow)
+                .list();
+    }
+
+    /**
+     * The comment {@code rootId}, if it belongs to the post, with its replies.
+     */
+    public List<CommentTreeRow> findThread(Long postId, Long rootId, int maxDepth) {
+        return jdbcClient.sql(ONE_THREAD)
+                .param("postId", postId)
+                .param("rootId", rootId)
+                .param("maxDepth", maxDepth)
+                .query(CommentTreeRepository::mapRow)
+                .list();
+    }
+
+    private static CommentTreeRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        var comment = new CommentDto(
+                rs.getLong("id"),
+                rs.getLong("post_id"),
+                rs.getLong("user_id"),
+                SqlPaging.nullableLong(rs, "parent_id"),
+                rs.getString("content"),
+                SqlPaging.instant(rs, "created_at"),
+                SqlPaging.instant(rs, "updated_at"));
+        return new CommentTreeRow(comment, rs.getInt("depth"), rs.getBoolean("more_replies"));
+    }
+}
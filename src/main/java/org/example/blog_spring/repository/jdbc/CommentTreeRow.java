@@ -0,0 +1,10 @@
+package org.example.blog_spring.repository.jdbc;
+
+import org.example.blog_spring.dto.CommentDto;
+
+/**
+ * One comment of a thread as read by the recursive query, flat. {@code depth} is 1 for the
+ * thread's root.
+ */
+public record CommentTreeRow(CommentDto comment, int depth, boolean moreReplies) {
+}
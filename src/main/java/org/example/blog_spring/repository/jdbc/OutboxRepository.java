@@ -0,0 +1,210 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.example.blog_spring.outbox.ChangeEvent;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The {@code outbox_events} table. Events are appended in the transaction of the change they
+ * describe, read by every node, and purged once older than any node can still need.
+ *
+ * <p>Each event records the id of the transaction that appended it. Transaction ids are handed
+ * out as transactions start writing, not as they commit, so {@link #findAfter} only returns
+ * events of transactions older than the {@link #horizon()}: all of those have ended, and no
+ * event can still appear before a position already read.
+ *
+ * <p>Each event also records the node that appended it, identified by a random id drawn at
+ * startup, so that a reader can tell its own node's changes apart.
+ */
+@Repository
+public class OutboxRepository {
+
+    /**
+     * Where a reader stands in the outbox, which is read in {@code (tx_id, id)} order.
+     */
+    public record Position(long txId, long id) implements Comparable<Position> {
+
+        private static final Comparator<Position> ORDER = Comparator
+                .comparingLong(Position::txId)
+                .thenComparingLong(Position::id);
+
+        /**
+         * Before every event of the transactions at or after {@code horizon}.
+         */
+        public static Position startingAt(long horizon) {
+            return new Position(horizon, 0);
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * An event and its position in the outbox.
+     */
+    public record EventRow(Position position, ChangeEvent event) {
+    }
+
+    /**
+     * Events after a position: how many, and when the oldest occurred ({@code null} if none).
+     */
+    public record Backlog(long pending, Instant oldest) {
+    }
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final UUID node = UUID.randomUUID();
+
+    public OutboxRepository(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends an event in the calling transaction.
+     *
+     * @return the event as subscribers receive it
+     */
+    public ChangeEvent append(Entity entity, Long entityId, Long postId, Action action,
+            String slug, Instant occurredAt) {
+        long id = jdbcClient.sql("""
+                        INSERT INTO outbox_events (entity_type, entity_id, post_id, action, slug,
+                                                   origin, occurred_at)
+                        VALUES (:entity, :entityId, :postId, :action, :slug, :origin,
+                                :occurredAt)
+                        RETURNING id
+                        """)
+                .param("entity", entity.name())
+                .param("entityId", entityId)
+                .param("postId", postId)
+                .param("action", action.name())
+                .param("slug", slug)
+                .param("origin", node)
+                .param("occurredAt", Timestamp.from(occurredAt))
+                .query(Long.class)
+                .single();
+        return new ChangeEvent(id, entity, entityId, postId, action, slug, occurredAt, true);
+    }
+
+    /**
+     * Appends one event per entity in the calling transaction, as one JDBC batch. The event ids
+     * are drawn from the sequence first, as a batch returns no generated keys.
+     *
+     * @param postIds the post of each of {@code entityIds}, in the same order, or {@code null}
+     *        where the entities belong to none
+     * @param slugs the slug of each of {@code entityIds}, in the same order, or {@code null}
+     *        where the entity has none
+     * @return the events as subscribers receive them
+     */
+    public List<ChangeEvent> appendAll(Entity entity, Action action, List<Long> entityIds,
+            List<Long> postIds, List<String> slugs, Instant occurredAt) {
+        if (entityIds.isEmpty()) {
+            return List.of();
+        }
+        var ids = jdbcClient.sql("""
+                        SELECT nextval(pg_get_serial_sequence('outbox_events', 'id'))
+                        FROM generate_series(1, :count)
+                        """)
+                .param("count", entityIds.size())
+                .query(Long.class)
+                .list();
+        var events = new ArrayList<ChangeEvent>(entityIds.size());
+        for (int i = 0; i < entityIds.size(); i++) {
+            events.add(new ChangeEvent(ids.get(i), entity, entityIds.get(i),
+                    postIds != null ? postIds.get(i) : null, action,
+                    slugs != null ? slugs.get(i) : null, occurredAt, true));
+        }
+        var timestamp = Timestamp.from(occurredAt);
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO outbox_events (id, entity_type, entity_id, post_id, action,
+                                                   slug, origin, occurred_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                        """, events, events.size(), (ps, event) -> {
+                    ps.setLong(1, event.id());
+                    ps.setString(2, entity.name());
+                    ps.setLong(3, event.entityId());
+                    ps.setObject(4, event.postId(), Types.BIGINT);
+                    ps.setString(5, action.name());
+                    ps.setString(6, event.slug());
+                    ps.setObject(7, node);
+                    ps.setTimestamp(8, timestamp);
+                });
+        return events;
+    }
+
+    /**
+     * The id of the oldest transaction still running; every transaction before it has ended.
+     */
+    public long horizon() {
+        return jdbcClient.sql("SELECT txid_snapshot_xmin(txid_current_snapshot())")
+                .query(Long.class)
+                .single();
+    }
+
+    /**
+     * Up to {@code limit} events after {@code after} appended by transactions before
+     * {@code horizon}, in outbox order.
+     */
+    public List<EventRow> findAfter(Position after, long horizon, int limit) {
+        return jdbcClient.sql("""
+                        SELECT tx_id, id, entity_type, entity_id, post_id, action, slug,
+                               origin, occurred_at
+                        FROM outbox_events
+                        WHERE (tx_id, id) > (:txId, :id) AND tx_id < :horizon
+                        ORDER BY tx_id, id
+                        LIMIT :limit
+                        """)
+                .param("txId", after.txId())
+                .param("id", after.id())
+                .param("horizon", horizon)
+                .param("limit", limit)
+                .query((rs, rowNum) -> new EventRow(
+                        new Position(rs.getLong("tx_id"), rs.getLong("id")),
+                        new ChangeEvent(
+                                rs.getLong("id"),
+                                Entity.valueOf(rs.getString("entity_type")),
+                                rs.getLong("entity_id"),
+                                rs.getObject("post_id", Long.class),
+                                Action.valueOf(rs.getString("action")),
+                                rs.getString("slug"),
+                                SqlPaging.instant(rs, "occurred_at"),
+                                node.equals(rs.getObject("origin", UUID.class)))))
+                .list();
+    }
+
+    public Backlog backlog(Position after) {
+        return jdbcClient.sql("""
+                        SELECT COUNT(*) AS pending, MIN(occurred_at) AS oldest
+                        FROM outbox_events WHERE (tx_id, id) > (:txId, :id)
+                        """)
+                .param("txId", after.txId())
+                .param("id", after.id())
+                .query((rs, rowNum) -> new Backlog(rs.getLong("pending"),
+                        SqlPaging.instant(rs, "oldest")))
+                .single();
+    }
+
+    /**
+     * Deletes events that occurred before {@code before}.
+     *
+     * @return the number deleted
+     */
+    public int purge(Instant before) {
+        return jdbcClient.sql("DELETE FROM outbox_events WHERE occurred_at < :before")
+                .param("before", Timestamp.from(before))
+                .update();
+    }
+}
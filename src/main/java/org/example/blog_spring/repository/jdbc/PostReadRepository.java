@@ -0,0 +1,152 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.TagSummaryDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads posts straight into {@link PostDto}s with {@link JdbcClient}: no entities, persistence
+ * context or dirty checking. Tags for the posts read are fetched with one extra query.
+ *
+ * <p>Active when {@code blog.read-model=jdbc}; {@code PostServiceImpl} then uses it for lookups by
+ * id and slug and for listings without a search term.
+ */
+@Repository
+@ConditionalOnProperty(name = "blog.read-model", havingValue = "jdbc")
+public class PostReadRepository {
+
+    static final String SELECT = """
+            SELECT p.id, p.author_id, p.title, p.content, p.slug, p.status, p.created_at,
+                   p.updated_at, p.published_at, p.comment_count
+            FROM posts p
+            """;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "p.id",
+            "title", "p.title",
+            "slug", "p.slug",
+            "status", "p.status",
+            "createdAt", "p.created_at",
+            "updatedAt", "p.updated_at",
+            "publishedAt", "p.published_at",
+            "commentCount", "p.comment_count");
+
+    private final JdbcClient jdbcClient;
+
+    public PostReadRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<PostDto> findById(Long id) {
+        return withTags(jdbcClient, jdbcClient.sql(SELECT + "WHERE p.id = :id")
+                .param("id", id)
+                .query(PostReadRepository::mapRow)
+                .list()).stream().findFirst();
+    }
+
+    public Optional<PostDto> findBySlug(String slug) {
+        return withTags(jdbcClient, jdbcClient.sql(SELECT + "WHERE p.slug = :slug")
+                .param("slug", slug)
+                .query(PostReadRepository::mapRow)
+                .list()).stream().findFirst();
+    }
+
+    /**
+     * Posts matching every non-null filter.
+     *
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException if {@code pageable}
+     *         sorts by an unknown property, as the JPA repositories do
+     */
+    public Page<PostDto> findPage(PostStatus status, Long authorId, String tagSlug,
+            Pageable pageable) {
+        // Only the filters given go into the SQL, so each combination gets a plan that can use
+        // its index instead of one generic "(:x IS NULL OR ...)" plan.
+        var where = new StringJoiner(" AND ", "WHERE ", " ").setEmptyValue("");
+        Map<String, Object> params = new HashMap<>();
+        if (status != null) {
+            where.add("p.status = :status");
+            params.put("status", status.name());
+        }
+        if (authorId != null) {
+            where.add("p.author_id = :authorId");
+            params.put("authorId", authorId);
+        }
+        if (tagSlug != null) {
+            where.add("""
+                    EXISTS (SELECT 1 FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+                            WHERE pt.post_id = p.id AND t.slug = :tagSlug)""");
+            params.put("tagSlug", tagSlug);
+        }
+
+        var rows = jdbcClient
+                .sql(SELECT + where + SqlPaging.orderByAndLimit(pageable, SORT_COLUMNS, "p.id"))
+                .params(params)
+                .query(PostReadRepository::mapRow)
+                .list();
+        return PageableExecutionUtils.getPage(withTags(jdbcClient, rows), pageable,
+                () -> jdbcClient.sql("SELECT COUNT(*) FROM posts p " + where)
+                        .params(params)
+                        .query(Long.class)
+                        .single());
+    }
+
+    /**
+     * {@code posts} with their tags, read with one query.
+     */
+    static List<PostDto> withTags(JdbcClient jdbcClient, List<PostDto> posts) {
+        if (posts.isEmpty()) {
+            return posts;
+        }
+        var ids = posts.stream().map(PostDto::id).toList();
+        Map<Long, Set<TagSummaryDto>> tagsByPostId = new HashMap<>();
+        jdbcClient.sql("""
+                        SELECT pt.post_id, t.id, t.name, t.slug
+                        FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+                        WHERE pt.post_id IN (:ids)
+                        """)
+                .param("ids", ids)
+                .query(rs -> {
+                    tagsByPostId.computeIfAbsent(rs.getLong("post_id"), id -> new HashSet<>())
+                            .add(new TagSummaryDto(rs.getLong("id"), rs.getString("name"),
+                                    rs.getString("slug")));
+                });
+        return posts.stream().map(post -> {
+            var tags = tagsByPostId.get(post.id());
+            return tags == null ? post
+                    : new PostDto(post.id(), post.authorId(), post.title(), post.content(),
+                            post.slug(), post.status(), post.createdAt(), post.updatedAt(),
+                            post.publishedAt(), post.commentCount(), Set.copyOf(tags));
+        }).toList();
+    }
+
+    static PostDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new PostDto(
+                rs.getLong("id"),
+                rs.getLong("author_id"),
+                rs.getString("title"),
+                rs.getString("content"),
+                rs.getString("slug"),
+                PostStatus.valueOf(rs.getString("status")),
+                SqlPaging.instant(rs, "created_at"),
+                SqlPaging.instant(rs, "updated_at"),
+                SqlPaging.instant(rs, "published_at"),
+                rs.getLong("comment_count"),
+                Set.of());
+    }
+}
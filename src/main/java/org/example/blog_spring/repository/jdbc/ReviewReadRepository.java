@@ -0,0 +1,94 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+
+import org.example.blog_spring.dto.ReviewDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads reviews straight into {@link ReviewDto}s with {@link JdbcClient}. Active when
+ * {@code blog.read-model=jdbc}.
+ */
+@Repository
+@ConditionalOnProperty(name = "blog.read-model", havingValue = "jdbc")
+public class ReviewReadRepository {
+
+    static final String SELECT = """
+            SELECT r.id, r.post_id, r.user_id, r.rating, r.title, r.content, r.is_verified,
+                   r.created_at, r.updated_at
+            FROM reviews r
+            """;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "r.id",
+            "postId", "r.post_id",
+            "userId", "r.user_id",
+            "rating", "r.rating",
+            "verified", "r.is_verified",
+            "createdAt", "r.created_at",
+            "updatedAt", "r.updated_at");
+
+    private final JdbcClient jdbcClient;
+
+    public ReviewReadRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<ReviewDto> findById(Long id) {
+        return jdbcClient.sql(SELECT + "WHERE r.id = :id")
+                .param("id", id)
+                .query(ReviewReadRepository::mapRow)
+                .optional();
+    }
+
+    public Optional<ReviewDto> findByPostIdAndUserId(Long postId, Long userId) {
+        return jdbcClient.sql(SELECT + "WHERE r.post_id = :postId AND r.user_id = :userId")
+                .param("postId", postId)
+                .param("userId", userId)
+                .query(ReviewReadRepository::mapRow)
+                .optional();
+    }
+
+    public Page<ReviewDto> findByPostId(Long postId, Pageable pageable) {
+        return findPage("r.post_id", postId, pageable);
+    }
+
+    public Page<ReviewDto> findByUserId(Long userId, Pageable pageable) {
+        return findPage("r.user_id", userId, pageable);
+    }
+
+    private Page<ReviewDto> findPage(String column, Long value, Pageable pageable) {
+        var where = "WHERE " + column + " = :value ";
+        var content = jdbcClient
+                .sql(SELECT + where + SqlPaging.orderByAndLimit(pageable, SORT_COLUMNS, "r.id"))
+                .param("value", value)
+                .query(ReviewReadRepository::mapRow)
+                .list();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbcClient.sql("SELECT COUNT(*) FROM reviews r " + where)
+                        .param("value", value)
+                        .query(Long.class)
+                        .single());
+    }
+
+    static ReviewDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ReviewDto(
+                rs.getLong("id"),
+                rs.getLong("post_id"),
+                rs.getLong("user_id"),
+                rs.getShort("rating"),
+                rs.getString("title"),
+                rs.getString("content"),
+                rs.getBoolean("is_verified"),
+                SqlPaging.instant(rs, "created_at"),
+                SqlPaging.instant(rs, "updated_at"));
+    }
+}
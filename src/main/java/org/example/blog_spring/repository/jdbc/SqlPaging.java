@@ -0,0 +1,57 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * {@code ORDER BY}/{@code LIMIT} rendering and column helpers shared by the JDBC read
+ * repositories.
+ */
+final class SqlPaging {
+
+    private SqlPaging() {
+    }
+
+    /**
+     * Renders {@code ORDER BY ... LIMIT ... OFFSET ...} for {@code pageable}. Sort properties
+     * are the entity property names the JPA repositories accept and are looked up in
+     * {@code columns}, so no client input reaches the SQL text; {@code tiebreaker} is appended
+     * so rows with equal sort keys page deterministically.
+     *
+     * @throws IllegalArgumentException for a sort property not in {@code columns}
+     */
+    static String orderByAndLimit(Pageable pageable, Map<String, String> columns,
+            String tiebreaker) {
+        var orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : pageable.getSort()) {
+            var column = columns.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException(
+                        "Cannot sort by '%s'".formatted(order.getProperty()));
+            }
+            orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        orderBy.add(tiebreaker);
+        if (pageable.isUnpaged()) {
+            return orderBy.toString();
+        }
+        return orderBy + " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset();
+    }
+
+    static Instant instant(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.example.blog_spring.dto.SyncChange;
+import org.example.blog_spring.dto.SyncChange.Operation;
+import org.example.blog_spring.dto.SyncChange.Type;
+import org.example.blog_spring.dto.SyncToken;
+import org.example.blog_spring.dto.SyncToken.Source;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the delta-sync feed and keeps the tombstones it reports deletions from.
+ *
+ * <p>Each source is read in keyset order on {@code (updated_at, id)}, or
+ * {@code (deleted_at, id)} for tombstones, through the matching {@code idx_*_updated} index.
+ * Deletions are recorded by the services before they delete, including the rows that
+ * {@code ON DELETE CASCADE} takes with them, which the application never sees otherwise.
+ *
+ * <p>A row's {@code updated_at} is stamped inside its writing transaction, so it is never older
+ * than that transaction's start. {@link #findOldestOpenWrite()} tells how far back a row not
+ * yet committed can still appear.
+ */
+@Repository
+public class SyncRepository {
+
+    /**
+     * A change and its position in the feed.
+     */
+    public record ChangeRow(SyncToken position, SyncChange change) {
+    }
+
+    private static final String ROWS = """
+            SELECT id, version, created_at, updated_at FROM %s
+            WHERE (updated_at, id) > (:changedAt, :afterKey) AND updated_at < :until
+            ORDER BY updated_at, id
+            LIMIT :limit
+            """;
+
+    private static final String TOMBSTONES = """
+            SELECT id, entity_type, entity_id, version, deleted_at FROM tombstones
+            WHERE (deleted_at, id) > (:changedAt, :afterKey) AND deleted_at < :until
+            ORDER BY deleted_at, id
+            LIMIT :limit
+            """;
+
+    /**
+     * Transactions that have written get a transaction id; read-only ones, such as exports and
+     * sync polls, never do and do not hold the feed back.
+     */
+    private static final String OLDEST_OPEN_WRITE = """
+            SELECT min(xact_start) AS xact_start FROM pg_stat_activity
+            WHERE datname = current_database() AND backend_xid IS NOT NULL
+              AND pid <> pg_backend_pid()
+            """;
+
+    private final JdbcClient jdbcClient;
+    private final boolean postgres;
+
+    public SyncRepository(JdbcClient jdbcClient, DataSource dataSource)
+            throws MetaDataAccessException {
+        this.jdbcClient = jdbcClient;
+        // Open transactions are read from PostgreSQL's statistics views; on other databases,
+        // such as H2 in tests, none are reported.
+        this.postgres = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource,
+                DatabaseMetaData::getDatabaseProductName));
+    }
+
+    /**
+     * Up to {@code limit} changes of {@code source} after {@code after} and before
+     * {@code until}, in feed order.
+     */
+    public List<ChangeRow> findChanges(Source source, SyncToken after, Instant until, int limit) {
+        var sql = switch (source) {
+            case POSTS -> ROWS.formatted("posts");
+            case COMMENTS -> ROWS.formatted("comments");
+            case REVIEWS -> ROWS.formatted("reviews");
+            case TOMBSTONES -> TOMBSTONES;
+        };
+        var since = after.changedAt();
+        return jdbcClient.sql(sql)
+                .param("changedAt", Timestamp.from(since))
+                .param("afterKey", after.afterKey(source))
+                .param("until", Timestamp.from(until))
+                .param("limit", limit)
+                .query((rs, rowNum) -> source == Source.TOMBSTONES
+                        ? mapTombstone(rs)
+                        : mapRow(source, since, rs))
+                .list();
+    }
+
+    /**
+     * The start of the oldest other transaction that has written and not yet committed, if
+     * any. Rows it changed, once committed, carry a change time no older than this.
+     */
+    public Optional<Instant> findOldestOpenWrite() {
+        if (!postgres) {
+            return Optional.empty();
+        }
+        return jdbcClient.sql(OLDEST_OPEN_WRITE)
+                .query((rs, rowNum) -> Optional.ofNullable(rs.getTimestamp("xact_start"))
+                        .map(Timestamp::toInstant))
+                .single();
+    }
+
+    public void recordPostDeletion(Long postId) {
+        jdbcClient.sql("""
+                        INSERT INTO tombstones (entity_type, entity_id, version, deleted_at)
+                        SELECT 'COMMENT', id, version, CAST(:now AS TIMESTAMP WITH TIME ZONE)
+                        FROM comments WHERE post_id = :postId
+                        UNION ALL
+                        SELECT 'REVIEW', id, version, CAST(:now AS TIMESTAMP WITH TIME ZONE)
+                        FROM reviews WHERE post_id = :postId
+                        UNION ALL
+                        SELECT 'POST', id, version, CAST(:now AS TIMESTAMP WITH TIME ZONE)
+                        FROM posts WHERE id = :postId
+                        """)
+                .param("postId", postId)
+                .param("now", Timestamp.from(Instant.now()))
+                .update();
+    }
+
+    /**
+     * Records the comment and every reply under it, as {@code deleteWithReplies} removes them.
+     */
+    public void recordCommentDeletion(Long commentId) {
+        jdbcClient.sql("""
+                        INSERT INTO tombstones (entity_type, entity_id, version, deleted_at)
+                        WITH RECURSIVE subtree (id, version) AS (
+                            SELECT id, version FROM comments WHERE id = :commentId
+                            UNION ALL
+                            SELECT c.id, c.version FROM comments c
+                            JOIN subtree s ON c.parent_id = s.id
+                        )
+                        SELECT 'COMMENT', id, version, CAST(:now AS TIMESTAMP WITH TIME ZONE)
+                        FROM subtree
+                        """)
+                .param("commentId", commentId)
+                .param("now", Timestamp.from(Instant.now()))
+                .update();
+    }
+
+    public void recordReviewDeletion(Long reviewId) {
+        jdbcClient.sql("""
+                        INSERT INTO tombstones (entity_type, entity_id, version, deleted_at)
+                        SELECT 'REVIEW', id, version, CAST(:now AS TIMESTAMP WITH TIME ZONE)
+                        FROM reviews WHERE id = :reviewId
+                        """)
+                .param("reviewId", reviewId)
+                .param("now", Timestamp.from(Instant.now()))
+                .update();
+    }
+
+    /**
+     * Records the user's comments with every reply under them, and the user's reviews.
+     */
+    public void recordUserDeletion(Long userId) {
+        // UNION rather than UNION ALL: a user's reply to their own comment is reached twice.
+        jdbcClient.sql("""
+                        INSERT INTO tombstones (entity_type, entity_id, version, deleted_at)
+                        WITH RECURSIVE subtree (id, version) AS (
+                            SELECT id, version FROM comments WHERE user_id = :userId
+                            UNION
+                            SELECT c.id, c.version FROM comments c
+                            JOIN subtree s ON c.parent_id = s.id
+                        )
+                        SELECT 'COMMENT', id, version, CAST(:now AS TIMESTAMP WITH TIME ZONE)
+                        FROM subtree
+                        UNION ALL
+                        SELECT 'REVIEW', id, version, CAST(:now AS TIMESTAMP WITH TIME ZONE)
+                        FROM reviews WHERE user_id = :userId
+                        """)
+                .param("userId", userId)
+                .param("now", Timestamp.from(Instant.now()))
+                .update();
+    }
+
+    /**
+     * Deletes tombstones older than {@code before}.
+     *
+     * @return the number deleted
+     */
+    public int purgeTombstones(Instant before) {
+        return jdbcClient.sql("DELETE FROM tombstones WHERE deleted_at < :before")
+                .param("before", Timestamp.from(before))
+                .update();
+    }
+
+    private static ChangeRow mapRow(Source source, Instant since, ResultSet rs)
+            throws SQLException {
+        var type = switch (source) {
+            case POSTS -> Type.POST;
+            case COMMENTS -> Type.COMMENT;
+            case REVIEWS -> Type.REVIEW;
+            case TOMBSTONES -> throw new IllegalArgumentException("Tombstones are not rows");
+        };
+        long id = rs.getLong("id");
+        var changedAt = SqlPaging.instant(rs, "updated_at");
+        var operation = SqlPaging.instant(rs, "created_at").isAfter(since)
+                ? Operation.CREATED : Operation.UPDATED;
+        return new ChangeRow(new SyncToken(changedAt, source, id),
+                new SyncChange(type, id, rs.getLong("version"), operation, changedAt));
+    }
+
+    private static ChangeRow mapTombstone(ResultSet rs) throws SQLException {
+        var deletedAt = SqlPaging.instant(rs, "deleted_at");
+        return new ChangeRow(new SyncToken(deletedAt, Source.TOMBSTONES, rs.getLong("id")),
+                new SyncChange(Type.valueOf(rs.getString("entity_type")),
+                        rs.getLong("entity_id"), rs.getLong("version"), Operation.DELETED,
+                        deletedAt));
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+
+import org.example.blog_spring.dto.TagDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads tags straight into {@link TagDto}s with {@link JdbcClient}. Active when
+ * {@code blog.read-model=jdbc}.
+ */
+@Repository
+@ConditionalOnProperty(name = "blog.read-model", havingValue = "jdbc")
+public class TagReadRepository {
+
+    private static final String SELECT =
+            "SELECT t.id, t.name, t.slug, t.description, t.created_at FROM tags t ";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "name", "t.name",
+            "slug", "t.slug",
+            "createdAt", "t.created_at");
+
+    private final JdbcClient jdbcClient;
+
+    public TagReadRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<TagDto> findById(Long id) {
+        return jdbcClient.sql(SELECT + "WHERE t.id = :id")
+                .param("id", id)
+                .query(TagReadRepository::mapRow)
+                .optional();
+    }
+
+    public Optional<TagDto> findBySlug(String slug) {
+        return jdbcClient.sql(SELECT + "WHERE t.slug = :slug")
+                .param("slug", slug)
+                .query(TagReadRepository::mapRow)
+                .optional();
+    }
+
+    /**
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException if {@code pageable}
+     *         sorts by an unknown property, as the JPA repositories do
+     */
+    public Page<TagDto> findPage(Pageable pageable) {
+        var content = jdbcClient
+                .sql(SELECT + SqlPaging.orderByAndLimit(pageable, SORT_COLUMNS, "t.id"))
+                .query(TagReadRepository::mapRow)
+                .list();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbcClient.sql("SELECT COUNT(*) FROM tags").query(Long.class).single());
+    }
+
+    private static TagDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TagDto(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("slug"),
+                rs.getString("description"),
+                SqlPaging.instant(rs, "created_at"));
+    }
+}
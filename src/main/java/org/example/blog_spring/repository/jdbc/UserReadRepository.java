@@ -0,0 +1,73 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+
+import org.example.blog_spring.dto.UserDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads users straight into {@link UserDto}s with {@link JdbcClient}; password hashes and bios are
+ * never selected. Active when {@code blog.read-model=jdbc}.
+ */
+@Repository
+@ConditionalOnProperty(name = "blog.read-model", havingValue = "jdbc")
+public class UserReadRepository {
+
+    private static final String SELECT = """
+            SELECT u.id, u.username, u.email, u.display_name, u.created_at, u.updated_at
+            FROM users u
+            """;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "u.id",
+            "username", "u.username",
+            "email", "u.email",
+            "displayName", "u.display_name",
+            "fullName", "u.display_name",
+            "createdAt", "u.created_at",
+            "updatedAt", "u.updated_at");
+
+    private final JdbcClient jdbcClient;
+
+    public UserReadRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<UserDto> findById(Long id) {
+        return jdbcClient.sql(SELECT + "WHERE u.id = :id")
+                .param("id", id)
+                .query(UserReadRepository::mapRow)
+                .optional();
+    }
+
+    /**
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException if {@code pageable}
+     *         sorts by an unknown property, as the JPA repositories do
+     */
+    public Page<UserDto> findPage(Pageable pageable) {
+        var content = jdbcClient
+                .sql(SELECT + SqlPaging.orderByAndLimit(pageable, SORT_COLUMNS, "u.id"))
+                .query(UserReadRepository::mapRow)
+                .list();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbcClient.sql("SELECT COUNT(*) FROM users").query(Long.class).single());
+    }
+
+    private static UserDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new UserDto(
+                rs.getLong("id"),
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("display_name"),
+                SqlPaging.instant(rs, "created_at"),
+                SqlPaging.instant(rs, "updated_at"));
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.blog_spring.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs drift in the denormalized {@code posts.comment_count}.
+ *
+ * <p>Comment writes only apply +1/-n deltas, so anything that bypasses the service (manual SQL,
+ * bulk imports, a lost race with this job) can leave the counter wrong. This job walks the posts
+ * table in id ranges and rewrites the count only where it differs, one short transaction per
+ * range so it never holds locks on the whole table.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comment-count.reconcile.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class CommentCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentCountReconciler.class);
+
+    private final PostRepository postRepository;
+    private final int batchSize;
+    private final Counter repairedCounter;
+
+    public CommentCountReconciler(PostRepository postRepository, MeterRegistry meterRegistry,
+            @Value("${blog.comment-count.reconcile.batch-size:1000}") int batchSize) {
+        this.postRepository = postRepository;
+        this.batchSize = batchSize;
+        this.repairedCounter = Counter.builder("blog.comment_count.repaired")
+                .description("Posts whose comment_count was corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${blog.comment-count.reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${blog.comment-count.reconcile.interval:PT15M}")
+    public void reconcile() {
+        long maxId = postRepository.findMaxId();
+        long repaired = 0;
+        for (long afterId = 0; afterId < maxId; afterId += batchSize) {
+            repaired += postRepository.reconcileCommentCounts(afterId, afterId + batchSize);
+        }
+        repairedCounter.increment(repaired);
+        if (repaired > 0) {
+            log.warn("Repaired comment_count on {} posts", repaired);
+        } else {
+            log.debug("comment_count reconciliation found no drift");
+        }
+    }
+}
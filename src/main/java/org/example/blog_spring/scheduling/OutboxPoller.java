@@ -0,0 +1,28 @@
+package org.example.blog_spring.scheduling;
+
+import org.example.blog_spring.outbox.OutboxDispatcher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the outbox every {@code blog.outbox.poll-interval}. The poll is how a node learns of the
+ * writes of every other node; it also retries failed deliveries and keeps the backlog gauges
+ * current.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.outbox.poll.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class OutboxPoller {
+
+    private final OutboxDispatcher dispatcher;
+
+    public OutboxPoller(OutboxDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.outbox.poll-interval:PT1S}")
+    public void poll() {
+        dispatcher.drain();
+    }
+}
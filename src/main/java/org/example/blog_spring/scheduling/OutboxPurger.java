@@ -0,0 +1,40 @@
+package org.example.blog_spring.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.example.blog_spring.repository.jdbc.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops change events older than {@code blog.outbox.retention}. Every node reads every event, so
+ * none is deleted on delivery; the retention has to outlast the longest a node may fall behind.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.outbox.purge.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class OutboxPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPurger.class);
+
+    private final OutboxRepository outboxRepository;
+    private final Duration retention;
+
+    public OutboxPurger(OutboxRepository outboxRepository,
+            @Value("${blog.outbox.retention:PT1H}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.retention = retention;
+    }
+
+    @Scheduled(initialDelayString = "${blog.outbox.purge.initial-delay:PT5M}",
+            fixedDelayString = "${blog.outbox.purge.interval:PT5M}")
+    public void purge() {
+        int purged = outboxRepository.purge(Instant.now().minus(retention));
+        log.debug("Purged {} change events older than {}", purged, retention);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.blog_spring.scheduling;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.config.DataSourceRoutingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures replication lag on the replica with {@code blog.datasource.routing.lag-query} and
+ * decides whether read-only transactions may use it: only while the last measured lag is within
+ * {@code max-lag}. Until the first check, and whenever the query fails, reads stay on the primary.
+ *
+ * <p>The lag is exported as the {@code blog.datasource.replica.lag} gauge in seconds
+ * ({@code NaN} while the replica cannot be reached).
+ */
+@Component
+@ConditionalOnProperty(name = "blog.datasource.routing.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+            DataSourceRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(Math.max(1, (int) properties.maxLag().toSeconds()));
+        this.lagQuery = properties.lagQuery();
+        this.maxLag = properties.maxLag();
+        Gauge.builder("blog.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.datasource.routing.lag-check-interval:PT5S}")
+    public void check() {
+        double lag;
+        try {
+            Double measured = replica.queryForObject(lagQuery, Double.class);
+            lag = measured != null ? measured : 0;
+        } catch (DataAccessException ex) {
+            log.debug("Replica lag check failed", ex);
+            lag = Double.NaN;
+        }
+        lagSeconds = lag;
+        boolean nowUsable = lag <= maxLag.toMillis() / 1000.0;
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Replica lag {}s is within {}, routing read-only transactions to it",
+                        lag, maxLag);
+            } else {
+                log.warn("Replica lag {}s exceeds {} or could not be measured, routing reads to "
+                        + "the primary", lag, maxLag);
+            }
+        }
+        usable = nowUsable;
+    }
+}
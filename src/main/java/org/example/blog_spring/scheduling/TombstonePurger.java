@@ -0,0 +1,40 @@
+package org.example.blog_spring.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.example.blog_spring.repository.jdbc.SyncRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops delta-sync tombstones older than {@code blog.sync.tombstone-retention}. The sync feed
+ * rejects tokens older than that, so no client can still need them.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.sync.purge.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class TombstonePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstonePurger.class);
+
+    private final SyncRepository syncRepository;
+    private final Duration retention;
+
+    public TombstonePurger(SyncRepository syncRepository,
+            @Value("${blog.sync.tombstone-retention:P30D}") Duration retention) {
+        this.syncRepository = syncRepository;
+        this.retention = retention;
+    }
+
+    @Scheduled(initialDelayString = "${blog.sync.purge.initial-delay:PT5M}",
+            fixedDelayString = "${blog.sync.purge.interval:PT1H}")
+    public void purge() {
+        int purged = syncRepository.purgeTombstones(Instant.now().minus(retention));
+        log.debug("Purged {} tombstones older than {}", purged, retention);
+    }
+}
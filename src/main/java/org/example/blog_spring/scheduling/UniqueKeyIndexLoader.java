@@ -0,0 +1,97 @@
+package org.example.blog_spring.scheduling;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.example.blog_spring.repository.PostRepository;
+import org.example.blog_spring.repository.TagRepository;
+import org.example.blog_spring.repository.UserRepository;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import org.example.blog_spring.validation.UniqueKeyIndex.Key;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds the {@link UniqueKeyIndex} filters from a streaming scan of each unique column once the
+ * application is ready, and rebuilds any that have taken more values than they were sized for.
+ *
+ * <p>Each scan selects only the column and streams it in fetch-size batches inside a read-only
+ * transaction, so memory use does not grow with the table.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.uniqueness-index.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class UniqueKeyIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueKeyIndexLoader.class);
+
+    private final UniqueKeyIndex index;
+    private final UserRepository userRepository;
+    private final TagRepository tagRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UniqueKeyIndexLoader(UniqueKeyIndex index, UserRepository userRepository,
+            TagRepository tagRepository, PostRepository postRepository,
+            PlatformTransactionManager transactionManager) {
+        this.index = index;
+        this.userRepository = userRepository;
+        this.tagRepository = tagRepository;
+        this.postRepository = postRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        for (var key : Key.values()) {
+            rebuild(key);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${blog.uniqueness-index.check-interval:PT10M}",
+            fixedDelayString = "${blog.uniqueness-index.check-interval:PT10M}")
+    public void rebuildSaturated() {
+        for (var key : Key.values()) {
+            if (index.isSaturated(key)) {
+                log.info("Uniqueness index for {} is over capacity, rebuilding", key);
+                rebuild(key);
+            }
+        }
+    }
+
+    void rebuild(Key key) {
+        long started = System.nanoTime();
+        long values = readOnlyTransaction.execute(status -> switch (key) {
+            case USER_EMAIL -> scan(key, userRepository.count(), userRepository::streamAllEmails);
+            case USER_USERNAME ->
+                    scan(key, userRepository.count(), userRepository::streamAllUsernames);
+            case TAG_NAME -> scan(key, tagRepository.count(), tagRepository::streamAllNames);
+            case TAG_SLUG -> scan(key, tagRepository.count(), tagRepository::streamAllSlugs);
+            case POST_SLUG -> scan(key, postRepository.count(), postRepository::streamAllSlugs);
+        });
+        log.debug("Built uniqueness index for {} from {} values in {} ms", key, values,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private long scan(Key key, long rowCount, Supplier<Stream<String>> query) {
+        long[] values = {0};
+        index.rebuild(key, rowCount, (Consumer<String> sink) -> {
+            try (var stream = query.get()) {
+                stream.forEach(value -> {
+                    sink.accept(value);
+                    values[0]++;
+                });
+            }
+        });
+        return values[0];
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.blog_spring.scheduling;
+
+/**
+ * Scheduled background jobs (maintenance and reconciliation).
+ */
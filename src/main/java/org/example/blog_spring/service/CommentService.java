@@ -1,8 +1,15 @@
 package org.example.blog_spring.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.CommentThreadDto;
 import org.example.blog_spring.dto.CreateCommentRequest;
+import org.example.blog_spring.dto.CursorPage;
 import org.example.blog_spring.dto.UpdateCommentRequest;
+import org.example.blog_spring.pagination.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,10 +19,43 @@ public interface CommentService {
 
     CommentDto getComment(Long id);
 
-    Page<CommentDto> getCommentsForPost(Long postId, Pageable pageable);
+    Page<CommentDto> getCommentsForPost(Long postId, Pageable pageable, CountMode count);
+
+    /**
+     * Keyset-paginated variant of {@link #getCommentsForPost}, oldest first. {@code cursor} is the
+     * opaque token returned as {@code nextCursor} by the previous slice, or {@code null} for the
+     * first one.
+     */
+    CursorPage<CommentDto> getCommentsForPostByCursor(Long postId, String cursor, int size);
+
+    /**
+     * The threads of a post, nested: the comment {@code rootId} with its replies, or the post's
+     * oldest {@code roots} top-level comments with theirs when {@code rootId} is {@code null}.
+     * Replies are loaded {@code depth} levels deep, counting the root as the first.
+     */
+    List<CommentThreadDto> getCommentTree(Long postId, Long rootId, int roots, int depth);
 
     Page<CommentDto> getCommentsForUser(Long userId, Pageable pageable);
 
+    /**
+     * The first {@code perPost} top-level comments of each of {@code postIds} that has any,
+     * oldest first, read with one query.
+     *
+     * @throws IllegalArgumentException if {@code perPost} is not between 1 and
+     *         {@link org.example.blog_spring.pagination.KeysetSlices#MAX_SIZE}
+     */
+    Map<Long, List<CommentDto>> getTopLevelCommentsForPosts(Collection<Long> postIds,
+            int perPost);
+
+    /**
+     * The first {@code perComment} direct replies to each of {@code commentIds} that has any,
+     * oldest first, read with one query.
+     *
+     * @throws IllegalArgumentException if {@code perComment} is out of range, as above
+     */
+    Map<Long, List<CommentDto>> getRepliesForComments(Collection<Long> commentIds,
+            int perComment);
+
     CommentDto updateComment(Long id, UpdateCommentRequest request);
 
     void deleteComment(Long id);
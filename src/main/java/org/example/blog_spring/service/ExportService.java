@@ -0,0 +1,38 @@
+package org.example.blog_spring.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * Streams whole tables as NDJSON: one DTO per line, shaped as the read endpoints return it,
+ * oldest change first, ordered by {@code (updatedAt, id)}. With {@code updatedSince} only rows
+ * changed at or after it are written; with {@code afterId} as well, only rows after the row
+ * ({@code updatedSince}, {@code afterId}). The {@code updatedAt} and {@code id} of the last line
+ * of one export therefore seed the next without skipping or repeating a row.
+ *
+ * <p>Deleted rows leave nothing behind to export; an incremental export does not report them.
+ */
+public interface ExportService {
+
+    /**
+     * Writes {@code PostDto}s with their tags.
+     *
+     * @return the number of lines written
+     */
+    long exportPosts(Instant updatedSince, Long afterId, OutputStream out) throws IOException;
+
+    /**
+     * Writes {@code CommentDto}s.
+     *
+     * @return the number of lines written
+     */
+    long exportComments(Instant updatedSince, Long afterId, OutputStream out) throws IOException;
+
+    /**
+     * Writes {@code ReviewDto}s.
+     *
+     * @return the number of lines written
+     */
+    long exportReviews(Instant updatedSince, Long afterId, OutputStream out) throws IOException;
+}
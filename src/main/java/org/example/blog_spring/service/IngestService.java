@@ -0,0 +1,29 @@
+package org.example.blog_spring.service;
+
+import java.io.InputStream;
+
+import org.example.blog_spring.dto.IngestReport;
+
+/**
+ * Bulk inserts from NDJSON: one JSON object per line, shaped like the matching create request.
+ * Lines that do not parse, fail validation or reference missing rows are rejected and reported;
+ * the rest are inserted in batches, each committed on its own.
+ */
+public interface IngestService {
+
+    /**
+     * Lines are {@code CreatePostRequest}s; posts are created as drafts with their tags.
+     */
+    IngestReport ingestPosts(InputStream ndjson);
+
+    /**
+     * Lines are {@code CreateCommentRequest}s. A parent must already exist and belong to the
+     * same post.
+     */
+    IngestReport ingestComments(InputStream ndjson);
+
+    /**
+     * Lines are {@code CreateReviewRequest}s; a user reviews a post at most once.
+     */
+    IngestReport ingestReviews(InputStream ndjson);
+}
@@ -1,8 +1,10 @@
 package org.example.blog_spring.service;
 
 import org.example.blog_spring.dto.CreatePostRequest;
+import org.example.blog_spring.dto.CursorPage;
 import org.example.blog_spring.dto.PostDto;
 import org.example.blog_spring.dto.UpdatePostRequest;
+import org.example.blog_spring.pagination.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -16,13 +18,28 @@ public interface PostService {
 
     /**
      * List posts with optional filters for author, tag, search term, and published-only flag.
+     * {@code count} says how the total is found; search results are always counted exactly.
      */
     Page<PostDto> getPosts(
             Long authorId,
             String tagSlug,
             String search,
             Boolean publishedOnly,
-            Pageable pageable
+            Pageable pageable,
+            CountMode count
+    );
+
+    /**
+     * Keyset-paginated variant of {@link #getPosts}. {@code cursor} is the opaque token returned
+     * as {@code nextCursor} by the previous slice, or {@code null} for the first one.
+     */
+    CursorPage<PostDto> getPostsByCursor(
+            Long authorId,
+            String tagSlug,
+            String search,
+            Boolean publishedOnly,
+            String cursor,
+            int size
     );
 
     PostDto updatePost(Long id, UpdatePostRequest request);
@@ -1,8 +1,15 @@
 package org.example.blog_spring.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.example.blog_spring.dto.CreateReviewRequest;
+import org.example.blog_spring.dto.CursorPage;
 import org.example.blog_spring.dto.ReviewDto;
+import org.example.blog_spring.dto.ReviewSummaryDto;
 import org.example.blog_spring.dto.UpdateReviewRequest;
+import org.example.blog_spring.pagination.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -14,10 +21,32 @@ public interface ReviewService {
 
     ReviewDto getReviewForUserAndPost(Long userId, Long postId);
 
-    Page<ReviewDto> getReviewsForPost(Long postId, Pageable pageable);
+    Page<ReviewDto> getReviewsForPost(Long postId, Pageable pageable, CountMode count);
+
+    /**
+     * Keyset-paginated variant of {@link #getReviewsForPost}, newest first. {@code cursor} is the
+     * opaque token returned as {@code nextCursor} by the previous slice, or {@code null} for the
+     * first one.
+     */
+    CursorPage<ReviewDto> getReviewsForPostByCursor(Long postId, String cursor, int size);
 
     Page<ReviewDto> getReviewsForUser(Long userId, Pageable pageable);
 
+    /**
+     * The first {@code perPost} reviews of each of {@code postIds} that has any, oldest first,
+     * read with one query.
+     *
+     * @throws IllegalArgumentException if {@code perPost} is not between 1 and
+     *         {@link org.example.blog_spring.pagination.KeysetSlices#MAX_SIZE}
+     */
+    Map<Long, List<ReviewDto>> getReviewsForPosts(Collection<Long> postIds, int perPost);
+
+    /**
+     * Review count and average rating of each of {@code postIds}, read with one query. Posts
+     * without reviews get a count of 0.
+     */
+    Map<Long, ReviewSummaryDto> getReviewSummaries(Collection<Long> postIds);
+
     ReviewDto updateReview(Long id, UpdateReviewRequest request);
 
     void deleteReview(Long id);
@@ -0,0 +1,18 @@
+package org.example.blog_spring.service;
+
+import org.example.blog_spring.dto.SyncChanges;
+
+/**
+ * Delta-sync feed over posts, comments and reviews: ids and versions of rows created, updated
+ * or deleted since a token, oldest change first, so clients fetch only what changed.
+ */
+public interface SyncService {
+
+    /**
+     * Up to {@code limit} changes after {@code since}, or from the beginning if it is null.
+     *
+     * @throws IllegalArgumentException if the token is malformed or older than the tombstones
+     *         kept, or {@code limit} is out of range
+     */
+    SyncChanges getChanges(String since, int limit);
+}
@@ -1,6 +1,7 @@
 package org.example.blog_spring.service;
 
 import org.example.blog_spring.dto.CreateTagRequest;
+import org.example.blog_spring.dto.CursorPage;
 import org.example.blog_spring.dto.TagDto;
 import org.example.blog_spring.dto.UpdateTagRequest;
 import org.springframework.data.domain.Page;
@@ -16,6 +17,12 @@ public interface TagService {
 
     Page<TagDto> getTags(Pageable pageable);
 
+    /**
+     * Keyset-paginated listing, newest first. {@code cursor} is the opaque token returned as
+     * {@code nextCursor} by the previous slice, or {@code null} for the first one.
+     */
+    CursorPage<TagDto> getTagsByCursor(String cursor, int size);
+
     TagDto updateTag(Long id, UpdateTagRequest request);
 
     void deleteTag(Long id);
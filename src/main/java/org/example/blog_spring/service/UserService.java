@@ -1,8 +1,13 @@
 package org.example.blog_spring.service;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.example.blog_spring.dto.CreateUserRequest;
+import org.example.blog_spring.dto.CursorPage;
 import org.example.blog_spring.dto.UpdateUserRequest;
 import org.example.blog_spring.dto.UserDto;
+import org.example.blog_spring.pagination.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,7 +17,18 @@ public interface UserService {
 
     UserDto getUser(Long id);
 
-    Page<UserDto> getUsers(Pageable pageable);
+    Page<UserDto> getUsers(Pageable pageable, CountMode count);
+
+    /**
+     * Keyset-paginated listing, newest first. {@code cursor} is the opaque token returned as
+     * {@code nextCursor} by the previous slice, or {@code null} for the first one.
+     */
+    CursorPage<UserDto> getUsersByCursor(String cursor, int size);
+
+    /**
+     * The users among {@code ids} that exist, by id, read with one query.
+     */
+    Map<Long, UserDto> getUsersByIds(Collection<Long> ids);
 
     UserDto updateUser(Long id, UpdateUserRequest request);
 
@@ -1,16 +1,39 @@
 package org.example.blog_spring.service.impl;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.example.blog_spring.cache.CommentTreeCacheInvalidator;
 import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.CommentThreadDto;
 import org.example.blog_spring.dto.CreateCommentRequest;
+import org.example.blog_spring.dto.CursorPage;
+import org.example.blog_spring.dto.KeysetCursor;
 import org.example.blog_spring.dto.UpdateCommentRequest;
 import org.example.blog_spring.exception.CommentNotFoundException;
 import org.example.blog_spring.exception.PostNotFoundException;
 import org.example.blog_spring.exception.UserNotFoundException;
 import org.example.blog_spring.mapper.CommentMapper;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.pagination.KeysetSlices;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
 import org.example.blog_spring.repository.CommentRepository;
+import org.example.blog_spring.repository.CountQueries;
 import org.example.blog_spring.repository.PostRepository;
 import org.example.blog_spring.repository.UserRepository;
+import org.example.blog_spring.repository.jdbc.CommentReadRepository;
+import org.example.blog_spring.repository.jdbc.CommentTreeRepository;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
 import org.example.blog_spring.service.CommentService;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,21 +43,44 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class CommentServiceImpl implements CommentService {
 
+    static final int MAX_TREE_ROOTS = 100;
+    static final int MAX_TREE_DEPTH = 32;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-
+    private final CommentTreeRepository commentTrees;
+    private final CommentTreeCacheInvalidator commentTreeCacheInvalidator;
+    private final SyncRepository syncRepository;
+    private final Outbox outbox;
+    private final PageCounter pageCounter;
+    private final @Nullable CommentReadRepository commentReads;
+
+    /**
+     * @param commentReads the JDBC read model, present when {@code blog.read-model=jdbc}; its
+     *        listings always count exactly
+     */
     public CommentServiceImpl(CommentRepository commentRepository, PostRepository postRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository, CommentTreeRepository commentTrees,
+            CommentTreeCacheInvalidator commentTreeCacheInvalidator,
+            SyncRepository syncRepository, Outbox outbox, PageCounter pageCounter,
+            @Nullable CommentReadRepository commentReads) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.commentTrees = commentTrees;
+        this.commentTreeCacheInvalidator = commentTreeCacheInvalidator;
+        this.syncRepository = syncRepository;
+        this.outbox = outbox;
+        this.pageCounter = pageCounter;
+        this.commentReads = commentReads;
     }
 
     @Override
     public CommentDto createComment(CreateCommentRequest request) {
-        var post = postRepository.findById(request.postId())
-                .orElseThrow(() -> new PostNotFoundException(request.postId()));
+        if (!postRepository.existsById(request.postId())) {
+            throw new PostNotFoundException(request.postId());
+        }
         if (!userRepository.existsById(request.userId())) {
             throw new UserNotFoundException(request.userId());
         }
@@ -44,10 +90,10 @@ public class CommentServiceImpl implements CommentService {
 
         var comment = CommentMapper.toEntity(request);
         var saved = commentRepository.save(comment);
-
-        var newCount = commentRepository.countByPostId(request.postId());
-        post.setCommentCount(newCount);
-        postRepository.save(post);
+        postRepository.adjustCommentCount(request.postId(), 1);
+        pageCounter.invalidate(Scope.COMMENTS, request.postId());
+        commentTreeCacheInvalidator.postChanged(request.postId());
+        outbox.append(Entity.COMMENT, saved.getId(), request.postId(), Action.CREATED, null);
 
         return CommentMapper.toDto(saved);
     }
@@ -55,6 +101,9 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional(readOnly = true)
     public CommentDto getComment(Long id) {
+        if (commentReads != null) {
+            return commentReads.findById(id).orElseThrow(() -> new CommentNotFoundException(id));
+        }
         var comment =
                 commentRepository.findById(id).orElseThrow(() -> new CommentNotFoundException(id));
         return CommentMapper.toDto(comment);
@@ -62,16 +111,97 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<CommentDto> getCommentsForPost(Long postId, Pageable pageable) {
+    public Page<CommentDto> getCommentsForPost(Long postId, Pageable pageable, CountMode count) {
+        if (commentReads != null) {
+            return commentReads.findByPostId(postId, pageable);
+        }
+        if (count != CountMode.EXACT) {
+            return pageCounter.page(commentRepository.findSliceByPostId(postId, pageable), count,
+                    CountQueries.commentsOfPost(commentRepository, postId))
+                    .map(CommentMapper::toDto);
+        }
         return commentRepository.findByPostId(postId, pageable).map(CommentMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getCommentsForPostByCursor(Long postId, String cursor,
+            int size) {
+        KeysetSlices.checkSize(size);
+        var after = KeysetSlices.after(cursor);
+        var comments = after == null
+                ? commentRepository.findFirstSliceByPostId(postId, Limit.of(size + 1))
+                : commentRepository.findNextSliceByPostId(postId, after.sortKey(), after.id(),
+                        size + 1);
+        return KeysetSlices.page(comments, size,
+                comment -> new KeysetCursor(comment.getCreatedAt(), comment.getId()),
+                rows -> rows.stream().map(CommentMapper::toDto).toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CommentTreeCacheInvalidator.CACHE_NAME,
+            key = "T(org.example.blog_spring.cache.CommentTreeKey)"
+                    + ".of(#postId, #rootId, #roots, #depth)")
+    public List<CommentThreadDto> getCommentTree(Long postId, Long rootId, int roots,
+            int depth) {
+        if (roots < 1 || roots > MAX_TREE_ROOTS) {
+            throw new IllegalArgumentException(
+                    "roots must be between 1 and %d".formatted(MAX_TREE_ROOTS));
+        }
+        if (depth < 1 || depth > MAX_TREE_DEPTH) {
+            throw new IllegalArgumentException(
+                    "depth must be between 1 and %d".formatted(MAX_TREE_DEPTH));
+        }
+        var rows = rootId != null ? commentTrees.findThread(postId, rootId, depth)
+                : commentTrees.findThreads(postId, roots, depth);
+        // Only an empty result needs telling apart from a missing post or comment.
+        if (rows.isEmpty()) {
+            if (!postRepository.existsById(postId)) {
+                throw new PostNotFoundException(postId);
+            }
+            if (rootId != null) {
+                throw new CommentNotFoundException(rootId);
+            }
+        }
+        return CommentMapper.toThreads(rows);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<CommentDto> getCommentsForUser(Long userId, Pageable pageable) {
+        if (commentReads != null) {
+            return commentReads.findByUserId(userId, pageable);
+        }
         return commentRepository.findByUserId(userId, pageable).map(CommentMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<CommentDto>> getTopLevelCommentsForPosts(Collection<Long> postIds,
+            int perPost) {
+        KeysetSlices.checkSize(perPost);
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findTopLevelPerPost(postIds, perPost).stream()
+                .map(CommentMapper::toDto)
+                .collect(Collectors.groupingBy(CommentDto::postId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<CommentDto>> getRepliesForComments(Collection<Long> commentIds,
+            int perComment) {
+        KeysetSlices.checkSize(perComment);
+        if (commentIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findRepliesPerParent(commentIds, perComment).stream()
+                .map(CommentMapper::toDto)
+                .collect(Collectors.groupingBy(CommentDto::parentId));
+    }
+
     @Override
     public CommentDto updateComment(Long id, UpdateCommentRequest request) {
         var comment =
@@ -79,6 +209,8 @@ public class CommentServiceImpl implements CommentService {
 
         CommentMapper.updateEntity(comment, request);
         var saved = commentRepository.save(comment);
+        commentTreeCacheInvalidator.postChanged(saved.getPostId());
+        outbox.append(Entity.COMMENT, id, saved.getPostId(), Action.UPDATED, null);
         return CommentMapper.toDto(saved);
     }
 
@@ -87,14 +219,12 @@ public class CommentServiceImpl implements CommentService {
         var comment =
                 commentRepository.findById(id).orElseThrow(() -> new CommentNotFoundException(id));
 
-        var postId = comment.getPostId();
-
-        commentRepository.delete(comment);
-
-        var post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
-        var newCount = commentRepository.countByPostId(postId);
-        post.setCommentCount(newCount);
-        postRepository.save(post);
+        // Replies are removed with their parent, so the count drops by the whole subtree.
+        syncRepository.recordCommentDeletion(comment.getId());
+        var removed = commentRepository.deleteWithReplies(comment.getId());
+        postRepository.adjustCommentCount(comment.getPostId(), -removed);
+        pageCounter.invalidate(Scope.COMMENTS, comment.getPostId());
+        commentTreeCacheInvalidator.postChanged(comment.getPostId());
+        outbox.append(Entity.COMMENT, id, comment.getPostId(), Action.DELETED, null);
     }
 }
@@ -0,0 +1,378 @@
+package org.example.blog_spring.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.cache.CommentTreeCacheInvalidator;
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.NegativeLookupCache.Lookup;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
+import org.example.blog_spring.cache.PostListCacheInvalidator.PostSnapshot;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.CreateCommentRequest;
+import org.example.blog_spring.dto.CreatePostRequest;
+import org.example.blog_spring.dto.CreateReviewRequest;
+import org.example.blog_spring.dto.IngestReport;
+import org.example.blog_spring.dto.IngestReport.LineError;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository.Reviewer;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository.Table;
+import org.example.blog_spring.service.IngestService;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import org.example.blog_spring.validation.UniqueKeyIndex.Key;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Reads NDJSON line by line and writes it in chunks of {@code blog.ingest.batch-size} lines.
+ * Each chunk checks its references with one query per referenced table, then inserts what
+ * passed as one JDBC batch, in its own transaction; a failure part way keeps the chunks already
+ * committed. Caches and indexes a single create would update are updated once per chunk, and
+ * each inserted row gets its change event, appended as one batch in the chunk's transaction.
+ */
+@Service
+public class IngestServiceImpl implements IngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestServiceImpl.class);
+
+    private final BulkInsertRepository bulkInserts;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final PageCounter pageCounter;
+    private final NegativeLookupCache negativeLookups;
+    private final UniqueKeyIndex uniqueKeys;
+    private final PostListCacheInvalidator postListCacheInvalidator;
+    private final CommentTreeCacheInvalidator commentTreeCacheInvalidator;
+    private final Outbox outbox;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public IngestServiceImpl(BulkInsertRepository bulkInserts, ObjectMapper objectMapper,
+            Validator validator, PlatformTransactionManager transactionManager,
+            PageCounter pageCounter, NegativeLookupCache negativeLookups,
+            UniqueKeyIndex uniqueKeys, PostListCacheInvalidator postListCacheInvalidator,
+            CommentTreeCacheInvalidator commentTreeCacheInvalidator, Outbox outbox,
+            MeterRegistry meterRegistry,
+            @Value("${blog.ingest.batch-size:1000}") int batchSize,
+            @Value("${blog.ingest.max-reported-errors:100}") int maxReportedErrors) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("blog.ingest.batch-size must be positive");
+        }
+        this.bulkInserts = bulkInserts;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageCounter = pageCounter;
+        this.negativeLookups = negativeLookups;
+        this.uniqueKeys = uniqueKeys;
+        this.postListCacheInvalidator = postListCacheInvalidator;
+        this.commentTreeCacheInvalidator = commentTreeCacheInvalidator;
+        this.outbox = outbox;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public IngestReport ingestPosts(InputStream ndjson) {
+        return ingest("posts", ndjson, CreatePostRequest.class, this::writePosts);
+    }
+
+    @Override
+    public IngestReport ingestComments(InputStream ndjson) {
+        return ingest("comments", ndjson, CreateCommentRequest.class, this::writeComments);
+    }
+
+    @Override
+    public IngestReport ingestReviews(InputStream ndjson) {
+        return ingest("reviews", ndjson, CreateReviewRequest.class, this::writeReviews);
+    }
+
+    private record Line<T>(long number, T request) {
+    }
+
+    /**
+     * Inserts the lines of a chunk that pass its checks, rejecting the others into the run.
+     */
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+
+        int write(List<Line<T>> chunk, Run run);
+    }
+
+    private final class Run {
+
+        private final String kind;
+        private final List<LineError> errors = new ArrayList<>();
+        private long lines;
+        private long inserted;
+        private long rejected;
+
+        private Run(String kind) {
+            this.kind = kind;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LineError(line, message));
+            }
+        }
+    }
+
+    private <T> IngestReport ingest(String kind, InputStream ndjson, Class<T> type,
+            ChunkWriter<T> writer) {
+        long started = System.nanoTime();
+        var run = new Run(kind);
+        var reader = objectMapper.readerFor(type);
+        var chunk = new ArrayList<Line<T>>(batchSize);
+        try (var lines = new BufferedReader(
+                new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            long number = 0;
+            String text;
+            while ((text = lines.readLine()) != null) {
+                number++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                run.lines++;
+                T request;
+                try {
+                    request = reader.readValue(text);
+                } catch (JacksonException ex) {
+                    run.reject(number, "Malformed JSON: " + ex.getOriginalMessage());
+                    continue;
+                }
+                if (request == null) {
+                    run.reject(number, "Expected a JSON object");
+                    continue;
+                }
+                var violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    run.reject(number, describe(violations));
+                    continue;
+                }
+                chunk.add(new Line<>(number, request));
+                if (chunk.size() == batchSize) {
+                    write(chunk, writer, run);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        write(chunk, writer, run);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long rowsPerSecond = run.inserted * 1000 / Math.max(elapsedMillis, 1);
+        log.info("Ingested {} {} in {} ms ({} rows/s), rejected {}", run.inserted, kind,
+                elapsedMillis, rowsPerSecond, run.rejected);
+        meterRegistry.counter("blog.ingest.rows", "kind", kind, "result", "inserted")
+                .increment(run.inserted);
+        meterRegistry.counter("blog.ingest.rows", "kind", kind, "result", "rejected")
+                .increment(run.rejected);
+        return new IngestReport(kind, run.lines, run.inserted, run.rejected, elapsedMillis,
+                rowsPerSecond, List.copyOf(run.errors));
+    }
+
+    private <T> void write(List<Line<T>> chunk, ChunkWriter<T> writer, Run run) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Integer inserted = transactionTemplate.execute(status -> writer.write(chunk, run));
+        run.inserted += inserted != null ? inserted : 0;
+    }
+
+    private int writePosts(List<Line<CreatePostRequest>> chunk, Run run) {
+        Set<Long> authorIds = new HashSet<>();
+        Set<Long> tagIds = new HashSet<>();
+        List<String> slugs = new ArrayList<>(chunk.size());
+        for (var line : chunk) {
+            authorIds.add(line.request().authorId());
+            tagIds.addAll(tagIdsOf(line.request()));
+            slugs.add(line.request().slug());
+        }
+        var authors = bulkInserts.existingIds(Table.USERS, authorIds);
+        var tagSlugs = bulkInserts.tagSlugs(tagIds);
+        // Taken slugs include those of earlier lines in the chunk, as they are accepted.
+        var takenSlugs = new HashSet<>(bulkInserts.existingPostSlugs(slugs));
+
+        var accepted = new ArrayList<CreatePostRequest>(chunk.size());
+        for (var line : chunk) {
+            var post = line.request();
+            var missingTag = tagIdsOf(post).stream().filter(id -> !tagSlugs.containsKey(id))
+                    .findFirst();
+            if (!authors.contains(post.authorId())) {
+                run.reject(line.number(),
+                        "Author with id %d not found".formatted(post.authorId()));
+            } else if (missingTag.isPresent()) {
+                run.reject(line.number(), "Tag with id %d not found".formatted(missingTag.get()));
+            } else if (!takenSlugs.add(post.slug())) {
+                run.reject(line.number(),
+                        "Post slug '%s' is already in use".formatted(post.slug()));
+            } else {
+                accepted.add(post);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        bulkInserts.insertPosts(accepted, Instant.now());
+        var ids = bulkInserts.postIdsBySlug(accepted.stream().map(CreatePostRequest::slug)
+                .toList());
+        var postTags = new ArrayList<long[]>();
+        var postIds = new ArrayList<Long>(accepted.size());
+        var postSlugs = new ArrayList<String>(accepted.size());
+        var snapshots = new ArrayList<PostSnapshot>(accepted.size());
+        for (var post : accepted) {
+            Long id = ids.get(post.slug());
+            for (Long tagId : tagIdsOf(post)) {
+                postTags.add(new long[] {id, tagId});
+            }
+            negativeLookups.invalidate(Lookup.POST_ID, id);
+            negativeLookups.invalidate(Lookup.POST_SLUG, post.slug());
+            uniqueKeys.add(Key.POST_SLUG, post.slug());
+            postIds.add(id);
+            postSlugs.add(post.slug());
+            snapshots.add(new PostSnapshot(post.authorId(), PostStatus.DRAFT,
+                    tagIdsOf(post).stream().map(tagSlugs::get).collect(Collectors.toSet())));
+        }
+        bulkInserts.insertPostTags(postTags);
+        pageCounter.invalidate(Scope.POSTS);
+        postListCacheInvalidator.postsCreated(snapshots);
+        outbox.appendAll(Entity.POST, Action.CREATED, postIds, null, postSlugs);
+        return accepted.size();
+    }
+
+    private int writeComments(List<Line<CreateCommentRequest>> chunk, Run run) {
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> parentIds = new HashSet<>();
+        for (var line : chunk) {
+            postIds.add(line.request().postId());
+            userIds.add(line.request().userId());
+            if (line.request().parentId() != null) {
+                parentIds.add(line.request().parentId());
+            }
+        }
+        var posts = bulkInserts.existingIds(Table.POSTS, postIds);
+        var users = bulkInserts.existingIds(Table.USERS, userIds);
+        var parentPosts = bulkInserts.commentPostIds(parentIds);
+
+        var accepted = new ArrayList<CreateCommentRequest>(chunk.size());
+        Map<Long, Long> addedByPost = new HashMap<>();
+        for (var line : chunk) {
+            var comment = line.request();
+            Long parentPost = comment.parentId() != null ? parentPosts.get(comment.parentId())
+                    : comment.postId();
+            if (!posts.contains(comment.postId())) {
+                run.reject(line.number(),
+                        "Post with id %d not found".formatted(comment.postId()));
+            } else if (!users.contains(comment.userId())) {
+                run.reject(line.number(),
+                        "User with id %d not found".formatted(comment.userId()));
+            } else if (parentPost == null) {
+                run.reject(line.number(),
+                        "Comment with id %d not found".formatted(comment.parentId()));
+            } else if (!parentPost.equals(comment.postId())) {
+                run.reject(line.number(), "Comment with id %d belongs to another post"
+                        .formatted(comment.parentId()));
+            } else {
+                accepted.add(comment);
+                addedByPost.merge(comment.postId(), 1L, Long::sum);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        var ids = bulkInserts.insertComments(accepted, Instant.now());
+        bulkInserts.adjustCommentCounts(addedByPost);
+        pageCounter.invalidate(Scope.COMMENTS);
+        commentTreeCacheInvalidator.postsChanged(addedByPost.keySet());
+        outbox.appendAll(Entity.COMMENT, Action.CREATED, ids,
+                accepted.stream().map(CreateCommentRequest::postId).toList(), null);
+        return accepted.size();
+    }
+
+    private int writeReviews(List<Line<CreateReviewRequest>> chunk, Run run) {
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (var line : chunk) {
+            postIds.add(line.request().postId());
+            userIds.add(line.request().userId());
+        }
+        var posts = bulkInserts.existingIds(Table.POSTS, postIds);
+        var users = bulkInserts.existingIds(Table.USERS, userIds);
+        // Reviewers include those of earlier lines in the chunk, as they are accepted.
+        var reviewers = new HashSet<>(bulkInserts.existingReviewers(postIds, userIds));
+
+        var accepted = new ArrayList<CreateReviewRequest>(chunk.size());
+        for (var line : chunk) {
+            var review = line.request();
+            if (!posts.contains(review.postId())) {
+                run.reject(line.number(),
+                        "Post with id %d not found".formatted(review.postId()));
+            } else if (!users.contains(review.userId())) {
+                run.reject(line.number(),
+                        "User with id %d not found".formatted(review.userId()));
+            } else if (!reviewers.add(new Reviewer(review.postId(), review.userId()))) {
+                run.reject(line.number(), "User %d has already reviewed post %d"
+                        .formatted(review.userId(), review.postId()));
+            } else {
+                accepted.add(review);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        var ids = bulkInserts.insertReviews(accepted, Instant.now());
+        pageCounter.invalidate(Scope.REVIEWS);
+        outbox.appendAll(Entity.REVIEW, Action.CREATED, ids,
+                accepted.stream().map(CreateReviewRequest::postId).toList(), null);
+        return accepted.size();
+    }
+
+    private static Set<Long> tagIdsOf(CreatePostRequest post) {
+        return post.tagIds() != null ? post.tagIds() : Set.of();
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
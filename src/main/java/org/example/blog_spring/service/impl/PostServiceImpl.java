@@ -1,23 +1,50 @@
 package org.example.blog_spring.service.impl;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.NegativeLookupCache.Lookup;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
+import org.example.blog_spring.cache.PostListCacheInvalidator.PostSnapshot;
+import org.example.blog_spring.cache.PostListCacheKeyGenerator;
 import org.example.blog_spring.domain.Post;
 import org.example.blog_spring.domain.PostStatus;
 import org.example.blog_spring.domain.Tag;
 import org.example.blog_spring.dto.CreatePostRequest;
+import org.example.blog_spring.dto.CursorPage;
+import org.example.blog_spring.dto.KeysetCursor;
 import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.TagSummaryDto;
 import org.example.blog_spring.dto.UpdatePostRequest;
 import org.example.blog_spring.exception.PostNotFoundException;
 import org.example.blog_spring.mapper.PostMapper;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.pagination.KeysetSlices;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+import org.example.blog_spring.repository.CountQueries;
 import org.example.blog_spring.repository.PostRepository;
+import org.example.blog_spring.repository.PostSearchQuery;
+import org.example.blog_spring.repository.PostTagSummary;
 import org.example.blog_spring.repository.TagRepository;
 import org.example.blog_spring.repository.UserRepository;
+import org.example.blog_spring.repository.jdbc.PostReadRepository;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
 import org.example.blog_spring.service.PostService;
-import org.springframework.cache.annotation.CacheEvict;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import org.example.blog_spring.validation.UniqueKeyIndex.Key;
+import org.jspecify.annotations.Nullable;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,26 +56,45 @@ public class PostServiceImpl implements PostService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final TagRepository tagRepository;
+    private final PostListCacheInvalidator postListCacheInvalidator;
+    private final NegativeLookupCache negativeLookups;
+    private final UniqueKeyIndex uniqueKeys;
+    private final SyncRepository syncRepository;
+    private final Outbox outbox;
+    private final PageCounter pageCounter;
+    private final @Nullable PostReadRepository postReads;
 
+    /**
+     * @param postReads the JDBC read model, present when {@code blog.read-model=jdbc}; lookups
+     *        and listings without a search term then skip JPA entirely, and always count exactly
+     */
     public PostServiceImpl(PostRepository postRepository, UserRepository userRepository,
-            TagRepository tagRepository) {
+            TagRepository tagRepository, PostListCacheInvalidator postListCacheInvalidator,
+            NegativeLookupCache negativeLookups, UniqueKeyIndex uniqueKeys,
+            SyncRepository syncRepository, Outbox outbox, PageCounter pageCounter,
+            @Nullable PostReadRepository postReads) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.tagRepository = tagRepository;
+        this.postListCacheInvalidator = postListCacheInvalidator;
+        this.negativeLookups = negativeLookups;
+        this.uniqueKeys = uniqueKeys;
+        this.syncRepository = syncRepository;
+        this.outbox = outbox;
+        this.pageCounter = pageCounter;
+        this.postReads = postReads;
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "posts", key = "#result.id()", condition = "#result != null"),
-            @CacheEvict(cacheNames = "postsBySlug", key = "#result.slug()",
-                    condition = "#result != null"),
-            @CacheEvict(cacheNames = "postLists", allEntries = true)
-    })
     public PostDto createPost(CreatePostRequest request) {
         if (!userRepository.existsById(request.authorId())) {
             throw new IllegalArgumentException(
                     "Author with id %d not found".formatted(request.authorId()));
         }
+        if (uniqueKeys.exists(Key.POST_SLUG, request.slug(), postRepository::existsBySlug)) {
+            throw new IllegalArgumentException(
+                    "Post slug '%s' is already in use".formatted(request.slug()));
+        }
         Set<Long> tagIds = request.tagIds() != null ? request.tagIds() : Set.of();
         Set<Tag> tags = tagIds.isEmpty() ? Set.of()
                 : Set.copyOf(tagRepository.findByIdIn(tagIds));
@@ -56,60 +102,138 @@ public class PostServiceImpl implements PostService {
         var post = PostMapper.toEntity(request, request.authorId(), tags);
         post.setTags(tags);
         var saved = postRepository.save(post);
+        postListCacheInvalidator.postChanged(null, PostSnapshot.of(saved));
+        negativeLookups.invalidate(Lookup.POST_ID, saved.getId());
+        negativeLookups.invalidate(Lookup.POST_SLUG, saved.getSlug());
+        uniqueKeys.add(Key.POST_SLUG, saved.getSlug());
+        pageCounter.invalidate(Scope.POSTS);
+        outbox.append(Entity.POST, saved.getId(), Action.CREATED, saved.getSlug());
         return PostMapper.toDto(saved);
     }
 
+    // sync = true: concurrent misses on one key (REST or GraphQL) wait for a single load
+    // instead of each querying the database. Ids and slugs that were not found recently are
+    // answered from negativeLookups without a query.
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "posts", key = "#id")
+    @Cacheable(cacheNames = "posts", key = "#id", sync = true)
     public PostDto getPost(Long id) {
-        var post = postRepository.findById(id).orElseThrow(() -> new PostNotFoundException(id));
+        if (postReads != null) {
+            return negativeLookups.find(Lookup.POST_ID, id, () -> postReads.findById(id))
+                    .orElseThrow(() -> new PostNotFoundException(id));
+        }
+        var post = negativeLookups.find(Lookup.POST_ID, id, () -> postRepository.findById(id))
+                .orElseThrow(() -> new PostNotFoundException(id));
         return PostMapper.toDto(post);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "postsBySlug", key = "#slug")
+    @Cacheable(cacheNames = "postsBySlug", key = "#slug", sync = true)
     public PostDto getPostBySlug(String slug) {
-        var post = postRepository.findBySlug(slug)
+        if (postReads != null) {
+            return negativeLookups.find(Lookup.POST_SLUG, slug, () -> postReads.findBySlug(slug))
+                    .orElseThrow(() -> new PostNotFoundException(slug));
+        }
+        var post = negativeLookups.find(Lookup.POST_SLUG, slug,
+                        () -> postRepository.findBySlug(slug))
                 .orElseThrow(() -> new PostNotFoundException(slug));
         return PostMapper.toDto(post);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "postLists",
-            key = "T(java.util.Objects).hash(#authorId, #tagSlug, #search, #publishedOnly, #pageable.pageNumber, #pageable.pageSize)")
+    @Cacheable(cacheNames = "postLists", keyGenerator = PostListCacheKeyGenerator.BEAN_NAME,
+            sync = true)
     public Page<PostDto> getPosts(Long authorId, String tagSlug, String search,
-            Boolean publishedOnly, Pageable pageable) {
+            Boolean publishedOnly, Pageable pageable, CountMode count) {
         PostStatus status = Boolean.TRUE.equals(publishedOnly) ? PostStatus.PUBLISHED : null;
+        boolean hasSearch = search != null && !search.isBlank();
+        if (postReads != null && !hasSearch) {
+            return postReads.findPage(status, authorId, tagSlug, pageable);
+        }
 
         Page<Post> page;
         // Prefer simpler repository methods for common single-filter cases
-        if (search != null && !search.isBlank()) {
-            page = postRepository.search(status, authorId, tagSlug, search, pageable);
+        if (hasSearch) {
+            page = fullTextSearch(status, authorId, tagSlug, search, pageable);
+        } else if (count != CountMode.EXACT) {
+            // One query for every filter combination: without a COUNT(*) to plan, the
+            // single-filter shortcuts below buy nothing.
+            page = pageCounter.page(
+                    postRepository.findSliceMatching(status, authorId, tagSlug, pageable), count,
+                    CountQueries.posts(postRepository, status, authorId, tagSlug));
         } else if (status != null && authorId == null && tagSlug == null) {
             page = postRepository.findByStatus(status, pageable);
         } else if (authorId != null && status == null && tagSlug == null) {
             page = postRepository.findByAuthorId(authorId, pageable);
         } else if (tagSlug != null && status == null && authorId == null) {
             page = postRepository.findByTagSlug(tagSlug, pageable);
-        } else if (status == null && authorId == null && tagSlug == null && search == null) {
+        } else if (status == null && authorId == null && tagSlug == null) {
             page = postRepository.findAll(pageable);
         } else {
-            page = postRepository.search(status, authorId, tagSlug, search, pageable);
+            page = postRepository.search(status, authorId, tagSlug, pageable);
         }
-        return page.map(PostMapper::toDto);
+        return toDtoPage(page);
+    }
+
+    private Page<Post> fullTextSearch(PostStatus status, Long authorId, String tagSlug,
+            String search, Pageable pageable) {
+        var tsQuery = PostSearchQuery.toTsQuery(search);
+        if (tsQuery == null) {
+            return Page.empty(pageable);
+        }
+        // Results are ranked by relevance, so any client-supplied sort is ignored.
+        var unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return postRepository.fullTextSearch(tsQuery, status != null ? status.name() : null,
+                authorId, tagSlug, unsorted);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostDto> getPostsByCursor(Long authorId, String tagSlug, String search,
+            Boolean publishedOnly, String cursor, int size) {
+        KeysetSlices.checkSize(size);
+        var after = KeysetSlices.after(cursor);
+        Instant afterKey = after != null ? after.sortKey() : null;
+        Long afterId = after != null ? after.id() : null;
+        boolean published = Boolean.TRUE.equals(publishedOnly);
+
+        // Fetch one extra row to learn whether another slice exists without counting.
+        List<Post> posts;
+        if (search != null && !search.isBlank()) {
+            var tsQuery = PostSearchQuery.toTsQuery(search);
+            posts = tsQuery == null ? List.of()
+                    : postRepository.fullTextSearchSlice(tsQuery, published, authorId, tagSlug,
+                            afterKey, afterId, size + 1);
+        } else if (published) {
+            posts = after == null
+                    ? postRepository.findFirstPublishedSliceByPublishedAt(authorId, tagSlug,
+                            Limit.of(size + 1))
+                    : postRepository.findNextPublishedSliceByPublishedAt(authorId, tagSlug,
+                            afterKey, afterId, size + 1);
+        } else {
+            posts = after == null
+                    ? postRepository.findFirstSliceByCreatedAt(authorId, tagSlug,
+                            Limit.of(size + 1))
+                    : postRepository.findNextSliceByCreatedAt(authorId, tagSlug, afterKey,
+                            afterId, size + 1);
+        }
+        return KeysetSlices.page(posts, size, post -> new KeysetCursor(
+                published && post.getPublishedAt() != null ? post.getPublishedAt()
+                        : post.getCreatedAt(), post.getId()), this::toDtos);
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "posts", key = "#id"),
-            @CacheEvict(cacheNames = "postsBySlug", allEntries = true),
-            @CacheEvict(cacheNames = "postLists", allEntries = true)
-    })
     public PostDto updatePost(Long id, UpdatePostRequest request) {
         var post = postRepository.findById(id).orElseThrow(() -> new PostNotFoundException(id));
+        var before = PostSnapshot.of(post);
+        if (!post.getSlug().equals(request.slug())
+                && uniqueKeys.exists(Key.POST_SLUG, request.slug(),
+                        postRepository::existsBySlug)) {
+            throw new IllegalArgumentException(
+                    "Post slug '%s' is already in use".formatted(request.slug()));
+        }
 
         Set<Long> tagIds = request.tagIds() != null ? request.tagIds() : Set.of();
         Set<Tag> tags = tagIds.isEmpty() ? Set.of()
@@ -118,19 +242,54 @@ public class PostServiceImpl implements PostService {
         PostMapper.updateEntity(post, request, tags);
         post.setTags(tags);
         var saved = postRepository.save(post);
+        postListCacheInvalidator.postChanged(before, PostSnapshot.of(saved));
+        negativeLookups.invalidate(Lookup.POST_SLUG, saved.getSlug());
+        uniqueKeys.add(Key.POST_SLUG, saved.getSlug());
+        pageCounter.invalidate(Scope.POSTS);
+        outbox.append(Entity.POST, id, Action.UPDATED, saved.getSlug());
         return PostMapper.toDto(saved);
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "posts", key = "#id"),
-            @CacheEvict(cacheNames = "postsBySlug", allEntries = true),
-            @CacheEvict(cacheNames = "postLists", allEntries = true)
-    })
     public void deletePost(Long id) {
-        if (!postRepository.existsById(id)) {
-            throw new PostNotFoundException(id);
+        var post = postRepository.findById(id).orElseThrow(() -> new PostNotFoundException(id));
+        var before = PostSnapshot.of(post);
+        syncRepository.recordPostDeletion(id);
+        postRepository.delete(post);
+        postListCacheInvalidator.postChanged(before, null);
+        // Its comments and reviews go with it (ON DELETE CASCADE).
+        pageCounter.invalidate(Scope.POSTS);
+        pageCounter.invalidate(Scope.COMMENTS, id);
+        pageCounter.invalidate(Scope.REVIEWS, id);
+        outbox.append(Entity.POST, id, Action.DELETED, null);
+    }
+
+    /**
+     * Maps a page of posts to DTOs, loading the tags of every post on the page with one query.
+     */
+    private Page<PostDto> toDtoPage(Page<Post> page) {
+        var tagsByPostId = loadTagSummaries(page.getContent());
+        return page.map(post -> PostMapper.toDto(post,
+                tagsByPostId.getOrDefault(post.getId(), Set.of())));
+    }
+
+    private List<PostDto> toDtos(List<Post> posts) {
+        var tagsByPostId = loadTagSummaries(posts);
+        return posts.stream()
+                .map(post -> PostMapper.toDto(post,
+                        tagsByPostId.getOrDefault(post.getId(), Set.of())))
+                .toList();
+    }
+
+    private Map<Long, Set<TagSummaryDto>> loadTagSummaries(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return Map.of();
         }
-        postRepository.deleteById(id);
+        var postIds = posts.stream().map(Post::getId).toList();
+        return postRepository.findTagSummariesByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(PostTagSummary::postId,
+                        Collectors.mapping(
+                                row -> new TagSummaryDto(row.tagId(), row.name(), row.slug()),
+                                Collectors.toUnmodifiableSet())));
     }
 }
@@ -1,16 +1,37 @@
 package org.example.blog_spring.service.impl;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import org.example.blog_spring.dto.CreateReviewRequest;
+import org.example.blog_spring.dto.CursorPage;
+import org.example.blog_spring.dto.KeysetCursor;
 import org.example.blog_spring.dto.ReviewDto;
+import org.example.blog_spring.dto.ReviewSummaryDto;
 import org.example.blog_spring.dto.UpdateReviewRequest;
 import org.example.blog_spring.exception.PostNotFoundException;
 import org.example.blog_spring.exception.ReviewNotFoundException;
 import org.example.blog_spring.exception.UserNotFoundException;
 import org.example.blog_spring.mapper.ReviewMapper;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.pagination.KeysetSlices;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+import org.example.blog_spring.repository.CountQueries;
 import org.example.blog_spring.repository.PostRepository;
 import org.example.blog_spring.repository.ReviewRepository;
 import org.example.blog_spring.repository.UserRepository;
+import org.example.blog_spring.repository.jdbc.ReviewReadRepository;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
 import org.example.blog_spring.service.ReviewService;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,12 +44,25 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final SyncRepository syncRepository;
+    private final Outbox outbox;
+    private final PageCounter pageCounter;
+    private final @Nullable ReviewReadRepository reviewReads;
 
+    /**
+     * @param reviewReads the JDBC read model, present when {@code blog.read-model=jdbc}; its
+     *        listings always count exactly
+     */
     public ReviewServiceImpl(ReviewRepository reviewRepository, PostRepository postRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository, SyncRepository syncRepository, Outbox outbox,
+            PageCounter pageCounter, @Nullable ReviewReadRepository reviewReads) {
         this.reviewRepository = reviewRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.syncRepository = syncRepository;
+        this.outbox = outbox;
+        this.pageCounter = pageCounter;
+        this.reviewReads = reviewReads;
     }
 
     @Override
@@ -48,12 +82,17 @@ public class ReviewServiceImpl implements ReviewService {
 
         var review = ReviewMapper.toEntity(request);
         var saved = reviewRepository.save(review);
+        pageCounter.invalidate(Scope.REVIEWS, request.postId());
+        outbox.append(Entity.REVIEW, saved.getId(), request.postId(), Action.CREATED, null);
         return ReviewMapper.toDto(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ReviewDto getReview(Long id) {
+        if (reviewReads != null) {
+            return reviewReads.findById(id).orElseThrow(() -> new ReviewNotFoundException(id));
+        }
         var review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ReviewNotFoundException(id));
         return ReviewMapper.toDto(review);
@@ -62,6 +101,10 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Transactional(readOnly = true)
     public ReviewDto getReviewForUserAndPost(Long userId, Long postId) {
+        if (reviewReads != null) {
+            return reviewReads.findByPostIdAndUserId(postId, userId)
+                    .orElseThrow(() -> new ReviewNotFoundException(userId, postId));
+        }
         var review = reviewRepository.findByPostIdAndUserId(postId, userId)
                 .orElseThrow(() -> new ReviewNotFoundException(userId, postId));
         return ReviewMapper.toDto(review);
@@ -69,16 +112,70 @@ public class ReviewServiceImpl implements ReviewService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<ReviewDto> getReviewsForPost(Long postId, Pageable pageable) {
+    public Page<ReviewDto> getReviewsForPost(Long postId, Pageable pageable, CountMode count) {
+        if (reviewReads != null) {
+            return reviewReads.findByPostId(postId, pageable);
+        }
+        if (count != CountMode.EXACT) {
+            return pageCounter.page(reviewRepository.findSliceByPostId(postId, pageable), count,
+                    CountQueries.reviewsOfPost(reviewRepository, postId))
+                    .map(ReviewMapper::toDto);
+        }
         return reviewRepository.findByPostId(postId, pageable).map(ReviewMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto> getReviewsForPostByCursor(Long postId, String cursor,
+            int size) {
+        KeysetSlices.checkSize(size);
+        var after = KeysetSlices.after(cursor);
+        var reviews = after == null
+                ? reviewRepository.findFirstSliceByPostId(postId, Limit.of(size + 1))
+                : reviewRepository.findNextSliceByPostId(postId, after.sortKey(), after.id(),
+                        size + 1);
+        return KeysetSlices.page(reviews, size,
+                review -> new KeysetCursor(review.getCreatedAt(), review.getId()),
+                rows -> rows.stream().map(ReviewMapper::toDto).toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ReviewDto> getReviewsForUser(Long userId, Pageable pageable) {
+        if (reviewReads != null) {
+            return reviewReads.findByUserId(userId, pageable);
+        }
         return reviewRepository.findByUserId(userId, pageable).map(ReviewMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<ReviewDto>> getReviewsForPosts(Collection<Long> postIds, int perPost) {
+        KeysetSlices.checkSize(perPost);
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return reviewRepository.findPerPost(postIds, perPost).stream()
+                .map(ReviewMapper::toDto)
+                .collect(Collectors.groupingBy(ReviewDto::postId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, ReviewSummaryDto> getReviewSummaries(Collection<Long> postIds) {
+        Map<Long, ReviewSummaryDto> summaries = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return summaries;
+        }
+        for (var summary : reviewRepository.summarizeByPostIds(postIds)) {
+            summaries.put(summary.postId(), summary);
+        }
+        for (var postId : postIds) {
+            summaries.putIfAbsent(postId, new ReviewSummaryDto(postId, 0L, null));
+        }
+        return summaries;
+    }
+
     @Override
     public ReviewDto updateReview(Long id, UpdateReviewRequest request) {
         var review = reviewRepository.findById(id)
@@ -86,14 +183,17 @@ public class ReviewServiceImpl implements ReviewService {
 
         ReviewMapper.updateEntity(review, request);
         var saved = reviewRepository.save(review);
+        outbox.append(Entity.REVIEW, id, saved.getPostId(), Action.UPDATED, null);
         return ReviewMapper.toDto(saved);
     }
 
     @Override
     public void deleteReview(Long id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new ReviewNotFoundException(id);
-        }
-        reviewRepository.deleteById(id);
+        var review = reviewRepository.findById(id)
+                .orElseThrow(() -> new ReviewNotFoundException(id));
+        syncRepository.recordReviewDeletion(review.getId());
+        reviewRepository.delete(review);
+        pageCounter.invalidate(Scope.REVIEWS, review.getPostId());
+        outbox.append(Entity.REVIEW, id, review.getPostId(), Action.DELETED, null);
     }
 }
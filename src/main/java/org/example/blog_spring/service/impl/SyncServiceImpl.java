@@ -0,0 +1,85 @@
+package org.example.blog_spring.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.example.blog_spring.dto.SyncChanges;
+import org.example.blog_spring.dto.SyncToken;
+import org.example.blog_spring.dto.SyncToken.Source;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
+import org.example.blog_spring.repository.jdbc.SyncRepository.ChangeRow;
+import org.example.blog_spring.service.SyncService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads up to {@code limit + 1} changes from each source after the token and merges them in feed
+ * order; the extra row tells whether more remain.
+ *
+ * <p>{@code updated_at} is set before the writing transaction commits, so a row can become
+ * visible with a timestamp the feed has already passed. The feed therefore stops short of the
+ * start of the oldest transaction still writing, however long it runs, and of
+ * {@code blog.sync.settle-window}, which covers the moment between stamping a row and writing
+ * it and any clock skew between the application and the database. For the same reason the
+ * feed reads the primary and not a lagging replica.
+ */
+@Service
+@Transactional
+public class SyncServiceImpl implements SyncService {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final Comparator<SyncToken> FEED_ORDER = Comparator
+            .comparing(SyncToken::changedAt)
+            .thenComparing(SyncToken::source)
+            .thenComparingLong(SyncToken::key);
+
+    private final SyncRepository syncRepository;
+    private final Duration settleWindow;
+    private final Duration tombstoneRetention;
+
+    public SyncServiceImpl(SyncRepository syncRepository,
+            @Value("${blog.sync.settle-window:PT5S}") Duration settleWindow,
+            @Value("${blog.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.syncRepository = syncRepository;
+        this.settleWindow = settleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    public SyncChanges getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        var now = Instant.now();
+        var after = since == null || since.isBlank() ? SyncToken.START : SyncToken.decode(since);
+        if (after != SyncToken.START && after.changedAt().isBefore(now.minus(tombstoneRetention))) {
+            // Deletions since then may already be purged; the client has to start over.
+            throw new IllegalArgumentException("Sync token has expired; sync from the beginning");
+        }
+
+        var until = now.minus(settleWindow);
+        var oldestOpenWrite = syncRepository.findOldestOpenWrite();
+        if (oldestOpenWrite.isPresent() && oldestOpenWrite.get().isBefore(until)) {
+            until = oldestOpenWrite.get();
+        }
+        List<ChangeRow> rows = new ArrayList<>();
+        for (var source : Source.values()) {
+            rows.addAll(syncRepository.findChanges(source, after, until, limit + 1));
+        }
+        rows.sort(Comparator.comparing(ChangeRow::position, FEED_ORDER));
+
+        boolean hasMore = rows.size() > limit;
+        var page = hasMore ? rows.subList(0, limit) : rows;
+        // Caught up: everything before "until" has been seen, even where nothing changed.
+        var next = hasMore ? page.getLast().position() : SyncToken.before(until);
+        // A token past a transaction still writing, handed out before it had written, is moved
+        // back to it: its rows may then repeat changes the client has seen, but none are lost.
+        return new SyncChanges(page.stream().map(ChangeRow::change).toList(), next.encode(),
+                hasMore);
+    }
+}
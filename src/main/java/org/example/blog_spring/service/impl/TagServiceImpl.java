@@ -1,15 +1,30 @@
 package org.example.blog_spring.service.impl;
 
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.NegativeLookupCache.Lookup;
+import org.example.blog_spring.cache.PageCacheKeyGenerator;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
 import org.example.blog_spring.dto.CreateTagRequest;
+import org.example.blog_spring.dto.CursorPage;
+import org.example.blog_spring.dto.KeysetCursor;
 import org.example.blog_spring.dto.TagDto;
 import org.example.blog_spring.dto.UpdateTagRequest;
 import org.example.blog_spring.exception.TagNotFoundException;
 import org.example.blog_spring.mapper.TagMapper;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.KeysetSlices;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
 import org.example.blog_spring.repository.TagRepository;
+import org.example.blog_spring.repository.jdbc.TagReadRepository;
 import org.example.blog_spring.service.TagService;
-import org.springframework.cache.annotation.CacheEvict;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import org.example.blog_spring.validation.UniqueKeyIndex.Key;
+import org.jspecify.annotations.Nullable;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,81 +35,126 @@ import org.springframework.transaction.annotation.Transactional;
 public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
+    private final PostListCacheInvalidator postListCacheInvalidator;
+    private final NegativeLookupCache negativeLookups;
+    private final UniqueKeyIndex uniqueKeys;
+    private final Outbox outbox;
+    private final PageCounter pageCounter;
+    private final @Nullable TagReadRepository tagReads;
 
-    public TagServiceImpl(TagRepository tagRepository) {
+    /**
+     * @param tagReads the JDBC read model, present when {@code blog.read-model=jdbc}
+     */
+    public TagServiceImpl(TagRepository tagRepository,
+            PostListCacheInvalidator postListCacheInvalidator,
+            NegativeLookupCache negativeLookups, UniqueKeyIndex uniqueKeys, Outbox outbox,
+            PageCounter pageCounter, @Nullable TagReadRepository tagReads) {
         this.tagRepository = tagRepository;
+        this.postListCacheInvalidator = postListCacheInvalidator;
+        this.negativeLookups = negativeLookups;
+        this.uniqueKeys = uniqueKeys;
+        this.outbox = outbox;
+        this.pageCounter = pageCounter;
+        this.tagReads = tagReads;
     }
 
+    // A new tag is not attached to any post yet, so no post listing can be affected.
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "tags", allEntries = true),
-            @CacheEvict(cacheNames = "tagsBySlug", allEntries = true),
-            @CacheEvict(cacheNames = "postLists", allEntries = true)
-    })
     public TagDto createTag(CreateTagRequest request) {
-        if (tagRepository.existsByName(request.name())) {
+        if (uniqueKeys.exists(Key.TAG_NAME, request.name(), tagRepository::existsByName)) {
             throw new IllegalArgumentException(
                     "Tag name '%s' is already in use".formatted(request.name()));
         }
-        if (tagRepository.existsBySlug(request.slug())) {
+        if (uniqueKeys.exists(Key.TAG_SLUG, request.slug(), tagRepository::existsBySlug)) {
             throw new IllegalArgumentException(
                     "Tag slug '%s' is already in use".formatted(request.slug()));
         }
         var tag = TagMapper.toEntity(request);
         var saved = tagRepository.save(tag);
+        uniqueKeys.add(Key.TAG_NAME, saved.getName());
+        uniqueKeys.add(Key.TAG_SLUG, saved.getSlug());
+        negativeLookups.invalidate(Lookup.TAG_ID, saved.getId());
+        negativeLookups.invalidate(Lookup.TAG_SLUG, saved.getSlug());
+        outbox.append(Entity.TAG, saved.getId(), Action.CREATED, saved.getSlug());
         return TagMapper.toDto(saved);
     }
 
+    // sync = true: concurrent misses on one key (REST or GraphQL) wait for a single load
+    // instead of each querying the database. Ids and slugs that were not found recently are
+    // answered from negativeLookups without a query.
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "tags", key = "#id")
+    @Cacheable(cacheNames = "tags", key = "#id", sync = true)
     public TagDto getTag(Long id) {
-        var tag = tagRepository.findById(id).orElseThrow(() -> new TagNotFoundException(id));
+        if (tagReads != null) {
+            return negativeLookups.find(Lookup.TAG_ID, id, () -> tagReads.findById(id))
+                    .orElseThrow(() -> new TagNotFoundException(id));
+        }
+        var tag = negativeLookups.find(Lookup.TAG_ID, id, () -> tagRepository.findById(id))
+                .orElseThrow(() -> new TagNotFoundException(id));
         return TagMapper.toDto(tag);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "tagsBySlug", key = "#slug")
+    @Cacheable(cacheNames = "tagsBySlug", key = "#slug", sync = true)
     public TagDto getTagBySlug(String slug) {
-        var tag = tagRepository.findBySlug(slug).orElseThrow(() -> new TagNotFoundException(slug));
+        if (tagReads != null) {
+            return negativeLookups.find(Lookup.TAG_SLUG, slug, () -> tagReads.findBySlug(slug))
+                    .orElseThrow(() -> new TagNotFoundException(slug));
+        }
+        var tag = negativeLookups.find(Lookup.TAG_SLUG, slug, () -> tagRepository.findBySlug(slug))
+                .orElseThrow(() -> new TagNotFoundException(slug));
         return TagMapper.toDto(tag);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "tagLists",
-            key = "T(java.util.Objects).hash(#pageable.pageNumber, #pageable.pageSize)")
+    @Cacheable(cacheNames = "tagLists", keyGenerator = PageCacheKeyGenerator.BEAN_NAME,
+            sync = true)
     public Page<TagDto> getTags(Pageable pageable) {
+        if (tagReads != null) {
+            return tagReads.findPage(pageable);
+        }
         return tagRepository.findAll(pageable).map(TagMapper::toDto);
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "tags", key = "#id"),
-            @CacheEvict(cacheNames = "tagsBySlug", allEntries = true),
-            @CacheEvict(cacheNames = "tagLists", allEntries = true),
-            @CacheEvict(cacheNames = "postLists", allEntries = true)
-    })
+    @Transactional(readOnly = true)
+    public CursorPage<TagDto> getTagsByCursor(String cursor, int size) {
+        KeysetSlices.checkSize(size);
+        var after = KeysetSlices.after(cursor);
+        var tags = after == null
+                ? tagRepository.findFirstSliceByCreatedAt(Limit.of(size + 1))
+                : tagRepository.findNextSliceByCreatedAt(after.sortKey(), after.id(), size + 1);
+        return KeysetSlices.page(tags, size,
+                tag -> new KeysetCursor(tag.getCreatedAt(), tag.getId()),
+                rows -> rows.stream().map(TagMapper::toDto).toList());
+    }
+
+    @Override
     public TagDto updateTag(Long id, UpdateTagRequest request) {
         var tag = tagRepository.findById(id).orElseThrow(() -> new TagNotFoundException(id));
+        var oldSlug = tag.getSlug();
 
         TagMapper.updateEntity(tag, request);
         var saved = tagRepository.save(tag);
+        postListCacheInvalidator.tagChanged(id, oldSlug, saved.getSlug());
+        // Post totals are cached per tag slug.
+        pageCounter.invalidate(Scope.POSTS);
+        negativeLookups.invalidate(Lookup.TAG_SLUG, saved.getSlug());
+        uniqueKeys.add(Key.TAG_NAME, saved.getName());
+        uniqueKeys.add(Key.TAG_SLUG, saved.getSlug());
+        outbox.append(Entity.TAG, id, Action.UPDATED, saved.getSlug());
         return TagMapper.toDto(saved);
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "tags", key = "#id"),
-            @CacheEvict(cacheNames = "tagsBySlug", allEntries = true),
-            @CacheEvict(cacheNames = "tagLists", allEntries = true),
-            @CacheEvict(cacheNames = "postLists", allEntries = true)
-    })
     public void deleteTag(Long id) {
-        if (!tagRepository.existsById(id)) {
-            throw new TagNotFoundException(id);
-        }
-        tagRepository.deleteById(id);
+        var tag = tagRepository.findById(id).orElseThrow(() -> new TagNotFoundException(id));
+        tagRepository.delete(tag);
+        postListCacheInvalidator.tagChanged(id, tag.getSlug());
+        pageCounter.invalidate(Scope.POSTS);
+        outbox.append(Entity.TAG, id, Action.DELETED, null);
     }
 }
@@ -1,16 +1,36 @@
 package org.example.blog_spring.service.impl;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.example.blog_spring.cache.PageCacheKeyGenerator;
 import org.example.blog_spring.dto.CreateUserRequest;
+import org.example.blog_spring.dto.CursorPage;
+import org.example.blog_spring.dto.KeysetCursor;
 import org.example.blog_spring.dto.UpdateUserRequest;
 import org.example.blog_spring.dto.UserDto;
 import org.example.blog_spring.exception.EmailAlreadyUsedException;
 import org.example.blog_spring.exception.UserNotFoundException;
 import org.example.blog_spring.mapper.UserMapper;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.pagination.KeysetSlices;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+import org.example.blog_spring.repository.CountQueries;
 import org.example.blog_spring.repository.UserRepository;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
+import org.example.blog_spring.repository.jdbc.UserReadRepository;
 import org.example.blog_spring.service.UserService;
-import org.springframework.cache.annotation.CacheEvict;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import org.example.blog_spring.validation.UniqueKeyIndex.Key;
+import org.jspecify.annotations.Nullable;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,22 +41,41 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UniqueKeyIndex uniqueKeys;
+    private final SyncRepository syncRepository;
+    private final Outbox outbox;
+    private final PageCounter pageCounter;
+    private final @Nullable UserReadRepository userReads;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    /**
+     * @param userReads the JDBC read model, present when {@code blog.read-model=jdbc}; its
+     *        listings always count exactly
+     */
+    public UserServiceImpl(UserRepository userRepository, UniqueKeyIndex uniqueKeys,
+            SyncRepository syncRepository, Outbox outbox, PageCounter pageCounter,
+            @Nullable UserReadRepository userReads) {
         this.userRepository = userRepository;
+        this.uniqueKeys = uniqueKeys;
+        this.syncRepository = syncRepository;
+        this.outbox = outbox;
+        this.pageCounter = pageCounter;
+        this.userReads = userReads;
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "users", allEntries = true)
-    })
     public UserDto createUser(CreateUserRequest request) {
-        if (userRepository.existsByUsername(request.username())) {
+        // The email is checked by @UniqueEmail on the request.
+        if (uniqueKeys.exists(Key.USER_USERNAME, request.username(),
+                userRepository::existsByUsername)) {
             throw new IllegalArgumentException(
                     "Username '%s' is already in use".formatted(request.username()));
         }
         var user = UserMapper.toEntity(request);
         var saved = userRepository.save(user);
+        uniqueKeys.add(Key.USER_USERNAME, saved.getUsername());
+        uniqueKeys.add(Key.USER_EMAIL, saved.getEmail());
+        pageCounter.invalidate(Scope.USERS);
+        outbox.append(Entity.USER, saved.getId(), Action.CREATED, null);
         return UserMapper.toDto(saved);
     }
 
@@ -44,45 +83,87 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = "users", key = "#id")
     public UserDto getUser(Long id) {
+        if (userReads != null) {
+            return userReads.findById(id).orElseThrow(() -> new UserNotFoundException(id));
+        }
         var user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
         return UserMapper.toDto(user);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "userLists",
-            key = "T(java.util.Objects).hash(#pageable.pageNumber, #pageable.pageSize)")
-    public Page<UserDto> getUsers(Pageable pageable) {
+    @Cacheable(cacheNames = "userLists", keyGenerator = PageCacheKeyGenerator.BEAN_NAME)
+    public Page<UserDto> getUsers(Pageable pageable, CountMode count) {
+        if (userReads != null) {
+            return userReads.findPage(pageable);
+        }
+        if (count != CountMode.EXACT) {
+            return pageCounter.page(userRepository.findSlice(pageable), count,
+                    CountQueries.users(userRepository)).map(UserMapper::toDto);
+        }
         return userRepository.findAll(pageable).map(UserMapper::toDto);
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "users", key = "#id"),
-            @CacheEvict(cacheNames = "userLists", allEntries = true)
-    })
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsersByCursor(String cursor, int size) {
+        KeysetSlices.checkSize(size);
+        var after = KeysetSlices.after(cursor);
+        var users = after == null
+                ? userRepository.findFirstSliceByCreatedAt(Limit.of(size + 1))
+                : userRepository.findNextSliceByCreatedAt(after.sortKey(), after.id(),
+                        size + 1);
+        return KeysetSlices.page(users, size,
+                user -> new KeysetCursor(user.getCreatedAt(), user.getId()),
+                rows -> rows.stream().map(UserMapper::toDto).toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, UserDto> getUsersByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(ids).stream()
+                .map(UserMapper::toDto)
+                .collect(Collectors.toMap(UserDto::id, Function.identity()));
+    }
+
+    @Override
     public UserDto updateUser(Long id, UpdateUserRequest request) {
         var user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
 
         if (!user.getEmail().equals(request.email())
-                && userRepository.existsByEmail(request.email())) {
+                && uniqueKeys.exists(Key.USER_EMAIL, request.email(),
+                        userRepository::existsByEmail)) {
             throw new EmailAlreadyUsedException(request.email());
         }
+        if (!user.getUsername().equals(request.username())
+                && uniqueKeys.exists(Key.USER_USERNAME, request.username(),
+                        userRepository::existsByUsername)) {
+            throw new IllegalArgumentException(
+                    "Username '%s' is already in use".formatted(request.username()));
+        }
 
         UserMapper.updateEntity(user, request);
         var saved = userRepository.save(user);
+        uniqueKeys.add(Key.USER_USERNAME, saved.getUsername());
+        uniqueKeys.add(Key.USER_EMAIL, saved.getEmail());
+        outbox.append(Entity.USER, id, Action.UPDATED, null);
         return UserMapper.toDto(saved);
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "users", key = "#id"),
-            @CacheEvict(cacheNames = "userLists", allEntries = true)
-    })
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException(id);
         }
+        syncRepository.recordUserDeletion(id);
         userRepository.deleteById(id);
+        // Their comments and reviews go with them (ON DELETE CASCADE).
+        pageCounter.invalidate(Scope.USERS);
+        pageCounter.invalidate(Scope.COMMENTS);
+        pageCounter.invalidate(Scope.REVIEWS);
+        outbox.append(Entity.USER, id, Action.DELETED, null);
     }
 }
@@ -0,0 +1,113 @@
+package org.example.blog_spring.validation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over strings: {@link #mightContain} never answers {@code false} for a value that
+ * was {@link #put}, and answers {@code true} for other values with roughly the probability it was
+ * sized for, as long as no more than {@code expectedInsertions} values are put.
+ *
+ * <p>Bits live in an {@link AtomicLongArray} and are set with CAS, so puts and lookups from any
+ * number of threads need no lock. The {@code k} bit positions come from two 64-bit hashes of the
+ * value (Kirsch–Mitzenmacher double hashing).
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final LongAdder bitsSet = new LongAdder();
+    private final LongAdder insertions = new LongAdder();
+
+    BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("falsePositiveProbability must be in (0, 1)");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount =
+                (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * ln2));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            if (setBit(Math.floorMod(h1 + i * h2, bitCount))) {
+                bitsSet.increment();
+            }
+        }
+        insertions.increment();
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * False-positive probability implied by the bits set so far: the chance that all {@code k}
+     * positions of a value never put are set.
+     */
+    double expectedFalsePositiveProbability() {
+        return Math.pow((double) bitsSet.sum() / bitCount, hashCount);
+    }
+
+    /**
+     * Whether more values were put than the filter was sized for, so its false-positive rate is
+     * above the one requested.
+     */
+    boolean isSaturated() {
+        return insertions.sum() > expectedInsertions;
+    }
+
+    private boolean setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        while (true) {
+            long word = words.get(index);
+            if ((word & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, word, word | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over the chars, then a 64-bit finalizer to spread them over all bits.
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
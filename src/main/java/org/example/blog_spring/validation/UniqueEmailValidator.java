@@ -3,15 +3,18 @@ package org.example.blog_spring.validation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.example.blog_spring.repository.UserRepository;
+import org.example.blog_spring.validation.UniqueKeyIndex.Key;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UniqueEmailValidator implements ConstraintValidator<UniqueEmail, String> {
 
     private final UserRepository userRepository;
+    private final UniqueKeyIndex uniqueKeys;
 
-    public UniqueEmailValidator(UserRepository userRepository) {
+    public UniqueEmailValidator(UserRepository userRepository, UniqueKeyIndex uniqueKeys) {
         this.userRepository = userRepository;
+        this.uniqueKeys = uniqueKeys;
     }
 
     @Override
@@ -19,7 +22,7 @@ public class UniqueEmailValidator implements ConstraintValidator<UniqueEmail, St
         if (value == null || value.isBlank()) {
             return true;
         }
-        return !userRepository.existsByEmail(value);
+        return !uniqueKeys.exists(Key.USER_EMAIL, value, userRepository::existsByEmail);
     }
 }
 
@@ -0,0 +1,190 @@
+package org.example.blog_spring.validation;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory membership index of the values that must be unique (user emails and usernames, tag
+ * names and slugs, post slugs), used to skip the {@code existsBy...} query before a write.
+ *
+ * <p>Each key is a {@link BloomFilter}. When it says a value is definitely absent the check
+ * answers {@code false} without a query; otherwise the query decides. The unique constraints
+ * remain the final authority: a value that slips through (for instance two concurrent inserts)
+ * still fails on insert. Until a key's filter has been built by {@link #rebuild} every check
+ * queries.
+ *
+ * <p>Written values are added after their transaction commits. Values that are deleted or renamed
+ * away stay in the filter and only cost an extra query, until the next rebuild.
+ *
+ * <p>Metrics, tagged by {@code key}:
+ * <ul>
+ * <li>{@code blog.uniqueness_index.checks}, tagged {@code result=skipped} (definitely absent, no
+ * query), {@code false_positive} (queried, absent) or {@code present} (queried, taken).</li>
+ * <li>{@code blog.uniqueness_index.false_positive_rate}: false positives over all absent values
+ * checked since startup.</li>
+ * <li>{@code blog.uniqueness_index.expected_fpp}: the rate implied by the current filter's fill.
+ * </li>
+ * </ul>
+ */
+@Component
+public class UniqueKeyIndex {
+
+    public enum Key {
+        USER_EMAIL, USER_USERNAME, TAG_NAME, TAG_SLUG, POST_SLUG
+    }
+
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Map<Key, Slot> slots = new EnumMap<>(Key.class);
+
+    public UniqueKeyIndex(MeterRegistry meterRegistry,
+            @Value("${blog.uniqueness-index.enabled:true}") boolean enabled,
+            @Value("${blog.uniqueness-index.expected-insertions:100000}") long expectedInsertions,
+            @Value("${blog.uniqueness-index.false-positive-probability:0.01}")
+            double falsePositiveProbability) {
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        for (var key : Key.values()) {
+            slots.put(key, new Slot(key, meterRegistry));
+        }
+    }
+
+    /**
+     * Whether {@code value} is already taken for {@code key}: {@code false} straight from the
+     * filter when it is definitely absent, otherwise the answer of {@code query}.
+     */
+    public boolean exists(Key key, String value, Predicate<String> query) {
+        var slot = slots.get(key);
+        var filter = slot.serving;
+        if (filter == null || value == null) {
+            return query.test(value);
+        }
+        if (!filter.mightContain(value)) {
+            slot.skipped.increment();
+            return false;
+        }
+        boolean exists = query.test(value);
+        (exists ? slot.present : slot.falsePositives).increment();
+        return exists;
+    }
+
+    /**
+     * Records a value written by the current transaction, once it commits.
+     */
+    public void add(Key key, String value) {
+        if (!enabled || value == null) {
+            return;
+        }
+        var slot = slots.get(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            slot.put(value);
+                        }
+                    });
+        } else {
+            slot.put(value);
+        }
+    }
+
+    /**
+     * Replaces the filter for {@code key} with one built from {@code scan}, which must feed every
+     * current value to its consumer. The old filter, or the query if there is none, keeps serving
+     * until the scan completes. Values committed while the scan runs go into both.
+     *
+     * @param rowCount how many values the scan will produce; the filter is sized for twice that,
+     *                 or {@code expected-insertions}, whichever is larger
+     */
+    public void rebuild(Key key, long rowCount, Consumer<Consumer<String>> scan) {
+        if (!enabled) {
+            return;
+        }
+        var slot = slots.get(key);
+        var filter = new BloomFilter(Math.max(expectedInsertions, rowCount * 2),
+                falsePositiveProbability);
+        slot.building = filter;
+        try {
+            scan.accept(filter::put);
+            slot.serving = filter;
+        } finally {
+            slot.building = null;
+        }
+    }
+
+    /**
+     * Whether {@code key}'s filter holds more values than it was sized for and should be rebuilt.
+     */
+    public boolean isSaturated(Key key) {
+        var filter = slots.get(key).serving;
+        return filter != null && filter.isSaturated();
+    }
+
+    private static final class Slot {
+        volatile BloomFilter serving;
+        volatile BloomFilter building;
+        final Counter skipped;
+        final Counter falsePositives;
+        final Counter present;
+
+        Slot(Key key, MeterRegistry meterRegistry) {
+            var tag = key.name().toLowerCase(Locale.ROOT);
+            skipped = checks(meterRegistry, tag, "skipped");
+            falsePositives = checks(meterRegistry, tag, "false_positive");
+            present = checks(meterRegistry, tag, "present");
+            Gauge.builder("blog.uniqueness_index.false_positive_rate", this,
+                            Slot::falsePositiveRate)
+                    .description("False positives over absent values checked since startup")
+                    .tag("key", tag)
+                    .register(meterRegistry);
+            Gauge.builder("blog.uniqueness_index.expected_fpp", this, Slot::expectedFpp)
+                    .description("False-positive probability implied by the filter's fill")
+                    .tag("key", tag)
+                    .register(meterRegistry);
+        }
+
+        void put(String value) {
+            // Building first: a rebuild that swaps in between still sees the value.
+            var next = building;
+            if (next != null) {
+                next.put(value);
+            }
+            var current = serving;
+            if (current != null) {
+                current.put(value);
+            }
+        }
+
+        double falsePositiveRate() {
+            double absent = skipped.count() + falsePositives.count();
+            return absent == 0 ? 0 : falsePositives.count() / absent;
+        }
+
+        double expectedFpp() {
+            var current = serving;
+            return current == null ? Double.NaN : current.expectedFalsePositiveProbability();
+        }
+
+        private static Counter checks(MeterRegistry meterRegistry, String key, String result) {
+            return Counter.builder("blog.uniqueness_index.checks")
+                    .description("Uniqueness checks answered by the membership index")
+                    .tag("key", key)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,14 +1,36 @@
 package org.example.blog_spring.web.graphql;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import graphql.relay.Connection;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultConnectionCursor;
+import graphql.relay.DefaultEdge;
+import graphql.relay.DefaultPageInfo;
+import graphql.relay.Edge;
+import org.dataloader.DataLoader;
 import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.CommentThreadDto;
 import org.example.blog_spring.dto.CreateCommentRequest;
 import org.example.blog_spring.dto.CreatePostRequest;
 import org.example.blog_spring.dto.CreateReviewRequest;
 import org.example.blog_spring.dto.CreateTagRequest;
 import org.example.blog_spring.dto.CreateUserRequest;
+import org.example.blog_spring.dto.CursorPage;
+import org.example.blog_spring.dto.KeysetCursor;
 import org.example.blog_spring.dto.PostDto;
 import org.example.blog_spring.dto.ReviewDto;
+import org.example.blog_spring.dto.ReviewSummaryDto;
 import org.example.blog_spring.dto.TagDto;
 import org.example.blog_spring.dto.UpdateCommentRequest;
 import org.example.blog_spring.dto.UpdatePostRequest;
@@ -16,6 +38,7 @@ import org.example.blog_spring.dto.UpdateReviewRequest;
 import org.example.blog_spring.dto.UpdateTagRequest;
 import org.example.blog_spring.dto.UpdateUserRequest;
 import org.example.blog_spring.dto.UserDto;
+import org.example.blog_spring.pagination.CountMode;
 import org.example.blog_spring.service.CommentService;
 import org.example.blog_spring.service.PostService;
 import org.example.blog_spring.service.ReviewService;
@@ -24,9 +47,13 @@ import org.example.blog_spring.service.UserService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
 
 @Controller
 public class BlogGraphQlController {
@@ -42,13 +69,23 @@ public class BlogGraphQlController {
             PostService postService,
             TagService tagService,
             CommentService commentService,
-            ReviewService reviewService
+            ReviewService reviewService,
+            BatchLoaderRegistry batchLoaderRegistry
     ) {
         this.userService = userService;
         this.postService = postService;
         this.tagService = tagService;
         this.commentService = commentService;
         this.reviewService = reviewService;
+        batchLoaderRegistry.<NestedPage, List<CommentDto>>forName("postComments")
+                .registerMappedBatchLoader((pages, environment) -> Mono.fromCallable(
+                        () -> byPage(pages, commentService::getTopLevelCommentsForPosts)));
+        batchLoaderRegistry.<NestedPage, List<ReviewDto>>forName("postReviews")
+                .registerMappedBatchLoader((pages, environment) -> Mono.fromCallable(
+                        () -> byPage(pages, reviewService::getReviewsForPosts)));
+        batchLoaderRegistry.<NestedPage, List<CommentDto>>forName("commentReplies")
+                .registerMappedBatchLoader((pages, environment) -> Mono.fromCallable(
+                        () -> byPage(pages, commentService::getRepliesForComments)));
     }
 
     // region Users
@@ -56,7 +93,13 @@ public class BlogGraphQlController {
     @QueryMapping
     public List<UserDto> users(@Argument int page, @Argument int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return userService.getUsers(pageable).getContent();
+        return userService.getUsers(pageable, CountMode.EXACT).getContent();
+    }
+
+    @QueryMapping
+    public Connection<UserDto> usersConnection(@Argument int first, @Argument String after) {
+        return connection(userService.getUsersByCursor(after, first),
+                user -> new KeysetCursor(user.createdAt(), user.id()));
     }
 
     @QueryMapping
@@ -96,7 +139,36 @@ public class BlogGraphQlController {
             @Argument Boolean publishedOnly
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        return postService.getPosts(authorId, tag, search, publishedOnly, pageable).getContent();
+        return postService.getPosts(authorId, tag, search, publishedOnly, pageable,
+                CountMode.EXACT).getContent();
+    }
+
+    @QueryMapping
+    public CursorPage<PostDto> postsByCursor(
+            @Argument String after,
+            @Argument int first,
+            @Argument Long authorId,
+            @Argument String tag,
+            @Argument String search,
+            @Argument Boolean publishedOnly
+    ) {
+        return postService.getPostsByCursor(authorId, tag, search, publishedOnly, after, first);
+    }
+
+    @QueryMapping
+    public Connection<PostDto> postsConnection(
+            @Argument int first,
+            @Argument String after,
+            @Argument Long authorId,
+            @Argument String tag,
+            @Argument String search,
+            @Argument Boolean publishedOnly
+    ) {
+        boolean published = Boolean.TRUE.equals(publishedOnly);
+        return connection(
+                postService.getPostsByCursor(authorId, tag, search, publishedOnly, after, first),
+                post -> new KeysetCursor(published && post.publishedAt() != null
+                        ? post.publishedAt() : post.createdAt(), post.id()));
     }
 
     @QueryMapping
@@ -151,6 +223,12 @@ public class BlogGraphQlController {
         return tagService.getTags(pageable).getContent();
     }
 
+    @QueryMapping
+    public Connection<TagDto> tagsConnection(@Argument int first, @Argument String after) {
+        return connection(tagService.getTagsByCursor(after, first),
+                tag -> new KeysetCursor(tag.createdAt(), tag.id()));
+    }
+
     @QueryMapping
     public TagDto tagBySlug(@Argument String slug) {
         return tagService.getTagBySlug(slug);
@@ -185,7 +263,27 @@ public class BlogGraphQlController {
             @Argument int size
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        return commentService.getCommentsForPost(postId, pageable).getContent();
+        return commentService.getCommentsForPost(postId, pageable, CountMode.EXACT).getContent();
+    }
+
+    @QueryMapping
+    public Connection<CommentDto> commentsByPostConnection(
+            @Argument Long postId,
+            @Argument int first,
+            @Argument String after
+    ) {
+        return connection(commentService.getCommentsForPostByCursor(postId, after, first),
+                comment -> new KeysetCursor(comment.createdAt(), comment.id()));
+    }
+
+    @QueryMapping
+    public List<CommentThreadDto> commentTree(
+            @Argument Long postId,
+            @Argument Long rootId,
+            @Argument int roots,
+            @Argument int depth
+    ) {
+        return commentService.getCommentTree(postId, rootId, roots, depth);
     }
 
     @MutationMapping
@@ -222,7 +320,17 @@ public class BlogGraphQlController {
             @Argument int size
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        return reviewService.getReviewsForPost(postId, pageable).getContent();
+        return reviewService.getReviewsForPost(postId, pageable, CountMode.EXACT).getContent();
+    }
+
+    @QueryMapping
+    public Connection<ReviewDto> reviewsByPostConnection(
+            @Argument Long postId,
+            @Argument int first,
+            @Argument String after
+    ) {
+        return connection(reviewService.getReviewsForPostByCursor(postId, after, first),
+                review -> new KeysetCursor(review.createdAt(), review.id()));
     }
 
     @MutationMapping
@@ -257,6 +365,118 @@ public class BlogGraphQlController {
 
     // endregion
 
+    // region Nested fields
+
+    // Each nested field is loaded in batches: GraphQL collects the parents of one level of the
+    // response and the field is loaded for all of them with one query. A request thus costs one
+    // statement per field and level, however many rows it returns. The list fields take a page
+    // size, first, which a @BatchMapping cannot receive; they go through DataLoaders keyed by
+    // parent and page size instead, registered in the constructor, and the page size is applied
+    // per parent by the query.
+
+    @BatchMapping(typeName = "Post", field = "author")
+    public Map<PostDto, UserDto> postAuthor(List<PostDto> posts) {
+        var users = userService.getUsersByIds(ids(posts, PostDto::authorId));
+        return byParent(posts, post -> users.get(post.authorId()));
+    }
+
+    @SchemaMapping(typeName = "Post", field = "comments")
+    public CompletableFuture<List<CommentDto>> postComments(PostDto post, @Argument int first,
+            DataLoader<NestedPage, List<CommentDto>> postComments) {
+        return postComments.load(new NestedPage(post.id(), first));
+    }
+
+    @SchemaMapping(typeName = "Post", field = "reviews")
+    public CompletableFuture<List<ReviewDto>> postReviews(PostDto post, @Argument int first,
+            DataLoader<NestedPage, List<ReviewDto>> postReviews) {
+        return postReviews.load(new NestedPage(post.id(), first));
+    }
+
+    @BatchMapping(typeName = "Post", field = "reviewSummary")
+    public Map<PostDto, ReviewSummaryDto> postReviewSummary(List<PostDto> posts) {
+        var summaries = reviewService.getReviewSummaries(ids(posts, PostDto::id));
+        return byParent(posts, post -> summaries.get(post.id()));
+    }
+
+    @BatchMapping(typeName = "Comment", field = "author")
+    public Map<CommentDto, UserDto> commentAuthor(List<CommentDto> comments) {
+        var users = userService.getUsersByIds(ids(comments, CommentDto::userId));
+        return byParent(comments, comment -> users.get(comment.userId()));
+    }
+
+    @SchemaMapping(typeName = "Comment", field = "replies")
+    public CompletableFuture<List<CommentDto>> commentReplies(CommentDto comment,
+            @Argument int first, DataLoader<NestedPage, List<CommentDto>> commentReplies) {
+        return commentReplies.load(new NestedPage(comment.id(), first));
+    }
+
+    private static <P> Set<Long> ids(List<P> parents, Function<P, Long> id) {
+        var ids = new LinkedHashSet<Long>();
+        for (var parent : parents) {
+            ids.add(id.apply(parent));
+        }
+        return ids;
+    }
+
+    private static <P, V> Map<P, V> byParent(List<P> parents, Function<P, V> value) {
+        var values = new LinkedHashMap<P, V>();
+        for (var parent : parents) {
+            values.put(parent, value.apply(parent));
+        }
+        return values;
+    }
+
+    /**
+     * One parent's page of a nested list field.
+     */
+    record NestedPage(Long parentId, int first) {
+    }
+
+    /**
+     * Loads the requested pages with one call per distinct page size; aliases of a field may
+     * ask for different ones.
+     */
+    private static <V> Map<NestedPage, List<V>> byPage(Set<NestedPage> pages,
+            BiFunction<Set<Long>, Integer, Map<Long, List<V>>> load) {
+        var parentIdsByFirst = pages.stream().collect(Collectors.groupingBy(NestedPage::first,
+                Collectors.mapping(NestedPage::parentId,
+                        Collectors.toCollection(LinkedHashSet::new))));
+        var values = new HashMap<NestedPage, List<V>>();
+        parentIdsByFirst.forEach((first, parentIds) -> {
+            var loaded = load.apply(parentIds, first);
+            for (var parentId : parentIds) {
+                values.put(new NestedPage(parentId, first),
+                        loaded.getOrDefault(parentId, List.of()));
+            }
+        });
+        return values;
+    }
+
+    // endregion
+
+    // region Connections
+
+    // The *Connection, *Edge and PageInfo types are generated by Spring for GraphQL from the
+    // field types in schema.graphqls. Each edge's cursor is the keyset position of its node, so a
+    // client can resume after any of them. hasPreviousPage is always false: only forward
+    // pagination is offered, and the Relay spec lets it be false then.
+
+    private static <T> Connection<T> connection(CursorPage<T> page,
+            Function<T, KeysetCursor> position) {
+        List<Edge<T>> edges = new ArrayList<>(page.content().size());
+        for (var node : page.content()) {
+            edges.add(new DefaultEdge<>(node,
+                    new DefaultConnectionCursor(position.apply(node).encode())));
+        }
+        var pageInfo = new DefaultPageInfo(
+                edges.isEmpty() ? null : edges.getFirst().getCursor(),
+                edges.isEmpty() ? null : edges.getLast().getCursor(),
+                false, page.hasNext());
+        return new DefaultConnection<>(edges, pageInfo);
+    }
+
+    // endregion
+
     // region GraphQL input records
 
     public record CreateUserInput(String username, String email, String fullName) {
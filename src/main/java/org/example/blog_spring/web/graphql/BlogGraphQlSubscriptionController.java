@@ -0,0 +1,40 @@
+package org.example.blog_spring.web.graphql;
+
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.ReviewDto;
+import org.example.blog_spring.service.PostService;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+/**
+ * Live comments and reviews of one post, served over WebSocket on
+ * {@code spring.graphql.websocket.path} and over SSE on the GraphQL endpoint.
+ * The nested fields of {@code Comment} and {@code Review} are resolved by
+ * {@link BlogGraphQlController} as for queries.
+ */
+@Controller
+public class BlogGraphQlSubscriptionController {
+
+    private final PostService postService;
+    private final SubscriptionFeed feed;
+
+    public BlogGraphQlSubscriptionController(PostService postService, SubscriptionFeed feed) {
+        this.postService = postService;
+        this.feed = feed;
+    }
+
+    @SubscriptionMapping
+    public Flux<CommentDto> commentAdded(@Argument Long postId) {
+        // An unknown post fails the subscription instead of leaving it open and silent.
+        postService.getPost(postId);
+        return feed.commentsAdded(postId);
+    }
+
+    @SubscriptionMapping
+    public Flux<ReviewDto> reviewAdded(@Argument Long postId) {
+        postService.getPost(postId);
+        return feed.reviewsAdded(postId);
+    }
+}
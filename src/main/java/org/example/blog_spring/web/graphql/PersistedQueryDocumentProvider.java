@@ -0,0 +1,147 @@
+package org.example.blog_spring.web.graphql;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.language.OperationDefinition;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Automatic persisted queries: a client may send {@code extensions.persistedQuery.sha256Hash}
+ * instead of the query, and the parsed and validated {@code Document} is taken from a bounded
+ * cache keyed by that hash. A request without a hash is keyed by the hash of its text, so the
+ * few operations clients send over and over are parsed and validated once either way.
+ *
+ * <p>On a miss for a hash sent without its query, the client gets a
+ * {@code PersistedQueryNotFound} error and, following the Apollo protocol, sends the query with
+ * the hash once. Queries in the allow-list are resolved by hash even if never sent; with
+ * {@code allowListOnly} every other query is refused, whether or not its text is sent.
+ */
+public class PersistedQueryDocumentProvider extends ApolloPersistedQuerySupport {
+
+    private final Map<String, String> allowList;
+    private final boolean allowListOnly;
+    private final Set<String> operationNames;
+
+    /**
+     * @param allowList query text by lower-case hex SHA-256 of its UTF-8 bytes
+     */
+    public PersistedQueryDocumentProvider(Map<String, String> allowList, boolean allowListOnly,
+            long maximumSize, MeterRegistry meterRegistry) {
+        super(new DocumentCache(allowList, maximumSize, meterRegistry));
+        this.allowList = Map.copyOf(allowList);
+        this.allowListOnly = allowListOnly;
+        this.operationNames = allowList.values().stream()
+                .flatMap(query -> Parser.parse(query)
+                        .getDefinitionsOfType(OperationDefinition.class).stream())
+                .map(OperationDefinition::getName)
+                .filter(name -> name != null)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * The names of the operations in the allow-list: a closed set, unlike the names clients may
+     * put in the queries they send.
+     */
+    public Set<String> operationNames() {
+        return operationNames;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (allowListOnly) {
+            var id = getPersistedQueryId(executionInput).map(Object::toString).orElse(null);
+            if (id == null || !allowList.containsKey(id.toLowerCase())) {
+                return CompletableFuture.completedFuture(new PreparsedDocumentEntry(
+                        GraphqlErrorBuilder.newError()
+                                .message("Only persisted queries are allowed")
+                                .extensions(Map.of("classification", "PersistedQueryNotAllowed"))
+                                .build()));
+            }
+        }
+        return super.getDocumentAsync(executionInput, parseAndValidateFunction);
+    }
+
+    @Override
+    protected Optional<Object> getPersistedQueryId(ExecutionInput executionInput) {
+        var id = super.getPersistedQueryId(executionInput);
+        var query = executionInput.getQuery();
+        if (id.isPresent() || query == null || query.isBlank()
+                || query.equals(PERSISTED_QUERY_MARKER)) {
+            return id;
+        }
+        return Optional.of(sha256(query));
+    }
+
+    public static String sha256(String query) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Documents by hash. Entries with errors are not kept: a query that fails validation is not
+     * one of the operations worth a slot, and keeping them would let junk evict those that are.
+     */
+    private static final class DocumentCache implements PersistedQueryCache {
+
+        private final Map<String, String> allowList;
+        private final Cache<String, PreparsedDocumentEntry> documents;
+
+        DocumentCache(Map<String, String> allowList, long maximumSize,
+                MeterRegistry meterRegistry) {
+            this.allowList = Map.copyOf(allowList);
+            this.documents = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.documents");
+        }
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(
+                Object persistedQueryId, ExecutionInput executionInput,
+                PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+            var key = persistedQueryId.toString().toLowerCase();
+            var entry = documents.getIfPresent(key);
+            if (entry == null) {
+                var query = allowList.getOrDefault(key, executionInput.getQuery());
+                // Spring GraphQL stands this marker in for a missing query; graphql-java only
+                // recognizes a blank one.
+                if (query == null || query.isBlank() || query.equals(PERSISTED_QUERY_MARKER)) {
+                    throw new PersistedQueryNotFound(persistedQueryId);
+                }
+                entry = onCacheMiss.apply(query);
+                if (!entry.hasErrors()) {
+                    documents.put(key, entry);
+                }
+            }
+            return CompletableFuture.completedFuture(entry);
+        }
+    }
+}
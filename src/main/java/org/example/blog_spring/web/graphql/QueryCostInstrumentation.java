@@ -0,0 +1,205 @@
+package org.example.blog_spring.web.graphql;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.FetchedValue;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.config.GraphQlCostProperties;
+
+/**
+ * Prices every operation before it runs and rejects those over the depth or cost budget of
+ * {@link GraphQlCostProperties}, so that a single request cannot ask for posts × comments ×
+ * replies × authors without bound.
+ *
+ * <p>The cost is static: it is computed from the normalized operation, with fragments and
+ * variables resolved, and list fields counted at the page size they request. Operations that
+ * run record that cost and the number of objects actually returned, as
+ * {@code blog.graphql.cost} and {@code blog.graphql.rows} tagged by operation; rejections count as
+ * {@code blog.graphql.rejected} tagged by reason.
+ *
+ * <p>The operation name is chosen by the client, so only the {@code knownOperations} (those of
+ * the persisted-query allow-list) are used as tags. Any other named operation is tagged
+ * {@code other} and an unnamed one {@code anonymous}, which keeps the number of meters bounded.
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    /**
+     * Arguments that set how many items a list field returns, here or in the list below it.
+     */
+    private static final List<String> PAGE_SIZE_ARGUMENTS = List.of("size", "first", "roots");
+
+    private final GraphQlCostProperties properties;
+    private final Set<String> knownOperations;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCostInstrumentation(GraphQlCostProperties properties,
+            Set<String> knownOperations, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.knownOperations = Set.copyOf(knownOperations);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new OperationState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        var executionContext = parameters.getExecutionContext();
+        var operation = (OperationState) state;
+        var name = executionContext.getOperationDefinition().getName();
+        operation.name = name == null ? "anonymous"
+                : knownOperations.contains(name) ? name : "other";
+
+        var fields = executionContext.getNormalizedQueryTree().get().getTopLevelFields();
+        int depth = depth(fields);
+        if (depth > properties.maxDepth()) {
+            reject("depth", "Query depth " + depth + " exceeds the maximum of "
+                    + properties.maxDepth());
+        }
+        long cost = cost(fields, executionContext.getGraphQLSchema(), null);
+        if (cost > properties.maxCost()) {
+            reject("cost", "Query cost " + cost + " exceeds the maximum of "
+                    + properties.maxCost() + "; request smaller pages or fewer nested fields");
+        }
+        operation.cost = cost;
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldCompletion(
+            InstrumentationFieldCompleteParameters parameters, InstrumentationState state) {
+        var value = FetchedValue.getFetchedValue(parameters.getFetchedObject());
+        var type = GraphQLTypeUtil.unwrapNonNull(parameters.getField().getType());
+        if (value instanceof Collection<?> items && type instanceof GraphQLList) {
+            ((OperationState) state).rows.add(items.size());
+        } else if (value != null && type instanceof GraphQLObjectType) {
+            ((OperationState) state).rows.increment();
+        }
+        return super.beginFieldCompletion(parameters, state);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+            ExecutionResult executionResult, InstrumentationExecutionParameters parameters,
+            InstrumentationState state) {
+        var operation = (OperationState) state;
+        if (operation.cost >= 0) {
+            DistributionSummary.builder("blog.graphql.cost")
+                    .tag("operation", operation.name)
+                    .register(meterRegistry)
+                    .record(operation.cost);
+            DistributionSummary.builder("blog.graphql.rows")
+                    .tag("operation", operation.name)
+                    .register(meterRegistry)
+                    .record(operation.rows.sum());
+        }
+        return super.instrumentExecutionResult(executionResult, parameters, state);
+    }
+
+    private static int depth(List<ExecutableNormalizedField> fields) {
+        int depth = 0;
+        for (var field : fields) {
+            if (!isIntrospection(field)) {
+                depth = Math.max(depth, 1 + depth(field.getChildren()));
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * The cost of a selection: each field's weight plus the cost of its own selection, times the
+     * number of items it returns if it is a list. A list without a page size argument takes the
+     * one of the field it is nested in, as {@code content} does under {@code postsByCursor}.
+     */
+    private long cost(List<ExecutableNormalizedField> fields, GraphQLSchema schema,
+            Integer enclosingPageSize) {
+        long cost = 0;
+        for (var field : fields) {
+            if (isIntrospection(field)) {
+                continue;
+            }
+            var pageSize = pageSize(field.getResolvedArguments());
+            boolean list = GraphQLTypeUtil.unwrapNonNull(field.getType(schema))
+                    instanceof GraphQLList;
+            if (pageSize == null) {
+                pageSize = enclosingPageSize;
+            }
+            long items = 1;
+            if (list) {
+                items = pageSize != null ? pageSize : properties.defaultListSize();
+            }
+            var children = field.getChildren();
+            long fieldCost = weight(field, !children.isEmpty())
+                    + cost(children, schema, list ? null : pageSize);
+            cost = saturatedAdd(cost, saturatedMultiply(items, fieldCost));
+        }
+        return cost;
+    }
+
+    private int weight(ExecutableNormalizedField field, boolean hasSelection) {
+        for (var typeName : field.getObjectTypeNames()) {
+            var weight = properties.fieldWeights().get(typeName + "." + field.getName());
+            if (weight != null) {
+                return weight;
+            }
+        }
+        return hasSelection ? 1 : 0;
+    }
+
+    private static Integer pageSize(Map<String, Object> arguments) {
+        for (var name : PAGE_SIZE_ARGUMENTS) {
+            if (arguments.get(name) instanceof Integer size) {
+                return Math.max(size, 0);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isIntrospection(ExecutableNormalizedField field) {
+        return field.getName().startsWith("__");
+    }
+
+    private void reject(String reason, String message) {
+        meterRegistry.counter("blog.graphql.rejected", "reason", reason).increment();
+        throw new AbortExecutionException(message);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+
+    private static final class OperationState implements InstrumentationState {
+
+        private final LongAdder rows = new LongAdder();
+        private volatile String name = "anonymous";
+        private volatile long cost = -1;
+    }
+}
@@ -0,0 +1,206 @@
+package org.example.blog_spring.web.graphql;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.ReviewDto;
+import org.example.blog_spring.exception.ResourceNotFoundException;
+import org.example.blog_spring.outbox.ChangeEvent;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeSubscriber;
+import org.example.blog_spring.service.CommentService;
+import org.example.blog_spring.service.ReviewService;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Feeds the {@code commentAdded} and {@code reviewAdded} subscriptions from the outbox: every
+ * comment or review committed on any node is pushed to the subscribers of its post on this
+ * node.
+ *
+ * <p>Each subscriber has its own buffer of {@code bufferSize} events. The outbox dispatcher only
+ * puts events into those buffers, and each subscriber takes them out on its own thread as its
+ * client keeps up, so a slow client never holds up a write or another subscriber. Events that
+ * do not fit in a full buffer are dropped for that subscriber and counted.
+ *
+ * <p>The new row is loaded once per event, and not at all when nobody is subscribed. A
+ * redelivered event is not pushed again. Exports the {@code blog.graphql.subscriptions} gauge
+ * and the {@code blog.graphql.subscription.events} counter by {@code result=sent|dropped}, both
+ * tagged by {@code field}.
+ */
+public class SubscriptionFeed implements ChangeSubscriber {
+
+    /**
+     * Outbox ids of events already taken, kept for long enough to recognize a redelivery, which
+     * follows within a few dispatches.
+     */
+    private static final int RECENT_EVENTS = 10_000;
+
+    private final ObjectProvider<CommentService> commentService;
+    private final ObjectProvider<ReviewService> reviewService;
+    private final Topic<CommentDto> comments;
+    private final Topic<ReviewDto> reviews;
+    private final Cache<Long, Boolean> pushed = Caffeine.newBuilder()
+            .maximumSize(RECENT_EVENTS)
+            .build();
+
+    // The services reach this subscriber through the outbox, so they are looked up on use.
+    public SubscriptionFeed(ObjectProvider<CommentService> commentService,
+            ObjectProvider<ReviewService> reviewService, int bufferSize,
+            MeterRegistry meterRegistry) {
+        this.commentService = commentService;
+        this.reviewService = reviewService;
+        this.comments = new Topic<>("commentAdded", bufferSize, meterRegistry);
+        this.reviews = new Topic<>("reviewAdded", bufferSize, meterRegistry);
+    }
+
+    /**
+     * Comments created on post {@code postId} from now on, replies included.
+     */
+    public Flux<CommentDto> commentsAdded(Long postId) {
+        return comments.subscribe(postId);
+    }
+
+    /**
+     * Reviews created on post {@code postId} from now on.
+     */
+    public Flux<ReviewDto> reviewsAdded(Long postId) {
+        return reviews.subscribe(postId);
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.action() != Action.CREATED) {
+            return;
+        }
+        switch (event.entity()) {
+            case COMMENT -> push(comments, event,
+                    id -> commentService.getObject().getComment(id), CommentDto::postId);
+            case REVIEW -> push(reviews, event,
+                    id -> reviewService.getObject().getReview(id), ReviewDto::postId);
+            default -> {
+                // Nothing to push.
+            }
+        }
+    }
+
+    private <T> void push(Topic<T> topic, ChangeEvent event, LongFunction<T> load,
+            Function<T, Long> postId) {
+        // The node that committed the event delivers it twice, possibly at the same time.
+        if (topic.isEmpty() || pushed.asMap().putIfAbsent(event.id(), Boolean.TRUE) != null) {
+            return;
+        }
+        T item;
+        try {
+            item = load.apply(event.entityId());
+        } catch (ResourceNotFoundException ex) {
+            // Deleted again before its event was delivered.
+            return;
+        }
+        topic.publish(postId.apply(item), item);
+    }
+
+    /**
+     * The subscribers to one field, by post.
+     */
+    private static final class Topic<T> {
+
+        private final Map<Long, Set<Subscriber<T>>> byPost = new ConcurrentHashMap<>();
+        private final AtomicInteger active = new AtomicInteger();
+        private final int bufferSize;
+        private final Counter sent;
+        private final Counter dropped;
+
+        Topic(String field, int bufferSize, MeterRegistry meterRegistry) {
+            this.bufferSize = bufferSize;
+            this.sent = events(meterRegistry, field, "sent");
+            this.dropped = events(meterRegistry, field, "dropped");
+            Gauge.builder("blog.graphql.subscriptions", active, AtomicInteger::get)
+                    .description("Open GraphQL subscriptions")
+                    .tag("field", field)
+                    .register(meterRegistry);
+        }
+
+        boolean isEmpty() {
+            return byPost.isEmpty();
+        }
+
+        Flux<T> subscribe(Long postId) {
+            return Flux.defer(() -> {
+                var subscriber = new Subscriber<T>(bufferSize);
+                byPost.compute(postId, (id, subscribers) -> {
+                    var set = subscribers != null ? subscribers
+                            : ConcurrentHashMap.<Subscriber<T>>newKeySet();
+                    set.add(subscriber);
+                    return set;
+                });
+                active.incrementAndGet();
+                // One event at a time onto the client's connection, off the dispatching thread;
+                // the rest wait in the subscriber's buffer.
+                return subscriber.sink.asFlux()
+                        .publishOn(Schedulers.boundedElastic(), 1)
+                        .doFinally(signal -> unsubscribe(postId, subscriber));
+            });
+        }
+
+        void publish(Long postId, T item) {
+            var subscribers = byPost.get(postId);
+            if (subscribers == null) {
+                return;
+            }
+            for (var subscriber : subscribers) {
+                switch (subscriber.offer(item)) {
+                    case OK -> sent.increment();
+                    case FAIL_OVERFLOW -> dropped.increment();
+                    default -> {
+                        // Cancelled; it is being removed.
+                    }
+                }
+            }
+        }
+
+        private void unsubscribe(Long postId, Subscriber<T> subscriber) {
+            byPost.computeIfPresent(postId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            active.decrementAndGet();
+        }
+
+        private static Counter events(MeterRegistry meterRegistry, String field, String result) {
+            return Counter.builder("blog.graphql.subscription.events")
+                    .description("Events for GraphQL subscribers by result")
+                    .tag("field", field)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class Subscriber<T> {
+
+        private final Sinks.Many<T> sink;
+
+        Subscriber(int bufferSize) {
+            this.sink = Sinks.many().unicast().onBackpressureBuffer(
+                    new ArrayBlockingQueue<>(bufferSize));
+        }
+
+        // Dispatches on several threads may push to the same subscriber.
+        synchronized Sinks.EmitResult offer(T item) {
+            return sink.tryEmitNext(item);
+        }
+    }
+}
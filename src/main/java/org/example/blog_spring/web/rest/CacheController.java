@@ -3,6 +3,9 @@ package org.example.blog_spring.web.rest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.blog_spring.cache.CachePolicyDescriptor;
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
 import org.example.blog_spring.dto.ApiResponse;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -25,9 +28,15 @@ import java.util.Map;
 public class CacheController {
 
     private final CacheManager cacheManager;
+    private final PostListCacheInvalidator postListCacheInvalidator;
+    private final NegativeLookupCache negativeLookupCache;
 
-    public CacheController(CacheManager cacheManager) {
+    public CacheController(CacheManager cacheManager,
+            PostListCacheInvalidator postListCacheInvalidator,
+            NegativeLookupCache negativeLookupCache) {
         this.cacheManager = cacheManager;
+        this.postListCacheInvalidator = postListCacheInvalidator;
+        this.negativeLookupCache = negativeLookupCache;
     }
 
     @GetMapping("/stats")
@@ -40,6 +49,7 @@ public class CacheController {
 
         var caches = new LinkedHashMap<String, Object>();
         long totalEstimatedSize = 0L;
+        long totalEstimatedBytes = 0L;
 
         for (String cacheName : cacheNames) {
             Cache cache = cacheManager.getCache(cacheName);
@@ -68,7 +78,14 @@ public class CacheController {
                 cacheData.put("evictionCount", stats.evictionCount());
                 cacheData.put("evictionWeight", stats.evictionWeight());
 
+                var policy = CachePolicyDescriptor.of(cacheName, nativeCache);
+                cacheData.put("estimatedBytes", policy.estimatedBytes());
+                cacheData.put("maximumBytes", policy.maximumBytes());
+
                 totalEstimatedSize += estimatedSize;
+                if (policy.estimatedBytes() != null) {
+                    totalEstimatedBytes += policy.estimatedBytes();
+                }
             } else {
                 cacheData.put("note", "Cache is not backed by Caffeine; stats unavailable");
             }
@@ -80,8 +97,20 @@ public class CacheController {
         data.put("cacheProvider", cacheManager.getClass().getName());
         data.put("cacheNames", List.copyOf(cacheNames));
         data.put("totalEstimatedSize", totalEstimatedSize);
+        data.put("totalEstimatedBytes", totalEstimatedBytes);
         data.put("caches", caches);
 
+        var invalidation = postListCacheInvalidator.getStatistics();
+        data.put("postListInvalidation", Map.of(
+                "evicted", invalidation.evicted(),
+                "retained", invalidation.retained()));
+
+        var negative = negativeLookupCache.getStatistics();
+        data.put("negativeLookups", Map.of(
+                "enabled", negative.enabled(),
+                "size", negative.size(),
+                "hits", negative.hits()));
+
         var response = ApiResponse.success(HttpStatus.OK, "Cache statistics", data);
         return ResponseEntity.ok(response);
     }
@@ -98,6 +127,7 @@ public class CacheController {
                 cache.clear();
             }
         }
+        negativeLookupCache.clear();
         var response = ApiResponse.<Void>success(HttpStatus.OK, "Cache cleared", null);
         return ResponseEntity.ok(response);
     }
@@ -1,5 +1,7 @@
 package org.example.blog_spring.web.rest;
 
+import java.util.List;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,8 +10,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.example.blog_spring.dto.ApiResponse;
 import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.CommentThreadDto;
 import org.example.blog_spring.dto.CreateCommentRequest;
 import org.example.blog_spring.dto.UpdateCommentRequest;
+import org.example.blog_spring.pagination.CountMode;
 import org.example.blog_spring.service.CommentService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -100,9 +104,10 @@ public class CommentController {
     })
     public ResponseEntity<ApiResponse<Page<CommentDto>>> getCommentsForPost(
             @PathVariable Long postId,
-            Pageable pageable
+            Pageable pageable,
+            @RequestParam(name = "count", defaultValue = "exact") CountMode count
     ) {
-        var comments = commentService.getCommentsForPost(postId, pageable);
+        var comments = commentService.getCommentsForPost(postId, pageable, count);
         var response = ApiResponse.success(
                 HttpStatus.OK,
                 "Comments for post retrieved successfully",
@@ -111,6 +116,37 @@ public class CommentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/by-post/{postId}/tree")
+    @Operation(summary = "Get the comment threads of a post, nested")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Comment tree retrieved successfully"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "roots or depth out of range"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Post or root comment not found"
+        )
+    })
+    public ResponseEntity<ApiResponse<List<CommentThreadDto>>> getCommentTree(
+            @PathVariable Long postId,
+            @RequestParam(name = "rootId", required = false) Long rootId,
+            @RequestParam(name = "roots", defaultValue = "20") int roots,
+            @RequestParam(name = "depth", defaultValue = "8") int depth
+    ) {
+        var threads = commentService.getCommentTree(postId, rootId, roots, depth);
+        var response = ApiResponse.success(
+                HttpStatus.OK,
+                "Comment tree retrieved successfully",
+                threads
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     @Operation(summary = "List comments for a user with pagination")
     @ApiResponses(value = {
@@ -0,0 +1,92 @@
+package org.example.blog_spring.web.rest;
+
+import java.time.Instant;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.blog_spring.service.ExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Whole-table NDJSON exports, written to the response as rows are read instead of being built
+ * up in memory. The body is produced on an async request thread after the handler returns.
+ */
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "Streaming NDJSON export APIs")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping(value = "/posts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export posts with their tags as NDJSON, oldest change first")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200", description = "One PostDto per line")
+    })
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @Parameter(description = "Only posts updated at or after this instant (ISO-8601)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+            @Parameter(description = "With updatedSince, only posts after the one with this id")
+            @RequestParam(required = false) Long afterId) {
+        requireUpdatedSince(updatedSince, afterId);
+        return ndjson(out -> exportService.exportPosts(updatedSince, afterId, out));
+    }
+
+    @GetMapping(value = "/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export comments as NDJSON, oldest change first")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200", description = "One CommentDto per line")
+    })
+    public ResponseEntity<StreamingResponseBody> exportComments(
+            @Parameter(description = "Only comments updated at or after this instant (ISO-8601)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+            @Parameter(description = "With updatedSince, only comments after the one with this id")
+            @RequestParam(required = false) Long afterId) {
+        requireUpdatedSince(updatedSince, afterId);
+        return ndjson(out -> exportService.exportComments(updatedSince, afterId, out));
+    }
+
+    @GetMapping(value = "/reviews", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export reviews as NDJSON, oldest change first")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200", description = "One ReviewDto per line")
+    })
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @Parameter(description = "Only reviews updated at or after this instant (ISO-8601)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+            @Parameter(description = "With updatedSince, only reviews after the one with this id")
+            @RequestParam(required = false) Long afterId) {
+        requireUpdatedSince(updatedSince, afterId);
+        return ndjson(out -> exportService.exportReviews(updatedSince, afterId, out));
+    }
+
+    // Checked before the response starts streaming, while it can still be a 400.
+    private static void requireUpdatedSince(Instant updatedSince, Long afterId) {
+        if (afterId != null && updatedSince == null) {
+            throw new IllegalArgumentException("afterId requires updatedSince");
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.blog_spring.web.rest;
+
+import java.io.InputStream;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.blog_spring.dto.ApiResponse;
+import org.example.blog_spring.dto.IngestReport;
+import org.example.blog_spring.service.IngestService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulk inserts from NDJSON request bodies. The body is read as a stream, so its size is not
+ * bounded by memory.
+ */
+@RestController
+@RequestMapping("/api/ingest")
+@Tag(name = "Ingest", description = "Bulk NDJSON ingest APIs")
+public class IngestController {
+
+    private final IngestService ingestService;
+
+    public IngestController(IngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+
+    @PostMapping(value = "/posts", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create posts from NDJSON, one CreatePostRequest per line")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Ingest finished; rejected lines are listed in the report",
+            content = @Content(schema = @Schema(implementation = IngestReport.class))
+        )
+    })
+    public ResponseEntity<ApiResponse<IngestReport>> ingestPosts(InputStream body) {
+        return report(ingestService.ingestPosts(body));
+    }
+
+    @PostMapping(value = "/comments", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create comments from NDJSON, one CreateCommentRequest per line")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Ingest finished; rejected lines are listed in the report",
+            content = @Content(schema = @Schema(implementation = IngestReport.class))
+        )
+    })
+    public ResponseEntity<ApiResponse<IngestReport>> ingestComments(InputStream body) {
+        return report(ingestService.ingestComments(body));
+    }
+
+    @PostMapping(value = "/reviews", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create reviews from NDJSON, one CreateReviewRequest per line")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Ingest finished; rejected lines are listed in the report",
+            content = @Content(schema = @Schema(implementation = IngestReport.class))
+        )
+    })
+    public ResponseEntity<ApiResponse<IngestReport>> ingestReviews(InputStream body) {
+        return report(ingestService.ingestReviews(body));
+    }
+
+    private static ResponseEntity<ApiResponse<IngestReport>> report(IngestReport report) {
+        var message = "Ingested %d of %d %s".formatted(report.inserted(), report.lines(),
+                report.kind());
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK, message, report));
+    }
+}
@@ -8,8 +8,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.example.blog_spring.dto.ApiResponse;
 import org.example.blog_spring.dto.CreatePostRequest;
+import org.example.blog_spring.dto.CursorPage;
 import org.example.blog_spring.dto.PostDto;
 import org.example.blog_spring.dto.UpdatePostRequest;
+import org.example.blog_spring.pagination.CountMode;
 import org.example.blog_spring.service.PostService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -102,7 +104,10 @@ public class PostController {
     }
 
     @GetMapping
-    @Operation(summary = "List posts with pagination and optional filters")
+    @Operation(summary = "List posts with pagination and optional filters",
+            description = "count=cached|estimated skips the exact COUNT(*) on large listings; "
+                    + "totalExact in the response says which total was returned. Searches are "
+                    + "always counted exactly.")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200",
@@ -118,10 +123,40 @@ public class PostController {
             @RequestParam(name = "tag", required = false) String tagSlug,
             @RequestParam(name = "search", required = false) String search,
             @RequestParam(name = "publishedOnly", required = false) Boolean publishedOnly,
-            Pageable pageable
+            Pageable pageable,
+            @RequestParam(name = "count", defaultValue = "exact") CountMode count
     ) {
         Page<PostDto> posts = postService.getPosts(authorId, tagSlug, search, publishedOnly,
-                pageable);
+                pageable, count);
+        var response =
+                ApiResponse.success(HttpStatus.OK, "Posts retrieved successfully", posts);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "List posts with keyset (cursor) pagination and optional filters",
+            description = "Pass an empty cursor for the first slice, then the returned "
+                    + "nextCursor. Runs no count query, so deep slices cost the same as the first.")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Posts retrieved successfully"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor, size or filter parameters"
+        )
+    })
+    public ResponseEntity<ApiResponse<CursorPage<PostDto>>> getPostsByCursor(
+            @RequestParam(name = "authorId", required = false) Long authorId,
+            @RequestParam(name = "tag", required = false) String tagSlug,
+            @RequestParam(name = "search", required = false) String search,
+            @RequestParam(name = "publishedOnly", required = false) Boolean publishedOnly,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        CursorPage<PostDto> posts = postService.getPostsByCursor(authorId, tagSlug, search,
+                publishedOnly, cursor, size);
         var response =
                 ApiResponse.success(HttpStatus.OK, "Posts retrieved successfully", posts);
         return ResponseEntity.ok(response);
@@ -10,6 +10,7 @@ import org.example.blog_spring.dto.ApiResponse;
 import org.example.blog_spring.dto.CreateReviewRequest;
 import org.example.blog_spring.dto.ReviewDto;
 import org.example.blog_spring.dto.UpdateReviewRequest;
+import org.example.blog_spring.pagination.CountMode;
 import org.example.blog_spring.service.ReviewService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -130,9 +131,10 @@ public class ReviewController {
     })
     public ResponseEntity<ApiResponse<Page<ReviewDto>>> getReviewsForPost(
             @PathVariable Long postId,
-            Pageable pageable
+            Pageable pageable,
+            @RequestParam(name = "count", defaultValue = "exact") CountMode count
     ) {
-        var reviews = reviewService.getReviewsForPost(postId, pageable);
+        var reviews = reviewService.getReviewsForPost(postId, pageable, count);
         var response = ApiResponse.success(
                 HttpStatus.OK,
                 "Reviews for post retrieved successfully",
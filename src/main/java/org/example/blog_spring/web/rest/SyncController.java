@@ -0,0 +1,52 @@
+package org.example.blog_spring.web.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.blog_spring.dto.ApiResponse;
+import org.example.blog_spring.dto.SyncChanges;
+import org.example.blog_spring.service.SyncService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@Tag(name = "Sync", description = "Delta-sync APIs")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "List posts, comments and reviews created, updated or deleted since a"
+            + " token, oldest change first")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Changes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = SyncChanges.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid or expired token, or limit out of range"
+        )
+    })
+    public ResponseEntity<ApiResponse<SyncChanges>> getChanges(
+            @Parameter(description = "nextToken of the previous response; omit to start over")
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        var changes = syncService.getChanges(since, limit);
+        return ResponseEntity.ok(
+                ApiResponse.success(HttpStatus.OK, "Changes retrieved successfully", changes));
+    }
+}
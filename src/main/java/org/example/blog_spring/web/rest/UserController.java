@@ -4,6 +4,7 @@ import org.example.blog_spring.dto.ApiResponse;
 import org.example.blog_spring.dto.CreateUserRequest;
 import org.example.blog_spring.dto.UpdateUserRequest;
 import org.example.blog_spring.dto.UserDto;
+import org.example.blog_spring.pagination.CountMode;
 import org.example.blog_spring.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -92,8 +94,11 @@ public class UserController {
             description = "Invalid pagination parameters"
         )
     })
-    public ResponseEntity<ApiResponse<Page<UserDto>>> getUsers(Pageable pageable) {
-        var users = userService.getUsers(pageable);
+    public ResponseEntity<ApiResponse<Page<UserDto>>> getUsers(
+            Pageable pageable,
+            @RequestParam(name = "count", defaultValue = "exact") CountMode count
+    ) {
+        var users = userService.getUsers(pageable, count);
         var response = ApiResponse.success(HttpStatus.OK, "Users retrieved successfully", users);
         return ResponseEntity.ok(response);
     }
@@ -20,6 +20,10 @@ CREATE TABLE IF NOT EXISTS tags (
     created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
 );
 
+-- Keyset (cursor) pagination: newest first on (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_users_created_keyset ON users(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tags_created_keyset ON tags(created_at DESC, id DESC);
+
 CREATE TABLE IF NOT EXISTS posts (
     id BIGSERIAL PRIMARY KEY,
     author_id BIGINT NOT NULL REFERENCES users(id),
@@ -39,6 +43,24 @@ CREATE INDEX IF NOT EXISTS idx_posts_slug ON posts(slug);
 CREATE INDEX IF NOT EXISTS idx_posts_status ON posts(status);
 CREATE INDEX IF NOT EXISTS idx_posts_created ON posts(created_at);
 CREATE INDEX IF NOT EXISTS idx_posts_published ON posts(published_at);
+-- Exports and delta sync: changed since, oldest change first
+CREATE INDEX IF NOT EXISTS idx_posts_updated ON posts(updated_at, id);
+
+-- Keyset (cursor) pagination: newest first on (sort timestamp, id)
+CREATE INDEX IF NOT EXISTS idx_posts_created_keyset ON posts(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_posts_author_created_keyset
+    ON posts(author_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_posts_published_keyset
+    ON posts((COALESCE(published_at, created_at)) DESC, id DESC)
+    WHERE status = 'PUBLISHED';
+
+-- Full-text search: weighted title (A) + content (B), kept current by Postgres itself
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', COALESCE(title, '')), 'A')
+        || setweight(to_tsvector('english', COALESCE(content, '')), 'B')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_posts_search ON posts USING GIN (search_vector);
 
 CREATE TABLE IF NOT EXISTS post_tags (
     post_id BIGINT NOT NULL REFERENCES posts(id) ON DELETE CASCADE,
@@ -60,6 +82,12 @@ CREATE TABLE IF NOT EXISTS comments (
 CREATE INDEX IF NOT EXISTS idx_comments_post ON comments(post_id);
 CREATE INDEX IF NOT EXISTS idx_comments_user ON comments(user_id);
 CREATE INDEX IF NOT EXISTS idx_comments_parent ON comments(parent_id);
+-- Comment trees: a post's root comments, oldest first
+CREATE INDEX IF NOT EXISTS idx_comments_post_roots ON comments(post_id, created_at, id)
+    WHERE parent_id IS NULL;
+CREATE INDEX IF NOT EXISTS idx_comments_updated ON comments(updated_at, id);
+-- Keyset (cursor) pagination of a post's comments, oldest first
+CREATE INDEX IF NOT EXISTS idx_comments_post_keyset ON comments(post_id, created_at, id);
 
 CREATE TABLE IF NOT EXISTS reviews (
     id BIGSERIAL PRIMARY KEY,
@@ -77,3 +105,34 @@ CREATE TABLE IF NOT EXISTS reviews (
 
 CREATE INDEX IF NOT EXISTS idx_reviews_post ON reviews(post_id);
 CREATE INDEX IF NOT EXISTS idx_reviews_user ON reviews(user_id);
+CREATE INDEX IF NOT EXISTS idx_reviews_updated ON reviews(updated_at, id);
+-- Keyset (cursor) pagination of a post's reviews, newest first
+CREATE INDEX IF NOT EXISTS idx_reviews_post_keyset
+    ON reviews(post_id, created_at DESC, id DESC);
+
+-- Delta sync: deleted posts, comments and reviews, kept for blog.sync.tombstone-retention
+CREATE TABLE IF NOT EXISTS tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_tombstones_deleted ON tombstones(deleted_at, id);
+
+-- tx_id is the appending transaction; every node reads events in (tx_id, id) order.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    tx_id BIGINT NOT NULL DEFAULT txid_current(),
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    post_id BIGINT,
+    action VARCHAR(16) NOT NULL,
+    slug VARCHAR(255),
+    origin UUID NOT NULL,
+    occurred_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_position ON outbox_events(tx_id, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_occurred ON outbox_events(occurred_at);
@@ -0,0 +1,64 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.TagDto;
+import org.example.blog_spring.dto.TagSummaryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+
+class CacheEntryWeigherTest {
+
+    private final CacheEntryWeigher weigher = new CacheEntryWeigher();
+
+    @Test
+    void largePostWeighsRoughlyItsBody() {
+        var body = "x".repeat(200_000);
+        var post = post(1L, body);
+
+        int weight = weigher.weigh(1L, post);
+
+        assertThat(weight).isBetween(200_000, 201_000);
+    }
+
+    @Test
+    void tagWeighsFarLessThanLargePost() {
+        var tag = new TagDto(1L, "Java", "java", "JVM posts", Instant.now());
+
+        int tagWeight = weigher.weigh(1L, tag);
+
+        assertThat(tagWeight).isLessThan(500);
+        assertThat(tagWeight).isLessThan(weigher.weigh(1L, post(1L, "x".repeat(10_000))));
+    }
+
+    @Test
+    void pageWeighsItsContentAndKey() {
+        var page = new PageImpl<>(
+                List.of(post(1L, "a".repeat(1_000)), post(2L, "b".repeat(1_000))));
+        var key = PostListCacheKey.of(null, "java", null, true, 0, 20, null);
+
+        int weight = weigher.weigh(key, page);
+
+        assertThat(weight).isGreaterThan(2_000)
+                .isEqualTo((int) (CacheEntryWeigher.estimate(key)
+                        + CacheEntryWeigher.estimate(page)));
+    }
+
+    @Test
+    void unknownValuesGetFlatWeight() {
+        assertThat(CacheEntryWeigher.estimate(new Object()))
+                .isEqualTo(CacheEntryWeigher.UNKNOWN_WEIGHT);
+    }
+
+    private static PostDto post(Long id, String content) {
+        return new PostDto(id, 1L, "Title", content, "slug-" + id, PostStatus.PUBLISHED,
+                Instant.now(), Instant.now(), null, 0,
+                Set.of(new TagSummaryDto(1L, "Java", "java")));
+    }
+}
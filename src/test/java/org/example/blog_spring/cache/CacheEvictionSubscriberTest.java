@@ -0,0 +1,183 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.example.blog_spring.cache.NegativeLookupCache.Lookup;
+import org.example.blog_spring.config.CacheProperties;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.TagSummaryDto;
+import org.example.blog_spring.outbox.ChangeEvent;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+class CacheEvictionSubscriberTest {
+
+    private static final PostListCacheKey ALL =
+            PostListCacheKey.of(null, null, null, false, 0, 20, null);
+    private static final PostListCacheKey TAG_JAVA =
+            PostListCacheKey.of(null, "java", null, false, 0, 20, null);
+    private static final PostListCacheKey TAG_GO =
+            PostListCacheKey.of(null, "go", null, false, 0, 20, null);
+    private static final CommentTreeKey TREE_7 = CommentTreeKey.of(7L, null, 20, 3);
+    private static final CommentTreeKey TREE_8 = CommentTreeKey.of(8L, null, 20, 3);
+
+    private CaffeineCacheManager cacheManager;
+    private NegativeLookupCache negativeLookups;
+    private CacheEvictionSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager("posts", "postsBySlug", "tags", "tagsBySlug",
+                "tagLists", "users", "userLists", PostListCacheInvalidator.CACHE_NAME,
+                CommentTreeCacheInvalidator.CACHE_NAME);
+        negativeLookups = new NegativeLookupCache(new CacheProperties.Negative(true, 100, null));
+        subscriber = new CacheEvictionSubscriber(cacheManager,
+                new PostListCacheInvalidator(cacheManager),
+                new CommentTreeCacheInvalidator(cacheManager), negativeLookups);
+    }
+
+    @Test
+    void postCreated_evictsOnlyItsIdAndSlug() {
+        put("posts", 1L);
+        put("posts", 2L);
+        put("postsBySlug", "new");
+        put("postsBySlug", "other");
+
+        subscriber.onChange(event(Entity.POST, 1L, Action.CREATED, "new"));
+
+        assertThat(cached("posts", 1L)).isFalse();
+        assertThat(cached("posts", 2L)).isTrue();
+        assertThat(cached("postsBySlug", "new")).isFalse();
+        assertThat(cached("postsBySlug", "other")).isTrue();
+    }
+
+    @Test
+    void postDeleted_clearsSlugsAndCommentTrees() {
+        put("posts", 1L);
+        put("postsBySlug", "gone");
+        put(CommentTreeCacheInvalidator.CACHE_NAME, "tree");
+
+        subscriber.onChange(event(Entity.POST, 1L, Action.DELETED, null));
+        // Redelivery is harmless.
+        subscriber.onChange(event(Entity.POST, 1L, Action.DELETED, null));
+
+        assertThat(cached("posts", 1L)).isFalse();
+        assertThat(cached("postsBySlug", "gone")).isFalse();
+        assertThat(cached(CommentTreeCacheInvalidator.CACHE_NAME, "tree")).isFalse();
+    }
+
+    @Test
+    void tagAndUserUpdates_evictTheirEntryAndListings() {
+        put("tags", 1L);
+        put("tags", 2L);
+        put("tagLists", "page");
+        put("users", 1L);
+        put("users", 2L);
+        put("userLists", "page");
+
+        subscriber.onChange(event(Entity.TAG, 1L, Action.UPDATED, "java"));
+        subscriber.onChange(event(Entity.USER, 2L, Action.UPDATED, null));
+
+        assertThat(cached("tags", 1L)).isFalse();
+        assertThat(cached("tags", 2L)).isTrue();
+        assertThat(cached("tagLists", "page")).isFalse();
+        assertThat(cached("users", 1L)).isTrue();
+        assertThat(cached("users", 2L)).isFalse();
+        assertThat(cached("userLists", "page")).isFalse();
+    }
+
+    @Test
+    void eventsFromAnotherNode_evictListingsAndCommentTrees() {
+        put(PostListCacheInvalidator.CACHE_NAME, ALL, Page.empty());
+        put(PostListCacheInvalidator.CACHE_NAME, TAG_JAVA, Page.empty());
+        put(PostListCacheInvalidator.CACHE_NAME, TAG_GO, Page.empty());
+        put(CommentTreeCacheInvalidator.CACHE_NAME, TREE_7, "tree");
+        put(CommentTreeCacheInvalidator.CACHE_NAME, TREE_8, "tree");
+
+        subscriber.onChange(new ChangeEvent(1, Entity.COMMENT, 30L, 7L, Action.CREATED, null,
+                Instant.now(), false));
+
+        assertThat(cached(CommentTreeCacheInvalidator.CACHE_NAME, TREE_7)).isFalse();
+        assertThat(cached(CommentTreeCacheInvalidator.CACHE_NAME, TREE_8)).isTrue();
+
+        subscriber.onChange(event(Entity.TAG, 5L, Action.UPDATED, "java"));
+
+        assertThat(cached(PostListCacheInvalidator.CACHE_NAME, TAG_JAVA)).isFalse();
+        assertThat(cached(PostListCacheInvalidator.CACHE_NAME, TAG_GO)).isTrue();
+
+        subscriber.onChange(event(Entity.POST, 1L, Action.UPDATED, "post"));
+
+        assertThat(cached(PostListCacheInvalidator.CACHE_NAME, ALL)).isFalse();
+        assertThat(cached(PostListCacheInvalidator.CACHE_NAME, TAG_GO)).isFalse();
+    }
+
+    @Test
+    void tagDeleted_evictsListingsShowingItsPosts() {
+        var post = new PostDto(10L, 1L, "Title", "Content", "slug", PostStatus.PUBLISHED, null,
+                null, null, 0, Set.of(new TagSummaryDto(5L, "Java", "java")));
+        put(PostListCacheInvalidator.CACHE_NAME, ALL, new PageImpl<>(List.of(post)));
+        put(PostListCacheInvalidator.CACHE_NAME, TAG_GO, Page.empty());
+
+        subscriber.onChange(event(Entity.TAG, 5L, Action.DELETED, null));
+
+        assertThat(cached(PostListCacheInvalidator.CACHE_NAME, ALL)).isFalse();
+        assertThat(cached(PostListCacheInvalidator.CACHE_NAME, TAG_GO)).isTrue();
+    }
+
+    @Test
+    void postEventFromThisNode_leavesListingsToTheTargetedInvalidation() {
+        put(PostListCacheInvalidator.CACHE_NAME, ALL, Page.empty());
+
+        subscriber.onChange(new ChangeEvent(1, Entity.POST, 1L, null, Action.UPDATED, "post",
+                Instant.now(), true));
+
+        assertThat(cached(PostListCacheInvalidator.CACHE_NAME, ALL)).isTrue();
+    }
+
+    @Test
+    void postAndTagCreated_forgetTheirMissingIdsAndSlugs() {
+        negativeLookups.find(Lookup.POST_ID, 1L, Optional::empty);
+        negativeLookups.find(Lookup.POST_SLUG, "new", Optional::empty);
+        negativeLookups.find(Lookup.TAG_ID, 2L, Optional::empty);
+        negativeLookups.find(Lookup.TAG_SLUG, "java", Optional::empty);
+
+        subscriber.onChange(event(Entity.POST, 1L, Action.CREATED, "new"));
+        subscriber.onChange(event(Entity.TAG, 2L, Action.CREATED, "java"));
+
+        assertThat(negativeLookups.find(Lookup.POST_ID, 1L, () -> Optional.of("post")))
+                .contains("post");
+        assertThat(negativeLookups.find(Lookup.POST_SLUG, "new", () -> Optional.of("post")))
+                .contains("post");
+        assertThat(negativeLookups.find(Lookup.TAG_ID, 2L, () -> Optional.of("tag")))
+                .contains("tag");
+        assertThat(negativeLookups.find(Lookup.TAG_SLUG, "java", () -> Optional.of("tag")))
+                .contains("tag");
+    }
+
+    private void put(String cacheName, Object key) {
+        put(cacheName, key, "value");
+    }
+
+    private void put(String cacheName, Object key, Object value) {
+        cacheManager.getCache(cacheName).put(key, value);
+    }
+
+    private boolean cached(String cacheName, Object key) {
+        return cacheManager.getCache(cacheName).get(key) != null;
+    }
+
+    private static ChangeEvent event(Entity entity, Long id, Action action, String slug) {
+        return new ChangeEvent(1, entity, id, null, action, slug, Instant.now(), false);
+    }
+}
@@ -142,4 +142,45 @@ class CacheManagerTest {
         assertThat(cacheManager.getPost(1L)).isNull();
         assertThat(cacheManager.getTag(1L)).isNull();
     }
+
+    @Test
+    void putPost_withNewSlug_dropsOldSlugEntry() {
+        var post = Post.builder().id(1L).authorId(1L).title("Test").slug("old").tags(Set.of())
+                .build();
+        cacheManager.putPost(post);
+        post.setSlug("new");
+
+        cacheManager.putPost(post);
+
+        assertThat(cacheManager.getPostBySlug("old")).isNull();
+        assertThat(cacheManager.getPostBySlug("new")).isNotNull();
+    }
+
+    @Test
+    void removePost_removesSlugEntry_afterIdEntryWasEvicted() {
+        var post = Post.builder().id(1L).authorId(1L).title("Test").slug("kept").tags(Set.of())
+                .build();
+        cacheManager.putPost(post);
+        for (long id = 2; id < 400; id++) {
+            cacheManager.putPost(Post.builder().id(id).authorId(1L).title("T").tags(Set.of())
+                    .build());
+        }
+        assertThat(cacheManager.getPost(1L)).isNull();
+
+        cacheManager.removePost(1L);
+
+        assertThat(cacheManager.getPostBySlug("kept")).isNull();
+    }
+
+    @Test
+    void putPostList_staysWithinCapacity() {
+        var entry = new CacheManager.PageCacheEntry(List.of(), 0L);
+
+        for (int page = 0; page < 100; page++) {
+            cacheManager.putPostList(CacheManager.buildPostListKey(null, null, null, null, page,
+                    20), entry);
+        }
+
+        assertThat(cacheManager.getStatistics().postListCacheSize).isLessThanOrEqualTo(20);
+    }
 }
@@ -0,0 +1,70 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.config.CacheConfig;
+import org.example.blog_spring.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.util.unit.DataSize;
+
+class CachePolicyEndpointTest {
+
+    private CachePolicyEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        var source = new MapConfigurationPropertySource(Map.of(
+                "blog.cache.defaults.maximum-weight", "1MB",
+                "blog.cache.caches[postLists].maximum-weight", "8MB",
+                "blog.cache.caches[postLists].expire-after-write", "5m"));
+        var properties = new Binder(source).bindOrCreate("blog.cache", CacheProperties.class);
+        var config = new CacheConfig();
+        var cacheManager = config.cacheManager(properties, Mockito.mock(PostCacheLoaders.class),
+                config.cacheRefreshExecutor(properties), new SimpleMeterRegistry());
+        endpoint = new CachePolicyEndpoint(cacheManager);
+    }
+
+    @Test
+    void policies_reflectPerCacheSettingsAndDefaults() {
+        var policies = endpoint.policies();
+
+        assertThat(policies).containsOnlyKeys(CacheConfig.CACHE_NAMES);
+        var postLists = policies.get("postLists");
+        assertThat(postLists.maximumBytes()).isEqualTo(DataSize.ofMegabytes(8).toBytes());
+        assertThat(postLists.expireAfterWrite()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(postLists.expireAfterAccess()).isEqualTo(Duration.ofMinutes(10));
+        var tags = policies.get("tags");
+        assertThat(tags.maximumBytes()).isEqualTo(DataSize.ofMegabytes(1).toBytes());
+        assertThat(tags.expireAfterWrite()).isNull();
+        assertThat(tags.estimatedBytes()).isZero();
+    }
+
+    @Test
+    void resize_changesRunningCache() {
+        var resized = endpoint.resize("postLists", DataSize.ofMegabytes(32), null,
+                Duration.ofMinutes(1));
+
+        assertThat(resized.maximumBytes()).isEqualTo(DataSize.ofMegabytes(32).toBytes());
+        assertThat(resized.expireAfterWrite()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(endpoint.policy("postLists")).isEqualTo(resized);
+    }
+
+    @Test
+    void resize_rejectsUnknownCacheAndUnconfiguredExpiry() {
+        assertThatThrownBy(() -> endpoint.resize("nope", DataSize.ofMegabytes(1), null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.resize("tags", null, null, Duration.ofMinutes(1)))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("expire-after-write");
+    }
+}
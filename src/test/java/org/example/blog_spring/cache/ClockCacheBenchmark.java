@@ -0,0 +1,137 @@
+package org.example.blog_spring.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the legacy {@code synchronizedMap(LinkedHashMap)} LRU, {@link ClockCache} and
+ * Caffeine under a skewed 90% read / 10% write mix. Run across thread counts with
+ * {@code ./scripts/benchmark_l1_cache.sh} (1 to 64 threads).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClockCacheBenchmark {
+
+    private static final int CAPACITY = 1_000;
+    private static final int KEY_SPACE = 10_000;
+    private static final int SAMPLES = 1 << 16;
+
+    @Param({"legacy", "clock", "clockTinyLfu", "caffeine"})
+    public String implementation;
+
+    private CacheAdapter cache;
+    private final Integer[] keys = new Integer[SAMPLES];
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index = new SplittableRandom().nextInt(SAMPLES);
+    }
+
+    @Setup
+    public void setUp() {
+        cache = switch (implementation) {
+            case "legacy" -> new LegacyLru(CAPACITY);
+            case "clock" -> new ClockAdapter(new ClockCache<>(CAPACITY));
+            case "clockTinyLfu" -> new ClockAdapter(new ClockCache<>(CAPACITY, true, (k, v) -> {
+            }));
+            case "caffeine" -> new CaffeineAdapter(
+                    Caffeine.newBuilder().maximumSize(CAPACITY).build());
+            default -> throw new IllegalArgumentException(implementation);
+        };
+        // Zipf-like skew: a few hundred keys take most of the traffic.
+        var random = new SplittableRandom(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            double u = random.nextDouble();
+            keys[i] = (int) (KEY_SPACE * u * u * u);
+        }
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.put(keys[i], keys[i]);
+        }
+    }
+
+    @Benchmark
+    public Object readMostly(ThreadState state) {
+        int i = state.index++ & (SAMPLES - 1);
+        var key = keys[i];
+        if ((i & 15) < 14) {
+            return cache.get(key);
+        }
+        cache.put(key, key);
+        return key;
+    }
+
+    interface CacheAdapter {
+        Object get(Integer key);
+
+        void put(Integer key, Integer value);
+    }
+
+    /** The data structure the legacy CacheManager used before it moved to ClockCache. */
+    static final class LegacyLru implements CacheAdapter {
+        private final Map<Integer, Integer> map;
+
+        LegacyLru(int capacity) {
+            map = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                    return size() > capacity;
+                }
+            });
+        }
+
+        @Override
+        public Object get(Integer key) {
+            return map.get(key);
+        }
+
+        @Override
+        public void put(Integer key, Integer value) {
+            map.put(key, value);
+        }
+    }
+
+    record ClockAdapter(ClockCache<Integer, Integer> cache) implements CacheAdapter {
+        @Override
+        public Object get(Integer key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public void put(Integer key, Integer value) {
+            cache.put(key, value);
+        }
+    }
+
+    record CaffeineAdapter(Cache<Integer, Integer> cache) implements CacheAdapter {
+        @Override
+        public Object get(Integer key) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void put(Integer key, Integer value) {
+            cache.put(key, value);
+        }
+    }
+}
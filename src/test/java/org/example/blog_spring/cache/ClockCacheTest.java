@@ -0,0 +1,154 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class ClockCacheTest {
+
+    @Test
+    void neverExceedsMaximumSize() {
+        var cache = new ClockCache<Integer, String>(20);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        assertThat(cache.size()).isEqualTo(20);
+        assertThat(cache.evictionCount()).isEqualTo(980);
+    }
+
+    @Test
+    void recentlyReadEntriesSurviveEviction() {
+        var cache = new ClockCache<Integer, String>(8);
+        for (int i = 0; i < 8; i++) {
+            cache.put(i, "v" + i);
+        }
+        cache.get(0);
+
+        cache.put(100, "new");
+
+        assertThat(cache.get(0)).isEqualTo("v0");
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(100)).isEqualTo("new");
+    }
+
+    @Test
+    void admissionKeepsPopularEntriesAgainstOneOffKeys() {
+        var withAdmission = new ClockCache<Integer, String>(8, true, (key, value) -> {
+        });
+        var withoutAdmission = new ClockCache<Integer, String>(8);
+
+        int survivorsWith = hotSurvivorsAfterOneOffBurst(withAdmission);
+        int survivorsWithout = hotSurvivorsAfterOneOffBurst(withoutAdmission);
+
+        // The sketch is approximate: a one-off key can collide with hot keys in every row.
+        assertThat(survivorsWith).isGreaterThanOrEqualTo(6);
+        assertThat(withAdmission.rejectionCount()).isGreaterThanOrEqualTo(90);
+        assertThat(survivorsWithout).isZero();
+    }
+
+    @Test
+    void admissionLetsRepeatedlyRequestedKeyIn() {
+        var cache = new ClockCache<Integer, String>(8, true, (key, value) -> {
+        });
+        for (int i = 0; i < 8; i++) {
+            cache.put(i, "v" + i);
+            cache.get(i);
+        }
+
+        boolean admitted = false;
+        for (int attempt = 0; attempt < 5 && !admitted; attempt++) {
+            cache.get(42);
+            admitted = cache.put(42, "popular");
+        }
+
+        assertThat(admitted).isTrue();
+        assertThat(cache.get(42)).isEqualTo("popular");
+    }
+
+    @Test
+    void evictionListenerSeesEvictedEntries() {
+        var evicted = new ArrayList<Integer>();
+        var cache = new ClockCache<Integer, String>(8, false, (key, value) -> evicted.add(key));
+
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        assertThat(evicted).containsExactly(0, 1);
+    }
+
+    @Test
+    void removedEntriesAreNotEvictedAgainAndRingIsCompacted() {
+        var evicted = new ArrayList<Integer>();
+        var cache = new ClockCache<Integer, String>(8, false, (key, value) -> evicted.add(key));
+
+        for (int round = 0; round < 100; round++) {
+            cache.put(round, "v");
+            assertThat(cache.remove(round)).isEqualTo("v");
+        }
+        for (int i = 0; i < 9; i++) {
+            cache.put(1_000 + i, "v");
+        }
+
+        assertThat(cache.size()).isEqualTo(8);
+        assertThat(evicted).containsExactly(1_000);
+    }
+
+    @Test
+    void statisticsAreExactUnderContention() throws Exception {
+        var cache = new ClockCache<Integer, Integer>(64);
+        for (int i = 0; i < 32; i++) {
+            cache.put(i, i);
+        }
+        int threads = 8;
+        int readsPerThread = 6_400;
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < readsPerThread; i++) {
+                        cache.get(i % 64);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get();
+            }
+        }
+
+        long total = (long) threads * readsPerThread;
+        assertThat(cache.hitCount()).isEqualTo(total / 2);
+        assertThat(cache.missCount()).isEqualTo(total / 2);
+    }
+
+    private static int hotSurvivorsAfterOneOffBurst(ClockCache<Integer, String> cache) {
+        for (int i = 0; i < 8; i++) {
+            cache.put(i, "hot" + i);
+            for (int read = 0; read < 10; read++) {
+                cache.get(i);
+            }
+        }
+        for (int oneOff = 100; oneOff < 200; oneOff++) {
+            cache.get(oneOff);
+            cache.put(oneOff, "cold");
+        }
+        int survivors = 0;
+        for (int i = 0; i < 8; i++) {
+            if (cache.get(i) != null) {
+                survivors++;
+            }
+        }
+        return survivors;
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.blog_spring.cache;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.service.PostService;
+import org.example.blog_spring.service.TagService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Key generation and lookup cost of the structured list cache keys against the
+ * {@code T(java.util.Objects).hash(...)} SpEL keys they replaced. The SpEL side parses once and
+ * evaluates against a fresh context per call, as Spring's cache interceptor does.
+ *
+ * <p>Run with {@code ./scripts/benchmark_cache_keys.sh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListCacheKeyBenchmark {
+
+    private static final String SPEL_POST_KEY =
+            "T(java.util.Objects).hash(#authorId, #tagSlug, #search, #publishedOnly, "
+                    + "#pageable.pageNumber, #pageable.pageSize)";
+    private static final String SPEL_PAGE_KEY =
+            "T(java.util.Objects).hash(#pageable.pageNumber, #pageable.pageSize)";
+    private static final int ENTRIES = 10_000;
+
+    private final PostListCacheKeyGenerator postGenerator = new PostListCacheKeyGenerator();
+    private final PageCacheKeyGenerator pageGenerator = new PageCacheKeyGenerator();
+    private final Pageable pageable = PageRequest.of(3, 20, Sort.by(Sort.Order.desc("createdAt")));
+    private Method getPosts;
+    private Method getTags;
+    private Expression spelPostKey;
+    private Expression spelPageKey;
+    private Cache<Object, Object> spelKeyedCache;
+    private Cache<Object, Object> structuredKeyedCache;
+    private Object spelLookupKey;
+    private Object structuredLookupKey;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        getPosts = PostService.class.getMethod("getPosts", Long.class, String.class, String.class,
+                Boolean.class, Pageable.class, CountMode.class);
+        getTags = TagService.class.getMethod("getTags", Pageable.class);
+        var parser = new SpelExpressionParser();
+        spelPostKey = parser.parseExpression(SPEL_POST_KEY);
+        spelPageKey = parser.parseExpression(SPEL_PAGE_KEY);
+
+        spelKeyedCache = Caffeine.newBuilder().build();
+        structuredKeyedCache = Caffeine.newBuilder().build();
+        for (int i = 0; i < ENTRIES; i++) {
+            var page = PageRequest.of(i % 50, 20);
+            long authorId = i / 50;
+            spelKeyedCache.put(evaluate(spelPostKey, authorId, "java", null, true, page), i);
+            structuredKeyedCache.put(
+                    postGenerator.generate(null, getPosts, authorId, "java", null, true,
+                            page, CountMode.EXACT), i);
+        }
+        var lookupPage = PageRequest.of(7, 20);
+        spelLookupKey = evaluate(spelPostKey, 42L, "java", null, true, lookupPage);
+        structuredLookupKey = postGenerator.generate(null, getPosts, 42L, "java", null,
+                true, lookupPage, CountMode.EXACT);
+    }
+
+    @Benchmark
+    public Object postKeySpel() {
+        return evaluate(spelPostKey, 42L, "java", null, true, pageable);
+    }
+
+    @Benchmark
+    public Object postKeyGenerator() {
+        return postGenerator.generate(null, getPosts, 42L, "java", null, true, pageable,
+                CountMode.EXACT);
+    }
+
+    @Benchmark
+    public Object pageKeySpel() {
+        var context = new StandardEvaluationContext();
+        context.setVariable("pageable", pageable);
+        return spelPageKey.getValue(context);
+    }
+
+    @Benchmark
+    public Object pageKeyGenerator() {
+        return pageGenerator.generate(null, getTags, pageable);
+    }
+
+    @Benchmark
+    public Object lookupSpelKey() {
+        return spelKeyedCache.getIfPresent(spelLookupKey);
+    }
+
+    @Benchmark
+    public Object lookupStructuredKey() {
+        return structuredKeyedCache.getIfPresent(structuredLookupKey);
+    }
+
+    private static Object evaluate(Expression expression, Long authorId, String tagSlug,
+            String search, Boolean publishedOnly, Pageable pageable) {
+        var context = new StandardEvaluationContext();
+        context.setVariable("authorId", authorId);
+        context.setVariable("tagSlug", tagSlug);
+        context.setVariable("search", search);
+        context.setVariable("publishedOnly", publishedOnly);
+        context.setVariable("pageable", pageable);
+        return expression.getValue(context);
+    }
+}
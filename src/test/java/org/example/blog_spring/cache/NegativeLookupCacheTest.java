@@ -0,0 +1,111 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.example.blog_spring.cache.NegativeLookupCache.Lookup;
+import org.example.blog_spring.config.CacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class NegativeLookupCacheTest {
+
+    private final NegativeLookupCache cache =
+            new NegativeLookupCache(new CacheProperties.Negative(true, 100, null));
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    void find_remembersMisses() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.find(Lookup.POST_SLUG, "missing", empty())).isEmpty();
+        }
+
+        assertThat(queries).hasValue(1);
+        assertThat(cache.getStatistics())
+                .isEqualTo(new NegativeLookupCache.Statistics(true, 1, 2));
+    }
+
+    @Test
+    void find_keepsLookupsApart() {
+        cache.find(Lookup.POST_ID, 1L, empty());
+        cache.find(Lookup.TAG_ID, 1L, empty());
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void find_doesNotRememberHits() {
+        Supplier<Optional<String>> found = () -> {
+            queries.incrementAndGet();
+            return Optional.of("post");
+        };
+
+        cache.find(Lookup.POST_ID, 1L, found);
+        assertThat(cache.find(Lookup.POST_ID, 1L, found)).contains("post");
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void invalidate_forgetsTheMiss() {
+        cache.find(Lookup.TAG_SLUG, "java", empty());
+
+        cache.invalidate(Lookup.TAG_SLUG, "java");
+        cache.find(Lookup.TAG_SLUG, "java", empty());
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void invalidate_waitsForCommit() {
+        cache.find(Lookup.POST_SLUG, "draft", empty());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(Lookup.POST_SLUG, "draft");
+            cache.find(Lookup.POST_SLUG, "draft", empty());
+            assertThat(queries).hasValue(1);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.find(Lookup.POST_SLUG, "draft", empty());
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void find_doesNotRecordMissThatRacedWithInvalidation() {
+        cache.find(Lookup.POST_ID, 5L, () -> {
+            queries.incrementAndGet();
+            // The post is created and committed while this lookup's query is running.
+            cache.invalidate(Lookup.POST_ID, 5L);
+            return Optional.empty();
+        });
+        cache.find(Lookup.POST_ID, 5L, empty());
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void disabled_alwaysQueries() {
+        var disabled = new NegativeLookupCache(new CacheProperties.Negative(false, 0, null));
+
+        disabled.find(Lookup.POST_ID, 1L, empty());
+        disabled.find(Lookup.POST_ID, 1L, empty());
+
+        assertThat(queries).hasValue(2);
+        assertThat(disabled.getStatistics().enabled()).isFalse();
+    }
+
+    private Supplier<Optional<Object>> empty() {
+        return () -> {
+            queries.incrementAndGet();
+            return Optional.empty();
+        };
+    }
+}
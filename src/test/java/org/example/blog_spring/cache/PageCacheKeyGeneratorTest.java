@@ -0,0 +1,57 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.service.TagService;
+import org.example.blog_spring.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class PageCacheKeyGeneratorTest {
+
+    private final PageCacheKeyGenerator generator = new PageCacheKeyGenerator();
+
+    @Test
+    void pageableOnlyMethods_getPageKeys() throws Exception {
+        Method getTags = TagService.class.getMethod("getTags", Pageable.class);
+
+        var first = generator.generate(null, getTags, PageRequest.of(1, 10));
+        var same = generator.generate(null, getTags, PageRequest.of(1, 10));
+        var sorted = generator.generate(null, getTags, PageRequest.of(1, 10, Sort.by("name")));
+
+        assertThat(first).isInstanceOf(PageCacheKey.class).isEqualTo(same);
+        assertThat(first).isNotEqualTo(sorted);
+    }
+
+    @Test
+    void keysDifferByCountMode() throws Exception {
+        Method getUsers = UserService.class.getMethod("getUsers", Pageable.class,
+                CountMode.class);
+
+        var exact = generator.generate(null, getUsers, PageRequest.of(0, 20), CountMode.EXACT);
+        var estimated = generator.generate(null, getUsers, PageRequest.of(0, 20),
+                CountMode.ESTIMATED);
+
+        assertThat(exact).isInstanceOf(PageCacheKey.class).isNotEqualTo(estimated);
+        assertThat(exact).isEqualTo(PageCacheKey.of(PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void otherParameterTypes_areRejected() throws Exception {
+        Method getTag = TagService.class.getMethod("getTag", Long.class);
+        Method getUsersByCursor = UserService.class.getMethod("getUsersByCursor", String.class,
+                int.class);
+
+        assertThatThrownBy(() -> generator.generate(null, getTag, 1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("TagService.getTag");
+        assertThatThrownBy(() -> generator.generate(null, getUsersByCursor, "cursor", 20))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
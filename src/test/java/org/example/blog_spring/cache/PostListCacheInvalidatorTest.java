@@ -0,0 +1,114 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.example.blog_spring.cache.PostListCacheInvalidator.PostSnapshot;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.TagSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+class PostListCacheInvalidatorTest {
+
+    private static final PostListCacheKey ALL =
+            PostListCacheKey.of(null, null, null, false, 0, 20, null);
+    private static final PostListCacheKey AUTHOR_1 =
+            PostListCacheKey.of(1L, null, null, false, 0, 20, null);
+    private static final PostListCacheKey AUTHOR_2 =
+            PostListCacheKey.of(2L, null, null, false, 0, 20, null);
+    private static final PostListCacheKey TAG_JAVA =
+            PostListCacheKey.of(null, "java", null, false, 0, 20, null);
+    private static final PostListCacheKey PUBLISHED =
+            PostListCacheKey.of(null, null, null, true, 0, 20, null);
+
+    private Cache cache;
+    private PostListCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        var cacheManager = new CaffeineCacheManager(PostListCacheInvalidator.CACHE_NAME);
+        cache = cacheManager.getCache(PostListCacheInvalidator.CACHE_NAME);
+        invalidator = new PostListCacheInvalidator(cacheManager);
+    }
+
+    @Test
+    void postChanged_evictsOnlyListingsThePostAppearsIn() {
+        for (var key : List.of(ALL, AUTHOR_1, AUTHOR_2, TAG_JAVA, PUBLISHED)) {
+            cache.put(key, Page.empty());
+        }
+
+        invalidator.postChanged(null, new PostSnapshot(1L, PostStatus.DRAFT, Set.of()));
+
+        assertThat(cache.get(ALL)).isNull();
+        assertThat(cache.get(AUTHOR_1)).isNull();
+        assertThat(cache.get(AUTHOR_2)).isNotNull();
+        assertThat(cache.get(TAG_JAVA)).isNotNull();
+        assertThat(cache.get(PUBLISHED)).isNotNull();
+        assertThat(invalidator.getStatistics())
+                .isEqualTo(new PostListCacheInvalidator.InvalidationStatistics(2, 3));
+    }
+
+    @Test
+    void postChanged_evictsListingsMatchingEitherSideOfAnUpdate() {
+        for (var key : List.of(AUTHOR_2, TAG_JAVA, PUBLISHED)) {
+            cache.put(key, Page.empty());
+        }
+
+        invalidator.postChanged(new PostSnapshot(1L, PostStatus.PUBLISHED, Set.of()),
+                new PostSnapshot(1L, PostStatus.DRAFT, Set.of("java")));
+
+        assertThat(cache.get(AUTHOR_2)).isNotNull();
+        assertThat(cache.get(TAG_JAVA)).isNull();
+        assertThat(cache.get(PUBLISHED)).isNull();
+    }
+
+    @Test
+    void postChanged_matchesSearchListingsOnTheirOtherFilters() {
+        var searchAuthor1 = PostListCacheKey.of(1L, null, "spring", false, 0, 20, null);
+        var searchAuthor2 = PostListCacheKey.of(2L, null, "spring", false, 0, 20, null);
+        cache.put(searchAuthor1, Page.empty());
+        cache.put(searchAuthor2, Page.empty());
+
+        invalidator.postChanged(new PostSnapshot(1L, PostStatus.DRAFT, Set.of()), null);
+
+        assertThat(cache.get(searchAuthor1)).isNull();
+        assertThat(cache.get(searchAuthor2)).isNotNull();
+    }
+
+    @Test
+    void tagChanged_evictsListingsFilteredByOrShowingTheTag() {
+        var withTag = new PageImpl<>(List.of(post(10L, new TagSummaryDto(5L, "Java", "java"))));
+        var withoutTag = new PageImpl<>(List.of(post(11L)));
+        cache.put(AUTHOR_1, withTag);
+        cache.put(AUTHOR_2, withoutTag);
+        cache.put(TAG_JAVA, Page.empty());
+
+        invalidator.tagChanged(5L, "java", "java-21");
+
+        assertThat(cache.get(AUTHOR_1)).isNull();
+        assertThat(cache.get(AUTHOR_2)).isNotNull();
+        assertThat(cache.get(TAG_JAVA)).isNull();
+    }
+
+    @Test
+    void unknownKeys_areAlwaysEvicted() {
+        cache.put(42, Page.empty());
+
+        invalidator.postChanged(null, new PostSnapshot(1L, PostStatus.DRAFT, Set.of()));
+
+        assertThat(cache.get(42)).isNull();
+    }
+
+    private static PostDto post(Long id, TagSummaryDto... tags) {
+        return new PostDto(id, 1L, "Title", "Content", "slug-" + id, PostStatus.PUBLISHED, null,
+                null, null, 0, Set.of(tags));
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class PostListCacheKeyGeneratorTest {
+
+    private final PostListCacheKeyGenerator generator = new PostListCacheKeyGenerator();
+
+    @Test
+    void getPosts_keysDifferBySort() throws Exception {
+        Method getPosts = getPosts();
+
+        var byCreated = generator.generate(null, getPosts, 1L, "java", null, true,
+                PageRequest.of(0, 20, Sort.by("createdAt")), CountMode.EXACT);
+        var byTitle = generator.generate(null, getPosts, 1L, "java", null, true,
+                PageRequest.of(0, 20, Sort.by("title")), CountMode.EXACT);
+        var byCreatedAgain = generator.generate(null, getPosts, 1L, "java", "  ", true,
+                PageRequest.of(0, 20, Sort.by("createdAt")), CountMode.EXACT);
+
+        assertThat(byCreated).isInstanceOf(PostListCacheKey.class);
+        assertThat(byCreated).isNotEqualTo(byTitle);
+        assertThat(byCreated).isEqualTo(byCreatedAgain).hasSameHashCodeAs(byCreatedAgain);
+    }
+
+    @Test
+    void getPosts_keysDifferByCountMode() throws Exception {
+        Method getPosts = getPosts();
+
+        var exact = generator.generate(null, getPosts, null, null, null, false,
+                PageRequest.of(0, 20), CountMode.EXACT);
+        var cached = generator.generate(null, getPosts, null, null, null, false,
+                PageRequest.of(0, 20), CountMode.CACHED);
+
+        assertThat(exact).isNotEqualTo(cached);
+    }
+
+    @Test
+    void otherParameterTypes_areRejected() throws Exception {
+        // Same arity as getPosts, but a cursor and a size where the page and count mode are.
+        Method getPostsByCursor = PostService.class.getMethod("getPostsByCursor", Long.class,
+                String.class, String.class, Boolean.class, String.class, int.class);
+
+        assertThatThrownBy(() -> generator.generate(null, getPostsByCursor, null, null, null,
+                false, "cursor", 20))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("PostService.getPostsByCursor");
+    }
+
+    private static Method getPosts() throws NoSuchMethodException {
+        return PostService.class.getMethod("getPosts", Long.class, String.class, String.class,
+                Boolean.class, Pageable.class, CountMode.class);
+    }
+}
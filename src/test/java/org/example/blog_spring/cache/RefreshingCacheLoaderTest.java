@@ -0,0 +1,122 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.exception.PostNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RefreshingCacheLoaderTest {
+
+    private static final Duration REFRESH = Duration.ofMinutes(1);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> refreshTasks = new ArrayDeque<>();
+    private SimpleMeterRegistry meterRegistry;
+    private Function<Object, Object> source;
+    private boolean rejectRefreshes;
+    private LoadingCache<Object, Object> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Executor executor = task -> {
+            if (rejectRefreshes) {
+                throw new RejectedExecutionException("full");
+            }
+            refreshTasks.add(task);
+        };
+        cache = Caffeine.newBuilder()
+                .refreshAfterWrite(REFRESH)
+                .ticker(nanos::get)
+                .executor(executor)
+                .build(new RefreshingCacheLoader("posts", key -> source.apply(key),
+                        meterRegistry));
+    }
+
+    @Test
+    void staleValueIsServedWhileRefreshRunsInBackground() {
+        source = key -> "v1";
+        assertThat(cache.get(1L)).isEqualTo("v1");
+
+        source = key -> "v2";
+        expireRefreshWindow();
+
+        assertThat(cache.get(1L)).isEqualTo("v1");
+        runRefreshTasks();
+        assertThat(cache.get(1L)).isEqualTo("v2");
+        assertThat(count("success")).isEqualTo(1);
+    }
+
+    @Test
+    void failedRefreshKeepsStaleValue() {
+        source = key -> "v1";
+        cache.get(1L);
+
+        source = key -> {
+            throw new IllegalStateException("database down");
+        };
+        expireRefreshWindow();
+        cache.get(1L);
+        runRefreshTasks();
+
+        assertThat(cache.getIfPresent(1L)).isEqualTo("v1");
+        assertThat(count("failure")).isEqualTo(1);
+    }
+
+    @Test
+    void refreshOfDeletedPostRemovesEntry() {
+        source = key -> "v1";
+        cache.get(1L);
+
+        source = key -> {
+            throw new PostNotFoundException((Long) key);
+        };
+        expireRefreshWindow();
+        cache.get(1L);
+        runRefreshTasks();
+
+        assertThat(cache.asMap()).doesNotContainKey(1L);
+        assertThat(count("removed")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedRefreshKeepsStaleValue() {
+        source = key -> "v1";
+        cache.get(1L);
+
+        source = key -> "v2";
+        rejectRefreshes = true;
+        expireRefreshWindow();
+
+        assertThat(cache.get(1L)).isEqualTo("v1");
+        assertThat(count("rejected")).isEqualTo(1);
+    }
+
+    private void expireRefreshWindow() {
+        nanos.addAndGet(REFRESH.plusSeconds(1).toNanos());
+    }
+
+    private void runRefreshTasks() {
+        Runnable task;
+        while ((task = refreshTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("blog.cache.refresh").tag("cache", "posts")
+                .tag("result", result).counter().count();
+    }
+}
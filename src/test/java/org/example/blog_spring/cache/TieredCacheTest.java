@@ -0,0 +1,122 @@
+package org.example.blog_spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+class TieredCacheTest {
+
+    private ClockCache<Object, Object> l1;
+    private CaffeineCache l2;
+    private TieredCache cache;
+
+    @BeforeEach
+    void setUp() {
+        l1 = new ClockCache<>(16);
+        l2 = new CaffeineCache("posts",
+                com.github.benmanes.caffeine.cache.Caffeine.newBuilder().build(), false);
+        cache = new TieredCache(l1, l2);
+    }
+
+    @Test
+    void l2HitIsPromotedToL1() {
+        l2.put(1L, "post");
+
+        assertThat(cache.get(1L).get()).isEqualTo("post");
+        assertThat(l1.get(1L)).isEqualTo("post");
+    }
+
+    @Test
+    void loadGoesThroughL2AndFillsBothLevels() {
+        var value = cache.get(1L, () -> "loaded");
+
+        assertThat(value).isEqualTo("loaded");
+        assertThat(l2.get(1L).get()).isEqualTo("loaded");
+        assertThat(l1.get(1L)).isEqualTo("loaded");
+    }
+
+    @Test
+    void evictRemovesFromBothLevels() {
+        cache.put(1L, "post");
+
+        cache.evict(1L);
+
+        assertThat(l1.get(1L)).isNull();
+        assertThat(l2.get(1L)).isNull();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void evictDuringAnL2Read_isNotUndoneByThePromotion() {
+        var racingL2 = new RacingCache();
+        var tiered = new TieredCache(l1, racingL2);
+        racingL2.put(1L, "stale");
+        // The value is read from L2 before the eviction and promoted after it.
+        racingL2.afterRead = () -> tiered.evict(1L);
+
+        assertThat(tiered.get(1L).get()).isEqualTo("stale");
+
+        assertThat(l1.get(1L)).isNull();
+        racingL2.afterRead = () -> { };
+        assertThat(tiered.get(1L)).isNull();
+    }
+
+    @Test
+    void evictDuringALoad_isNotUndoneByThePromotion() {
+        var racingL2 = new RacingCache();
+        var tiered = new TieredCache(l1, racingL2);
+        racingL2.afterRead = () -> tiered.evict(1L);
+
+        assertThat(tiered.get(1L, () -> "stale")).isEqualTo("stale");
+
+        assertThat(l1.get(1L)).isNull();
+    }
+
+    @Test
+    void evictOfAnotherKeyDuringARead_onlySkipsThePromotion() {
+        var racingL2 = new RacingCache();
+        var tiered = new TieredCache(l1, racingL2);
+        racingL2.put(1L, "post");
+        racingL2.afterRead = () -> tiered.evict(2L);
+
+        tiered.get(1L);
+
+        // Any eviction drops the promotion, which only costs one more L2 read.
+        assertThat(l1.get(1L)).isNull();
+        racingL2.afterRead = () -> { };
+        tiered.get(1L);
+        assertThat(l1.get(1L)).isEqualTo("post");
+    }
+
+    /**
+     * L2 that runs {@code afterRead} between reading a value and returning it, where an eviction
+     * from another thread can land.
+     */
+    private static final class RacingCache extends CaffeineCache {
+
+        private Runnable afterRead = () -> { };
+
+        RacingCache() {
+            super("posts", com.github.benmanes.caffeine.cache.Caffeine.newBuilder().build(),
+                    false);
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            var wrapper = super.get(key);
+            afterRead.run();
+            return wrapper;
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            T value = super.get(key, valueLoader);
+            afterRead.run();
+            return value;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.blog_spring.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes between two H2 databases standing in for the primary and the replica; each holds a row
+ * naming itself, so a query shows where it ran.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicBoolean replicaUsable = new AtomicBoolean(true);
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        var routing = new ReadWriteRoutingDataSource(database("primary"), database("replica"),
+                replicaUsable::get, meterRegistry);
+        routing.afterPropertiesSet();
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        // The proxy probes a real connection for its defaults once, outside any transaction.
+        DataSourceUtils.releaseConnection(DataSourceUtils.getConnection(dataSource), dataSource);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.end();
+    }
+
+    @Test
+    void readOnlyTransaction_usesReplica() {
+        assertThat(serverFor(readOnly)).isEqualTo("replica");
+        assertThat(routed("replica", "read_only")).isEqualTo(1.0);
+    }
+
+    @Test
+    void readWriteTransaction_usesPrimary() {
+        double before = routed("primary", "read_write");
+
+        assertThat(serverFor(readWrite)).isEqualTo("primary");
+        assertThat(routed("primary", "read_write")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void readOnlyTransaction_usesPrimary_whileReplicaLags() {
+        replicaUsable.set(false);
+
+        assertThat(serverFor(readOnly)).isEqualTo("primary");
+        assertThat(routed("primary", "replica_lagging")).isEqualTo(1.0);
+    }
+
+    @Test
+    void readsAfterCommittedWrite_stayOnPrimaryForTheRequest() {
+        var pins = new AtomicInteger();
+        ReadYourWrites.begin(false, pins::incrementAndGet);
+
+        assertThat(serverFor(readOnly)).isEqualTo("replica");
+        readWrite.executeWithoutResult(status -> write(1));
+        readWrite.executeWithoutResult(status -> write(2));
+
+        assertThat(serverFor(readOnly)).isEqualTo("primary");
+        assertThat(routed("primary", "read_your_writes")).isEqualTo(1.0);
+        assertThat(pins).hasValue(1);
+    }
+
+    @Test
+    void rolledBackWrite_doesNotPin() {
+        var pins = new AtomicInteger();
+        ReadYourWrites.begin(false, pins::incrementAndGet);
+
+        readWrite.executeWithoutResult(status -> {
+            write(1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(serverFor(readOnly)).isEqualTo("replica");
+        assertThat(pins).hasValue(0);
+    }
+
+    @Test
+    void readWriteTransactionWithoutWrites_doesNotPin() {
+        var pins = new AtomicInteger();
+        ReadYourWrites.begin(false, pins::incrementAndGet);
+
+        assertThat(serverFor(readWrite)).isEqualTo("primary");
+
+        assertThat(serverFor(readOnly)).isEqualTo("replica");
+        assertThat(pins).hasValue(0);
+    }
+
+    @Test
+    void connectionsOutsideATransaction_useThePrimaryUnderTheirOwnReason() {
+        double before = routed("primary", "no_transaction");
+        double writesBefore = routed("primary", "read_write");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM marker", String.class))
+                .isEqualTo("primary");
+        assertThat(routed("primary", "no_transaction")).isEqualTo(before + 1);
+        assertThat(routed("primary", "read_write")).isEqualTo(writesBefore);
+    }
+
+    @Test
+    void cacheFill_readsPrimary() {
+        assertThat(CacheFillRouting.onPrimary(() -> serverFor(readOnly))).isEqualTo("primary");
+        assertThat(routed("primary", "cache_fill")).isEqualTo(1.0);
+        assertThat(serverFor(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void cacheableMethod_readsPrimary() {
+        var factory = new AspectJProxyFactory(new Lookups(() -> serverFor(readOnly)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(CacheFillRouting.class);
+        Lookups lookups = factory.getProxy();
+
+        assertThat(lookups.cached()).isEqualTo("primary");
+        assertThat(lookups.uncached()).isEqualTo("replica");
+    }
+
+    @Test
+    void pinnedRequest_readsPrimary() {
+        ReadYourWrites.begin(true, () -> {
+        });
+
+        assertThat(serverFor(readOnly)).isEqualTo("primary");
+    }
+
+    // As the outbox does for every change.
+    private void write(int hits) {
+        jdbcTemplate.update("UPDATE marker SET hits = ?", hits);
+        ReadYourWrites.recordWrite();
+    }
+
+    private String serverFor(TransactionTemplate transaction) {
+        return transaction.execute(
+                status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private double routed(String route, String reason) {
+        return meterRegistry.get("blog.datasource.route").tag("route", route)
+                .tag("reason", reason).counter().count();
+    }
+
+    private static DataSource database(String name) {
+        var dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(16), hits INT)");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    static class Lookups {
+
+        private final Supplier<String> server;
+
+        Lookups(Supplier<String> server) {
+            this.server = server;
+        }
+
+        @Cacheable("markers")
+        public String cached() {
+            return server.get();
+        }
+
+        public String uncached() {
+            return server.get();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.blog_spring.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.Cookie;
+
+class ReadYourWritesFilterTest {
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(10_000), ZoneOffset.UTC);
+    private final ReadYourWritesFilter filter =
+            new ReadYourWritesFilter(Duration.ofSeconds(5), clock);
+
+    @Test
+    void committedWrite_setsCookieUntilWindowEnds() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/posts"), response,
+                (req, res) -> ReadYourWrites.writeCommitted());
+
+        var cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getValue()).isEqualTo("15000");
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+        assertThat(ReadYourWrites.isActive()).isFalse();
+    }
+
+    @Test
+    void unexpiredCookie_pinsRequest() throws Exception {
+        assertThat(pinned(new Cookie(ReadYourWritesFilter.COOKIE, "15000"))).isTrue();
+        assertThat(pinned(new Cookie(ReadYourWritesFilter.COOKIE, "9000"))).isFalse();
+        assertThat(pinned(new Cookie(ReadYourWritesFilter.COOKIE, "garbage"))).isFalse();
+        assertThat(pinned()).isFalse();
+    }
+
+    private boolean pinned(Cookie... cookies) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/posts");
+        if (cookies.length > 0) {
+            request.setCookies(cookies);
+        }
+        var pinned = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> pinned.set(ReadYourWrites.isPinned()));
+        return pinned.get();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.blog_spring.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void uniqueViolation_isAConflict() {
+        var ex = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("duplicate key value violates unique constraint", "23505"));
+
+        var response = handler.handleDataIntegrityViolation(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void duplicateKey_isAConflict() {
+        var response = handler.handleDataIntegrityViolation(
+                new DuplicateKeyException("duplicate key"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void otherIntegrityViolations_areUnexpected() {
+        var notNull = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("null value in column \"title\"", "23502"));
+        var foreignKey = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("violates foreign key constraint", "23503"));
+
+        assertThat(handler.handleDataIntegrityViolation(notNull).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(handler.handleDataIntegrityViolation(foreignKey).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
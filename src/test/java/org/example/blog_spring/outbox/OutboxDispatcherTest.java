@@ -0,0 +1,164 @@
+package org.example.blog_spring.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.repository.jdbc.OutboxRepository;
+import org.example.blog_spring.repository.jdbc.OutboxRepository.Backlog;
+import org.example.blog_spring.repository.jdbc.OutboxRepository.EventRow;
+import org.example.blog_spring.repository.jdbc.OutboxRepository.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    private static final long HORIZON = 100;
+    private static final Position START = Position.startingAt(HORIZON);
+    private static final EventRow FIRST = row(100, 1);
+    private static final EventRow SECOND = row(101, 2);
+
+    @Mock
+    private OutboxRepository outboxRepository;
+    // Of different types, as subscribers are told apart by class in the metrics.
+    @Mock
+    private EvictingSubscriber first;
+    @Mock
+    private PushingSubscriber second;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        given(outboxRepository.horizon()).willReturn(HORIZON);
+        dispatcher = new OutboxDispatcher(outboxRepository, List.of(first, second),
+                transactionManager, meterRegistry, 2, 3);
+    }
+
+    @Test
+    void dispatch_deliversToEverySubscriberInOrderFromWhereTheNodeStarted() {
+        given(outboxRepository.findAfter(START, HORIZON, 2)).willReturn(List.of(FIRST, SECOND));
+
+        assertThat(dispatcher.dispatch()).isEqualTo(2);
+
+        var order = inOrder(first, second);
+        order.verify(first).onChange(FIRST.event());
+        order.verify(first).onChange(SECOND.event());
+        order.verify(second).onChange(FIRST.event());
+        order.verify(second).onChange(SECOND.event());
+        assertThat(count(first, "delivered")).isEqualTo(2);
+        assertThat(meterRegistry.get("blog.outbox.lag").timers()).hasSize(2);
+
+        // The next read starts after what every subscriber has taken.
+        given(outboxRepository.findAfter(SECOND.position(), HORIZON, 2)).willReturn(List.of());
+        assertThat(dispatcher.dispatch()).isZero();
+    }
+
+    @Test
+    void dispatch_holdsBackOnlyTheSubscriberThatFailed() {
+        given(outboxRepository.findAfter(START, HORIZON, 2)).willReturn(List.of(FIRST, SECOND));
+        willThrow(new IllegalStateException("boom")).given(second).onChange(FIRST.event());
+
+        // Nobody is past the failing subscriber, so the batch counts as not delivered.
+        assertThat(dispatcher.dispatch()).isZero();
+
+        verify(first).onChange(SECOND.event());
+        verify(second, never()).onChange(SECOND.event());
+        assertThat(count(second, "retried")).isEqualTo(1);
+
+        // The failing subscriber is offered the event again; the other one is not.
+        dispatcher.dispatch();
+        verify(first, times(1)).onChange(FIRST.event());
+        verify(second, times(2)).onChange(FIRST.event());
+    }
+
+    @Test
+    void dispatch_skipsAnEventAfterMaxAttemptsAndNeverThrows() {
+        given(outboxRepository.findAfter(START, HORIZON, 2)).willReturn(List.of(FIRST, SECOND));
+        willThrow(new IllegalStateException("boom")).given(first).onChange(FIRST.event());
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+        assertThat(dispatcher.dispatch()).isEqualTo(2);
+
+        verify(first, times(3)).onChange(FIRST.event());
+        verify(first).onChange(SECOND.event());
+        assertThat(count(first, "retried")).isEqualTo(2);
+        assertThat(count(first, "skipped")).isEqualTo(1);
+
+        given(outboxRepository.findAfter(any(), anyLong(), anyInt()))
+                .willThrow(new IllegalStateException("database down"));
+        assertThat(dispatcher.dispatch()).isZero();
+    }
+
+    @Test
+    void deliverCommitted_handsEventsToEverySubscriberWithoutMovingTheirPositions() {
+        willThrow(new IllegalStateException("boom")).given(first).onChange(FIRST.event());
+
+        dispatcher.deliverCommitted(List.of(FIRST.event(), SECOND.event()));
+
+        verify(first).onChange(SECOND.event());
+        verify(second).onChange(FIRST.event());
+        verify(second).onChange(SECOND.event());
+
+        given(outboxRepository.findAfter(START, HORIZON, 2)).willReturn(List.of(FIRST));
+        dispatcher.dispatch();
+        verify(second, times(2)).onChange(FIRST.event());
+    }
+
+    @Test
+    void drain_dispatchesFullBatchesThenRefreshesTheBacklogGauges() {
+        var oldest = Instant.now().minusSeconds(60);
+        given(outboxRepository.findAfter(START, HORIZON, 2)).willReturn(List.of(FIRST, SECOND));
+        given(outboxRepository.findAfter(SECOND.position(), HORIZON, 2))
+                .willReturn(List.of(row(102, 3)));
+        given(outboxRepository.backlog(new Position(102, 3))).willReturn(new Backlog(7, oldest));
+
+        dispatcher.drain();
+
+        verify(outboxRepository, times(2)).findAfter(any(), anyLong(), anyInt());
+        assertThat(meterRegistry.get("blog.outbox.pending").gauge().value()).isEqualTo(7);
+        assertThat(meterRegistry.get("blog.outbox.oldest.age").gauge().value())
+                .isGreaterThanOrEqualTo(60);
+    }
+
+    private double count(ChangeSubscriber subscriber, String result) {
+        return meterRegistry.get("blog.outbox.events")
+                .tag("subscriber", subscriber.getClass().getSimpleName())
+                .tag("result", result)
+                .counter().count();
+    }
+
+    interface EvictingSubscriber extends ChangeSubscriber {
+    }
+
+    interface PushingSubscriber extends ChangeSubscriber {
+    }
+
+    private static EventRow row(long txId, long id) {
+        return new EventRow(new Position(txId, id), new ChangeEvent(id, Entity.POST, id,
+                null, Action.UPDATED, "post-" + id, Instant.now(), false));
+    }
+}
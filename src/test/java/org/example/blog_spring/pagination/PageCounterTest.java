@@ -0,0 +1,171 @@
+package org.example.blog_spring.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.config.CacheProperties;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+import org.h2.Driver;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class PageCounterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PageCounter counter = new PageCounter(new CacheProperties.Counts(100, null),
+            null, false, meterRegistry);
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @Test
+    void lastPage_derivesExactTotalWithoutCounting() {
+        var page = counter.page(slice(List.of("a", "b"), 2, 10, false), CountMode.EXACT,
+                comments(1L, 999));
+
+        assertThat(page.getTotalElements()).isEqualTo(22);
+        assertThat(isExact(page)).isTrue();
+        assertThat(counts).hasValue(0);
+        assertThat(meterRegistry.get("blog.page.count").tag("source", "derived").counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void exact_countsEveryRequest() {
+        counter.page(slice(List.of("a"), 0, 1, true), CountMode.EXACT, comments(1L, 40));
+        var page = counter.page(slice(List.of("a"), 0, 1, true), CountMode.EXACT,
+                comments(1L, 40));
+
+        assertThat(page.getTotalElements()).isEqualTo(40);
+        assertThat(isExact(page)).isTrue();
+        assertThat(counts).hasValue(2);
+    }
+
+    @Test
+    void cached_reusesEarlierCountAsInexact() {
+        var first = counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED,
+                comments(1L, 40));
+        var second = counter.page(slice(List.of("a"), 3, 1, true), CountMode.CACHED,
+                comments(1L, 41));
+
+        assertThat(isExact(first)).isTrue();
+        assertThat(second.getTotalElements()).isEqualTo(40);
+        assertThat(isExact(second)).isFalse();
+        assertThat(counts).hasValue(1);
+    }
+
+    @Test
+    void cached_keepsFiltersApart() {
+        counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED, comments(1L, 40));
+        var otherPost = counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED,
+                comments(2L, 7));
+
+        assertThat(otherPost.getTotalElements()).isEqualTo(7);
+        assertThat(counts).hasValue(2);
+    }
+
+    @Test
+    void cached_recountsWhenPageProvesMoreRows() {
+        counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED, comments(1L, 5));
+        var page = counter.page(slice(List.of("a"), 5, 1, true), CountMode.CACHED,
+                comments(1L, 50));
+
+        assertThat(page.getTotalElements()).isEqualTo(50);
+        assertThat(isExact(page)).isTrue();
+    }
+
+    @Test
+    void invalidate_dropsTheListingsTotalAfterCommit() {
+        counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED, comments(1L, 40));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.invalidate(Scope.COMMENTS, 1L);
+            counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED, comments(1L, 41));
+            assertThat(counts).hasValue(1);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        var page = counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED,
+                comments(1L, 41));
+
+        assertThat(page.getTotalElements()).isEqualTo(41);
+        assertThat(counts).hasValue(2);
+    }
+
+    @Test
+    void invalidateScope_dropsEveryTotalInIt() {
+        counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED, comments(1L, 40));
+        counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED, comments(2L, 40));
+
+        counter.invalidate(Scope.COMMENTS);
+        counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED, comments(1L, 40));
+        counter.page(slice(List.of("a"), 0, 1, true), CountMode.CACHED, comments(2L, 40));
+
+        assertThat(counts).hasValue(4);
+    }
+
+    @Test
+    void estimated_countsExactly_whenDatabaseIsNotPostgres() {
+        var page = counter.page(slice(List.of("a"), 0, 1, true), CountMode.ESTIMATED,
+                comments(1L, 40));
+
+        assertThat(page.getTotalElements()).isEqualTo(40);
+        assertThat(isExact(page)).isTrue();
+    }
+
+    @Test
+    void estimated_countsExactly_whenEstimateFails() {
+        // H2 has neither pg_class nor PostgreSQL's EXPLAIN output.
+        var jdbcClient = JdbcClient.create(
+                new SimpleDriverDataSource(new Driver(), "jdbc:h2:mem:page-counter"));
+        var estimating = new PageCounter(new CacheProperties.Counts(100, null), jdbcClient, true,
+                meterRegistry);
+
+        var table = estimating.page(slice(List.of("a"), 0, 1, true), CountMode.ESTIMATED,
+                CountQuery.table(Scope.USERS, "users", () -> 12));
+        var filtered = estimating.page(slice(List.of("a"), 0, 1, true), CountMode.ESTIMATED,
+                comments(1L, 40));
+
+        assertThat(table.getTotalElements()).isEqualTo(12);
+        assertThat(filtered.getTotalElements()).isEqualTo(40);
+        assertThat(isExact(filtered)).isTrue();
+    }
+
+    @Test
+    void planRows_readsTopNodeEstimate() {
+        assertThat(PageCounter.planRows(
+                "Index Only Scan using idx_comments_post on comments  "
+                        + "(cost=0.29..8.31 rows=137 width=4)"))
+                .isEqualTo(OptionalLong.of(137));
+        assertThat(PageCounter.planRows("Result")).isEmpty();
+    }
+
+    private CountQuery comments(Long postId, long total) {
+        return CountQuery.filtered(Scope.COMMENTS, List.of(postId),
+                "SELECT 1 FROM comments WHERE post_id = :postId", Map.of("postId", postId),
+                () -> {
+                    counts.incrementAndGet();
+                    return total;
+                });
+    }
+
+    private static SliceImpl<String> slice(List<String> content, int page, int size,
+            boolean hasNext) {
+        return new SliceImpl<>(content, PageRequest.of(page, size), hasNext);
+    }
+
+    private static boolean isExact(Page<?> page) {
+        return ((CountedPage<?>) page).isTotalExact();
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.blog_spring.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.example.blog_spring.domain.Comment;
+import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.domain.Review;
+import org.example.blog_spring.domain.Tag;
+import org.example.blog_spring.domain.User;
+import org.example.blog_spring.dto.CreateCommentRequest;
+import org.example.blog_spring.dto.CreatePostRequest;
+import org.example.blog_spring.dto.CreateReviewRequest;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository.Reviewer;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.EntityManager;
+
+class BulkInsertRepositoryTest extends AbstractRepositoryTest {
+
+    @Autowired
+    private BulkInsertRepository bulkInserts;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String id;
+    private User user;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        id = UUID.randomUUID().toString().substring(0, 8);
+        var now = Instant.now();
+        user = userRepository.saveAndFlush(User.builder().username("bulk-" + id)
+                .email("bulk-" + id + "@example.com").displayName("Bulk").passwordHash("")
+                .createdAt(now).updatedAt(now).build());
+        post = postRepository.saveAndFlush(Post.builder().authorId(user.getId()).title("Post")
+                .content("Content").slug("bulk-" + id).status(PostStatus.PUBLISHED)
+                .createdAt(now).updatedAt(now).build());
+    }
+
+    @Test
+    void insertPosts_andTheirTagsByReadBackIds() {
+        var tag = tagRepository.saveAndFlush(Tag.builder().name("Bulk " + id).slug("bulk-" + id)
+                .createdAt(Instant.now()).build());
+        var slugs = List.of("bulk-a-" + id, "bulk-b-" + id);
+
+        bulkInserts.insertPosts(slugs.stream()
+                .map(slug -> new CreatePostRequest(user.getId(), "Title", "Body", slug, null))
+                .toList(), Instant.now());
+        var ids = bulkInserts.postIdsBySlug(slugs);
+        bulkInserts.insertPostTags(List.of(new long[] {ids.get(slugs.getFirst()), tag.getId()}));
+        entityManager.clear();
+
+        assertThat(bulkInserts.existingPostSlugs(List.of(slugs.get(1), "bulk-none-" + id)))
+                .containsExactly(slugs.get(1));
+        var inserted = postRepository.findById(ids.get(slugs.getFirst())).orElseThrow();
+        assertThat(inserted.getStatus()).isEqualTo(PostStatus.DRAFT);
+        assertThat(inserted.getTags()).extracting(Tag::getId).containsExactly(tag.getId());
+        assertThat(bulkInserts.tagSlugs(List.of(tag.getId(), -1L)))
+                .isEqualTo(Map.of(tag.getId(), tag.getSlug()));
+        assertThat(bulkInserts.existingIds(Table.POSTS, Set.copyOf(ids.values())))
+                .containsExactlyInAnyOrderElementsOf(ids.values());
+    }
+
+    @Test
+    void insertComments_andShiftCommentCounts() {
+        var parent = commentRepository.saveAndFlush(Comment.builder().postId(post.getId())
+                .userId(user.getId()).content("parent").createdAt(Instant.now())
+                .updatedAt(Instant.now()).build());
+
+        var ids = bulkInserts.insertComments(List.of(
+                new CreateCommentRequest(post.getId(), user.getId(), null, "one"),
+                new CreateCommentRequest(post.getId(), user.getId(), parent.getId(), "two")),
+                Instant.now());
+        bulkInserts.adjustCommentCounts(Map.of(post.getId(), 2L));
+        entityManager.clear();
+
+        assertThat(commentRepository.countByPostId(post.getId())).isEqualTo(3);
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getCommentCount())
+                .isEqualTo(2);
+        assertThat(bulkInserts.commentPostIds(List.of(parent.getId(), -1L)))
+                .isEqualTo(Map.of(parent.getId(), post.getId()));
+        // The ids handed back are those of the rows, in order.
+        assertThat(ids).hasSize(2);
+        assertThat(commentRepository.findById(ids.get(1))).get()
+                .extracting(Comment::getParentId).isEqualTo(parent.getId());
+    }
+
+    @Test
+    void insertReviews_areFoundAsExistingReviewers() {
+        var ids = bulkInserts.insertReviews(List.of(new CreateReviewRequest(post.getId(),
+                user.getId(), (short) 4, null, "Good", null)), Instant.now());
+        entityManager.clear();
+
+        assertThat(reviewRepository.findByPostIdAndUserId(post.getId(), user.getId()))
+                .get().extracting(Review::getId, Review::getRating, Review::isVerified)
+                .containsExactly(ids.getFirst(), (short) 4, false);
+        assertThat(bulkInserts.existingReviewers(List.of(post.getId()), List.of(user.getId())))
+                .containsExactly(new Reviewer(post.getId(), user.getId()));
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.blog_spring.repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -8,8 +9,11 @@ import org.example.blog_spring.domain.Comment;
 import org.example.blog_spring.domain.Post;
 import org.example.blog_spring.domain.PostStatus;
 import org.example.blog_spring.domain.User;
+import org.example.blog_spring.repository.jdbc.CommentTreeRepository;
+import org.example.blog_spring.repository.jdbc.CommentTreeRow;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 
 class CommentRepositoryTest extends AbstractRepositoryTest {
@@ -17,6 +21,9 @@ class CommentRepositoryTest extends AbstractRepositoryTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private CommentTreeRepository commentTreeRepository;
+
     @Autowired
     private PostRepository postRepository;
 
@@ -77,6 +84,26 @@ class CommentRepositoryTest extends AbstractRepositoryTest {
         assertThat(page.getContent().getFirst().getUserId()).isEqualTo(userId1);
     }
 
+    @Test
+    void firstAndNextSliceByPostId_walkThePostOldestFirstBreakingTiesById() {
+        var userId = ensureUser("u1", "u1@example.com");
+        var postId = ensurePost(userId);
+        var t = Instant.parse("2024-01-01T00:00:00Z");
+        var first = commentRepository.save(Comment.builder().postId(postId).userId(userId)
+                .content("first").createdAt(t).updatedAt(t).build());
+        var tied = commentRepository.save(Comment.builder().postId(postId).userId(userId)
+                .content("tied").createdAt(t).updatedAt(t).build());
+        var later = commentRepository.save(Comment.builder().postId(postId).userId(userId)
+                .parentId(first.getId()).content("reply").createdAt(t.plusSeconds(1))
+                .updatedAt(t).build());
+
+        var slice = commentRepository.findFirstSliceByPostId(postId, Limit.of(2));
+        var rest = commentRepository.findNextSliceByPostId(postId, t, tied.getId(), 2);
+
+        assertThat(slice).extracting(Comment::getId).containsExactly(first.getId(), tied.getId());
+        assertThat(rest).extracting(Comment::getId).containsExactly(later.getId());
+    }
+
     @Test
     void countByPostId_countsCommentsCorrectly() {
         var userId = ensureUser("u1", "u1@example.com");
@@ -87,5 +114,74 @@ class CommentRepositoryTest extends AbstractRepositoryTest {
 
         assertThat(commentRepository.countByPostId(postId)).isEqualTo(2L);
     }
-}
 
+    @Test
+    void commentTree_loadsOldestRootsWithRepliesDownToDepth() {
+        var userId = ensureUser("u1", "u1@example.com");
+        var postId = ensurePost(userId);
+        var start = Instant.now().minusSeconds(60);
+        var first = saveComment(postId, userId, null, start);
+        var second = saveComment(postId, userId, null, start.plusSeconds(1));
+        saveComment(postId, userId, null, start.plusSeconds(2));
+        var reply = saveComment(postId, userId, first, start.plusSeconds(3));
+        var nested = saveComment(postId, userId, reply, start.plusSeconds(4));
+        saveComment(postId, userId, nested, start.plusSeconds(5));
+
+        var rows = commentTreeRepository.findThreads(postId, 2, 3);
+
+        assertThat(rows).extracting(row -> row.comment().id())
+                .containsExactly(first, second, reply, nested);
+        assertThat(rows).extracting(CommentTreeRow::depth).containsExactly(1, 1, 2, 3);
+        assertThat(rows).extracting(CommentTreeRow::moreReplies)
+                .containsExactly(false, false, false, true);
+    }
+
+    @Test
+    void commentTree_loadsOneThreadOfThePost() {
+        var userId = ensureUser("u1", "u1@example.com");
+        var postId = ensurePost(userId);
+        var otherPostId = ensurePost(userId);
+        var start = Instant.now().minusSeconds(60);
+        var root = saveComment(postId, userId, null, start);
+        var reply = saveComment(postId, userId, root, start.plusSeconds(1));
+        saveComment(postId, userId, null, start.plusSeconds(2));
+
+        assertThat(commentTreeRepository.findThread(postId, reply, 5))
+                .extracting(row -> row.comment().id()).containsExactly(reply);
+        assertThat(commentTreeRepository.findThread(postId, root, 5))
+                .extracting(row -> row.comment().id()).containsExactly(root, reply);
+        assertThat(commentTreeRepository.findThread(otherPostId, root, 5)).isEmpty();
+    }
+
+    private Long saveComment(Long postId, Long userId, Long parentId, Instant createdAt) {
+        // Flushed, since the tree is read with JDBC rather than through the persistence context.
+        return commentRepository.saveAndFlush(Comment.builder().postId(postId).userId(userId)
+                .parentId(parentId).content("c").createdAt(createdAt).updatedAt(createdAt)
+                .build()).getId();
+    }
+
+    @Test
+    void findTopLevelPerPost_andFindRepliesPerParent_limitEachParentOnItsOwn() {
+        var userId = ensureUser("u1", "u1@example.com");
+        var postId1 = ensurePost(userId);
+        var postId2 = ensurePost(userId);
+
+        var root1 = commentRepository.save(buildComment(postId1, userId, "root 1"));
+        commentRepository.save(buildComment(postId1, userId, "root 1b"));
+        var root2 = commentRepository.save(buildComment(postId2, userId, "root 2"));
+        for (var content : List.of("reply", "reply b")) {
+            var reply = buildComment(postId1, userId, content);
+            reply.setParentId(root1.getId());
+            commentRepository.save(reply);
+        }
+        // The native queries read the table, not the persistence context.
+        commentRepository.flush();
+
+        assertThat(commentRepository.findTopLevelPerPost(List.of(postId1, postId2), 1))
+                .extracting(Comment::getContent).containsExactly("root 1", "root 2");
+        assertThat(commentRepository.findRepliesPerParent(List.of(root1.getId(), root2.getId()),
+                1)).extracting(Comment::getContent).containsExactly("reply");
+        assertThat(commentRepository.findRepliesPerParent(List.of(root1.getId()), 5))
+                .extracting(Comment::getContent).containsExactly("reply", "reply b");
+    }
+}
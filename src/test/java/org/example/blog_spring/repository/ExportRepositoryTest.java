@@ -0,0 +1,107 @@
+package org.example.blog_spring.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import org.example.blog_spring.domain.Comment;
+import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.domain.Tag;
+import org.example.blog_spring.domain.User;
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.TagSummaryDto;
+import org.example.blog_spring.repository.jdbc.ExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class ExportRepositoryTest extends AbstractRepositoryTest {
+
+    // Later than anything else in the database, so only this test's rows are exported.
+    private static final Instant SINCE = Instant.parse("2100-01-01T00:00:00Z");
+
+    @Autowired
+    private ExportRepository exportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private String id;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        id = UUID.randomUUID().toString().substring(0, 8);
+        var now = Instant.now();
+        user = userRepository.saveAndFlush(User.builder().username("export-" + id)
+                .email("export-" + id + "@example.com").displayName("Export").passwordHash("")
+                .createdAt(now).updatedAt(now).build());
+    }
+
+    @Test
+    void streamPosts_changedSinceOldestChangeFirst() {
+        var tag = tagRepository.saveAndFlush(Tag.builder().name("Export " + id)
+                .slug("export-" + id).createdAt(Instant.now()).build());
+        var later = post("later", SINCE.plusSeconds(20), Set.of(tag));
+        var earlier = post("earlier", SINCE.plusSeconds(10), Set.of());
+        var at = post("at", SINCE, Set.of());
+        post("before", SINCE.minusSeconds(1), Set.of());
+
+        try (var posts = exportRepository.streamPosts(SINCE, null)) {
+            var exported = exportRepository.withTags(posts.toList());
+
+            assertThat(exported).extracting(PostDto::id)
+                    .containsExactly(at.getId(), earlier.getId(), later.getId());
+            assertThat(exported.get(2).tags())
+                    .containsExactly(new TagSummaryDto(tag.getId(), tag.getName(), tag.getSlug()));
+        }
+    }
+
+    @Test
+    void streamPosts_afterIdResumesWithinATieOnUpdatedAt() {
+        var tied = SINCE.plusSeconds(10);
+        var first = post("first", tied, Set.of());
+        var second = post("second", tied, Set.of());
+        var third = post("third", tied, Set.of());
+        var later = post("later", SINCE.plusSeconds(20), Set.of());
+
+        try (var posts = exportRepository.streamPosts(tied, first.getId())) {
+            assertThat(posts.map(PostDto::id))
+                    .containsExactly(second.getId(), third.getId(), later.getId());
+        }
+    }
+
+    @Test
+    void streamComments_withoutUpdatedSinceIncludesEveryComment() {
+        var post = post("commented", Instant.now(), Set.of());
+        var comment = commentRepository.saveAndFlush(Comment.builder().postId(post.getId())
+                .userId(user.getId()).content("exported").createdAt(Instant.now())
+                .updatedAt(SINCE.plusSeconds(5)).build());
+
+        try (var all = exportRepository.streamComments(null, null);
+                var changed = exportRepository.streamComments(SINCE, null)) {
+            assertThat(all.map(CommentDto::id)).contains(comment.getId());
+            assertThat(changed).singleElement().extracting(CommentDto::content)
+                    .isEqualTo("exported");
+        }
+    }
+
+    private Post post(String name, Instant updatedAt, Set<Tag> tags) {
+        return postRepository.saveAndFlush(Post.builder().authorId(user.getId()).title(name)
+                .content("Content").slug(name + "-" + id).status(PostStatus.PUBLISHED)
+                .createdAt(Instant.now()).updatedAt(updatedAt).tags(tags).build());
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.blog_spring.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import org.example.blog_spring.domain.Comment;
+import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.domain.Review;
+import org.example.blog_spring.domain.Tag;
+import org.example.blog_spring.domain.User;
+import org.example.blog_spring.mapper.CommentMapper;
+import org.example.blog_spring.mapper.PostMapper;
+import org.example.blog_spring.mapper.ReviewMapper;
+import org.example.blog_spring.mapper.TagMapper;
+import org.example.blog_spring.mapper.UserMapper;
+import org.example.blog_spring.repository.jdbc.CommentReadRepository;
+import org.example.blog_spring.repository.jdbc.PostReadRepository;
+import org.example.blog_spring.repository.jdbc.ReviewReadRepository;
+import org.example.blog_spring.repository.jdbc.TagReadRepository;
+import org.example.blog_spring.repository.jdbc.UserReadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * The JDBC read model must return exactly what mapping the JPA entities returns.
+ */
+@TestPropertySource(properties = "blog.read-model=jdbc")
+class JdbcReadModelTest extends AbstractRepositoryTest {
+
+    @Autowired
+    private PostReadRepository postReads;
+
+    @Autowired
+    private TagReadRepository tagReads;
+
+    @Autowired
+    private UserReadRepository userReads;
+
+    @Autowired
+    private CommentReadRepository commentReads;
+
+    @Autowired
+    private ReviewReadRepository reviewReads;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String id;
+    private User author;
+    private Tag tag;
+    private Post published;
+    private Post draft;
+    private Comment reply;
+    private Review review;
+
+    @BeforeEach
+    void setUp() {
+        id = UUID.randomUUID().toString().substring(0, 8);
+        var now = Instant.now();
+        author = userRepository.save(User.builder().username("rm-" + id)
+                .email("rm-" + id + "@example.com").displayName("Read Model")
+                .passwordHash("").createdAt(now).updatedAt(now).build());
+        tag = tagRepository.save(Tag.builder().name("rm-" + id).slug("rm-" + id)
+                .description("tag").createdAt(now).build());
+        published = postRepository.save(Post.builder().authorId(author.getId()).title("Published")
+                .content("content").slug("rm-" + id + "-1").status(PostStatus.PUBLISHED)
+                .createdAt(now).updatedAt(now).publishedAt(now).tags(Set.of(tag)).build());
+        draft = postRepository.save(Post.builder().authorId(author.getId()).title("Draft")
+                .content("content").slug("rm-" + id + "-2").status(PostStatus.DRAFT)
+                .createdAt(now).updatedAt(now).build());
+        var comment = commentRepository.save(Comment.builder().postId(published.getId())
+                .userId(author.getId()).content("first").createdAt(now).updatedAt(now).build());
+        reply = commentRepository.save(Comment.builder().postId(published.getId())
+                .userId(author.getId()).parentId(comment.getId()).content("reply")
+                .createdAt(now).updatedAt(now).build());
+        review = reviewRepository.save(Review.builder().postId(published.getId())
+                .userId(author.getId()).rating((short) 4).title("Good").content("Read it")
+                .verified(true).createdAt(now).updatedAt(now).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void posts_matchJpaMapping() {
+        var expected = PostMapper.toDto(postRepository.findById(published.getId()).orElseThrow());
+
+        assertThat(postReads.findById(published.getId())).contains(expected);
+        assertThat(postReads.findBySlug(published.getSlug())).contains(expected);
+        assertThat(postReads.findById(-1L)).isEmpty();
+    }
+
+    @Test
+    void findPage_appliesEachFilter() {
+        var byAuthor = postReads.findPage(null, author.getId(), null,
+                PageRequest.of(0, 10, Sort.by("title")));
+        assertThat(byAuthor.getTotalElements()).isEqualTo(2);
+        assertThat(byAuthor.getContent()).extracting("title").containsExactly("Draft", "Published");
+
+        var publishedByAuthor = postReads.findPage(PostStatus.PUBLISHED, author.getId(), null,
+                PageRequest.of(0, 10));
+        assertThat(publishedByAuthor.getContent()).extracting("id")
+                .containsExactly(published.getId());
+
+        var byTag = postReads.findPage(null, null, tag.getSlug(), PageRequest.of(0, 10));
+        assertThat(byTag.getContent()).extracting("id").containsExactly(published.getId());
+        assertThat(byTag.getContent().getFirst().tags()).hasSize(1);
+    }
+
+    @Test
+    void findPage_rejectsUnknownSortProperty() {
+        assertThatThrownBy(() -> postReads.findPage(null, null, null,
+                PageRequest.of(0, 10, Sort.by("content; DROP TABLE posts"))))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class);
+    }
+
+    @Test
+    void tagsAndUsers_matchJpaMapping() {
+        var expectedTag = TagMapper.toDto(tagRepository.findById(tag.getId()).orElseThrow());
+        var expectedUser = UserMapper.toDto(userRepository.findById(author.getId()).orElseThrow());
+
+        assertThat(tagReads.findById(tag.getId())).contains(expectedTag);
+        assertThat(tagReads.findBySlug(tag.getSlug())).contains(expectedTag);
+        assertThat(userReads.findById(author.getId())).contains(expectedUser);
+        assertThat(userReads.findPage(PageRequest.of(0, 1000)).getContent())
+                .contains(expectedUser);
+    }
+
+    @Test
+    void commentsAndReviews_matchJpaMapping() {
+        var expectedReply =
+                CommentMapper.toDto(commentRepository.findById(reply.getId()).orElseThrow());
+        var expectedReview =
+                ReviewMapper.toDto(reviewRepository.findById(review.getId()).orElseThrow());
+
+        assertThat(commentReads.findById(reply.getId())).contains(expectedReply);
+        assertThat(commentReads.findByPostId(published.getId(), PageRequest.of(0, 10))
+                .getTotalElements()).isEqualTo(2);
+        assertThat(commentReads.findByUserId(author.getId(), PageRequest.of(0, 1)).getContent())
+                .hasSize(1);
+        assertThat(reviewReads.findById(review.getId())).contains(expectedReview);
+        assertThat(reviewReads.findByPostIdAndUserId(published.getId(), author.getId()))
+                .contains(expectedReview);
+        assertThat(reviewReads.findByPostId(published.getId(), PageRequest.of(0, 10))
+                .getContent()).containsExactly(expectedReview);
+        assertThat(reviewReads.findByUserId(draft.getId(), PageRequest.of(0, 10))).isEmpty();
+    }
+}
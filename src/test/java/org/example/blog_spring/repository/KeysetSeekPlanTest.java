@@ -0,0 +1,69 @@
+package org.example.blog_spring.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * The next-slice queries of the keyset listings seek on their index: the row-value comparison
+ * shows up as an index condition rather than a filter applied to every row before the cursor.
+ * The post listings are covered in {@link PostRepositoryTest}.
+ */
+class KeysetSeekPlanTest extends AbstractRepositoryTest {
+
+    private static final Timestamp AFTER = Timestamp.from(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @BeforeEach
+    void setUp() {
+        // Tiny test tables would otherwise be read whole; the plan shape is what matters.
+        jdbcClient.sql("SET LOCAL enable_seqscan = off").update();
+    }
+
+    @Test
+    void commentsOfAPost() {
+        assertThat(explain(CommentRepository.NEXT_SLICE_BY_POST_ID, Map.of("postId", 1L)))
+                .contains("idx_comments_post_keyset")
+                .containsPattern("Index Cond: .*ROW\\([a-z.]*created_at, [a-z.]*id\\) > ROW\\(");
+    }
+
+    @Test
+    void reviewsOfAPost() {
+        assertThat(explain(ReviewRepository.NEXT_SLICE_BY_POST_ID, Map.of("postId", 1L)))
+                .contains("idx_reviews_post_keyset")
+                .containsPattern("Index Cond: .*ROW\\([a-z.]*created_at, [a-z.]*id\\) < ROW\\(");
+    }
+
+    @Test
+    void tags() {
+        assertThat(explain(TagRepository.NEXT_SLICE_BY_CREATED_AT, Map.of()))
+                .contains("idx_tags_created_keyset")
+                .containsPattern("Index Cond: \\(ROW\\([a-z.]*created_at, [a-z.]*id\\) < ROW\\(");
+    }
+
+    @Test
+    void users() {
+        assertThat(explain(UserRepository.NEXT_SLICE_BY_CREATED_AT, Map.of()))
+                .contains("idx_users_created_keyset")
+                .containsPattern("Index Cond: \\(ROW\\([a-z.]*created_at, [a-z.]*id\\) < ROW\\(");
+    }
+
+    private String explain(String sql, Map<String, Object> params) {
+        return String.join("\n", jdbcClient.sql("EXPLAIN " + sql)
+                .params(params)
+                .param("afterCreatedAt", AFTER)
+                .param("afterId", 5L)
+                .param("limit", 21)
+                .query(String.class)
+                .list());
+    }
+}
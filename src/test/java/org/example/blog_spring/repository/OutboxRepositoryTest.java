@@ -0,0 +1,95 @@
+package org.example.blog_spring.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.example.blog_spring.outbox.ChangeEvent;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.repository.jdbc.OutboxRepository;
+import org.example.blog_spring.repository.jdbc.OutboxRepository.EventRow;
+import org.example.blog_spring.repository.jdbc.OutboxRepository.Position;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class OutboxRepositoryTest extends AbstractRepositoryTest {
+
+    private static final Position BEGINNING = new Position(0, 0);
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void findAfter_returnsEventsInOutboxOrderOnceTheirTransactionHasEnded() {
+        var occurredAt = Instant.parse("2020-01-01T00:00:00Z");
+        var before = outboxRepository.backlog(BEGINNING).pending();
+        var post = outboxRepository.append(Entity.POST, 1L, null, Action.CREATED, "first",
+                occurredAt);
+        var tag = outboxRepository.append(Entity.TAG, 2L, null, Action.DELETED, null,
+                occurredAt);
+
+        // This test's transaction is still running, so its events are past the horizon...
+        assertThat(outboxRepository.findAfter(BEGINNING, outboxRepository.horizon(), 1000))
+                .extracting(EventRow::event).doesNotContain(post, tag);
+
+        // ...and come in order, one transaction after the other, once it has ended.
+        var rows = outboxRepository.findAfter(BEGINNING, Long.MAX_VALUE, 1000);
+        assertThat(rows).extracting(EventRow::event)
+                .extracting(ChangeEvent::entity, ChangeEvent::slug)
+                .endsWith(tuple(Entity.POST, "first"), tuple(Entity.TAG, null));
+        assertThat(rows).extracting(EventRow::position).isSorted();
+        var last = rows.getLast().position();
+        assertThat(outboxRepository.findAfter(last, Long.MAX_VALUE, 1000)).isEmpty();
+
+        var backlog = outboxRepository.backlog(BEGINNING);
+        assertThat(backlog.pending()).isEqualTo(before + 2);
+        assertThat(backlog.oldest()).isBeforeOrEqualTo(occurredAt);
+        assertThat(outboxRepository.backlog(last).pending()).isZero();
+    }
+
+    @Test
+    void appendAll_writesOneEventPerEntityAsFindAfterReadsThem() {
+        var events = outboxRepository.appendAll(Entity.COMMENT, Action.CREATED,
+                List.of(5L, 6L), List.of(1L, 2L), null, Instant.now());
+
+        assertThat(events).extracting(ChangeEvent::entityId, ChangeEvent::postId)
+                .containsExactly(tuple(5L, 1L), tuple(6L, 2L));
+        assertThat(outboxRepository.findAfter(BEGINNING, Long.MAX_VALUE, 1000))
+                .extracting(EventRow::event).containsAll(events);
+    }
+
+    @Test
+    void horizon_staysAtTheOldestTransactionThatIsStillWriting() throws SQLException {
+        try (var other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            long txId;
+            try (var result = other.createStatement().executeQuery("SELECT txid_current()")) {
+                result.next();
+                txId = result.getLong(1);
+            }
+            assertThat(outboxRepository.horizon()).isLessThanOrEqualTo(txId);
+            other.rollback();
+        }
+    }
+
+    @Test
+    void purge_deletesEventsOlderThanTheRetention() {
+        var old = outboxRepository.append(Entity.USER, 3L, null, Action.UPDATED, null,
+                Instant.parse("2000-01-01T00:00:00Z"));
+
+        assertThat(outboxRepository.purge(Instant.parse("2000-01-02T00:00:00Z")))
+                .isGreaterThanOrEqualTo(1);
+
+        assertThat(outboxRepository.findAfter(BEGINNING, Long.MAX_VALUE, 1000))
+                .extracting(EventRow::event).doesNotContain(old);
+    }
+}
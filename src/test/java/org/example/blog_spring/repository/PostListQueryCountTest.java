@@ -0,0 +1,82 @@
+package org.example.blog_spring.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.domain.Tag;
+import org.example.blog_spring.domain.User;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.service.PostService;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+class PostListQueryCountTest extends AbstractRepositoryTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getPosts_runsBoundedNumberOfStatementsPerPage() {
+        var id = UUID.randomUUID().toString().substring(0, 8);
+        var now = Instant.now();
+        var author = userRepository.save(User.builder().username("qc-" + id)
+                .email("qc-" + id + "@example.com").passwordHash("").createdAt(now)
+                .updatedAt(now).build());
+        var tagA = tagRepository.save(Tag.builder().name("qa-" + id).slug("qa-" + id)
+                .createdAt(now).build());
+        var tagB = tagRepository.save(Tag.builder().name("qb-" + id).slug("qb-" + id)
+                .createdAt(now).build());
+        for (int i = 0; i < 30; i++) {
+            postRepository.save(Post.builder().authorId(author.getId()).title("Post " + i)
+                    .content("content").slug("qc-" + id + "-" + i).status(PostStatus.PUBLISHED)
+                    .createdAt(now).updatedAt(now).tags(Set.of(tagA, tagB)).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        var postLists = cacheManager.getCache("postLists");
+        if (postLists != null) {
+            postLists.clear();
+        }
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        var page = postService.getPosts(author.getId(), null, null, null, PageRequest.of(0, 25),
+                CountMode.EXACT);
+
+        assertThat(page.getContent()).hasSize(25);
+        assertThat(page.getContent()).allSatisfy(post -> assertThat(post.tags()).hasSize(2));
+        // page query + count query + one tag query for the whole page
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.blog_spring.repository;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -10,7 +13,9 @@ import org.example.blog_spring.domain.PostStatus;
 import org.example.blog_spring.domain.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.simple.JdbcClient;
 
 class PostRepositoryTest extends AbstractRepositoryTest {
 
@@ -23,6 +28,9 @@ class PostRepositoryTest extends AbstractRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcClient jdbcClient;
+
     private String unique() {
         return UUID.randomUUID().toString().substring(0, 8);
     }
@@ -105,7 +113,34 @@ class PostRepositoryTest extends AbstractRepositoryTest {
     }
 
     @Test
-    void search_withSearchTerm_filtersByTitleOrContent() {
+    void findSliceMatching_readsOneRowAheadAndCountMatchingAgrees() {
+        var authorId = ensureAuthor();
+        var tag = ensureTag("Slice", "slice");
+        var otherTag = ensureTag("Other", "other");
+        for (int i = 0; i < 3; i++) {
+            var post = buildPost(authorId, "Slice " + i, "slice-" + i, PostStatus.PUBLISHED);
+            // Two matching tags would duplicate the post under a join.
+            post.setTags(Set.of(tag, otherTag));
+            postRepository.save(post);
+        }
+        postRepository.save(buildPost(authorId, "Draft", "slice-draft", PostStatus.DRAFT));
+
+        var first = postRepository.findSliceMatching(PostStatus.PUBLISHED, authorId,
+                tag.getSlug(), PageRequest.of(0, 2));
+        var last = postRepository.findSliceMatching(PostStatus.PUBLISHED, authorId,
+                tag.getSlug(), PageRequest.of(1, 2));
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(postRepository.countMatching(PostStatus.PUBLISHED, authorId, tag.getSlug()))
+                .isEqualTo(3);
+        assertThat(postRepository.countMatching(null, authorId, null)).isEqualTo(4);
+    }
+
+    @Test
+    void search_combinesStatusAuthorAndTagFilters() {
         var authorId = ensureAuthor();
         var tag = ensureTag("GraphQL", "graphql");
 
@@ -113,14 +148,120 @@ class PostRepositoryTest extends AbstractRepositoryTest {
         post1.setTags(Set.of(tag));
         postRepository.save(post1);
 
+        var draft = buildPost(authorId, "GraphQL draft", "graphql-draft", PostStatus.DRAFT);
+        draft.setTags(Set.of(tag));
+        postRepository.save(draft);
+
         var post2 = buildPost(authorId, "Other", "other", PostStatus.PUBLISHED);
         postRepository.save(post2);
 
-        var page = postRepository.search(PostStatus.PUBLISHED, authorId, tag.getSlug(), "graphql",
+        var page = postRepository.search(PostStatus.PUBLISHED, authorId, tag.getSlug(),
                 PageRequest.of(0, 10));
 
-        assertThat(page.getContent()).hasSize(1);
-        assertThat(page.getContent().getFirst().getTitle()).containsIgnoringCase("graphql");
+        assertThat(page.getContent()).extracting(Post::getTitle).containsExactly("GraphQL intro");
+    }
+
+    @Test
+    void findNextSliceByCreatedAt_continuesStrictlyAfterCursor() {
+        var authorId = ensureAuthor();
+        var base = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < 5; i++) {
+            var post = buildPost(authorId, "Keyset " + i, "keyset-" + i, PostStatus.DRAFT);
+            // Posts 1 and 2 share a timestamp, so the id breaks the tie.
+            post.setCreatedAt(base.plusSeconds(i == 2 ? 1 : i));
+            postRepository.save(post);
+        }
+        postRepository.flush();
+
+        var first = postRepository.findFirstSliceByCreatedAt(authorId, null, Limit.of(2));
+        assertThat(first).extracting(Post::getTitle).containsExactly("Keyset 4", "Keyset 3");
+
+        var last = first.getLast();
+        var next = postRepository.findNextSliceByCreatedAt(authorId, null, last.getCreatedAt(),
+                last.getId(), 2);
+        assertThat(next).extracting(Post::getTitle).containsExactly("Keyset 2", "Keyset 1");
+
+        last = next.getLast();
+        var rest = postRepository.findNextSliceByCreatedAt(authorId, null, last.getCreatedAt(),
+                last.getId(), 10);
+        assertThat(rest).extracting(Post::getTitle).containsExactly("Keyset 0");
     }
-}
 
+    @Test
+    void findNextPublishedSliceByPublishedAt_ordersByPublishedAtFallingBackToCreatedAt() {
+        var authorId = ensureAuthor();
+        var base = Instant.parse("2026-01-01T00:00:00Z");
+        var unpublishedAt = buildPost(authorId, "Created 3", "keyset-created",
+                PostStatus.PUBLISHED);
+        unpublishedAt.setCreatedAt(base.plusSeconds(3));
+        postRepository.save(unpublishedAt);
+        for (int i : new int[] {1, 2, 4}) {
+            var post = buildPost(authorId, "Published " + i, "keyset-pub-" + i,
+                    PostStatus.PUBLISHED);
+            post.setPublishedAt(base.plusSeconds(i));
+            postRepository.save(post);
+        }
+        postRepository.save(buildPost(authorId, "Draft", "keyset-draft", PostStatus.DRAFT));
+        postRepository.flush();
+
+        var first = postRepository.findFirstPublishedSliceByPublishedAt(authorId, null,
+                Limit.of(2));
+        assertThat(first).extracting(Post::getTitle)
+                .containsExactly("Published 4", "Created 3");
+
+        var next = postRepository.findNextPublishedSliceByPublishedAt(authorId, null,
+                base.plusSeconds(3), first.getLast().getId(), 10);
+        assertThat(next).extracting(Post::getTitle)
+                .containsExactly("Published 2", "Published 1");
+    }
+
+    @Test
+    void nextSliceQueries_seekOnTheKeysetIndexes() {
+        var after = Timestamp.from(Instant.parse("2026-01-01T00:00:00Z"));
+        // Tiny test tables would otherwise be read whole; the plan shape is what matters.
+        jdbcClient.sql("SET LOCAL enable_seqscan = off").update();
+
+        var byCreatedAt = explain(PostRepository.NEXT_SLICE_BY_CREATED_AT, Map.of(
+                "afterCreatedAt", after, "afterId", 5L, "limit", 21));
+        assertThat(byCreatedAt).contains("idx_posts_created_keyset")
+                .containsPattern("Index Cond: \\(ROW\\([a-z.]*created_at, [a-z.]*id\\) < ROW\\(");
+
+        var byPublishedAt = explain(PostRepository.NEXT_PUBLISHED_SLICE_BY_PUBLISHED_AT, Map.of(
+                "afterPublishedAt", after, "afterId", 5L, "limit", 21));
+        assertThat(byPublishedAt).contains("idx_posts_published_keyset")
+                .containsPattern("Index Cond: \\(ROW\\(COALESCE\\(.*\\) < ROW\\(");
+    }
+
+    private String explain(String sql, Map<String, Object> params) {
+        var arguments = new HashMap<String, Object>(params);
+        arguments.putIfAbsent("authorId", null);
+        arguments.putIfAbsent("tagSlug", null);
+        return String.join("\n", jdbcClient.sql("EXPLAIN " + sql)
+                .params(arguments)
+                .query(String.class)
+                .list());
+    }
+
+    @Test
+    void fullTextSearch_ranksTitleMatchesFirst_andSupportsPrefixes() {
+        var authorId = ensureAuthor();
+        var inContent = buildPost(authorId, "Notes", "fts-content", PostStatus.PUBLISHED);
+        inContent.setContent("A long article that mentions kubernetes once.");
+        inContent = postRepository.save(inContent);
+        var inTitle = buildPost(authorId, "Kubernetes in production", "fts-title",
+                PostStatus.PUBLISHED);
+        inTitle = postRepository.save(inTitle);
+        postRepository.save(buildPost(authorId, "Unrelated", "fts-other", PostStatus.PUBLISHED));
+        postRepository.flush();
+
+        var ranked = postRepository.fullTextSearch(PostSearchQuery.toTsQuery("kubernetes"),
+                null, authorId, null, PageRequest.of(0, 10));
+        assertThat(ranked.getContent()).extracting(Post::getId)
+                .containsExactly(inTitle.getId(), inContent.getId());
+        assertThat(ranked.getTotalElements()).isEqualTo(2);
+
+        var prefix = postRepository.fullTextSearch(PostSearchQuery.toTsQuery("kube*"), null,
+                authorId, null, PageRequest.of(0, 10));
+        assertThat(prefix.getContent()).hasSize(2);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.blog_spring.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PostSearchQueryTest {
+
+    @Test
+    void toTsQuery_andsWordsTogether() {
+        assertThat(PostSearchQuery.toTsQuery("Spring  Boot")).isEqualTo("spring & boot");
+    }
+
+    @Test
+    void toTsQuery_prefixMatchesWordsEndingInStar() {
+        assertThat(PostSearchQuery.toTsQuery("graph* api")).isEqualTo("graph:* & api");
+    }
+
+    @Test
+    void toTsQuery_stripsTsQueryOperators() {
+        assertThat(PostSearchQuery.toTsQuery("a' | !b & (c):*")).isEqualTo("a & b & c");
+    }
+
+    @Test
+    void toTsQuery_returnsNull_whenNothingSearchable() {
+        assertThat(PostSearchQuery.toTsQuery("  &|! ")).isNull();
+        assertThat(PostSearchQuery.toTsQuery("*")).isNull();
+        assertThat(PostSearchQuery.toTsQuery(null)).isNull();
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.blog_spring.repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -8,6 +9,7 @@ import org.example.blog_spring.domain.Post;
 import org.example.blog_spring.domain.PostStatus;
 import org.example.blog_spring.domain.Review;
 import org.example.blog_spring.domain.User;
+import org.example.blog_spring.dto.ReviewSummaryDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -89,5 +91,25 @@ class ReviewRepositoryTest extends AbstractRepositoryTest {
         assertThat(page.getContent()).hasSize(1);
         assertThat(page.getContent().getFirst().getUserId()).isEqualTo(userId1);
     }
-}
 
+    @Test
+    void findPerPost_andSummarizeByPostIds_coverSeveralPostsInOneQuery() {
+        var userId1 = ensureUser("u1", "u1@example.com");
+        var userId2 = ensureUser("u2", "u2@example.com");
+        var postId1 = ensurePost(userId1);
+        var postId2 = ensurePost(userId1);
+        var unreviewed = ensurePost(userId1);
+
+        reviewRepository.save(buildReview(postId1, userId1, (short) 4));
+        reviewRepository.save(buildReview(postId1, userId2, (short) 5));
+        reviewRepository.saveAndFlush(buildReview(postId2, userId2, (short) 3));
+
+        var ids = List.of(postId1, postId2, unreviewed);
+        assertThat(reviewRepository.findPerPost(ids, 5)).hasSize(3);
+        assertThat(reviewRepository.findPerPost(ids, 1)).extracting(Review::getPostId)
+                .containsExactlyInAnyOrder(postId1, postId2);
+        assertThat(reviewRepository.summarizeByPostIds(ids)).containsExactlyInAnyOrder(
+                new ReviewSummaryDto(postId1, 2L, 4.5),
+                new ReviewSummaryDto(postId2, 1L, 3.0));
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.blog_spring.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.example.blog_spring.domain.Comment;
+import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.domain.Review;
+import org.example.blog_spring.domain.User;
+import org.example.blog_spring.dto.SyncChange;
+import org.example.blog_spring.dto.SyncChange.Operation;
+import org.example.blog_spring.dto.SyncChange.Type;
+import org.example.blog_spring.dto.SyncToken;
+import org.example.blog_spring.dto.SyncToken.Source;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
+import org.example.blog_spring.repository.jdbc.SyncRepository.ChangeRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class SyncRepositoryTest extends AbstractRepositoryTest {
+
+    // Later than anything else in the database, so only this test's rows are read.
+    private static final Instant SINCE = Instant.parse("2100-01-01T00:00:00Z");
+    private static final Instant UNTIL = SINCE.plusSeconds(3600);
+
+    @Autowired
+    private SyncRepository syncRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private String id;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        id = UUID.randomUUID().toString().substring(0, 8);
+        var now = Instant.now();
+        user = userRepository.saveAndFlush(User.builder().username("sync-" + id)
+                .email("sync-" + id + "@example.com").displayName("Sync").passwordHash("")
+                .createdAt(now).updatedAt(now).build());
+    }
+
+    @Test
+    void findChanges_inKeysetOrderTellingCreatedFromUpdated() {
+        var updated = post("updated", SINCE.minusSeconds(60), SINCE.plusSeconds(10));
+        var created = post("created", SINCE.plusSeconds(5), SINCE.plusSeconds(10));
+        post("unchanged", SINCE.minusSeconds(60), SINCE.minusSeconds(60));
+
+        var rows = syncRepository.findChanges(Source.POSTS, SyncToken.before(SINCE), UNTIL, 10);
+
+        var first = Math.min(updated.getId(), created.getId());
+        var second = Math.max(updated.getId(), created.getId());
+        assertThat(rows).extracting(row -> row.change().id()).containsExactly(first, second);
+        assertThat(rows).extracting(ChangeRow::change)
+                .filteredOn(change -> change.id().equals(created.getId()))
+                .extracting(SyncChange::operation).containsExactly(Operation.CREATED);
+        assertThat(rows).extracting(ChangeRow::change)
+                .filteredOn(change -> change.id().equals(updated.getId()))
+                .extracting(SyncChange::operation).containsExactly(Operation.UPDATED);
+
+        var afterFirst = syncRepository.findChanges(Source.POSTS, rows.getFirst().position(),
+                UNTIL, 10);
+        assertThat(afterFirst).extracting(row -> row.change().id()).containsExactly(second);
+        assertThat(syncRepository.findChanges(Source.POSTS, SyncToken.before(SINCE),
+                SINCE.plusSeconds(10), 10)).isEmpty();
+    }
+
+    @Test
+    void recordPostDeletion_leavesTombstonesForThePostAndWhatCascadesWithIt() {
+        var post = post("deleted", SINCE, SINCE);
+        var comment = commentRepository.saveAndFlush(Comment.builder().postId(post.getId())
+                .userId(user.getId()).content("gone").createdAt(SINCE).updatedAt(SINCE).build());
+        var reply = commentRepository.saveAndFlush(Comment.builder().postId(post.getId())
+                .userId(user.getId()).parentId(comment.getId()).content("gone too")
+                .createdAt(SINCE).updatedAt(SINCE).build());
+        var review = reviewRepository.saveAndFlush(Review.builder().postId(post.getId())
+                .userId(user.getId()).rating((short) 3).createdAt(SINCE).updatedAt(SINCE)
+                .build());
+        var before = Instant.now().minusSeconds(1);
+
+        syncRepository.recordPostDeletion(post.getId());
+
+        var rows = syncRepository.findChanges(Source.TOMBSTONES, SyncToken.before(before),
+                Instant.now().plusSeconds(1), 10);
+        assertThat(rows).extracting(ChangeRow::change)
+                .extracting(SyncChange::type, SyncChange::id, SyncChange::operation)
+                .containsExactlyInAnyOrder(
+                        tuple(Type.POST, post.getId(), Operation.DELETED),
+                        tuple(Type.COMMENT, comment.getId(), Operation.DELETED),
+                        tuple(Type.COMMENT, reply.getId(), Operation.DELETED),
+                        tuple(Type.REVIEW, review.getId(), Operation.DELETED));
+        assertThat(syncRepository.purgeTombstones(Instant.now().plusSeconds(1)))
+                .isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void recordCommentDeletion_coversTheWholeSubtree() {
+        var post = post("thread", SINCE, SINCE);
+        var root = commentRepository.saveAndFlush(Comment.builder().postId(post.getId())
+                .userId(user.getId()).content("root").createdAt(SINCE).updatedAt(SINCE).build());
+        var reply = commentRepository.saveAndFlush(Comment.builder().postId(post.getId())
+                .userId(user.getId()).parentId(root.getId()).content("reply").createdAt(SINCE)
+                .updatedAt(SINCE).build());
+        var before = Instant.now().minusSeconds(1);
+
+        syncRepository.recordCommentDeletion(root.getId());
+
+        assertThat(syncRepository.findChanges(Source.TOMBSTONES, SyncToken.before(before),
+                Instant.now().plusSeconds(1), 10))
+                .extracting(row -> row.change().id())
+                .containsExactlyInAnyOrder(root.getId(), reply.getId());
+    }
+
+    @Test
+    void findOldestOpenWrite_reportsOtherTransactionsOnceTheyHaveWritten() throws SQLException {
+        // This test's own transaction has written the user and is not reported.
+        assertThat(syncRepository.findOldestOpenWrite()).isEmpty();
+
+        try (var other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            var started = Instant.now().minusSeconds(1);
+            other.createStatement().execute("SELECT 1");
+            assertThat(syncRepository.findOldestOpenWrite()).isEmpty();
+
+            // Assigns the transaction id a write would.
+            other.createStatement().execute("SELECT txid_current()");
+            assertThat(syncRepository.findOldestOpenWrite()).hasValueSatisfying(
+                    start -> assertThat(start).isBetween(started, Instant.now()));
+            other.rollback();
+        }
+        assertThat(syncRepository.findOldestOpenWrite()).isEmpty();
+    }
+
+    private Post post(String name, Instant createdAt, Instant updatedAt) {
+        return postRepository.saveAndFlush(Post.builder().authorId(user.getId()).title(name)
+                .content("Content").slug(name + "-" + id).status(PostStatus.PUBLISHED)
+                .createdAt(createdAt).updatedAt(updatedAt).build());
+    }
+}
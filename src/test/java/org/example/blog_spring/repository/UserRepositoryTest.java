@@ -8,6 +8,7 @@ import org.example.blog_spring.domain.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 class UserRepositoryTest extends AbstractRepositoryTest {
 
@@ -45,6 +46,21 @@ class UserRepositoryTest extends AbstractRepositoryTest {
         assertThat(userRepository.existsByUsername("asmith-" + id)).isTrue();
     }
 
+    @Test
+    void firstAndNextSliceByCreatedAt_listNewestFirstAndResumeAfterTheCursor() {
+        // Later than anything else in the database, so these users open the listing.
+        var t = Instant.parse("2300-01-01T00:00:00Z");
+        var older = userRepository.save(user(t));
+        var newer = userRepository.save(user(t.plusSeconds(1)));
+        var tied = userRepository.save(user(t));
+
+        var slice = userRepository.findFirstSliceByCreatedAt(Limit.of(2));
+        var rest = userRepository.findNextSliceByCreatedAt(t, tied.getId(), 1);
+
+        assertThat(slice).extracting(User::getId).containsExactly(newer.getId(), tied.getId());
+        assertThat(rest).extracting(User::getId).containsExactly(older.getId());
+    }
+
     @Test
     void uniqueEmailConstraint_isEnforced() {
         var id = unique();
@@ -61,5 +77,11 @@ class UserRepositoryTest extends AbstractRepositoryTest {
             userRepository.saveAndFlush(u2);
         }).isInstanceOf(DataIntegrityViolationException.class);
     }
-}
 
+    private User user(Instant createdAt) {
+        var id = unique();
+        return User.builder().username("keyset-" + id).email("keyset-" + id + "@example.com")
+                .displayName("Keyset").passwordHash("").createdAt(createdAt).updatedAt(createdAt)
+                .build();
+    }
+}
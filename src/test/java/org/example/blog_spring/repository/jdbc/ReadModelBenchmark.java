@@ -0,0 +1,153 @@
+package org.example.blog_spring.repository.jdbc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.example.blog_spring.BlogSpringApplication;
+import org.example.blog_spring.domain.Comment;
+import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.domain.Tag;
+import org.example.blog_spring.domain.User;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.repository.CommentRepository;
+import org.example.blog_spring.repository.PostRepository;
+import org.example.blog_spring.repository.TagRepository;
+import org.example.blog_spring.repository.UserRepository;
+import org.example.blog_spring.service.CommentService;
+import org.example.blog_spring.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Latency of the hot reads through the JPA entities and mappers ({@code readModel=jpa}) against
+ * the {@code JdbcClient} read model ({@code readModel=jdbc}). Run with {@code -prof gc} for the
+ * bytes allocated per call.
+ *
+ * <p>The application context starts against an in-memory H2 database seeded with
+ * {@code postCount} posts carrying three tags each. The service beans are unwrapped from their
+ * proxies so the Spring caches are bypassed, and every call runs in a read-only transaction as it
+ * would behind the proxy. H2 answers in-process, so the database round trip a real deployment
+ * pays on both paths is missing and the difference shows up larger than it is over the network.
+ *
+ * <p>Run with {@code ./scripts/benchmark_read_model.sh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadModelBenchmark {
+
+    @Param({"jpa", "jdbc"})
+    public String readModel;
+
+    @Param({"500"})
+    public int postCount;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private PostService postService;
+    private CommentService commentService;
+    private List<Long> postIds;
+    private Long commentedPostId;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Arguments rather than builder properties, which application.properties would override.
+        context = new SpringApplicationBuilder(BlogSpringApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:read-model;MODE=PostgreSQL;"
+                                + "DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.root=WARN",
+                        "--blog.read-model=" + readModel);
+        var transactionManager = context.getBean(PlatformTransactionManager.class);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seed());
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        postService = (PostService) AopProxyUtils.getSingletonTarget(
+                context.getBean(PostService.class));
+        commentService = (CommentService) AopProxyUtils.getSingletonTarget(
+                context.getBean(CommentService.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object getPost() {
+        var id = postIds.get(next++ % postIds.size());
+        return readOnly.execute(status -> postService.getPost(id));
+    }
+
+    @Benchmark
+    public Object getPublishedPosts() {
+        return readOnly.execute(status -> postService.getPosts(null, null, null, true,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")),
+                CountMode.EXACT));
+    }
+
+    @Benchmark
+    public Object getCommentsForPost() {
+        return readOnly.execute(status -> commentService.getCommentsForPost(commentedPostId,
+                PageRequest.of(0, 20, Sort.by("createdAt")), CountMode.EXACT));
+    }
+
+    private void seed() {
+        var now = Instant.now();
+        var author = context.getBean(UserRepository.class).save(User.builder()
+                .username("bench").email("bench@example.com").displayName("Bench")
+                .passwordHash("").createdAt(now).updatedAt(now).build());
+        var tags = context.getBean(TagRepository.class).saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> Tag.builder().name("tag-" + i).slug("tag-" + i)
+                        .description("Tag " + i).createdAt(now).build())
+                .toList());
+        var posts = context.getBean(PostRepository.class).saveAll(IntStream.range(0, postCount)
+                .mapToObj(i -> Post.builder().authorId(author.getId()).title("Post " + i)
+                        .content("Content of post " + i + " ".repeat(200)).slug("post-" + i)
+                        .status(i % 4 == 0 ? PostStatus.DRAFT : PostStatus.PUBLISHED)
+                        .createdAt(now.minusSeconds(i)).updatedAt(now).publishedAt(now)
+                        .tags(Set.of(tags.get(i % 10), tags.get((i + 3) % 10),
+                                tags.get((i + 7) % 10)))
+                        .build())
+                .toList());
+        postIds = posts.stream().map(Post::getId).toList();
+        commentedPostId = postIds.getFirst();
+        context.getBean(CommentRepository.class).saveAll(IntStream.range(0, 50)
+                .mapToObj(i -> Comment.builder().postId(commentedPostId).userId(author.getId())
+                        .content("Comment " + i).createdAt(now.minusSeconds(i)).updatedAt(now)
+                        .build())
+                .toList());
+    }
+}
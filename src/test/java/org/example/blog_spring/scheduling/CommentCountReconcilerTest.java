@@ -0,0 +1,47 @@
+package org.example.blog_spring.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CommentCountReconcilerTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void reconcile_walksIdRangesAndCountsRepairs() {
+        var reconciler = new CommentCountReconciler(postRepository, meterRegistry, 100);
+        given(postRepository.findMaxId()).willReturn(250L);
+        given(postRepository.reconcileCommentCounts(0, 100)).willReturn(2);
+        given(postRepository.reconcileCommentCounts(100, 200)).willReturn(0);
+        given(postRepository.reconcileCommentCounts(200, 300)).willReturn(1);
+
+        reconciler.reconcile();
+
+        verify(postRepository).reconcileCommentCounts(200, 300);
+        assertThat(meterRegistry.counter("blog.comment_count.repaired").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void reconcile_doesNothing_whenNoPosts() {
+        var reconciler = new CommentCountReconciler(postRepository, meterRegistry, 100);
+        given(postRepository.findMaxId()).willReturn(0L);
+
+        reconciler.reconcile();
+
+        verify(postRepository).findMaxId();
+        verifyNoMoreInteractions(postRepository);
+    }
+}
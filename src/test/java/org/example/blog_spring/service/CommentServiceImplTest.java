@@ -1,21 +1,41 @@
 package org.example.blog_spring.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.cache.CommentTreeCacheInvalidator;
+import org.example.blog_spring.domain.Comment;
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.CommentThreadDto;
 import org.example.blog_spring.dto.CreateCommentRequest;
+import org.example.blog_spring.dto.KeysetCursor;
 import org.example.blog_spring.exception.CommentNotFoundException;
 import org.example.blog_spring.exception.PostNotFoundException;
 import org.example.blog_spring.exception.UserNotFoundException;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+import org.example.blog_spring.repository.jdbc.CommentTreeRepository;
+import org.example.blog_spring.repository.jdbc.CommentTreeRow;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
 import org.example.blog_spring.service.impl.CommentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 @ExtendWith(MockitoExtension.class)
 class CommentServiceImplTest {
@@ -26,17 +46,29 @@ class CommentServiceImplTest {
     private org.example.blog_spring.repository.PostRepository postRepository;
     @Mock
     private org.example.blog_spring.repository.UserRepository userRepository;
+    @Mock
+    private CommentTreeRepository commentTreeRepository;
+    @Mock
+    private CommentTreeCacheInvalidator commentTreeCacheInvalidator;
+    @Mock
+    private SyncRepository syncRepository;
+    @Mock
+    private Outbox outbox;
+    @Mock
+    private PageCounter pageCounter;
 
     private CommentServiceImpl commentService;
 
     @BeforeEach
     void setUp() {
-        commentService = new CommentServiceImpl(commentRepository, postRepository, userRepository);
+        commentService = new CommentServiceImpl(commentRepository, postRepository, userRepository,
+                commentTreeRepository, commentTreeCacheInvalidator, syncRepository, outbox,
+                pageCounter, null);
     }
 
     @Test
     void createComment_throws_whenPostNotFound() {
-        given(postRepository.findById(999L)).willReturn(Optional.empty());
+        given(postRepository.existsById(999L)).willReturn(false);
         var request = new CreateCommentRequest(999L, 1L, null, "Content");
 
         assertThatThrownBy(() -> commentService.createComment(request))
@@ -45,8 +77,7 @@ class CommentServiceImplTest {
 
     @Test
     void createComment_throws_whenUserNotFound() {
-        var existingPost = Post.builder().id(1L).build();
-        given(postRepository.findById(1L)).willReturn(Optional.of(existingPost));
+        given(postRepository.existsById(1L)).willReturn(true);
         given(userRepository.existsById(999L)).willReturn(false);
         var request = new CreateCommentRequest(1L, 999L, null, "Content");
 
@@ -61,4 +92,144 @@ class CommentServiceImplTest {
         assertThatThrownBy(() -> commentService.getComment(999L))
                 .isInstanceOf(CommentNotFoundException.class);
     }
+
+    @Test
+    void createComment_incrementsCommentCountWithoutLoadingPost() {
+        given(postRepository.existsById(1L)).willReturn(true);
+        given(userRepository.existsById(2L)).willReturn(true);
+        given(commentRepository.save(any(Comment.class))).willAnswer(inv -> {
+            Comment c = inv.getArgument(0);
+            c.setId(10L);
+            return c;
+        });
+
+        commentService.createComment(new CreateCommentRequest(1L, 2L, null, "Content"));
+
+        verify(postRepository).adjustCommentCount(1L, 1);
+        verify(postRepository, never()).findById(any());
+        verify(postRepository, never()).save(any());
+        verify(commentRepository, never()).countByPostId(any());
+        verify(commentTreeCacheInvalidator).postChanged(1L);
+        verify(outbox).append(Entity.COMMENT, 10L, 1L, Action.CREATED, null);
+    }
+
+    @Test
+    void deleteComment_decrementsCommentCountByRemovedSubtree() {
+        var comment = Comment.builder().id(5L).postId(1L).userId(2L).content("x").build();
+        given(commentRepository.findById(5L)).willReturn(Optional.of(comment));
+        given(commentRepository.deleteWithReplies(5L)).willReturn(3);
+
+        commentService.deleteComment(5L);
+
+        verify(syncRepository).recordCommentDeletion(5L);
+        verify(postRepository).adjustCommentCount(1L, -3);
+        verify(commentRepository, never()).countByPostId(any());
+        verify(pageCounter).invalidate(Scope.COMMENTS, 1L);
+        verify(commentTreeCacheInvalidator).postChanged(1L);
+        verify(outbox).append(Entity.COMMENT, 5L, 1L, Action.DELETED, null);
+    }
+
+    @Test
+    void getCommentTree_nestsRepliesUnderTheirParents() {
+        given(commentTreeRepository.findThreads(1L, 20, 3)).willReturn(List.of(
+                row(10L, null, 1, false),
+                row(11L, null, 1, false),
+                row(12L, 10L, 2, false),
+                row(13L, 12L, 3, true),
+                row(14L, 10L, 2, false)));
+
+        var threads = commentService.getCommentTree(1L, null, 20, 3);
+
+        assertThat(threads).extracting(CommentThreadDto::id).containsExactly(10L, 11L);
+        var first = threads.getFirst();
+        assertThat(first.replies()).extracting(CommentThreadDto::id).containsExactly(12L, 14L);
+        assertThat(first.replies().getFirst().replies()).singleElement()
+                .satisfies(deepest -> {
+                    assertThat(deepest.id()).isEqualTo(13L);
+                    assertThat(deepest.moreReplies()).isTrue();
+                    assertThat(deepest.replies()).isEmpty();
+                });
+        assertThat(threads.get(1).replies()).isEmpty();
+        verify(postRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getCommentTree_throws_whenPostNotFound() {
+        given(commentTreeRepository.findThreads(999L, 20, 8)).willReturn(List.of());
+        given(postRepository.existsById(999L)).willReturn(false);
+
+        assertThatThrownBy(() -> commentService.getCommentTree(999L, null, 20, 8))
+                .isInstanceOf(PostNotFoundException.class);
+    }
+
+    @Test
+    void getCommentTree_throws_whenRootNotInPost() {
+        given(commentTreeRepository.findThread(1L, 999L, 8)).willReturn(List.of());
+        given(postRepository.existsById(1L)).willReturn(true);
+
+        assertThatThrownBy(() -> commentService.getCommentTree(1L, 999L, 20, 8))
+                .isInstanceOf(CommentNotFoundException.class);
+    }
+
+    @Test
+    void getCommentTree_rejectsDepthOutOfRange() {
+        assertThatThrownBy(() -> commentService.getCommentTree(1L, null, 20, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> commentService.getCommentTree(1L, null, 20, 33))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(commentTreeRepository, never()).findThreads(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getRepliesForComments_groupsByParentAndRejectsPageSizesOutOfRange() {
+        var t = Instant.parse("2024-01-01T00:00:00Z");
+        given(commentRepository.findRepliesPerParent(List.of(10L, 20L), 2)).willReturn(List.of(
+                Comment.builder().id(11L).postId(1L).userId(2L).parentId(10L).content("a")
+                        .createdAt(t).build(),
+                Comment.builder().id(12L).postId(1L).userId(2L).parentId(10L).content("b")
+                        .createdAt(t).build()));
+
+        var replies = commentService.getRepliesForComments(List.of(10L, 20L), 2);
+        assertThat(replies).containsOnlyKeys(10L);
+        assertThat(replies.get(10L)).extracting(CommentDto::id).containsExactly(11L, 12L);
+
+        assertThatThrownBy(() -> commentService.getRepliesForComments(List.of(10L), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> commentService.getTopLevelCommentsForPosts(List.of(1L), 101))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(commentRepository, never()).findTopLevelPerPost(any(), anyInt());
+    }
+
+    @Test
+    void getCommentsForPostByCursor_fetchesOneExtraRowAndResumesAfterTheLastOneReturned() {
+        var t = Instant.parse("2024-01-01T00:00:00Z");
+        var comments = List.of(
+                Comment.builder().id(1L).postId(1L).userId(2L).content("a").createdAt(t).build(),
+                Comment.builder().id(2L).postId(1L).userId(2L).content("b").createdAt(t).build(),
+                Comment.builder().id(3L).postId(1L).userId(2L).content("c").createdAt(t).build());
+        given(commentRepository.findFirstSliceByPostId(1L, Limit.of(3)))
+                .willReturn(comments);
+
+        var slice = commentService.getCommentsForPostByCursor(1L, null, 2);
+
+        assertThat(slice.content()).extracting(CommentDto::id).containsExactly(1L, 2L);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(KeysetCursor.decode(slice.nextCursor())).isEqualTo(new KeysetCursor(t, 2L));
+
+        given(commentRepository.findNextSliceByPostId(1L, t, 2L, 3))
+                .willReturn(comments.subList(2, 3));
+        var last = commentService.getCommentsForPostByCursor(1L, slice.nextCursor(), 2);
+
+        assertThat(last.content()).extracting(CommentDto::id).containsExactly(3L);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.nextCursor()).isNull();
+        assertThatThrownBy(() -> commentService.getCommentsForPostByCursor(1L, null, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CommentTreeRow row(Long id, Long parentId, int depth, boolean moreReplies) {
+        var now = Instant.now();
+        return new CommentTreeRow(new CommentDto(id, 1L, 2L, parentId, "c" + id, now, now),
+                depth, moreReplies);
+    }
 }
@@ -0,0 +1,103 @@
+package org.example.blog_spring.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.TagSummaryDto;
+import org.example.blog_spring.repository.jdbc.ExportRepository;
+import org.example.blog_spring.service.impl.ExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private ExportRepository exportRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportServiceImpl(exportRepository, jsonMapper, meterRegistry, 2);
+    }
+
+    @Test
+    void exportPosts_writesOneLinePerPostWithTagsReadOncePerChunk() throws Exception {
+        var tag = new TagSummaryDto(3L, "Java", "java");
+        given(exportRepository.streamPosts(NOW, null))
+                .willReturn(Stream.of(post(1L), post(2L), post(3L)));
+        given(exportRepository.withTags(anyList())).willAnswer(invocation -> {
+            List<PostDto> chunk = invocation.getArgument(0);
+            return chunk.stream().map(p -> new PostDto(p.id(), p.authorId(), p.title(),
+                    p.content(), p.slug(), p.status(), p.createdAt(), p.updatedAt(),
+                    p.publishedAt(), p.commentCount(), Set.of(tag))).toList();
+        });
+        var out = new ByteArrayOutputStream();
+
+        var written = exportService.exportPosts(NOW, null, out);
+
+        assertThat(written).isEqualTo(3);
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        var first = jsonMapper.readValue(lines[0], PostDto.class);
+        assertThat(first.id()).isEqualTo(1L);
+        assertThat(first.tags()).containsExactly(tag);
+        // Chunks of two: {1, 2}, {3}.
+        verify(exportRepository, times(2)).withTags(anyList());
+        assertThat(meterRegistry.get("blog.export.rows").tag("kind", "posts").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void exportComments_writesEveryRowAndEndsEachLineWithANewline() throws Exception {
+        given(exportRepository.streamComments(null, null)).willReturn(Stream.of(
+                new CommentDto(1L, 1L, 7L, null, "first", NOW, NOW),
+                new CommentDto(2L, 1L, 7L, 1L, "reply", NOW, NOW)));
+        var out = new ByteArrayOutputStream();
+
+        var written = exportService.exportComments(null, null, out);
+
+        assertThat(written).isEqualTo(2);
+        var text = out.toString(StandardCharsets.UTF_8);
+        assertThat(text).endsWith("\n");
+        assertThat(jsonMapper.readValue(text.split("\n")[1], CommentDto.class).parentId())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void exportReviews_writesNothingWhenNothingChanged() throws Exception {
+        given(exportRepository.streamReviews(NOW, 42L)).willReturn(Stream.empty());
+        var out = new ByteArrayOutputStream();
+
+        assertThat(exportService.exportReviews(NOW, 42L, out)).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    private static PostDto post(Long id) {
+        return new PostDto(id, 1L, "Post " + id, "content", "post-" + id, PostStatus.PUBLISHED,
+                NOW, NOW, NOW, 0, Set.of());
+    }
+}
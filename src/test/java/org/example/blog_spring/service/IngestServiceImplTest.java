@@ -0,0 +1,183 @@
+package org.example.blog_spring.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.cache.CommentTreeCacheInvalidator;
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
+import org.example.blog_spring.cache.PostListCacheInvalidator.PostSnapshot;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.config.CacheProperties;
+import org.example.blog_spring.dto.CreateCommentRequest;
+import org.example.blog_spring.dto.CreatePostRequest;
+import org.example.blog_spring.dto.IngestReport.LineError;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository.Reviewer;
+import org.example.blog_spring.repository.jdbc.BulkInsertRepository.Table;
+import org.example.blog_spring.service.impl.IngestServiceImpl;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class IngestServiceImplTest {
+
+    @Mock
+    private BulkInsertRepository bulkInserts;
+    @Mock
+    private PageCounter pageCounter;
+    @Mock
+    private PostListCacheInvalidator postListCacheInvalidator;
+    @Mock
+    private CommentTreeCacheInvalidator commentTreeCacheInvalidator;
+    @Mock
+    private Outbox outbox;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IngestServiceImpl ingestService;
+
+    @BeforeEach
+    void setUp() {
+        ingestService = new IngestServiceImpl(bulkInserts, JsonMapper.builder().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(PlatformTransactionManager.class), pageCounter,
+                new NegativeLookupCache(new CacheProperties.Negative(true, 100, null)),
+                new UniqueKeyIndex(meterRegistry, true, 1000, 0.01), postListCacheInvalidator,
+                commentTreeCacheInvalidator, outbox, meterRegistry, 2, 10);
+    }
+
+    @Test
+    void ingestComments_insertsValidLinesInBatchesAndReportsTheRest() {
+        given(bulkInserts.existingIds(eq(Table.POSTS), anyCollection())).willReturn(Set.of(1L));
+        given(bulkInserts.existingIds(eq(Table.USERS), anyCollection())).willReturn(Set.of(7L));
+        given(bulkInserts.commentPostIds(anyCollection())).willReturn(Map.of(50L, 2L));
+        given(bulkInserts.insertComments(any(), any()))
+                .willReturn(List.of(100L), List.of(101L), List.of(102L));
+
+        var report = ingestService.ingestComments(ndjson("""
+                {"postId": 1, "userId": 7, "content": "first"}
+                {"postId": 1, "userId": 7, "content": ""}
+
+                not json
+                {"postId": 9, "userId": 7, "content": "unknown post"}
+                {"postId": 1, "userId": 7, "parentId": 50, "content": "parent elsewhere"}
+                {"postId": 1, "userId": 7, "content": "second"}
+                {"postId": 1, "userId": 7, "content": "third"}
+                """));
+
+        assertThat(report.lines()).isEqualTo(7);
+        assertThat(report.inserted()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(4);
+        assertThat(report.errors()).extracting(LineError::line).containsExactly(2L, 4L, 5L, 6L);
+        assertThat(report.errors().get(0).message()).startsWith("content:");
+        assertThat(report.errors().get(2).message()).isEqualTo("Post with id 9 not found");
+        assertThat(report.errors().get(3).message())
+                .isEqualTo("Comment with id 50 belongs to another post");
+
+        // Chunks of two valid lines: {first, unknown post}, {parent elsewhere, second}, {third}.
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateCommentRequest>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkInserts, times(3)).insertComments(inserted.capture(), any());
+        assertThat(inserted.getAllValues()).extracting(List::size).containsExactly(1, 1, 1);
+        verify(bulkInserts, times(3)).adjustCommentCounts(Map.of(1L, 1L));
+        verify(pageCounter, times(3)).invalidate(Scope.COMMENTS);
+        verify(commentTreeCacheInvalidator, times(3)).postsChanged(Set.of(1L));
+        verify(outbox).appendAll(Entity.COMMENT, Action.CREATED, List.of(100L), List.of(1L), null);
+        verify(outbox).appendAll(Entity.COMMENT, Action.CREATED, List.of(102L), List.of(1L), null);
+        assertThat(meterRegistry.get("blog.ingest.rows").tag("result", "rejected").counter()
+                .count()).isEqualTo(4);
+    }
+
+    @Test
+    void ingestPosts_rejectsRepeatedSlugsAndLinksTagsByReadBackIds() {
+        given(bulkInserts.existingIds(eq(Table.USERS), anyCollection())).willReturn(Set.of(1L));
+        given(bulkInserts.tagSlugs(anyCollection())).willReturn(Map.of(3L, "java"));
+        given(bulkInserts.existingPostSlugs(anyCollection())).willReturn(Set.of());
+        given(bulkInserts.postIdsBySlug(List.of("a"))).willReturn(Map.of("a", 40L));
+
+        var report = ingestService.ingestPosts(ndjson("""
+                {"authorId": 1, "title": "A", "content": "x", "slug": "a", "tagIds": [3]}
+                {"authorId": 1, "title": "A again", "content": "x", "slug": "a"}
+                """));
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.errors()).singleElement()
+                .isEqualTo(new LineError(2, "Post slug 'a' is already in use"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<long[]>> postTags = ArgumentCaptor.forClass(List.class);
+        verify(bulkInserts).insertPostTags(postTags.capture());
+        assertThat(postTags.getValue()).singleElement()
+                .satisfies(pair -> assertThat(pair).containsExactly(40L, 3L));
+        verify(postListCacheInvalidator).postsCreated(
+                List.of(new PostSnapshot(1L, PostStatus.DRAFT, Set.of("java"))));
+        verify(outbox).appendAll(Entity.POST, Action.CREATED, List.of(40L), null, List.of("a"));
+    }
+
+    @Test
+    void ingestReviews_rejectsSecondReviewOfAPostByTheSameUser() {
+        given(bulkInserts.existingIds(eq(Table.POSTS), anyCollection()))
+                .willReturn(Set.of(1L, 2L));
+        given(bulkInserts.existingIds(eq(Table.USERS), anyCollection())).willReturn(Set.of(7L));
+        given(bulkInserts.existingReviewers(anyCollection(), anyCollection()))
+                .willReturn(Set.of(new Reviewer(2L, 7L)));
+        given(bulkInserts.insertReviews(any(), any())).willReturn(List.of(60L));
+
+        var report = ingestService.ingestReviews(ndjson("""
+                {"postId": 1, "userId": 7, "rating": 5}
+                {"postId": 2, "userId": 7, "rating": 4}
+                """));
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.errors()).singleElement()
+                .isEqualTo(new LineError(2, "User 7 has already reviewed post 2"));
+        verify(outbox).appendAll(Entity.REVIEW, Action.CREATED, List.of(60L), List.of(1L), null);
+    }
+
+    @Test
+    void ingest_countsEveryRejectionButReportsOnlyTheFirstOnes() {
+        var lines = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            lines.append("{}\n");
+        }
+
+        var report = ingestService.ingestComments(ndjson(lines.toString()));
+
+        assertThat(report.rejected()).isEqualTo(25);
+        assertThat(report.errors()).hasSize(10);
+        verify(bulkInserts, never()).insertComments(any(), any());
+        verify(outbox, never()).appendAll(any(), any(), any(), any(), any());
+    }
+
+    private static InputStream ndjson(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
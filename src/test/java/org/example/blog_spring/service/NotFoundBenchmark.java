@@ -0,0 +1,131 @@
+package org.example.blog_spring.service;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.config.CacheProperties;
+import org.example.blog_spring.exception.PostNotFoundException;
+import org.example.blog_spring.repository.PostRepository;
+import org.example.blog_spring.service.impl.PostServiceImpl;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of a lookup for a slug that does not exist, the path crawlers and broken links hit.
+ *
+ * <ul>
+ * <li>{@code before}: the query, then a not-found exception that captures its stack trace, as
+ * {@code getPostBySlug} did before the negative cache.</li>
+ * <li>{@code stacklessOnly}: {@link PostServiceImpl} with the negative cache disabled, so every
+ * call queries but the exception is stackless.</li>
+ * <li>{@code after}: {@link PostServiceImpl} with the negative cache, so repeated misses are
+ * answered without a query.</li>
+ * </ul>
+ *
+ * <p>Each call runs {@code stackDepth} frames deep, roughly where a service sits under the servlet
+ * filters, Spring MVC and its proxies; capturing a trace costs more the deeper it is thrown. The
+ * repository is a stub that burns {@code queryCpuTokens} of CPU in place of a database round trip,
+ * which understates what a real query costs. Spring's proxies are not involved.
+ *
+ * <p>Run with {@code ./scripts/benchmark_not_found.sh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    @Param({"128"})
+    public int stackDepth;
+
+    @Param({"2000"})
+    public long queryCpuTokens;
+
+    private PostRepository postRepository;
+    private PostService withoutNegativeCache;
+    private PostService withNegativeCache;
+
+    @Setup
+    public void setUp() {
+        postRepository = (PostRepository) Proxy.newProxyInstance(
+                PostRepository.class.getClassLoader(), new Class<?>[] {PostRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findBySlug")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Blackhole.consumeCPU(queryCpuTokens);
+                    return Optional.empty();
+                });
+        withoutNegativeCache = postService(false);
+        withNegativeCache = postService(true);
+    }
+
+    @Benchmark
+    public Object before() {
+        return atDepth(stackDepth, () -> {
+            try {
+                postRepository.findBySlug("missing")
+                        .orElseThrow(() -> new TracedNotFoundException("missing"));
+                return null;
+            } catch (TracedNotFoundException ex) {
+                return ex;
+            }
+        });
+    }
+
+    @Benchmark
+    public Object stacklessOnly() {
+        return atDepth(stackDepth, () -> lookUp(withoutNegativeCache));
+    }
+
+    @Benchmark
+    public Object after() {
+        return atDepth(stackDepth, () -> lookUp(withNegativeCache));
+    }
+
+    private PostService postService(boolean negativeCache) {
+        return new PostServiceImpl(postRepository, null, null, null,
+                new NegativeLookupCache(new CacheProperties.Negative(negativeCache, 0, null)),
+                new UniqueKeyIndex(new SimpleMeterRegistry(), false, 1, 0.01), null, null,
+                null, null);
+    }
+
+    private static Object lookUp(PostService postService) {
+        try {
+            return postService.getPostBySlug("missing");
+        } catch (PostNotFoundException ex) {
+            return ex;
+        }
+    }
+
+    private static Object atDepth(int depth, Supplier<Object> call) {
+        return depth <= 0 ? call.get() : atDepth(depth - 1, call);
+    }
+
+    /**
+     * What {@link PostNotFoundException} was before it dropped its stack trace.
+     */
+    private static final class TracedNotFoundException extends RuntimeException {
+
+        TracedNotFoundException(String slug) {
+            super("Post with slug '%s' not found".formatted(slug));
+        }
+    }
+}
@@ -4,20 +4,48 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
+import org.example.blog_spring.cache.PostListCacheInvalidator.PostSnapshot;
+import org.example.blog_spring.config.CacheProperties;
 import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.domain.Tag;
+import org.example.blog_spring.dto.TagSummaryDto;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.pagination.CountedPage;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.repository.PostTagSummary;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
 import org.example.blog_spring.dto.CreatePostRequest;
+import org.example.blog_spring.dto.KeysetCursor;
 import org.example.blog_spring.exception.PostNotFoundException;
 import org.example.blog_spring.service.impl.PostServiceImpl;
+import org.example.blog_spring.validation.UniqueKeyIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class PostServiceImplTest {
@@ -28,11 +56,23 @@ class PostServiceImplTest {
     private org.example.blog_spring.repository.UserRepository userRepository;
     @Mock
     private org.example.blog_spring.repository.TagRepository tagRepository;
+    @Mock
+    private PostListCacheInvalidator postListCacheInvalidator;
+    @Mock
+    private SyncRepository syncRepository;
+    @Mock
+    private Outbox outbox;
     private PostServiceImpl postService;
 
     @BeforeEach
     void setUp() {
-        postService = new PostServiceImpl(postRepository, userRepository, tagRepository);
+        postService = new PostServiceImpl(postRepository, userRepository, tagRepository,
+                postListCacheInvalidator,
+                new NegativeLookupCache(new CacheProperties.Negative(true, 100, null)),
+                new UniqueKeyIndex(new SimpleMeterRegistry(), true, 1000, 0.01), syncRepository,
+                outbox, new PageCounter(new CacheProperties.Counts(100, null), null, false,
+                        new SimpleMeterRegistry()),
+                null);
     }
 
     @Test
@@ -43,6 +83,33 @@ class PostServiceImplTest {
                 .isInstanceOf(PostNotFoundException.class);
     }
 
+    @Test
+    void getPostBySlug_answersRepeatedMissWithoutQuery_untilPostIsCreated() {
+        given(postRepository.findBySlug("new-post")).willReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> postService.getPostBySlug("new-post"))
+                    .isInstanceOf(PostNotFoundException.class)
+                    .hasNoCause();
+        }
+        verify(postRepository, Mockito.times(1)).findBySlug("new-post");
+
+        given(userRepository.existsById(1L)).willReturn(true);
+        given(postRepository.save(any(Post.class))).willAnswer(inv -> {
+            Post p = inv.getArgument(0);
+            p.setId(7L);
+            return p;
+        });
+        postService.createPost(new CreatePostRequest(1L, "New", "Content", "new-post", Set.of()));
+        var created = new Post();
+        created.setId(7L);
+        created.setSlug("new-post");
+        created.setTags(Set.of());
+        given(postRepository.findBySlug("new-post")).willReturn(Optional.of(created));
+
+        assertThat(postService.getPostBySlug("new-post").id()).isEqualTo(7L);
+    }
+
     @Test
     void createPost_throws_whenAuthorNotFound() {
         given(userRepository.existsById(999L)).willReturn(false);
@@ -68,22 +135,167 @@ class PostServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.title()).isEqualTo("Title");
         verify(postRepository).save(any(Post.class));
+        verify(outbox).append(Entity.POST, 1L, Action.CREATED, "slug");
+    }
+
+    @Test
+    void createPost_invalidatesListingsTheNewPostBelongsTo() {
+        given(userRepository.existsById(1L)).willReturn(true);
+        given(postRepository.save(any(Post.class))).willAnswer(inv -> {
+            Post p = inv.getArgument(0);
+            p.setId(1L);
+            p.setTags(Set.of());
+            return p;
+        });
+
+        postService.createPost(new CreatePostRequest(1L, "Title", "Content", "slug", Set.of()));
+
+        verify(postListCacheInvalidator).postChanged(null,
+                new PostSnapshot(1L, PostStatus.DRAFT, Set.of()));
     }
 
     @Test
     void deletePost_throws_whenNotFound() {
-        given(postRepository.existsById(999L)).willReturn(false);
+        given(postRepository.findById(999L)).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> postService.deletePost(999L))
                 .isInstanceOf(PostNotFoundException.class);
+        verify(postListCacheInvalidator, never()).postChanged(any(), any());
     }
 
     @Test
     void deletePost_deletesFromRepository() {
-        given(postRepository.existsById(1L)).willReturn(true);
+        var tag = Tag.builder().id(5L).name("Java").slug("java").build();
+        var post = Post.builder().id(1L).authorId(1L).title("Test").slug("test")
+                .status(PostStatus.PUBLISHED).tags(Set.of(tag)).build();
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
 
         postService.deletePost(1L);
 
-        verify(postRepository).deleteById(1L);
+        verify(syncRepository).recordPostDeletion(1L);
+        verify(postRepository).delete(post);
+        verify(outbox).append(Entity.POST, 1L, Action.DELETED, null);
+        verify(postListCacheInvalidator).postChanged(
+                new PostSnapshot(1L, PostStatus.PUBLISHED, Set.of("java")), null);
+    }
+
+    @Test
+    void getPosts_loadsTagsForWholePageInOneQuery() {
+        var lazyTags = Mockito.<Set<Tag>>mock();
+        var post1 = Post.builder().id(1L).authorId(1L).title("One").slug("one").tags(lazyTags)
+                .build();
+        var post2 = Post.builder().id(2L).authorId(1L).title("Two").slug("two").tags(lazyTags)
+                .build();
+        var pageable = PageRequest.of(0, 20);
+        given(postRepository.findAll(pageable))
+                .willReturn(new PageImpl<>(List.of(post1, post2), pageable, 2));
+        given(postRepository.findTagSummariesByPostIds(List.of(1L, 2L))).willReturn(List.of(
+                new PostTagSummary(1L, 10L, "Java", "java"),
+                new PostTagSummary(1L, 11L, "Spring", "spring")));
+
+        var result = postService.getPosts(null, null, null, null, pageable, CountMode.EXACT);
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getContent().get(0).tags()).containsExactlyInAnyOrder(
+                new TagSummaryDto(10L, "Java", "java"), new TagSummaryDto(11L, "Spring", "spring"));
+        assertThat(result.getContent().get(1).tags()).isEmpty();
+        verify(postRepository).findTagSummariesByPostIds(List.of(1L, 2L));
+        Mockito.verifyNoInteractions(lazyTags);
+    }
+
+    @Test
+    void getPosts_skipsTagQuery_whenPageIsEmpty() {
+        var pageable = PageRequest.of(0, 20);
+        given(postRepository.findAll(pageable)).willReturn(Page.empty(pageable));
+
+        var result = postService.getPosts(null, null, null, null, pageable, CountMode.EXACT);
+
+        assertThat(result.getContent()).isEmpty();
+        verify(postRepository, never()).findTagSummariesByPostIds(any());
+    }
+
+    @Test
+    void getPosts_cachedCount_reusesTotalCountedByEarlierRequest() {
+        var pageable = PageRequest.of(0, 1);
+        var post = Post.builder().id(1L).authorId(1L).title("One").slug("one").build();
+        given(postRepository.findSliceMatching(PostStatus.PUBLISHED, null, null, pageable))
+                .willReturn(new SliceImpl<>(List.of(post), pageable, true));
+        given(postRepository.countMatching(PostStatus.PUBLISHED, null, null)).willReturn(42L);
+
+        var first = postService.getPosts(null, null, null, true, pageable, CountMode.CACHED);
+        var second = postService.getPosts(null, null, null, true, pageable, CountMode.CACHED);
+
+        assertThat(first.getTotalElements()).isEqualTo(42);
+        assertThat(((CountedPage<?>) first).isTotalExact()).isTrue();
+        assertThat(second.getTotalElements()).isEqualTo(42);
+        assertThat(((CountedPage<?>) second).isTotalExact()).isFalse();
+        verify(postRepository, times(1)).countMatching(PostStatus.PUBLISHED, null, null);
+        verify(postRepository, never()).findByStatus(any(), any());
+    }
+
+    @Test
+    void getPostsByCursor_fetchesOneExtraRowAndReturnsNextCursor() {
+        var t = Instant.parse("2026-01-01T00:00:00Z");
+        var posts = List.of(
+                Post.builder().id(3L).authorId(1L).title("Three").createdAt(t.plusSeconds(2))
+                        .build(),
+                Post.builder().id(2L).authorId(1L).title("Two").createdAt(t.plusSeconds(1))
+                        .build(),
+                Post.builder().id(1L).authorId(1L).title("One").createdAt(t).build());
+        given(postRepository.findFirstSliceByCreatedAt(null, null, Limit.of(3)))
+                .willReturn(posts);
+
+        var result = postService.getPostsByCursor(null, null, null, null, null, 2);
+
+        assertThat(result.content()).extracting("id").containsExactly(3L, 2L);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(KeysetCursor.decode(result.nextCursor()))
+                .isEqualTo(new KeysetCursor(t.plusSeconds(1), 2L));
+    }
+
+    @Test
+    void getPostsByCursor_resumesAfterCursor_andStopsOnLastSlice() {
+        var t = Instant.parse("2026-01-01T00:00:00Z");
+        var cursor = new KeysetCursor(t, 5L).encode();
+        given(postRepository.findNextPublishedSliceByPublishedAt(1L, null, t, 5L, 21))
+                .willReturn(List.of(Post.builder().id(4L).authorId(1L)
+                        .title("Four").publishedAt(t.minusSeconds(1)).build()));
+
+        var result = postService.getPostsByCursor(1L, null, " ", true, cursor, 20);
+
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void getPostsByCursor_rejectsMalformedCursorAndSize() {
+        assertThatThrownBy(() -> postService.getPostsByCursor(null, null, null, null, "%%%", 20))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> postService.getPostsByCursor(null, null, null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getPosts_routesSearchToRankedFullTextQuery() {
+        var pageable = PageRequest.of(1, 10, org.springframework.data.domain.Sort.by("title"));
+        given(postRepository.fullTextSearch("spring & boo:*", "PUBLISHED", null, null,
+                PageRequest.of(1, 10))).willReturn(Page.empty(PageRequest.of(1, 10)));
+
+        var result = postService.getPosts(null, null, "Spring boo*", true, pageable,
+                CountMode.ESTIMATED);
+
+        assertThat(result.getContent()).isEmpty();
+        verify(postRepository, never()).search(any(), any(), any(), any());
+    }
+
+    @Test
+    void getPosts_returnsEmptyPage_whenSearchHasNoWords() {
+        var pageable = PageRequest.of(0, 10);
+
+        var result = postService.getPosts(null, null, "?!", null, pageable, CountMode.EXACT);
+
+        assertThat(result.getContent()).isEmpty();
+        Mockito.verifyNoInteractions(postRepository);
     }
 }
@@ -0,0 +1,176 @@
+package org.example.blog_spring.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
+import org.example.blog_spring.config.CacheProperties;
+import org.example.blog_spring.domain.Post;
+import org.example.blog_spring.domain.Tag;
+import org.example.blog_spring.exception.PostNotFoundException;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.repository.PostRepository;
+import org.example.blog_spring.repository.TagRepository;
+import org.example.blog_spring.repository.UserRepository;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
+import org.example.blog_spring.service.impl.PostServiceImpl;
+import org.example.blog_spring.service.impl.TagServiceImpl;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/**
+ * Concurrent cache misses for one key run a single load; everyone else waits on it.
+ */
+@SpringJUnitConfig
+class ReadCoalescingTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private TagService tagService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void concurrentMissesOnOnePostHitTheDatabaseOnce() throws Exception {
+        var post = Post.builder().id(1L).authorId(1L).title("Hot").slug("hot").tags(Set.of())
+                .build();
+        given(postRepository.findById(1L)).willAnswer(inv -> slowLoad(Optional.of(post)));
+
+        var results = callConcurrently(() -> postService.getPost(1L));
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(CALLERS).allSatisfy(dto -> assertThat(dto.id()).isEqualTo(1L));
+    }
+
+    @Test
+    void concurrentMissesOnOneTagSlugHitTheDatabaseOnce() throws Exception {
+        var tag = Tag.builder().id(5L).name("Java").slug("java").build();
+        given(tagRepository.findBySlug("java")).willAnswer(inv -> slowLoad(Optional.of(tag)));
+
+        var results = callConcurrently(() -> tagService.getTagBySlug("java"));
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(CALLERS).allSatisfy(dto -> assertThat(dto.slug())
+                .isEqualTo("java"));
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        given(postRepository.findById(any())).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> postService.getPost(9L))
+                .isInstanceOf(PostNotFoundException.class);
+        assertThat(cacheManager.getCache("posts").get(9L)).isNull();
+    }
+
+    private Object slowLoad(Object value) throws InterruptedException {
+        loads.incrementAndGet();
+        release.await(5, TimeUnit.SECONDS);
+        return value;
+    }
+
+    private <T> java.util.List<T> callConcurrently(Callable<T> call) throws Exception {
+        var started = new CountDownLatch(CALLERS);
+        try (var executor = Executors.newFixedThreadPool(CALLERS)) {
+            var futures = new ArrayList<Future<T>>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    started.countDown();
+                    return call.call();
+                }));
+            }
+            started.await(5, TimeUnit.SECONDS);
+            // Give every caller time to reach the cache before the first load completes.
+            Thread.sleep(200);
+            release.countDown();
+            var results = new ArrayList<T>();
+            for (var future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager();
+        }
+
+        @Bean
+        PostRepository postRepository() {
+            return mock(PostRepository.class);
+        }
+
+        @Bean
+        TagRepository tagRepository() {
+            return mock(TagRepository.class);
+        }
+
+        @Bean
+        PostService postService(PostRepository postRepository, TagRepository tagRepository,
+                CacheManager cacheManager) {
+            return new PostServiceImpl(postRepository, mock(UserRepository.class), tagRepository,
+                    new PostListCacheInvalidator(cacheManager), disabledNegativeLookups(),
+                    uniqueKeys(), mock(SyncRepository.class), mock(Outbox.class),
+                    mock(PageCounter.class), null);
+        }
+
+        @Bean
+        TagService tagService(TagRepository tagRepository, CacheManager cacheManager) {
+            return new TagServiceImpl(tagRepository, new PostListCacheInvalidator(cacheManager),
+                    disabledNegativeLookups(), uniqueKeys(), mock(Outbox.class),
+                    mock(PageCounter.class), null);
+        }
+
+        private static NegativeLookupCache disabledNegativeLookups() {
+            return new NegativeLookupCache(new CacheProperties.Negative(false, 0, null));
+        }
+
+        private static UniqueKeyIndex uniqueKeys() {
+            return new UniqueKeyIndex(new SimpleMeterRegistry(), false, 1, 0.01);
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package org.example.blog_spring.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.example.blog_spring.domain.Review;
 import org.example.blog_spring.dto.CreateReviewRequest;
+import org.example.blog_spring.dto.ReviewSummaryDto;
 import org.example.blog_spring.exception.PostNotFoundException;
 import org.example.blog_spring.exception.ReviewNotFoundException;
 import org.example.blog_spring.exception.UserNotFoundException;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
 import org.example.blog_spring.service.impl.ReviewServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,12 +36,19 @@ class ReviewServiceImplTest {
     private org.example.blog_spring.repository.PostRepository postRepository;
     @Mock
     private org.example.blog_spring.repository.UserRepository userRepository;
+    @Mock
+    private SyncRepository syncRepository;
+    @Mock
+    private Outbox outbox;
+    @Mock
+    private PageCounter pageCounter;
 
     private ReviewServiceImpl reviewService;
 
     @BeforeEach
     void setUp() {
-        reviewService = new ReviewServiceImpl(reviewRepository, postRepository, userRepository);
+        reviewService = new ReviewServiceImpl(reviewRepository, postRepository, userRepository,
+                syncRepository, outbox, pageCounter, null);
     }
 
     @Test
@@ -59,4 +77,28 @@ class ReviewServiceImplTest {
         assertThatThrownBy(() -> reviewService.getReview(999L))
                 .isInstanceOf(ReviewNotFoundException.class);
     }
+
+    @Test
+    void deleteReview_invalidatesCachedTotalOfItsPost() {
+        var review = Review.builder().id(3L).postId(7L).userId(1L).rating((short) 4).build();
+        given(reviewRepository.findById(3L)).willReturn(Optional.of(review));
+
+        reviewService.deleteReview(3L);
+
+        verify(syncRepository).recordReviewDeletion(3L);
+        verify(reviewRepository).delete(review);
+        verify(pageCounter).invalidate(Scope.REVIEWS, 7L);
+        verify(outbox).append(Entity.REVIEW, 3L, 7L, Action.DELETED, null);
+    }
+
+    @Test
+    void getReviewSummaries_givesPostsWithoutReviewsAnEmptySummary() {
+        given(reviewRepository.summarizeByPostIds(List.of(1L, 2L)))
+                .willReturn(List.of(new ReviewSummaryDto(1L, 2L, 4.5)));
+
+        var summaries = reviewService.getReviewSummaries(List.of(1L, 2L));
+
+        assertThat(summaries).containsEntry(1L, new ReviewSummaryDto(1L, 2L, 4.5))
+                .containsEntry(2L, new ReviewSummaryDto(2L, 0L, null));
+    }
 }
@@ -0,0 +1,138 @@
+package org.example.blog_spring.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.example.blog_spring.dto.SyncChange;
+import org.example.blog_spring.dto.SyncChange.Operation;
+import org.example.blog_spring.dto.SyncChange.Type;
+import org.example.blog_spring.dto.SyncToken;
+import org.example.blog_spring.dto.SyncToken.Source;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
+import org.example.blog_spring.repository.jdbc.SyncRepository.ChangeRow;
+import org.example.blog_spring.service.impl.SyncServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SyncServiceImplTest {
+
+    private static final Instant T1 = Instant.now().minus(Duration.ofHours(2));
+    private static final Instant T2 = T1.plusSeconds(1);
+
+    @Mock
+    private SyncRepository syncRepository;
+
+    private SyncServiceImpl syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncServiceImpl(syncRepository, Duration.ofSeconds(5),
+                Duration.ofDays(30));
+        given(syncRepository.findChanges(any(), any(), any(), eq(3))).willReturn(List.of());
+    }
+
+    @Test
+    void getChanges_mergesSourcesInFeedOrderAndContinuesFromTheLastOneReturned() {
+        given(syncRepository.findChanges(eq(Source.POSTS), eq(SyncToken.START), any(), eq(3)))
+                .willReturn(List.of(row(T2, Source.POSTS, 1, Type.POST, Operation.CREATED)));
+        given(syncRepository.findChanges(eq(Source.COMMENTS), eq(SyncToken.START), any(), eq(3)))
+                .willReturn(List.of(row(T1, Source.COMMENTS, 4, Type.COMMENT, Operation.CREATED),
+                        row(T2, Source.COMMENTS, 2, Type.COMMENT, Operation.CREATED)));
+        given(syncRepository.findChanges(eq(Source.TOMBSTONES), eq(SyncToken.START), any(),
+                eq(3))).willReturn(List.of(row(T1, Source.TOMBSTONES, 9, Type.REVIEW,
+                        Operation.DELETED)));
+
+        var changes = syncService.getChanges(null, 2);
+
+        assertThat(changes.hasMore()).isTrue();
+        assertThat(changes.changes()).extracting(SyncChange::type, SyncChange::operation)
+                .containsExactly(tuple(Type.COMMENT, Operation.CREATED),
+                        tuple(Type.REVIEW, Operation.DELETED));
+        assertThat(SyncToken.decode(changes.nextToken()))
+                .isEqualTo(new SyncToken(T1, Source.TOMBSTONES, 9));
+    }
+
+    @Test
+    void getChanges_whenCaughtUpHandsOutATokenAtTheSettleWindow() {
+        var before = Instant.now().minusSeconds(5);
+
+        var changes = syncService.getChanges(null, 2);
+
+        assertThat(changes.changes()).isEmpty();
+        assertThat(changes.hasMore()).isFalse();
+        var next = SyncToken.decode(changes.nextToken());
+        assertThat(next.changedAt()).isBetween(before, Instant.now().minusSeconds(5));
+        assertThat(next.afterKey(Source.POSTS)).isZero();
+    }
+
+    @Test
+    void getChanges_stopsAtTheStartOfTheOldestTransactionStillWriting() {
+        given(syncRepository.findOldestOpenWrite()).willReturn(Optional.of(T2));
+
+        var changes = syncService.getChanges(new SyncToken(T1, Source.POSTS, 3).encode(), 2);
+
+        verify(syncRepository).findChanges(Source.COMMENTS, new SyncToken(T1, Source.POSTS, 3),
+                T2, 3);
+        assertThat(SyncToken.decode(changes.nextToken())).isEqualTo(SyncToken.before(T2));
+    }
+
+    @Test
+    void getChanges_movesATokenPastATransactionStillWritingBackToIt() {
+        given(syncRepository.findOldestOpenWrite()).willReturn(Optional.of(T1));
+
+        var changes = syncService.getChanges(new SyncToken(T2, Source.REVIEWS, 5).encode(), 2);
+
+        assertThat(changes.changes()).isEmpty();
+        assertThat(SyncToken.decode(changes.nextToken())).isEqualTo(SyncToken.before(T1));
+    }
+
+    @Test
+    void getChanges_rejectsTokensOlderThanTheTombstonesKept() {
+        var expired = new SyncToken(Instant.now().minus(Duration.ofDays(31)), Source.POSTS, 1)
+                .encode();
+
+        assertThatThrownBy(() -> syncService.getChanges(expired, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expired");
+        assertThatThrownBy(() -> syncService.getChanges("not a token", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid sync token");
+        assertThatThrownBy(() -> syncService.getChanges(null, SyncServiceImpl.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(syncRepository);
+    }
+
+    @Test
+    void syncToken_afterKeySkipsSourcesAlreadyPassedAtTheSameInstant() {
+        var token = new SyncToken(T1, Source.COMMENTS, 7);
+
+        assertThat(token.afterKey(Source.POSTS)).isEqualTo(Long.MAX_VALUE);
+        assertThat(token.afterKey(Source.COMMENTS)).isEqualTo(7);
+        assertThat(token.afterKey(Source.TOMBSTONES)).isZero();
+        assertThat(SyncToken.decode(token.encode())).isEqualTo(token);
+    }
+
+    private static ChangeRow row(Instant at, Source source, long key, Type type,
+            Operation operation) {
+        return new ChangeRow(new SyncToken(at, source, key),
+                new SyncChange(type, key, 0, operation, at));
+    }
+}
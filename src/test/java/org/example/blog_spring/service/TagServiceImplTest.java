@@ -4,13 +4,25 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 import java.util.Optional;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
+import org.example.blog_spring.config.CacheProperties;
 import org.example.blog_spring.domain.Tag;
 import org.example.blog_spring.dto.CreateTagRequest;
+import org.example.blog_spring.dto.UpdateTagRequest;
 import org.example.blog_spring.exception.TagNotFoundException;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.pagination.PageCounter.Scope;
 import org.example.blog_spring.service.impl.TagServiceImpl;
+import org.example.blog_spring.validation.UniqueKeyIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,11 +34,20 @@ class TagServiceImplTest {
 
     @Mock
     private org.example.blog_spring.repository.TagRepository tagRepository;
+    @Mock
+    private PostListCacheInvalidator postListCacheInvalidator;
+    @Mock
+    private Outbox outbox;
+    @Mock
+    private PageCounter pageCounter;
     private TagServiceImpl tagService;
 
     @BeforeEach
     void setUp() {
-        tagService = new TagServiceImpl(tagRepository);
+        tagService = new TagServiceImpl(tagRepository, postListCacheInvalidator,
+                new NegativeLookupCache(new CacheProperties.Negative(true, 100, null)),
+                new UniqueKeyIndex(new SimpleMeterRegistry(), true, 1000, 0.01), outbox,
+                pageCounter, null);
     }
 
     @Test
@@ -70,5 +91,31 @@ class TagServiceImplTest {
 
         assertThat(result).isNotNull();
         assertThat(result.name()).isEqualTo("New");
+        verify(outbox).append(Entity.TAG, 1L, Action.CREATED, "new");
+    }
+
+    @Test
+    void updateTag_invalidatesListingsForOldAndNewSlug() {
+        var tag = Tag.builder().id(1L).name("Java").slug("java").build();
+        given(tagRepository.findById(1L)).willReturn(Optional.of(tag));
+        given(tagRepository.save(tag)).willReturn(tag);
+
+        tagService.updateTag(1L, new UpdateTagRequest("Java 21", "java-21", null));
+
+        verify(postListCacheInvalidator).tagChanged(1L, "java", "java-21");
+        verify(outbox).append(Entity.TAG, 1L, Action.UPDATED, "java-21");
+    }
+
+    @Test
+    void deleteTag_invalidatesListingsForItsSlug() {
+        var tag = Tag.builder().id(1L).name("Java").slug("java").build();
+        given(tagRepository.findById(1L)).willReturn(Optional.of(tag));
+
+        tagService.deleteTag(1L);
+
+        verify(tagRepository).delete(tag);
+        verify(postListCacheInvalidator).tagChanged(1L, "java");
+        verify(outbox).append(Entity.TAG, 1L, Action.DELETED, null);
+        verify(pageCounter).invalidate(Scope.POSTS);
     }
 }
@@ -9,12 +9,21 @@ import org.example.blog_spring.dto.CreateUserRequest;
 import org.example.blog_spring.dto.UpdateUserRequest;
 import org.example.blog_spring.exception.EmailAlreadyUsedException;
 import org.example.blog_spring.exception.UserNotFoundException;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.outbox.Outbox;
+import org.example.blog_spring.pagination.PageCounter;
+import org.example.blog_spring.repository.jdbc.SyncRepository;
 import org.example.blog_spring.service.impl.UserServiceImpl;
+import org.example.blog_spring.validation.UniqueKeyIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -23,12 +32,21 @@ class UserServiceImplTest {
 
     @Mock
     private org.example.blog_spring.repository.UserRepository userRepository;
+    @Mock
+    private SyncRepository syncRepository;
+    @Mock
+    private Outbox outbox;
+    @Mock
+    private PageCounter pageCounter;
 
+    private UniqueKeyIndex uniqueKeys;
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository);
+        uniqueKeys = new UniqueKeyIndex(new SimpleMeterRegistry(), true, 1000, 0.01);
+        userService = new UserServiceImpl(userRepository, uniqueKeys, syncRepository, outbox,
+                pageCounter, null);
     }
 
     @Test
@@ -74,6 +92,17 @@ class UserServiceImplTest {
 
         assertThat(result).isNotNull();
         assertThat(result.username()).isEqualTo("newuser");
+        verify(outbox).append(Entity.USER, 1L, Action.CREATED, null);
+    }
+
+    @Test
+    void createUser_skipsUsernameQuery_whenIndexRulesItOut() {
+        uniqueKeys.rebuild(UniqueKeyIndex.Key.USER_USERNAME, 1, sink -> sink.accept("jdoe"));
+        given(userRepository.save(any(User.class))).willAnswer(inv -> inv.getArgument(0));
+
+        userService.createUser(new CreateUserRequest("newuser", "new@e.com", "New User"));
+
+        verify(userRepository, never()).existsByUsername(any());
     }
 
     @Test
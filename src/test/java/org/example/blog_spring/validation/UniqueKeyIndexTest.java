@@ -0,0 +1,115 @@
+package org.example.blog_spring.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.validation.UniqueKeyIndex.Key;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class UniqueKeyIndexTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UniqueKeyIndex index = new UniqueKeyIndex(meterRegistry, true, 1000, 0.01);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    void exists_queriesUntilBuilt() {
+        assertThat(index.exists(Key.TAG_SLUG, "java", taken("java"))).isTrue();
+        assertThat(index.exists(Key.TAG_SLUG, "go", taken("java"))).isFalse();
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void exists_skipsQueryForValuesDefinitelyAbsent() {
+        index.rebuild(Key.TAG_SLUG, 2, sink -> List.of("java", "spring").forEach(sink));
+
+        assertThat(index.exists(Key.TAG_SLUG, "java", taken("java", "spring"))).isTrue();
+        assertThat(index.exists(Key.TAG_SLUG, "kotlin", taken("java", "spring"))).isFalse();
+
+        assertThat(queries).hasValue(1);
+        assertThat(checks("tag_slug", "skipped")).isEqualTo(1.0);
+        assertThat(checks("tag_slug", "present")).isEqualTo(1.0);
+    }
+
+    @Test
+    void add_takesEffectAfterCommit() {
+        index.rebuild(Key.POST_SLUG, 0, sink -> {
+        });
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.add(Key.POST_SLUG, "hello-world");
+            index.exists(Key.POST_SLUG, "hello-world", taken());
+            assertThat(queries).hasValue(0);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.exists(Key.POST_SLUG, "hello-world", taken("hello-world"))).isTrue();
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void falsePositiveRate_staysNearTheConfiguredProbability() {
+        index.rebuild(Key.USER_EMAIL, 1000, sink -> {
+            for (int i = 0; i < 1000; i++) {
+                sink.accept("user" + i + "@example.com");
+            }
+        });
+
+        for (int i = 0; i < 10_000; i++) {
+            index.exists(Key.USER_EMAIL, "someone" + i + "@example.org", taken());
+        }
+
+        double rate = meterRegistry.get("blog.uniqueness_index.false_positive_rate")
+                .tag("key", "user_email").gauge().value();
+        assertThat(rate).isLessThan(0.03);
+        assertThat(checks("user_email", "false_positive")).isEqualTo(queries.get());
+        assertThat(meterRegistry.get("blog.uniqueness_index.expected_fpp")
+                .tag("key", "user_email").gauge().value()).isLessThan(0.03);
+    }
+
+    @Test
+    void isSaturated_onceMoreValuesThanSizedFor() {
+        index.rebuild(Key.TAG_NAME, 0, sink -> {
+        });
+        for (int i = 0; i <= 1000; i++) {
+            assertThat(index.isSaturated(Key.TAG_NAME)).isFalse();
+            index.add(Key.TAG_NAME, "tag" + i);
+        }
+
+        assertThat(index.isSaturated(Key.TAG_NAME)).isTrue();
+    }
+
+    @Test
+    void disabled_alwaysQueries() {
+        var disabled = new UniqueKeyIndex(meterRegistry, false, 1000, 0.01);
+        disabled.rebuild(Key.TAG_SLUG, 0, sink -> {
+        });
+
+        disabled.exists(Key.TAG_SLUG, "java", taken());
+
+        assertThat(queries).hasValue(1);
+    }
+
+    private Predicate<String> taken(String... values) {
+        var existing = List.of(values);
+        return value -> {
+            queries.incrementAndGet();
+            return existing.contains(value);
+        };
+    }
+
+    private double checks(String key, String result) {
+        return meterRegistry.get("blog.uniqueness_index.checks").tag("key", key)
+                .tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.blog_spring.web.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.ReviewDto;
+import org.example.blog_spring.dto.ReviewSummaryDto;
+import org.example.blog_spring.dto.UserDto;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.service.CommentService;
+import org.example.blog_spring.service.PostService;
+import org.example.blog_spring.service.ReviewService;
+import org.example.blog_spring.service.TagService;
+import org.example.blog_spring.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.graphql.test.autoconfigure.GraphQlTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Nested fields are loaded once per level of the response, not once per parent.
+ */
+@GraphQlTest(BlogGraphQlController.class)
+@Import(BlogGraphQlBatchingTest.NoCaching.class)
+class BlogGraphQlBatchingTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoBean
+    private UserService userService;
+    @MockitoBean
+    private PostService postService;
+    @MockitoBean
+    private TagService tagService;
+    @MockitoBean
+    private CommentService commentService;
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @Test
+    void nestedFields_costOneServiceCallPerFieldAndLevel() {
+        var posts = List.of(post(1L, 10L), post(2L, 10L), post(3L, 11L));
+        given(postService.getPosts(any(), any(), any(), any(), any(), eq(CountMode.EXACT)))
+                .willReturn(new PageImpl<>(posts));
+        given(userService.getUsersByIds(anyCollection())).willReturn(Map.of(
+                10L, user(10L), 11L, user(11L)));
+        given(commentService.getTopLevelCommentsForPosts(Set.of(1L, 2L, 3L), 5))
+                .willReturn(Map.of(
+                1L, List.of(comment(100L, 1L, null, 11L)),
+                2L, List.of(comment(200L, 2L, null, 10L))));
+        given(commentService.getRepliesForComments(Set.of(100L, 200L), 2)).willReturn(Map.of(
+                100L, List.of(comment(101L, 1L, 100L, 10L))));
+        given(commentService.getRepliesForComments(Set.of(101L), 5)).willReturn(Map.of());
+        given(reviewService.getReviewSummaries(Set.of(1L, 2L, 3L))).willReturn(Map.of(
+                1L, new ReviewSummaryDto(1L, 2L, 4.5),
+                2L, new ReviewSummaryDto(2L, 0L, null),
+                3L, new ReviewSummaryDto(3L, 0L, null)));
+
+        graphQlTester.document("""
+                        {
+                          posts {
+                            id
+                            author { username }
+                            reviewSummary { count averageRating }
+                            comments {
+                              author { username }
+                              replies(first: 2) { id author { username } replies { id } }
+                            }
+                          }
+                        }
+                        """)
+                .execute()
+                .path("posts[0].author.username").entity(String.class).isEqualTo("user-10")
+                .path("posts[2].author.username").entity(String.class).isEqualTo("user-11")
+                .path("posts[0].reviewSummary.averageRating").entity(Double.class).isEqualTo(4.5)
+                .path("posts[0].comments[0].replies[0].id").entity(String.class).isEqualTo("101")
+                .path("posts[0].comments[0].replies[0].author.username").entity(String.class)
+                .isEqualTo("user-10")
+                .path("posts[2].comments").entityList(Object.class).hasSize(0);
+
+        // Post authors, then comment and reply authors; graphql-java may dispatch the last two
+        // levels together.
+        verify(userService, atMost(3)).getUsersByIds(anyCollection());
+        verify(commentService).getTopLevelCommentsForPosts(Set.of(1L, 2L, 3L), 5);
+        verify(commentService).getRepliesForComments(Set.of(100L, 200L), 2);
+        verify(commentService).getRepliesForComments(Set.of(101L), 5);
+        verify(reviewService).getReviewSummaries(Set.of(1L, 2L, 3L));
+        assertThat(mockingDetails(userService).getInvocations())
+                .noneMatch(invocation -> invocation.getMethod().getName().equals("getUser"));
+    }
+
+    @Test
+    void nestedLists_loadEachRequestedPageSizeOnce() {
+        var posts = List.of(post(1L, 10L), post(2L, 10L));
+        given(postService.getPosts(any(), any(), any(), any(), any(), eq(CountMode.EXACT)))
+                .willReturn(new PageImpl<>(posts));
+        given(reviewService.getReviewsForPosts(Set.of(1L, 2L), 1)).willReturn(Map.of(
+                1L, List.of(review(300L, 1L))));
+        given(reviewService.getReviewsForPosts(Set.of(1L, 2L), 3)).willReturn(Map.of(
+                1L, List.of(review(300L, 1L), review(301L, 1L))));
+
+        graphQlTester.document("""
+                        {
+                          posts {
+                            one: reviews(first: 1) { id }
+                            reviews(first: 3) { id }
+                          }
+                        }
+                        """)
+                .execute()
+                .path("posts[0].one").entityList(Object.class).hasSize(1)
+                .path("posts[0].reviews").entityList(Object.class).hasSize(2)
+                .path("posts[1].reviews").entityList(Object.class).hasSize(0);
+
+        verify(reviewService).getReviewsForPosts(Set.of(1L, 2L), 1);
+        verify(reviewService).getReviewsForPosts(Set.of(1L, 2L), 3);
+    }
+
+    // The application enables caching; the mocked services have nothing to cache.
+    @TestConfiguration
+    static class NoCaching {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    private static PostDto post(Long id, Long authorId) {
+        return new PostDto(id, authorId, "Title " + id, "Content", "post-" + id,
+                PostStatus.PUBLISHED, NOW, NOW, NOW, 0L, Set.of());
+    }
+
+    private static UserDto user(Long id) {
+        return new UserDto(id, "user-" + id, "user-" + id + "@example.com", "User", NOW, NOW);
+    }
+
+    private static ReviewDto review(Long id, Long postId) {
+        return new ReviewDto(id, postId, 10L, (short) 5, "Review " + id, "Content", false, NOW,
+                NOW);
+    }
+
+    private static CommentDto comment(Long id, Long postId, Long parentId, Long userId) {
+        return new CommentDto(id, postId, userId, parentId, "Comment " + id, NOW, NOW);
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.blog_spring.web.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.CursorPage;
+import org.example.blog_spring.dto.KeysetCursor;
+import org.example.blog_spring.service.CommentService;
+import org.example.blog_spring.service.PostService;
+import org.example.blog_spring.service.ReviewService;
+import org.example.blog_spring.service.TagService;
+import org.example.blog_spring.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.graphql.test.autoconfigure.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * The {@code *Connection} fields, with the Relay types Spring for GraphQL generates for them.
+ */
+@GraphQlTest(BlogGraphQlController.class)
+@Import(BlogGraphQlBatchingTest.NoCaching.class)
+class BlogGraphQlConnectionTest {
+
+    private static final Instant T1 = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant T2 = T1.plusSeconds(60);
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoBean
+    private UserService userService;
+    @MockitoBean
+    private PostService postService;
+    @MockitoBean
+    private TagService tagService;
+    @MockitoBean
+    private CommentService commentService;
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @Test
+    void commentsByPostConnection_givesEveryEdgeItsKeysetCursor() {
+        var first = comment(1L, T1);
+        var second = comment(2L, T2);
+        var endCursor = new KeysetCursor(T2, 2L).encode();
+        given(commentService.getCommentsForPostByCursor(7L, null, 2))
+                .willReturn(new CursorPage<>(List.of(first, second), 2, true, endCursor));
+
+        graphQlTester.document("""
+                        {
+                          commentsByPostConnection(postId: 7, first: 2) {
+                            edges { cursor node { id content } }
+                            pageInfo { hasNextPage hasPreviousPage startCursor endCursor }
+                          }
+                        }
+                        """)
+                .execute()
+                .path("commentsByPostConnection.edges[*].node.id").entityList(String.class)
+                .containsExactly("1", "2")
+                .path("commentsByPostConnection.edges[0].cursor").entity(String.class)
+                .isEqualTo(new KeysetCursor(T1, 1L).encode())
+                .path("commentsByPostConnection.pageInfo.hasNextPage").entity(Boolean.class)
+                .isEqualTo(true)
+                .path("commentsByPostConnection.pageInfo.hasPreviousPage").entity(Boolean.class)
+                .isEqualTo(false)
+                .path("commentsByPostConnection.pageInfo.endCursor").entity(String.class)
+                .isEqualTo(endCursor);
+    }
+
+    @Test
+    void usersConnection_resumesAfterTheGivenCursorAndEndsWithoutOne() {
+        var after = new KeysetCursor(T2, 5L).encode();
+        given(userService.getUsersByCursor(after, 20))
+                .willReturn(new CursorPage<>(List.of(), 20, false, null));
+
+        graphQlTester.document("""
+                        query Next($after: String) {
+                          usersConnection(after: $after) {
+                            edges { node { username } }
+                            pageInfo { hasNextPage endCursor }
+                          }
+                        }
+                        """)
+                .variable("after", after)
+                .execute()
+                .path("usersConnection.edges").entityList(Object.class).hasSize(0)
+                .path("usersConnection.pageInfo.hasNextPage").entity(Boolean.class)
+                .isEqualTo(false)
+                .path("usersConnection.pageInfo.endCursor").valueIsNull();
+    }
+
+    @Test
+    void connectionTypes_areGeneratedFromTheSchema() {
+        graphQlTester.document("""
+                        { __type(name: "PostEdge") { fields { name } } }
+                        """)
+                .execute()
+                .path("__type.fields[*].name").entityList(String.class)
+                .satisfies(names -> assertThat(names).containsExactlyInAnyOrder("cursor", "node"));
+    }
+
+    private static CommentDto comment(Long id, Instant createdAt) {
+        return new CommentDto(id, 7L, 1L, null, "Comment " + id, createdAt, createdAt);
+    }
+}
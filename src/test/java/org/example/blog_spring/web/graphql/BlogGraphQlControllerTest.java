@@ -7,8 +7,10 @@ import java.time.Instant;
 import java.util.List;
 
 import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.CommentThreadDto;
 import org.example.blog_spring.dto.PostDto;
 import org.example.blog_spring.dto.TagSummaryDto;
+import org.example.blog_spring.pagination.CountMode;
 import org.example.blog_spring.service.CommentService;
 import org.example.blog_spring.service.PostService;
 import org.example.blog_spring.service.ReviewService;
@@ -24,6 +26,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class BlogGraphQlControllerTest {
@@ -43,7 +46,8 @@ class BlogGraphQlControllerTest {
 
     @BeforeEach
     void setUp() {
-        controller = new BlogGraphQlController(userService, postService, tagService, commentService, reviewService);
+        controller = new BlogGraphQlController(userService, postService, tagService,
+                commentService, reviewService, new DefaultBatchLoaderRegistry());
     }
 
     @Test
@@ -70,7 +74,8 @@ class BlogGraphQlControllerTest {
                 Mockito.isNull(),
                 Mockito.isNull(),
                 Mockito.isNull(),
-                Mockito.any(Pageable.class)
+                Mockito.any(Pageable.class),
+                Mockito.eq(CountMode.EXACT)
         )).willReturn(page);
 
         var result = controller.posts(0, 20, null, null, null, null);
@@ -83,12 +88,26 @@ class BlogGraphQlControllerTest {
     void usersQuery_returnsUsers() {
         var user = new org.example.blog_spring.dto.UserDto(
                 1L, "jdoe", "j@e.com", "John", Instant.now(), Instant.now());
-        given(userService.getUsers(PageRequest.of(0, 20))).willReturn(new PageImpl<>(List.of(user), PageRequest.of(0, 20), 1));
+        given(userService.getUsers(PageRequest.of(0, 20), CountMode.EXACT))
+                .willReturn(new PageImpl<>(List.of(user), PageRequest.of(0, 20), 1));
 
         var result = controller.users(0, 20);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().username()).isEqualTo("jdoe");
     }
-}
 
+    @Test
+    void commentTreeQuery_returnsNestedThreads() {
+        var now = Instant.now();
+        var reply = new CommentThreadDto(2L, 1L, 1L, 1L, "Reply", now, now, false, List.of());
+        var root = new CommentThreadDto(1L, 1L, 1L, null, "Root", now, now, false,
+                List.of(reply));
+        given(commentService.getCommentTree(1L, null, 20, 8)).willReturn(List.of(root));
+
+        var result = controller.commentTree(1L, null, 20, 8);
+
+        assertThat(result).singleElement()
+                .satisfies(thread -> assertThat(thread.replies()).containsExactly(reply));
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.blog_spring.web.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.blog_spring.config.GraphQlConfig;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.UserDto;
+import org.example.blog_spring.exception.PostNotFoundException;
+import org.example.blog_spring.outbox.ChangeEvent;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.service.CommentService;
+import org.example.blog_spring.service.PostService;
+import org.example.blog_spring.service.ReviewService;
+import org.example.blog_spring.service.TagService;
+import org.example.blog_spring.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.graphql.test.autoconfigure.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * The {@code commentAdded} subscription end to end, from a change event to the response, with
+ * its nested fields resolved by {@link BlogGraphQlController}.
+ */
+@GraphQlTest({BlogGraphQlSubscriptionController.class, BlogGraphQlController.class})
+@Import({GraphQlConfig.class, QueryCostInstrumentationTest.Support.class})
+class BlogGraphQlSubscriptionTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private SubscriptionFeed feed;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private UserService userService;
+    @MockitoBean
+    private PostService postService;
+    @MockitoBean
+    private TagService tagService;
+    @MockitoBean
+    private CommentService commentService;
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @Test
+    void commentAdded_pushesCommentsCreatedOnThePost() throws InterruptedException {
+        given(postService.getPost(7L)).willReturn(post(7L));
+        given(commentService.getComment(30L))
+                .willReturn(new CommentDto(30L, 7L, 10L, null, "First!", NOW, NOW));
+        given(userService.getUsersByIds(anyCollection())).willReturn(Map.of(10L, user(10L)));
+
+        var received = graphQlTester.document("""
+                        subscription { commentAdded(postId: 7) { content author { username } } }
+                        """)
+                .executeSubscription()
+                .toFlux()
+                .take(1)
+                .map(response -> response.path("commentAdded.author.username")
+                        .entity(String.class).get())
+                .collectList()
+                .toFuture();
+        awaitSubscribers(1);
+
+        feed.onChange(new ChangeEvent(1, Entity.COMMENT, 30L, 7L, Action.CREATED, null, NOW,
+                false));
+
+        assertThat(received).succeedsWithin(TIMEOUT)
+                .satisfies(usernames -> assertThat(usernames).containsExactly("user-10"));
+    }
+
+    @Test
+    void commentAdded_onAnUnknownPost_fails() {
+        given(postService.getPost(8L)).willThrow(new PostNotFoundException(8L));
+
+        var result = graphQlTester.document("subscription { commentAdded(postId: 8) { id } }")
+                .executeSubscription()
+                .toFlux()
+                .collectList()
+                .toFuture();
+
+        assertThat(result).failsWithin(TIMEOUT)
+                .withThrowableThat()
+                .havingRootCause()
+                .isInstanceOf(PostNotFoundException.class);
+        assertThat(meterRegistry.get("blog.graphql.subscriptions").tag("field", "commentAdded")
+                .gauge().value()).isZero();
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        var gauge = meterRegistry.get("blog.graphql.subscriptions").tag("field", "commentAdded")
+                .gauge();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (gauge.value() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static PostDto post(Long id) {
+        return new PostDto(id, 10L, "Title " + id, "Content", "post-" + id,
+                PostStatus.PUBLISHED, NOW, NOW, NOW, 0L, Set.of());
+    }
+
+    private static UserDto user(Long id) {
+        return new UserDto(id, "user-" + id, "user-" + id + "@example.com", "User", NOW, NOW);
+    }
+}
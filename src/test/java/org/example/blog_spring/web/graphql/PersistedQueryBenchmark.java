@@ -0,0 +1,110 @@
+package org.example.blog_spring.web.graphql;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-request document cost of a typical nested operation against the application schema:
+ * parsed and validated on every request, as without {@link PersistedQueryDocumentProvider},
+ * against taken from its cache by the hash the client sends or by the hash of the query text.
+ *
+ * <p>Run with {@code ./scripts/benchmark_persisted_queries.sh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistedQueryBenchmark {
+
+    private static final String QUERY = """
+            query PostPage($size: Int!, $tag: String) {
+              posts(size: $size, tag: $tag, publishedOnly: true) {
+                ...PostFields
+                author { id username fullName }
+                reviewSummary { count averageRating }
+                comments {
+                  id content createdAt
+                  author { id username }
+                  replies { id content author { id username } }
+                }
+              }
+            }
+
+            fragment PostFields on Post {
+              id title slug status publishedAt
+              tags { id name slug }
+            }
+            """;
+
+    private GraphQLSchema schema;
+    private PersistedQueryDocumentProvider provider;
+    private ExecutionInput plain;
+    private ExecutionInput hashOnly;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/graphql/schema.graphqls")) {
+            var sdl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(
+                    new SchemaParser().parse(sdl));
+        }
+        provider = new PersistedQueryDocumentProvider(Map.of(), false, 1000,
+                new SimpleMeterRegistry());
+        var variables = Map.<String, Object>of("size", 20);
+        plain = ExecutionInput.newExecutionInput(QUERY).variables(variables).build();
+        hashOnly = ExecutionInput.newExecutionInput(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+                .variables(variables)
+                .extensions(Map.of("persistedQuery", Map.of("version", 1,
+                        "sha256Hash", PersistedQueryDocumentProvider.sha256(QUERY))))
+                .build();
+        if (provider.getDocumentAsync(plain, this::parseAndValidate).join().hasErrors()) {
+            throw new IllegalStateException("Benchmark query does not validate");
+        }
+    }
+
+    @Benchmark
+    public PreparsedDocumentEntry parseAndValidateEveryRequest() {
+        return parseAndValidate(plain);
+    }
+
+    @Benchmark
+    public PreparsedDocumentEntry persistedByHash() {
+        return provider.getDocumentAsync(hashOnly, this::parseAndValidate).join();
+    }
+
+    @Benchmark
+    public PreparsedDocumentEntry cachedByQueryText() {
+        return provider.getDocumentAsync(plain, this::parseAndValidate).join();
+    }
+
+    private PreparsedDocumentEntry parseAndValidate(ExecutionInput input) {
+        var result = ParseAndValidate.parseAndValidate(schema, input);
+        return result.isFailure()
+                ? new PreparsedDocumentEntry(result.getErrors())
+                : new PreparsedDocumentEntry(result.getDocument());
+    }
+}
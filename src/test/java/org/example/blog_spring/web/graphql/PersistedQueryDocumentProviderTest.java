@@ -0,0 +1,124 @@
+package org.example.blog_spring.web.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class PersistedQueryDocumentProviderTest {
+
+    private static final String QUERY = "{ posts(size: 5) { id title } }";
+    private static final String HASH = PersistedQueryDocumentProvider.sha256(QUERY);
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    @Test
+    void hashWithoutQuery_isNotFoundUntilTheClientSendsTheQueryOnce() {
+        var provider = provider(Map.of(), false);
+
+        assertThat(errorClassification(document(provider, hashOnly(HASH))))
+                .isEqualTo("PersistedQueryNotFound");
+        assertThat(document(provider, withHash(QUERY, HASH)).hasErrors()).isFalse();
+        var entry = document(provider, hashOnly(HASH));
+
+        assertThat(entry.hasErrors()).isFalse();
+        assertThat(entry.getDocument().getDefinitions()).hasSize(1);
+        assertThat(parses).hasValue(1);
+    }
+
+    @Test
+    void plainQuery_isParsedOnceAndKeyedByTheHashOfItsText() {
+        var provider = provider(Map.of(), false);
+
+        document(provider, ExecutionInput.newExecutionInput(QUERY).build());
+        document(provider, ExecutionInput.newExecutionInput(QUERY).build());
+
+        assertThat(document(provider, hashOnly(HASH)).hasErrors()).isFalse();
+        assertThat(parses).hasValue(1);
+    }
+
+    @Test
+    void hashNotMatchingTheQuery_isRejected() {
+        var provider = provider(Map.of(), false);
+
+        var entry = document(provider, withHash("{ tags { id } }", HASH));
+
+        assertThat(errorClassification(entry)).isEqualTo("PersistedQueryIdInvalid");
+        assertThat(parses).hasValue(0);
+    }
+
+    @Test
+    void queriesWithErrors_areNotCached() {
+        var provider = new PersistedQueryDocumentProvider(Map.of(), false, 10,
+                new SimpleMeterRegistry());
+        var broken = ExecutionInput.newExecutionInput("{ nope }").build();
+
+        for (int i = 0; i < 2; i++) {
+            provider.getDocumentAsync(broken, input -> {
+                parses.incrementAndGet();
+                return new PreparsedDocumentEntry(
+                        GraphqlErrorBuilder.newError().message("invalid").build());
+            }).join();
+        }
+
+        assertThat(parses).hasValue(2);
+    }
+
+    @Test
+    void allowListOnly_runsListedQueriesByHashAndRefusesEverythingElse() {
+        var provider = provider(Map.of(HASH, QUERY), true);
+
+        assertThat(document(provider, hashOnly(HASH)).hasErrors()).isFalse();
+        assertThat(document(provider, ExecutionInput.newExecutionInput(QUERY).build())
+                .hasErrors()).isFalse();
+        var unlisted = document(provider, ExecutionInput.newExecutionInput("{ tags { id } }")
+                .build());
+
+        assertThat(errorClassification(unlisted)).isEqualTo("PersistedQueryNotAllowed");
+        assertThat(errorClassification(document(provider, hashOnly("0".repeat(64)))))
+                .isEqualTo("PersistedQueryNotAllowed");
+        assertThat(parses).hasValue(1);
+    }
+
+    private PersistedQueryDocumentProvider provider(Map<String, String> allowList,
+            boolean allowListOnly) {
+        return new PersistedQueryDocumentProvider(allowList, allowListOnly, 10,
+                new SimpleMeterRegistry());
+    }
+
+    private PreparsedDocumentEntry document(PersistedQueryDocumentProvider provider,
+            ExecutionInput input) {
+        return provider.getDocumentAsync(input, parsed -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(parsed.getQuery()));
+        }).join();
+    }
+
+    private static ExecutionInput hashOnly(String hash) {
+        return withHash(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash);
+    }
+
+    private static ExecutionInput withHash(String query, String hash) {
+        return ExecutionInput.newExecutionInput(query)
+                .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)))
+                .build();
+    }
+
+    private static String errorClassification(PreparsedDocumentEntry entry) {
+        assertThat(entry.getErrors()).hasSize(1);
+        GraphQLError error = entry.getErrors().getFirst();
+        var extensions = error.getExtensions();
+        return extensions != null && extensions.containsKey("classification")
+                ? String.valueOf(extensions.get("classification"))
+                : String.valueOf(error.getErrorType());
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.blog_spring.web.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.config.GraphQlConfig;
+import org.example.blog_spring.domain.PostStatus;
+import org.example.blog_spring.dto.PostDto;
+import org.example.blog_spring.dto.UserDto;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.service.CommentService;
+import org.example.blog_spring.service.PostService;
+import org.example.blog_spring.service.ReviewService;
+import org.example.blog_spring.service.TagService;
+import org.example.blog_spring.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.graphql.test.autoconfigure.GraphQlTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+// RecentPosts is allow-listed, so it gets a tag of its own.
+@GraphQlTest(controllers = BlogGraphQlController.class, properties =
+        "blog.graphql.persisted-queries.allow-list=classpath:persisted-queries/*.graphql")
+@Import({GraphQlConfig.class, QueryCostInstrumentationTest.Support.class})
+class QueryCostInstrumentationTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private UserService userService;
+    @MockitoBean
+    private PostService postService;
+    @MockitoBean
+    private TagService tagService;
+    @MockitoBean
+    private CommentService commentService;
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @Test
+    void operationsOutsideTheAllowList_shareOneTag() {
+        given(postService.getPosts(any(), any(), any(), any(), any(), eq(CountMode.EXACT)))
+                .willReturn(new PageImpl<>(List.of(post(1L))));
+        double before = count("other");
+
+        for (var name : List.of("Probe1", "Probe2")) {
+            graphQlTester.document("query " + name + " { posts(size: 1) { title } }")
+                    .execute()
+                    .path("posts[0].title").entity(String.class).isEqualTo("Title 1");
+        }
+
+        assertThat(meterRegistry.find("blog.graphql.cost").tag("operation", "Probe1").summary())
+                .isNull();
+        assertThat(count("other")).isEqualTo(before + 2);
+    }
+
+    private double count(String operation) {
+        var summary = meterRegistry.find("blog.graphql.cost").tag("operation", operation)
+                .summary();
+        return summary != null ? summary.count() : 0;
+    }
+
+    @Test
+    void queryOverTheCostBudget_isRejectedBeforeAnythingIsLoaded() {
+        graphQlTester.document("""
+                        { posts(size: 1000) { title comments { author { username } } } }
+                        """)
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).singleElement()
+                        .satisfies(error -> assertThat(error.getMessage())
+                                .contains("Query cost", "exceeds the maximum of 10000")))
+                .path("posts").pathDoesNotExist();
+
+        verifyNoInteractions(postService, commentService, userService);
+        assertThat(meterRegistry.counter("blog.graphql.rejected", "reason", "cost").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void queryOverTheDepthLimit_isRejected() {
+        graphQlTester.document("""
+                        { posts(size: 1) { comments { replies { replies { replies { replies {
+                            replies { replies { replies { replies { id } } } } } } } } } } }
+                        """)
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).singleElement()
+                        .satisfies(error -> assertThat(error.getMessage())
+                                .isEqualTo("Query depth 11 exceeds the maximum of 10")));
+
+        verifyNoInteractions(postService, commentService);
+        assertThat(meterRegistry.counter("blog.graphql.rejected", "reason", "depth").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void queryWithinBudget_recordsItsCostAndTheObjectsReturned() {
+        given(postService.getPosts(any(), any(), any(), any(), any(), eq(CountMode.EXACT)))
+                .willReturn(new PageImpl<>(List.of(post(1L), post(2L))));
+        given(userService.getUsersByIds(anyCollection())).willReturn(Map.of(10L, user(10L)));
+
+        graphQlTester.document("""
+                        query RecentPosts { posts(size: 2) { title author { username } } }
+                        """)
+                .execute()
+                .path("posts[1].author.username").entity(String.class).isEqualTo("user-10");
+
+        // Each post costs 1 for itself and 1 for its author.
+        var cost = meterRegistry.find("blog.graphql.cost").tag("operation", "RecentPosts")
+                .summary();
+        assertThat(cost.totalAmount()).isEqualTo(4);
+        // Two posts and two authors.
+        var rows = meterRegistry.find("blog.graphql.rows").tag("operation", "RecentPosts")
+                .summary();
+        assertThat(rows.totalAmount()).isEqualTo(4);
+    }
+
+    @TestConfiguration
+    static class Support {
+
+        // The application enables caching; the mocked services have nothing to cache.
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private static PostDto post(Long id) {
+        return new PostDto(id, 10L, "Title " + id, "Content", "post-" + id,
+                PostStatus.PUBLISHED, NOW, NOW, NOW, 0L, Set.of());
+    }
+
+    private static UserDto user(Long id) {
+        return new UserDto(id, "user-" + id, "user-" + id + "@example.com", "User", NOW, NOW);
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.blog_spring.web.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.blog_spring.dto.CommentDto;
+import org.example.blog_spring.exception.CommentNotFoundException;
+import org.example.blog_spring.outbox.ChangeEvent;
+import org.example.blog_spring.outbox.ChangeEvent.Action;
+import org.example.blog_spring.outbox.ChangeEvent.Entity;
+import org.example.blog_spring.service.CommentService;
+import org.example.blog_spring.service.ReviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.BaseSubscriber;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionFeedTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private CommentService commentService;
+    @Mock
+    private ReviewService reviewService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var beans = new StaticListableBeanFactory(Map.of(
+                "commentService", commentService, "reviewService", reviewService));
+        feed = new SubscriptionFeed(beans.getBeanProvider(CommentService.class),
+                beans.getBeanProvider(ReviewService.class), 2, meterRegistry);
+    }
+
+    @Test
+    void commentCreated_isPushedToTheSubscribersOfItsPostOnly() {
+        given(commentService.getComment(10L)).willReturn(comment(10L, 2L));
+        given(commentService.getComment(11L)).willReturn(comment(11L, 1L));
+        var received = feed.commentsAdded(1L).take(1).collectList().toFuture();
+
+        feed.onChange(event(1, Entity.COMMENT, 10L, Action.CREATED));
+        feed.onChange(event(2, Entity.COMMENT, 11L, Action.CREATED));
+        feed.onChange(event(3, Entity.COMMENT, 11L, Action.UPDATED));
+
+        assertThat(received).succeedsWithin(TIMEOUT)
+                .satisfies(comments -> assertThat(comments).extracting(CommentDto::id)
+                        .containsExactly(11L));
+        assertThat(sent("commentAdded")).isEqualTo(1);
+    }
+
+    @Test
+    void withoutSubscribers_theNewRowIsNotLoaded() {
+        feed.onChange(event(1, Entity.COMMENT, 10L, Action.CREATED));
+        feed.onChange(event(2, Entity.REVIEW, 20L, Action.CREATED));
+
+        verifyNoInteractions(commentService, reviewService);
+    }
+
+    @Test
+    void redeliveredEvent_isNotPushedAgainAndDeletedRowsAreSkipped() {
+        given(commentService.getComment(10L)).willReturn(comment(10L, 1L));
+        given(commentService.getComment(12L)).willThrow(new CommentNotFoundException(12L));
+        List<CommentDto> received = new CopyOnWriteArrayList<>();
+        var subscription = feed.commentsAdded(1L).subscribe(received::add);
+
+        feed.onChange(event(1, Entity.COMMENT, 10L, Action.CREATED));
+        feed.onChange(event(1, Entity.COMMENT, 10L, Action.CREATED));
+        feed.onChange(event(2, Entity.COMMENT, 12L, Action.CREATED));
+
+        verify(commentService, times(1)).getComment(10L);
+        assertThat(sent("commentAdded")).isEqualTo(1);
+        subscription.dispose();
+    }
+
+    @Test
+    void slowSubscriber_dropsWhatDoesNotFitItsBufferAndCountsIt() {
+        for (long id = 10; id < 15; id++) {
+            given(commentService.getComment(id)).willReturn(comment(id, 1L));
+        }
+        var stalled = new BaseSubscriber<CommentDto>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // Requests nothing, as a client that stopped reading.
+            }
+        };
+        feed.commentsAdded(1L).subscribe(stalled);
+
+        for (long id = 10; id < 15; id++) {
+            feed.onChange(event(id, Entity.COMMENT, id, Action.CREATED));
+        }
+
+        // Two wait in the buffer until the client reads again.
+        assertThat(sent("commentAdded")).isEqualTo(2);
+        assertThat(meterRegistry.counter("blog.graphql.subscription.events",
+                "field", "commentAdded", "result", "dropped").count()).isEqualTo(3);
+        stalled.dispose();
+    }
+
+    @Test
+    void cancelledSubscription_isRemoved() {
+        var subscription = feed.commentsAdded(1L).subscribe();
+        assertThat(open("commentAdded")).isEqualTo(1);
+
+        subscription.dispose();
+
+        assertThat(open("commentAdded")).isZero();
+        feed.onChange(event(1, Entity.COMMENT, 10L, Action.CREATED));
+        verifyNoInteractions(commentService);
+    }
+
+    private double sent(String field) {
+        return meterRegistry.counter("blog.graphql.subscription.events",
+                "field", field, "result", "sent").count();
+    }
+
+    private double open(String field) {
+        return meterRegistry.get("blog.graphql.subscriptions").tag("field", field).gauge()
+                .value();
+    }
+
+    private static ChangeEvent event(long id, Entity entity, Long entityId, Action action) {
+        return new ChangeEvent(id, entity, entityId, 7L, action, null, NOW, false);
+    }
+
+    private static CommentDto comment(Long id, Long postId) {
+        return new CommentDto(id, postId, 5L, null, "Comment " + id, NOW, NOW);
+    }
+}
@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
+import org.example.blog_spring.cache.NegativeLookupCache;
+import org.example.blog_spring.cache.PostListCacheInvalidator;
+import org.example.blog_spring.config.CacheProperties;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.cache.Cache;
@@ -14,7 +17,9 @@ import org.springframework.cache.caffeine.CaffeineCache;
 class CacheControllerTest {
 
     private final CacheManager cacheManager = Mockito.mock(CacheManager.class);
-    private final CacheController controller = new CacheController(cacheManager);
+    private final CacheController controller = new CacheController(cacheManager,
+            new PostListCacheInvalidator(cacheManager),
+            new NegativeLookupCache(new CacheProperties.Negative(null, 0, null)));
 
     @Test
     void getStatistics_returnsCacheStats() {
@@ -43,6 +48,9 @@ class CacheControllerTest {
         assertThat(postsCache.get("estimatedSize")).isEqualTo(1L);
         assertThat(postsCache.get("hitCount")).isEqualTo(1L);
         assertThat(postsCache.get("missCount")).isEqualTo(1L);
+        assertThat(postsCache).containsKeys("estimatedBytes", "maximumBytes");
+        assertThat(response.getBody().data()).containsKeys("postListInvalidation",
+                "negativeLookups");
     }
 
     @Test
@@ -9,6 +9,7 @@ import org.example.blog_spring.domain.PostStatus;
 import org.example.blog_spring.dto.ApiResponse;
 import org.example.blog_spring.dto.PostDto;
 import org.example.blog_spring.dto.TagSummaryDto;
+import org.example.blog_spring.pagination.CountMode;
 import org.example.blog_spring.service.PostService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -47,10 +48,12 @@ class PostControllerTest {
                 Mockito.isNull(),
                 Mockito.isNull(),
                 Mockito.isNull(),
-                Mockito.any(Pageable.class)
+                Mockito.any(Pageable.class),
+                Mockito.eq(CountMode.EXACT)
         )).willReturn(page);
 
-        var responseEntity = controller.getPosts(null, null, null, null, PageRequest.of(0, 20));
+        var responseEntity = controller.getPosts(null, null, null, null, PageRequest.of(0, 20),
+                CountMode.EXACT);
         assertEquals(200, responseEntity.getStatusCode().value());
 
         ApiResponse<Page<PostDto>> body = responseEntity.getBody();
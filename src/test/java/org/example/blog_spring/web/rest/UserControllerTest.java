@@ -7,6 +7,8 @@ import java.time.Instant;
 import java.util.List;
 import org.example.blog_spring.dto.ApiResponse;
 import org.example.blog_spring.dto.UserDto;
+import org.example.blog_spring.pagination.CountMode;
+import org.example.blog_spring.pagination.CountedPage;
 import org.example.blog_spring.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -35,14 +37,28 @@ class UserControllerTest {
         Page<UserDto> page =
                 new PageImpl<>(List.of(user), PageRequest.of(0, 20), 1);
 
-        given(userService.getUsers(Mockito.any(Pageable.class))).willReturn(page);
+        given(userService.getUsers(Mockito.any(Pageable.class), Mockito.eq(CountMode.EXACT)))
+                .willReturn(page);
 
-        var responseEntity = controller.getUsers(PageRequest.of(0, 20));
+        var responseEntity = controller.getUsers(PageRequest.of(0, 20), CountMode.EXACT);
         assertEquals(200, responseEntity.getStatusCode().value());
 
         ApiResponse<Page<UserDto>> body = responseEntity.getBody();
         assertEquals("Users retrieved successfully", body.message());
         assertEquals("jdoe", body.data().getContent().getFirst().username());
+        assertEquals(Boolean.TRUE, body.totalExact());
+    }
+
+    @Test
+    void getUsers_flagsEstimatedTotalAsInexact() {
+        Page<UserDto> page = new CountedPage<>(List.of(), PageRequest.of(0, 20), 5000, false);
+        given(userService.getUsers(Mockito.any(Pageable.class), Mockito.eq(CountMode.ESTIMATED)))
+                .willReturn(page);
+
+        var body = controller.getUsers(PageRequest.of(0, 20), CountMode.ESTIMATED).getBody();
+
+        assertEquals(5000, body.data().getTotalElements());
+        assertEquals(Boolean.FALSE, body.totalExact());
     }
 }
 